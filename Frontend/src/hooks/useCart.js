@@ -3,6 +3,55 @@ import * as userService from '../api/user';
 import { useAuthContext } from '../context/AuthContext';
 import { useCartContext } from '../context/CartContext.jsx';
 
+/**
+ * Applies the single changed line returned by the registered-user cart endpoints
+ * (storeId, productId, name, category, price, quantity, removed) to a cart in the
+ * CartDTO shape, so the whole cart does not have to be fetched again.
+ */
+export const applyCartUpdate = (cart, update) => {
+  if (!update || !update.storeId) {
+    return cart;
+  }
+  const baskets = { ...(cart?.baskets || {}) };
+  const basket = baskets[update.storeId]
+    ? { ...baskets[update.storeId], products: { ...baskets[update.storeId].products } }
+    : { storeId: update.storeId, products: {}, totalQuantity: 0, totalPrice: 0 };
+
+  const previous = basket.products[update.productId];
+  const oldQuantity = previous?.quantity || 0;
+  const price = update.name != null ? update.price : (previous?.price || 0);
+  const oldTotal = previous ? previous.price * oldQuantity : 0;
+  const newTotal = price * update.quantity;
+
+  if (update.removed) {
+    delete basket.products[update.productId];
+  } else {
+    basket.products[update.productId] = {
+      ...previous,
+      productId: update.productId,
+      name: update.name ?? previous?.name,
+      category: update.category ?? previous?.category,
+      price,
+      quantity: update.quantity
+    };
+  }
+  basket.totalQuantity = (basket.totalQuantity || 0) + update.quantity - oldQuantity;
+  basket.totalPrice = (basket.totalPrice || 0) + newTotal - oldTotal;
+
+  if (Object.keys(basket.products).length === 0) {
+    delete baskets[update.storeId];
+  } else {
+    baskets[update.storeId] = basket;
+  }
+
+  return {
+    ...cart,
+    baskets,
+    totalItems: (cart?.totalItems || 0) + update.quantity - oldQuantity,
+    totalPrice: (cart?.totalPrice || 0) + newTotal - oldTotal
+  };
+};
+
 export const useCart = () => {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
@@ -55,7 +104,7 @@ export const useCart = () => {
       setError(null);
       try {
         const response = await userService.addToCart(user.username, token, storeId, productId, quantity);
-        setCart(response.data);
+        setCart(prevCart => applyCartUpdate(prevCart, response.data));
         return response.data;
       } catch (err) {
         setError(err.response?.data?.message || 'Failed to add item to cart');
@@ -81,7 +130,7 @@ export const useCart = () => {
       setError(null);
       try {
         const response = await userService.updateCart(user.username, token, storeId, productId, newQuantity);
-        setCart(response.data);
+        setCart(prevCart => applyCartUpdate(prevCart, response.data));
         return response.data;
       } catch (err) {
         setError(err.response?.data?.message || 'Failed to update cart item');
@@ -107,7 +156,7 @@ export const useCart = () => {
       setError(null);
       try {
         const response = await userService.removeFromCart(user.username, token, storeId, productId);
-        setCart(response.data);
+        setCart(prevCart => applyCartUpdate(prevCart, response.data));
         return response.data;
       } catch (err) {
         setError(err.response?.data?.message || 'Failed to remove item from cart');
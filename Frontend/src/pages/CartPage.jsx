@@ -16,6 +16,7 @@ import {
 } from "../api/user";
 import { fetchStoreById } from "../api/store";
 import { getProductInfo } from "../api/product";
+import { applyCartUpdate } from "../hooks/useCart";
 import "../styles/cart.css"
 
 export default function CartPage() {
@@ -234,11 +235,7 @@ export default function CartPage() {
       } else {
         const response = await updateCart(username, token, storeId, productId, newQuantity);
         if (response && response.data) {
-          setCart({
-            baskets: response.data.baskets || {},
-            totalItems: response.data.totalItems || 0,
-            totalPrice: response.data.totalPrice || 0
-          });
+          setCart(prevCart => applyCartUpdate(prevCart, response.data));
         }
       }
     } catch (error) {
@@ -282,11 +279,7 @@ export default function CartPage() {
       } else {
         const response = await removeFromCart(username, token, storeId, productId);
         if (response && response.data) {
-          setCart({
-            baskets: response.data.baskets || {},
-            totalItems: response.data.totalItems || 0,
-            totalPrice: response.data.totalPrice || 0
-          });
+          setCart(prevCart => applyCartUpdate(prevCart, response.data));
         }
       }
     } catch (error) {
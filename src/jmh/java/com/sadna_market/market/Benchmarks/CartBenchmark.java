@@ -0,0 +1,55 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.DomainLayer.Cart;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adding to a cart that already spans several store baskets.
+ * The product set is fixed, so after warmup every call bumps an existing quantity
+ * and the cart size stays constant across iterations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class CartBenchmark {
+    private static final int PRODUCTS_PER_STORE = 20;
+
+    @Param({"1", "10", "50"})
+    public int stores;
+
+    private Cart cart;
+    private UUID[] storeIds;
+    private UUID[][] productIds;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random random = new Random(42);
+        cart = new Cart();
+        storeIds = new UUID[stores];
+        productIds = new UUID[stores][PRODUCTS_PER_STORE];
+        for (int s = 0; s < stores; s++) {
+            storeIds[s] = new UUID(random.nextLong(), random.nextLong());
+            for (int p = 0; p < PRODUCTS_PER_STORE; p++) {
+                productIds[s][p] = new UUID(random.nextLong(), random.nextLong());
+                cart.addToCart(storeIds[s], productIds[s][p], 1);
+            }
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public Cart addToCart() {
+        int i = next++;
+        int store = Math.floorMod(i, stores);
+        int product = Math.floorMod(i / stores, PRODUCTS_PER_STORE);
+        return cart.addToCart(storeIds[store], productIds[store][product], 1);
+    }
+}
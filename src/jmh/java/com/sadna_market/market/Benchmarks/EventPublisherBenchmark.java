@@ -0,0 +1,53 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.UserLoggedInEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Synchronous fan-out of one domain event to a growing number of subscribers.
+ * The event is built once, so the numbers cover dispatch only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class EventPublisherBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int subscribers;
+
+    private final LongAdder handled = new LongAdder();
+    private UserLoggedInEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DomainEventPublisher.clearAllSubscribers();
+        for (int i = 0; i < subscribers; i++) {
+            DomainEventPublisher.subscribe(UserLoggedInEvent.class, e -> handled.increment());
+        }
+        event = new UserLoggedInEvent("bench-user");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DomainEventPublisher.clearAllSubscribers();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publish() {
+        DomainEventPublisher.publish(event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publishConcurrent() {
+        DomainEventPublisher.publish(event);
+    }
+}
@@ -0,0 +1,58 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.InfrastructureLayer.Authentication.PasswordEncryptor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks per second (the CPU cost of a login) at different BCrypt costs.
+ * verifyOnCallingThread runs on one thread, so its score is logins per second per core.
+ * verifyOnPool saturates the hashing pool (one thread per core) from many request threads;
+ * divide its score by the number of cores to compare it with the single-thread figure.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "12"})
+    private int cost;
+
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        hash = BCrypt.hashpw("BenchmarkPassword1!", BCrypt.gensalt(cost));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pool {
+        @Setup(Level.Trial)
+        public void setUp(PasswordHashingBenchmark benchmark) {
+            // No admission limit: the benchmark measures throughput, not rejections
+            PasswordEncryptor.configure(benchmark.cost, 0, Integer.MAX_VALUE);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            PasswordEncryptor.useCallingThread();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean verifyOnCallingThread() {
+        return BCrypt.checkpw("BenchmarkPassword1!", hash);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean verifyOnPool(Pool pool) {
+        return PasswordEncryptor.verifyPassword("BenchmarkPassword1!", hash);
+    }
+}
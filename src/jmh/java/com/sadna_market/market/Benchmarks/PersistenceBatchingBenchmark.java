@@ -0,0 +1,126 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.DomainLayer.Notification;
+import com.sadna_market.market.DomainLayer.NotificationType;
+import com.sadna_market.market.DomainLayer.Order;
+import com.sadna_market.market.DomainLayer.OrderStatus;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk writes through Hibernate against in-memory H2, with JDBC batching off (batch size 1)
+ * and on (the production batch size). Each operation writes a checkout's worth of rows:
+ * a set of orders with their product lines, their status updates, and a notification fan-out.
+ * The statements counter reports the JDBC statements prepared per operation, which is what
+ * batching reduces; round trips to a real database scale with it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class PersistenceBatchingBenchmark {
+    private static final int ORDERS = 20;
+    private static final int PRODUCTS_PER_ORDER = 5;
+    private static final int RECIPIENTS = 50;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(Notification.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:batching;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .setProperty("hibernate.generate_statistics", "true")
+                .buildSessionFactory();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<Order> persistAndFinalizeOrders(Counters counters) {
+        long before = statistics.getPrepareStatementCount();
+        List<Order> orders = new ArrayList<>(ORDERS);
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < ORDERS; i++) {
+                HashMap<UUID, Integer> products = new HashMap<>();
+                for (int p = 0; p < PRODUCTS_PER_ORDER; p++) {
+                    products.put(UUID.randomUUID(), p + 1);
+                }
+                Order order = new Order(UUID.randomUUID(), "buyer", products, 100.0, 90.0,
+                        LocalDateTime.now(), OrderStatus.PENDING, -1);
+                session.persist(order);
+                orders.add(order);
+            }
+            session.flush();
+
+            for (Order order : orders) {
+                order.updateStatus(OrderStatus.PAID);
+                order.updateTransactionId(1000);
+            }
+            session.getTransaction().commit();
+        }
+
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        return orders;
+    }
+
+    @Benchmark
+    public List<Notification> notificationFanOut(Counters counters) {
+        long before = statistics.getPrepareStatementCount();
+        List<Notification> notifications = new ArrayList<>(RECIPIENTS);
+        UUID storeId = UUID.randomUUID();
+
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < RECIPIENTS; i++) {
+                Notification notification = new Notification("user" + i, "Store closed",
+                        "The store has been closed", NotificationType.STORE_CLOSED, storeId, null, null);
+                session.persist(notification);
+                notifications.add(notification);
+            }
+            session.getTransaction().commit();
+        }
+
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        return notifications;
+    }
+}
@@ -0,0 +1,70 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.DomainLayer.Product;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory product search filters over a deterministic catalog.
+ * "-1.0" is the repository's marker for an unset price/rate bound.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Toys", "Sports", "Food", "Garden"};
+    private static final String[] WORDS = {"Smart", "Classic", "Mini", "Pro", "Eco", "Ultra", "Basic", "Deluxe"};
+    private static final String[] NOUNS = {"Phone", "Lamp", "Shirt", "Novel", "Chair", "Ball", "Kettle", "Drone"};
+
+    @Param({"1000", "10000"})
+    public int catalogSize;
+
+    private InMemoryProductRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        repository = new InMemoryProductRepository();
+        for (int i = 0; i < catalogSize; i++) {
+            UUID storeId = new UUID(0L, random.nextInt(100));
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            double price = 1 + random.nextInt(100_000) / 100.0;
+            repository.addProduct(storeId, name, category, "Benchmark product " + i, price, true);
+        }
+    }
+
+    @Benchmark
+    public List<Optional<Product>> byName() {
+        return repository.searchProduct("pro lamp", null, -1.0, -1.0, -1.0, -1.0);
+    }
+
+    @Benchmark
+    public List<Optional<Product>> byCategory() {
+        return repository.searchProduct(null, "books", -1.0, -1.0, -1.0, -1.0);
+    }
+
+    @Benchmark
+    public List<Optional<Product>> byPriceRange() {
+        return repository.searchProduct(null, null, 100.0, 200.0, -1.0, -1.0);
+    }
+
+    @Benchmark
+    public List<Optional<Product>> combined() {
+        return repository.searchProduct("smart", "electronics", 50.0, 500.0, 0.0, 5.0);
+    }
+
+    @Benchmark
+    public List<Optional<Product>> noCriteria() {
+        return repository.searchProduct(null, null, -1.0, -1.0, -1.0, -1.0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimitRule;
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the admission check every API request pays: one hot client hammering a route
+ * (mostly rejections, all threads on one bucket) against many well-behaved clients.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter rateLimiter;
+    private String[] clients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rateLimiter = new RateLimiter(List.of(
+                RateLimitRule.parse("search", "POST /api/products/search", "user", "30/10s", "1000000/1s"),
+                RateLimitRule.parse("default", "/api/**", "user", "300/10s", null)),
+                100_000, System::nanoTime);
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "user:client" + i;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long hotClient() {
+        return rateLimiter.admit("POST", "/api/products/search", key -> "user:abuser");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long manyClients() {
+        String client = clients[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        return rateLimiter.admit("GET", "/api/stores/all", key -> client);
+    }
+}
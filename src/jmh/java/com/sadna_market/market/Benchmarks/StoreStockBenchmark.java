@@ -0,0 +1,69 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.DomainLayer.Store;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store stock checks and stock updates, alone and under read/write contention
+ * on the store's read-write lock (three checking threads against one purchasing thread).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class StoreStockBenchmark {
+    private static final int INITIAL_STOCK = 1_000_000_000;
+
+    @State(Scope.Group)
+    public static class StoreState {
+        @Param({"1", "10", "50"})
+        public int basketSize;
+
+        Store store;
+        Map<UUID, Integer> basket;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            Random random = new Random(42);
+            store = new Store("Benchmark Store", "JMH fixture");
+            basket = new HashMap<>();
+            for (int i = 0; i < basketSize; i++) {
+                UUID productId = new UUID(random.nextLong(), random.nextLong());
+                store.addProduct(productId, INITIAL_STOCK);
+                basket.put(productId, 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public void checkCart(StoreState state, Blackhole blackhole) {
+        blackhole.consume(state.store.checkCart(state.basket));
+    }
+
+    @Benchmark
+    public void updateStockAfterPurchase(StoreState state, Blackhole blackhole) {
+        blackhole.consume(state.store.updateStockAfterPurchase(state.basket));
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public void contendedCheckCart(StoreState state, Blackhole blackhole) {
+        blackhole.consume(state.store.checkCart(state.basket));
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void contendedPurchase(StoreState state, Blackhole blackhole) {
+        blackhole.consume(state.store.updateStockAfterPurchase(state.basket));
+    }
+}
@@ -0,0 +1,70 @@
+package com.sadna_market.market.Benchmarks;
+
+import com.sadna_market.market.InfrastructureLayer.Authentication.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT validation cost for a valid token, a revoked (blacklisted) token and a forged one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private TokenService tokenService;
+    private String validToken;
+    private String blacklistedToken;
+    private String forgedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenService = newTokenService("BenchmarkSigningSecret-0123456789abcdef");
+        validToken = tokenService.generateToken("bench-user");
+        blacklistedToken = tokenService.generateToken("revoked-user");
+        tokenService.invalidateToken(blacklistedToken);
+        forgedToken = newTokenService("SomeOtherSigningSecret-0123456789abcdef").generateToken("bench-user");
+    }
+
+    private static TokenService newTokenService(String secret) {
+        // Outside Spring the @Value fields are not injected
+        TokenService service = new TokenService();
+        setField(service, "jwtSecret", secret);
+        setField(service, "sessionExpirationTime", TimeUnit.DAYS.toMillis(1));
+        return service;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean validToken() {
+        return tokenService.validateToken(validToken);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean validTokenConcurrent() {
+        return tokenService.validateToken(validToken);
+    }
+
+    @Benchmark
+    public boolean blacklistedToken() {
+        return tokenService.validateToken(blacklistedToken);
+    }
+
+    @Benchmark
+    public boolean forgedToken() {
+        return tokenService.validateToken(forgedToken);
+    }
+}
@@ -3,12 +3,14 @@ package com.sadna_market.market.ApplicationLayer;
 import com.sadna_market.market.ApplicationLayer.DTOs.*;
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.DomainLayer.DomainServices.StoreManagementService;
+import com.sadna_market.market.DomainLayer.DomainServices.SystemStatsService;
 import com.sadna_market.market.DomainLayer.DomainServices.UserAccessService;
 import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
 import com.sadna_market.market.DomainLayer.Events.StoreClosedEvent;
 import com.sadna_market.market.DomainLayer.Events.StoreReopenedEvent;
 import com.sadna_market.market.DomainLayer.Events.ViolationReplyEvent;
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthenticationAdapter;
+import com.sadna_market.market.InfrastructureLayer.Metrics.ActivityMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,7 @@ public class AdminService {
     private final AuthenticationAdapter authentication;
     private final UserAccessService userAccessService;
     private final StoreManagementService storeManagementService;
+    private final SystemStatsService systemStatsService;
     private final IUserRepository userRepository;
     private final IStoreRepository storeRepository;
     private final IReportRepository reportRepository;
@@ -33,6 +36,7 @@ public class AdminService {
     public AdminService(AuthenticationAdapter authentication,
                         UserAccessService userAccessService,
                         StoreManagementService storeManagementService,
+                        SystemStatsService systemStatsService,
                         IUserRepository userRepository,
                         IStoreRepository storeRepository,
                         IReportRepository reportRepository,
@@ -41,6 +45,7 @@ public class AdminService {
         this.authentication = authentication;
         this.userAccessService = userAccessService;
         this.storeManagementService = storeManagementService;
+        this.systemStatsService = systemStatsService;
         this.userRepository = userRepository;
         this.storeRepository = storeRepository;
         this.reportRepository = reportRepository;
@@ -242,13 +247,8 @@ public class AdminService {
             authentication.validateToken(adminUsername, token);
             validateAdminPermissions(adminUsername);
 
-            // Calculate system metrics
-            int totalUsers = userRepository.countAll();
-            int totalStores = storeRepository.countAll();
-            int totalOrders = orderRepository.countAll();
-            double totalRevenue = orderRepository.calculateTotalRevenue();
-            int activeUsers = userRepository.countActiveUsers();
-            int pendingReports = reportRepository.countPendingReports();
+            // Pre-aggregated counters, maintained from domain events
+            SystemStatsService.SystemStatsSnapshot stats = systemStatsService.getSnapshot();
 
             // Get rates from domain service
             double transactionRate = userAccessService.getTransactionsRatePerHour(adminUsername);
@@ -256,10 +256,19 @@ public class AdminService {
 
             // Create insights DTO
             SystemInsightsDTO insights = new SystemInsightsDTO(
-                    totalUsers, totalStores, totalOrders, totalRevenue,
-                    activeUsers, pendingReports, transactionRate, subscriptionRate
+                    stats.getTotalUsers(), stats.getTotalStores(), stats.getTotalOrders(), stats.getTotalRevenue(),
+                    stats.getActiveUsers(), stats.getPendingReports(), transactionRate, subscriptionRate
             );
 
+            ActivityMetrics activity = userAccessService.getActivityMetrics();
+            insights.setTransactionsLastMinute(activity.transactions().lastMinute());
+            insights.setTransactionsLast24Hours(activity.transactions().lastDay());
+            insights.setSubscriptionsLast24Hours(activity.subscriptions().lastDay());
+            insights.setLoginsLastHour(activity.logins().lastHour());
+            insights.setCheckoutFailuresLastHour(activity.checkoutFailures().lastHour());
+            insights.setRevenueLastHour(activity.revenueLastHour());
+            insights.setRevenueLast24Hours(activity.revenueLastDay());
+
             logger.info("System insights retrieved for admin {}", adminUsername);
             return Response.success(insights);
 
@@ -277,13 +286,8 @@ public class AdminService {
             authentication.validateToken(adminUsername, token);
             validateAdminPermissions(adminUsername);
 
-            // Get all users
-            List<User> users = userRepository.findAll();
-
-            // Convert to DTOs
-            List<UserDTO> userDTOs = users.stream()
-                    .map(user -> new UserDTO(user))
-                    .toList();
+            // Read only the listed columns and each cart's item count
+            List<UserDTO> userDTOs = userRepository.findAllUserDTOs();
 
             logger.info("Retrieved {} users for admin {}", userDTOs.size(), adminUsername);
             return Response.success(userDTOs);
@@ -130,11 +130,11 @@ public class Bridge {
     }
 
     /** Registered User Methods */
-    public Response<String> addProductToUserCart(String userName, String token, UUID storeId, UUID productId, int quantity){
+    public Response<CartUpdateDTO> addProductToUserCart(String userName, String token, UUID storeId, UUID productId, int quantity){
         return userService.addToCart(userName, token, storeId, productId, quantity);
     }
 
-    public Response<CartDTO> removeProductFromUserCart(String userName, String token, UUID storeId, UUID productId){
+    public Response<CartUpdateDTO> removeProductFromUserCart(String userName, String token, UUID storeId, UUID productId){
         return userService.removeFromCart(userName, token, storeId, productId);
     }
 
@@ -142,7 +142,7 @@ public class Bridge {
         return userService.viewCart(userName, token);
     }
 
-    public Response<CartDTO> updateUserCart(String userName, String token, UUID storeId, UUID productId, int quantity){
+    public Response<CartUpdateDTO> updateUserCart(String userName, String token, UUID storeId, UUID productId, int quantity){
         return userService.updateCart(userName, token, storeId, productId, quantity);
     }
 
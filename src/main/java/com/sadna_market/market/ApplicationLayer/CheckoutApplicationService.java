@@ -9,16 +9,24 @@ import com.sadna_market.market.DomainLayer.DomainServices.UserAccessService;
 import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
 import com.sadna_market.market.DomainLayer.Events.OrderProcessedEvent;
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthenticationAdapter;
+import com.sadna_market.market.InfrastructureLayer.GuestCart.GuestCartStore;
+import com.sadna_market.market.InfrastructureLayer.Metrics.MarketMetrics;
 import com.sadna_market.market.InfrastructureLayer.Payment.*;
 import com.sadna_market.market.InfrastructureLayer.Supply.*;
+import com.sadna_market.market.InfrastructureLayer.VirtualThreadConfig;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static java.util.stream.Collectors.toList;
 
@@ -30,6 +38,8 @@ import static java.util.stream.Collectors.toList;
 @Service
 public class CheckoutApplicationService {
     private static final Logger logger = LoggerFactory.getLogger(CheckoutApplicationService.class);
+    private static final String BUYER_USER = "user";
+    private static final String BUYER_GUEST = "guest";
 
     // Domain Services
     private final OrderProcessingService orderProcessingService;
@@ -40,6 +50,10 @@ public class CheckoutApplicationService {
     private final PaymentService paymentService;
     private final SupplyService supplyService;
     private final AuthenticationAdapter authentication;
+    private final MarketMetrics marketMetrics;
+    private final GuestCartStore guestCartStore;
+    // Runs the per-order supply calls: inline by default, one virtual thread each in virtual-thread mode
+    private final TaskExecutor blockingTaskExecutor;
 
     // Repositories
     private final IUserRepository userRepository;
@@ -54,6 +68,9 @@ public class CheckoutApplicationService {
             PaymentService paymentService,
             SupplyService supplyService,
             AuthenticationAdapter authentication,
+            MarketMetrics marketMetrics,
+            GuestCartStore guestCartStore,
+            @Qualifier(VirtualThreadConfig.BLOCKING_TASK_EXECUTOR) TaskExecutor blockingTaskExecutor,
             IUserRepository userRepository,
             IAddressRepository addressRepository, IStoreRepository storeRepository) {
         this.orderProcessingService = orderProcessingService;
@@ -62,6 +79,9 @@ public class CheckoutApplicationService {
         this.paymentService = paymentService;
         this.supplyService = supplyService;
         this.authentication = authentication;
+        this.marketMetrics = marketMetrics;
+        this.guestCartStore = guestCartStore;
+        this.blockingTaskExecutor = blockingTaskExecutor;
         this.userRepository = userRepository;
         this.addressRepository = addressRepository;
         this.storeRepository = storeRepository;
@@ -72,6 +92,7 @@ public class CheckoutApplicationService {
     /**
      * Processes checkout for a registered user
      */
+    @Timed(value = "market.checkout", extraTags = {"buyer", "user"}, histogram = true)
     public Response<CheckoutResultDTO> processUserCheckout(String username, String token, CheckoutRequest request) {
         logger.info("Processing checkout for user: {}", username);
 
@@ -87,6 +108,7 @@ public class CheckoutApplicationService {
             Cart cart = user.getCart();
             if (cart.isEmpty()) {
                 logger.warn("Cannot process empty cart for user: {}", username);
+                marketMetrics.recordCheckoutOutcome(BUYER_USER, MarketMetrics.OUTCOME_EMPTY_CART);
                 return Response.error("Cannot checkout with empty cart");
             }
 
@@ -107,6 +129,8 @@ public class CheckoutApplicationService {
             if (paymentResult.isFailure()) {
                 logger.error("Payment failed: {}", paymentResult.getErrorMessage());
                 rollbackOrders(orders);
+                userAccessService.recordCheckoutFailure();
+                marketMetrics.recordCheckoutOutcome(BUYER_USER, MarketMetrics.OUTCOME_PAYMENT_FAILED);
                 return Response.error("Payment failed: " + paymentResult.getErrorMessage());
             }
 
@@ -120,6 +144,8 @@ public class CheckoutApplicationService {
                     logger.error("Supply arrangement failed: {}", supplyResult.getErrorMessage());
                     // Full rollback: refund payment and cancel orders
                     performFullRollback(orders, paymentResult, supplyResults);
+                    userAccessService.recordCheckoutFailure();
+                    marketMetrics.recordCheckoutOutcome(BUYER_USER, MarketMetrics.OUTCOME_SUPPLY_FAILED);
                     return Response.error("Supply arrangement failed: " + supplyResult.getErrorMessage());
                 }
             }
@@ -147,10 +173,14 @@ public class CheckoutApplicationService {
             for (Order order : orders) {
                 storeRepository.addOrderIdToStore(order.getOrderId(), order.getStoreId());
             }
+            userAccessService.recordTransaction(totalAmount);
+            marketMetrics.recordCheckoutOutcome(BUYER_USER, MarketMetrics.OUTCOME_SUCCESS);
             return Response.success(result);
 
         } catch (Exception e) {
             logger.error("Checkout failed for user {}: {}", username, e.getMessage(), e);
+            userAccessService.recordCheckoutFailure();
+            marketMetrics.recordCheckoutOutcome(BUYER_USER, MarketMetrics.OUTCOME_ERROR);
             return Response.error("Checkout failed: " + e.getMessage());
         }
     }
@@ -158,14 +188,20 @@ public class CheckoutApplicationService {
     /**
      * Processes checkout for a guest user
      */
+    @Timed(value = "market.checkout", extraTags = {"buyer", "guest"}, histogram = true)
     public Response<CheckoutResultDTO> processGuestCheckout(GuestCheckoutRequest request) {
         logger.info("Processing checkout for guest");
 
         try {
-            // 1. Validate cart
-            Cart cart = new Cart(request.getCartItems());
+            // 1. Validate cart (sent inline, or kept server-side under a cart token)
+            Map<UUID, Map<UUID, Integer>> cartItems = request.getCartItems();
+            if ((cartItems == null || cartItems.isEmpty()) && request.getCartToken() != null) {
+                cartItems = guestCartStore.getCart(request.getCartToken());
+            }
+            Cart cart = new Cart(cartItems != null ? cartItems : Map.of());
             if (cart.isEmpty()) {
                 logger.warn("Cannot process empty cart for guest");
+                marketMetrics.recordCheckoutOutcome(BUYER_GUEST, MarketMetrics.OUTCOME_EMPTY_CART);
                 return Response.error("Cannot checkout with empty cart");
             }
 
@@ -186,6 +222,8 @@ public class CheckoutApplicationService {
             if (paymentResult.isFailure()) {
                 logger.error("Guest payment failed: {}", paymentResult.getErrorMessage());
                 rollbackOrders(orders);
+                userAccessService.recordCheckoutFailure();
+                marketMetrics.recordCheckoutOutcome(BUYER_GUEST, MarketMetrics.OUTCOME_PAYMENT_FAILED);
                 return Response.error("Payment failed: " + paymentResult.getErrorMessage());
             }
 
@@ -199,6 +237,8 @@ public class CheckoutApplicationService {
                     logger.error("Guest supply arrangement failed: {}", supplyResult.getErrorMessage());
                     // Full rollback: refund payment and cancel orders
                     performFullRollback(orders, paymentResult, supplyResults);
+                    userAccessService.recordCheckoutFailure();
+                    marketMetrics.recordCheckoutOutcome(BUYER_GUEST, MarketMetrics.OUTCOME_SUPPLY_FAILED);
                     return Response.error("Supply arrangement failed: " + supplyResult.getErrorMessage());
                 }
             }
@@ -222,11 +262,16 @@ public class CheckoutApplicationService {
             for (Order order : orders) {
                 storeRepository.addOrderIdToStore(order.getOrderId(), order.getStoreId());
             }
+            guestCartStore.removeCart(request.getCartToken());
+            userAccessService.recordTransaction(totalAmount);
+            marketMetrics.recordCheckoutOutcome(BUYER_GUEST, MarketMetrics.OUTCOME_SUCCESS);
 
             return Response.success(result);
 
         } catch (Exception e) {
             logger.error("Guest checkout failed: {}", e.getMessage(), e);
+            userAccessService.recordCheckoutFailure();
+            marketMetrics.recordCheckoutOutcome(BUYER_GUEST, MarketMetrics.OUTCOME_ERROR);
             return Response.error("Checkout failed: " + e.getMessage());
         }
     }
@@ -306,23 +351,31 @@ public class CheckoutApplicationService {
     }
 
     /**
-     * Processes supply arrangements for all orders
+     * Processes supply arrangements for all orders.
+     * Each order is an independent blocking call to the supply API, so they are submitted
+     * together and only then awaited; results keep the order of the input list.
      */
     private List<SupplyResult> processSupplyForOrders(List<Order> orders, SupplyMethod supplyMethod) {
-        return orders.stream().map(order -> {
-            try {
-                // Create shipment details for each order
-                ShipmentDetails shipmentDetails = createShipmentDetails(order);
-                double weight = calculateOrderWeight(order);
+        List<CompletableFuture<SupplyResult>> pending = orders.stream()
+                .map(order -> CompletableFuture.supplyAsync(
+                        () -> processSupplyForOrder(order, supplyMethod), blockingTaskExecutor))
+                .toList();
+        return pending.stream().map(CompletableFuture::join).toList();
+    }
+
+    private SupplyResult processSupplyForOrder(Order order, SupplyMethod supplyMethod) {
+        try {
+            // Create shipment details for each order
+            ShipmentDetails shipmentDetails = createShipmentDetails(order);
+            double weight = calculateOrderWeight(order);
 
-                logger.debug("Processing supply for order: {}", order.getOrderId());
-                return supplyService.processShipment(supplyMethod, shipmentDetails, weight);
+            logger.debug("Processing supply for order: {}", order.getOrderId());
+            return supplyService.processShipment(supplyMethod, shipmentDetails, weight);
 
-            } catch (Exception e) {
-                logger.error("Failed to process supply for order {}: {}", order.getOrderId(), e.getMessage());
-                return SupplyResult.failure("Supply processing failed: " + e.getMessage(), supplyMethod, null);
-            }
-        }).toList();
+        } catch (Exception e) {
+            logger.error("Failed to process supply for order {}: {}", order.getOrderId(), e.getMessage());
+            return SupplyResult.failure("Supply processing failed: " + e.getMessage(), supplyMethod, null);
+        }
     }
 
     /**
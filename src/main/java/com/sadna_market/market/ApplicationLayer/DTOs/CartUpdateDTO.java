@@ -0,0 +1,33 @@
+package com.sadna_market.market.ApplicationLayer.DTOs;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * The one cart line changed by an add, update or remove.
+ * Clients apply it to the cart they already hold instead of reloading the whole cart.
+ */
+@Getter
+public class CartUpdateDTO {
+    private UUID storeId;
+    private UUID productId;
+    private String name;
+    private String category;
+    private double price;
+    private int quantity;      // 0 when the line was removed
+    private double lineTotal;
+    private boolean removed;
+
+    public CartUpdateDTO(UUID storeId, UUID productId, String name, String category,
+                         double price, int quantity) {
+        this.storeId = storeId;
+        this.productId = productId;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.quantity = quantity;
+        this.lineTotal = price * quantity;
+        this.removed = quantity == 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.sadna_market.market.ApplicationLayer.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a store's messages, newest first, with the store's unread count
+ */
+@Getter
+@AllArgsConstructor
+public class MessagePageDTO {
+    private List<MessageDTO> messages;
+    private int page;
+    private int size;
+    // True when the page is full, so a next page may exist
+    private boolean hasMore;
+    private int unreadCount;
+}
@@ -0,0 +1,36 @@
+package com.sadna_market.market.ApplicationLayer.DTOs;
+
+import com.sadna_market.market.DomainLayer.Policies.PolicyKind;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRuleType;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Getter
+public class PolicyDTO {
+    private UUID policyId;
+    private PolicyKind kind;
+    private PolicyRuleType type;
+    private UUID productId;
+    private String category;
+    private double percentage;
+    private double threshold;
+    private List<PolicyDTO> subPolicies;
+
+    public PolicyDTO(PolicyRule rule) {
+        this.policyId = rule.getRuleId();
+        this.kind = rule.getKind();
+        this.type = rule.getType();
+        this.productId = rule.getProductId();
+        this.category = rule.getCategory();
+        this.percentage = rule.getPercentage();
+        this.threshold = rule.getThreshold();
+        this.subPolicies = rule.getChildren().stream()
+                .map(PolicyDTO::new)
+                .collect(Collectors.toList());
+    }
+}
@@ -17,6 +17,15 @@ public class SystemInsightsDTO {
     private int pendingReports;
     private double transactionRate;
     private double subscriptionRate;
+
+    // Sliding-window activity (see ActivityMetrics)
+    private long transactionsLastMinute;
+    private long transactionsLast24Hours;
+    private long subscriptionsLast24Hours;
+    private long loginsLastHour;
+    private long checkoutFailuresLastHour;
+    private double revenueLastHour;
+    private double revenueLast24Hours;
     private LocalDateTime lastUpdated;
 
     public SystemInsightsDTO(int totalUsers, int totalStores, int totalOrders,
@@ -1,6 +1,7 @@
 package com.sadna_market.market.ApplicationLayer;
 
 import com.sadna_market.market.ApplicationLayer.DTOs.MessageDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.MessagePageDTO;
 import com.sadna_market.market.ApplicationLayer.Requests.MessageReplyRequest;
 import com.sadna_market.market.ApplicationLayer.Requests.MessageRequest;
 import com.sadna_market.market.ApplicationLayer.Requests.SendMessageRequest;
@@ -8,6 +9,7 @@ import com.sadna_market.market.DomainLayer.DomainServices.MessageService;
 import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
 import com.sadna_market.market.DomainLayer.Events.MessageSentEvent;
 import com.sadna_market.market.DomainLayer.Message;
+import com.sadna_market.market.DomainLayer.MessageFilter;
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthenticationAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -254,6 +256,59 @@ public class MessageApplicationService {
         }
     }
 
+    /**
+     * Gets one page of a store's messages, newest first, with the store's unread count
+     *
+     * @param username The username of the requesting user (must be a store owner/manager)
+     * @param token Authentication token
+     * @param storeId The ID of the store
+     * @param filter Which of the store's messages to include
+     * @param page Zero-based page number
+     * @param size Number of messages per page
+     * @return Response object with success/error status and the page
+     */
+    public Response<MessagePageDTO> getStoreMessagesPage(String username, String token, UUID storeId,
+                                                         MessageFilter filter, int page, int size) {
+        logger.info("Getting {} messages for store: {} page {} requested by user: {}", filter, storeId, page, username);
+
+        try {
+            logger.info("Validating token for user with username: {}", username);
+            authentication.validateToken(username, token);
+
+            List<Message> messages = messageService.getStoreMessagesPage(username, storeId, filter, page, size);
+            int unreadCount = messageService.countUnreadStoreMessages(username, storeId);
+
+            logger.info("Retrieved {} messages for store: {} page {}", messages.size(), storeId, page);
+            return Response.success(new MessagePageDTO(convertToMessageDTOs(messages), page, size,
+                    messages.size() == size, unreadCount));
+        } catch (Exception e) {
+            logger.error("Error getting store messages page: {}", e.getMessage(), e);
+            return Response.error("Failed to get store messages: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Counts the unread messages of a store
+     *
+     * @param username The username of the requesting user (must be a store owner/manager)
+     * @param token Authentication token
+     * @param storeId The ID of the store
+     * @return Response object with success/error status and the count
+     */
+    public Response<Integer> getUnreadStoreMessageCount(String username, String token, UUID storeId) {
+        logger.info("Counting unread messages for store: {} requested by user: {}", storeId, username);
+
+        try {
+            logger.info("Validating token for user with username: {}", username);
+            authentication.validateToken(username, token);
+
+            return Response.success(messageService.countUnreadStoreMessages(username, storeId));
+        } catch (Exception e) {
+            logger.error("Error counting unread store messages: {}", e.getMessage(), e);
+            return Response.error("Failed to count unread store messages: " + e.getMessage());
+        }
+    }
+
     /**
      * Deletes a message
      *
@@ -3,13 +3,25 @@ package com.sadna_market.market.ApplicationLayer;
 
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.DomainLayer.Events.*;
+import com.sadna_market.market.InfrastructureLayer.VirtualThreadConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Component
 public class NotificationEventListeners {
@@ -18,40 +30,77 @@ public class NotificationEventListeners {
     private final NotificationService notificationService;
     private final IStoreRepository storeRepository;
     private final IUserRepository userRepository;
+    // Inline by default; in virtual-thread mode notifications are sent off the publishing thread
+    private final TaskExecutor blockingTaskExecutor;
+    // Handlers deferred past a commit write in a transaction of their own; without a
+    // transaction manager (in-memory profile) nothing is ever deferred
+    private final TransactionTemplate afterCommitTransaction;
 
     @Autowired
     public NotificationEventListeners(NotificationService notificationService,
                                       IStoreRepository storeRepository,
-                                      IUserRepository userRepository) {
+                                      IUserRepository userRepository,
+                                      @Qualifier(VirtualThreadConfig.BLOCKING_TASK_EXECUTOR) TaskExecutor blockingTaskExecutor,
+                                      ObjectProvider<PlatformTransactionManager> transactionManager) {
         this.notificationService = notificationService;
         this.storeRepository = storeRepository;
         this.userRepository = userRepository;
+        this.blockingTaskExecutor = blockingTaskExecutor;
+        PlatformTransactionManager manager = transactionManager.getIfAvailable();
+        this.afterCommitTransaction = manager == null ? null : new TransactionTemplate(manager);
+        if (afterCommitTransaction != null) {
+            afterCommitTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
     }
 
     @PostConstruct
     public void subscribeToEvents() {
         // Subscribe to order processed events
-        DomainEventPublisher.subscribe(OrderProcessedEvent.class, this::handleOrderProcessed);
+        DomainEventPublisher.subscribe(OrderProcessedEvent.class, offload(this::handleOrderProcessed));
 
         // Subscribe to store closed/reopened events
-        DomainEventPublisher.subscribe(StoreCreatedEvent.class, this::handleStoreCreated);
-        DomainEventPublisher.subscribe(StoreClosedEvent.class, this::handleStoreClosed);
-        DomainEventPublisher.subscribe(StoreReopenedEvent.class, this::handleStoreReopened);
+        DomainEventPublisher.subscribe(StoreCreatedEvent.class, offload(this::handleStoreCreated));
+        DomainEventPublisher.subscribe(StoreClosedEvent.class, offload(this::handleStoreClosed));
+        DomainEventPublisher.subscribe(StoreReopenedEvent.class, offload(this::handleStoreReopened));
 
         // Subscribe to message events
-        DomainEventPublisher.subscribe(MessageSentEvent.class, this::handleMessageSent);
-        DomainEventPublisher.subscribe(DirectMessageEvent.class, this::handleDirectMessage);
+        DomainEventPublisher.subscribe(MessageSentEvent.class, offload(this::handleMessageSent));
+        DomainEventPublisher.subscribe(DirectMessageEvent.class, offload(this::handleDirectMessage));
 
         // Subscribe to violation events
-        DomainEventPublisher.subscribe(ViolationReplyEvent.class, this::handleViolationReply);
+        DomainEventPublisher.subscribe(ViolationReplyEvent.class, offload(this::handleViolationReply));
 
         // Subscribe to role management events
-        DomainEventPublisher.subscribe(RoleAssignedEvent.class, this::handleRoleAssigned);
-        DomainEventPublisher.subscribe(RoleRemovedEvent.class, this::handleRoleRemoved);
+        DomainEventPublisher.subscribe(RoleAssignedEvent.class, offload(this::handleRoleAssigned));
+        DomainEventPublisher.subscribe(RoleRemovedEvent.class, offload(this::handleRoleRemoved));
 
         logger.info("Notification event listeners initialized and subscribed to domain events");
     }
 
+    /**
+     * Wraps a handler so it runs on the blocking task executor.
+     * Inside a transaction the handler is only dispatched once it commits, so it reads the
+     * committed state and nothing is sent for a change that is rolled back. It then runs in a
+     * new transaction: with the inline executor it runs within afterCommit, where joining the
+     * finished transaction would leave its writes unflushed.
+     * Every handler catches its own exceptions, so nothing is lost when it runs asynchronously.
+     */
+    private <T> Consumer<T> offload(Consumer<T> handler) {
+        return event -> {
+            if (afterCommitTransaction != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        blockingTaskExecutor.execute(() ->
+                                afterCommitTransaction.executeWithoutResult(status -> handler.accept(event)));
+                    }
+                });
+            } else {
+                blockingTaskExecutor.execute(() -> handler.accept(event));
+            }
+        };
+    }
+
     /**
      * Handle store created - notify all admins
      */
@@ -63,19 +112,21 @@ public class NotificationEventListeners {
 
             // Get all admin users and notify them
             List<User> adminUsers = userRepository.findByIsAdmin(true);
-
+            Set<String> adminUsernames = new LinkedHashSet<>();
             for (User admin : adminUsers) {
-                notificationService.sendNotification(
-                        admin.getUserName(),
-                        title,
-                        message,
-                        NotificationType.SYSTEM_ANNOUNCEMENT,
-                        event.getStoreId(),
-                        null,
-                        null
-                );
+                adminUsernames.add(admin.getUserName());
             }
 
+            notificationService.sendNotifications(
+                    adminUsernames,
+                    title,
+                    message,
+                    NotificationType.SYSTEM_ANNOUNCEMENT,
+                    event.getStoreId(),
+                    null,
+                    null
+            );
+
             logger.info("Store creation notifications sent for store: {}", event.getStoreName());
 
         } catch (Exception e) {
@@ -100,46 +151,16 @@ public class NotificationEventListeners {
             String message = String.format("Customer %s placed an order in your store.",
                     event.getUsername());
 
-            // Notify store founder
-            if (store.getFounderUserName() != null) {
-                notificationService.sendNotification(
-                        store.getFounderUserName(),
-                        title,
-                        message,
-                        NotificationType.ORDER_RECEIVED,
-                        event.getStoreId(),
-                        event.getOrderId(),
-                        null
-                );
-            }
-
-            // Notify store owners
-            for (String ownerUsername : store.getOwnerUsernames()) {
-                if (!ownerUsername.equals(store.getFounderUserName())) {
-                    notificationService.sendNotification(
-                            ownerUsername,
-                            title,
-                            message,
-                            NotificationType.ORDER_RECEIVED,
-                            event.getStoreId(),
-                            event.getOrderId(),
-                            null
-                    );
-                }
-            }
-
-            // Notify store managers
-            for (String managerUsername : store.getManagerUsernames()) {
-                notificationService.sendNotification(
-                        managerUsername,
-                        title,
-                        message,
-                        NotificationType.ORDER_RECEIVED,
-                        event.getStoreId(),
-                        event.getOrderId(),
-                        null
-                );
-            }
+            // Notify store founder, owners and managers
+            notificationService.sendNotifications(
+                    storePersonnel(store),
+                    title,
+                    message,
+                    NotificationType.ORDER_RECEIVED,
+                    event.getStoreId(),
+                    event.getOrderId(),
+                    null
+            );
 
         } catch (Exception e) {
             logger.error("Failed to handle order processed event: {}", e.getMessage(), e);
@@ -324,45 +345,27 @@ public class NotificationEventListeners {
      * Helper method to notify all store personnel
      */
     private void notifyStorePersonnel(Store store, String title, String message, NotificationType type) {
-        // Notify founder
-        if (store.getFounderUserName() != null) {
-            notificationService.sendNotification(
-                    store.getFounderUserName(),
-                    title,
-                    message,
-                    type,
-                    store.getStoreId(),
-                    null,
-                    null
-            );
-        }
-
-        // Notify owners (excluding founder to avoid duplicates)
-        for (String ownerUsername : store.getOwnerUsernames()) {
-            if (!ownerUsername.equals(store.getFounderUserName())) {
-                notificationService.sendNotification(
-                        ownerUsername,
-                        title,
-                        message,
-                        type,
-                        store.getStoreId(),
-                        null,
-                        null
-                );
-            }
-        }
+        notificationService.sendNotifications(
+                storePersonnel(store),
+                title,
+                message,
+                type,
+                store.getStoreId(),
+                null,
+                null
+        );
+    }
 
-        // Notify managers
-        for (String managerUsername : store.getManagerUsernames()) {
-            notificationService.sendNotification(
-                    managerUsername,
-                    title,
-                    message,
-                    type,
-                    store.getStoreId(),
-                    null,
-                    null
-            );
+    /**
+     * Founder, owners and managers of a store, each once
+     */
+    private Set<String> storePersonnel(Store store) {
+        Set<String> personnel = new LinkedHashSet<>();
+        if (store.getFounderUserName() != null) {
+            personnel.add(store.getFounderUserName());
         }
+        personnel.addAll(store.getOwnerUsernames());
+        personnel.addAll(store.getManagerUsernames());
+        return personnel;
     }
-}
\ No newline at end of file
+}
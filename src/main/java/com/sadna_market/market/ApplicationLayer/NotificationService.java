@@ -2,12 +2,15 @@ package com.sadna_market.market.ApplicationLayer;
 
 import com.sadna_market.market.ApplicationLayer.DTOs.NotificationDTO;
 import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.InfrastructureLayer.Metrics.MarketMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,14 +20,19 @@ import java.util.stream.Collectors;
 public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
+    private static final String NOTIFICATIONS_QUEUE = "/queue/notifications";
+
     private final INotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final MarketMetrics marketMetrics;
 
     @Autowired
     public NotificationService(INotificationRepository notificationRepository,
-                               SimpMessagingTemplate messagingTemplate) {
+                               SimpMessagingTemplate messagingTemplate,
+                               MarketMetrics marketMetrics) {
         this.notificationRepository = notificationRepository;
         this.messagingTemplate = messagingTemplate;
+        this.marketMetrics = marketMetrics;
     }
 
     /**
@@ -45,11 +53,7 @@ public class NotificationService {
             NotificationDTO notificationDTO = convertToDTO(notification);
 
             // Send real-time notification via WebSocket
-            messagingTemplate.convertAndSendToUser(
-                    username,
-                    "/queue/notifications",
-                    notificationDTO
-            );
+            pushToUser(username, notificationDTO);
 
             logger.info("Notification sent to user {}: {}", username, title);
 
@@ -58,6 +62,42 @@ public class NotificationService {
         }
     }
 
+    /**
+     * Send the same real-time notification to several users.
+     * All notifications are saved together before any is pushed.
+     */
+    public void sendNotifications(Collection<String> usernames, String title, String message,
+                                  NotificationType type, UUID relatedStoreId,
+                                  UUID relatedOrderId, UUID relatedProductId) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        try {
+            List<Notification> notifications = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                notifications.add(new Notification(
+                        username, title, message, type,
+                        relatedStoreId, relatedOrderId, relatedProductId
+                ));
+            }
+            notificationRepository.saveAll(notifications);
+
+            for (Notification notification : notifications) {
+                try {
+                    pushToUser(notification.getRecipientUsername(), convertToDTO(notification));
+                } catch (Exception e) {
+                    logger.error("Failed to push notification to user {}: {}",
+                            notification.getRecipientUsername(), e.getMessage(), e);
+                }
+            }
+
+            logger.info("Notification sent to {} users: {}", notifications.size(), title);
+
+        } catch (Exception e) {
+            logger.error("Failed to send notifications to users {}: {}", usernames, e.getMessage(), e);
+        }
+    }
+
     /**
      * Get all notifications for a user
      */
@@ -134,11 +174,7 @@ public class NotificationService {
             List<NotificationDTO> unreadNotifications = getUnreadNotifications(username);
 
             for (NotificationDTO notification : unreadNotifications) {
-                messagingTemplate.convertAndSendToUser(
-                        username,
-                        "/queue/notifications",
-                        notification
-                );
+                pushToUser(username, notification);
             }
 
             logger.info("Sent {} offline notifications to user {}", unreadNotifications.size(), username);
@@ -148,6 +184,17 @@ public class NotificationService {
         }
     }
 
+    private void pushToUser(String username, NotificationDTO notification) {
+        long start = System.nanoTime();
+        boolean delivered = false;
+        try {
+            messagingTemplate.convertAndSendToUser(username, NOTIFICATIONS_QUEUE, notification);
+            delivered = true;
+        } finally {
+            marketMetrics.recordWebSocketSend(NOTIFICATIONS_QUEUE, delivered, System.nanoTime() - start);
+        }
+    }
+
     private NotificationDTO convertToDTO(Notification notification) {
         return new NotificationDTO(
                 notification.getNotificationId(),
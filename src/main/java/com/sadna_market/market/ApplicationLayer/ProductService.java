@@ -9,6 +9,8 @@ import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.DomainLayer.DomainServices.InventoryManagementService;
 import com.sadna_market.market.DomainLayer.DomainServices.RatingService;
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthenticationAdapter;
+import com.sadna_market.market.InfrastructureLayer.Caching.SearchResultCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +28,7 @@ public class ProductService {
     private final IProductRepository productRepository;
     private final InventoryManagementService inventoryManagementService;
     private final RatingService ratingService;
+    private final SearchResultCache searchResultCache;
 
     //req 2.1 (a)
     public Response<ProductDTO> getProductInfo(UUID productId) {
@@ -42,68 +45,78 @@ public class ProductService {
     }
 
     //req 2.2
+    @Timed(value = "market.product.search", histogram = true)
     public Response<List<ProductDTO>> searchProduct(ProductSearchRequest request) {
         logger.info("Searching for products with criteria");
         try {
-            List<Product> products = new ArrayList<>();
+            SearchResultCache.Query query = SearchResultCache.Query.of(null,
+                    request.getName(), request.getCategory(),
+                    request.getMinPrice(), request.getMaxPrice(),
+                    request.getMinRank(), request.getMaxRank(),
+                    productRepository.searchMatchesCategoryExactly());
+            List<ProductDTO> productDTOs = searchResultCache.get(query, () -> findProducts(request));
 
-            // If no search criteria, get all products
-            if (isEmptyRequest(request)) {
-                logger.info("No search criteria provided, returning all products");
+            // Return success response with product DTOs
+            return Response.success(productDTOs);
+        } catch (Exception e) {
+            logger.error("Error while searching for products: {}", e.getMessage(), e);
+            return Response.error("Failed to search products: " + e.getMessage());
+        }
+    }
+
+    private List<ProductDTO> findProducts(ProductSearchRequest request) {
+        List<Product> products = new ArrayList<>();
+
+        // If no search criteria, get all products
+        if (isEmptyRequest(request)) {
+            logger.info("No search criteria provided, returning all products");
+            List<Optional<Product>> allProducts = productRepository.findAll();
+            for (Optional<Product> productOpt : allProducts) {
+                productOpt.ifPresent(products::add);
+            }
+        } else {
+            // First try with specific search criteria
+            List<Optional<Product>> searchResults = productRepository.searchProduct(
+                    request.getName(),
+                    request.getCategory(),
+                    request.getMinPrice(),
+                    request.getMaxPrice(),
+                    request.getMinRank(),
+                    request.getMaxRank()
+            );
+
+            logger.info("Search results size: {}", searchResults.size());
+
+            // Extract actual products
+            for (Optional<Product> productOpt : searchResults) {
+                if (productOpt.isPresent()) {
+                    products.add(productOpt.get());
+                }
+            }
+
+            // If no results yet and name was provided, try a more flexible name search
+            if (products.isEmpty() && request.getName() != null && !request.getName().isEmpty()) {
+                logger.info("No exact matches found, trying partial name match");
                 List<Optional<Product>> allProducts = productRepository.findAll();
+                String searchName = request.getName().toLowerCase();
+
                 for (Optional<Product> productOpt : allProducts) {
-                    productOpt.ifPresent(products::add);
-                }
-            } else {
-                // First try with specific search criteria
-                List<Optional<Product>> searchResults = productRepository.searchProduct(
-                        request.getName(),
-                        request.getCategory(),
-                        request.getMinPrice(),
-                        request.getMaxPrice(),
-                        request.getMinRank(),
-                        request.getMaxRank()
-                );
-
-                logger.info("Search results size: {}", searchResults.size());
-
-                // Extract actual products
-                for (Optional<Product> productOpt : searchResults) {
                     if (productOpt.isPresent()) {
-                        products.add(productOpt.get());
-                    }
-                }
-
-                // If no results yet and name was provided, try a more flexible name search
-                if (products.isEmpty() && request.getName() != null && !request.getName().isEmpty()) {
-                    logger.info("No exact matches found, trying partial name match");
-                    List<Optional<Product>> allProducts = productRepository.findAll();
-                    String searchName = request.getName().toLowerCase();
-
-                    for (Optional<Product> productOpt : allProducts) {
-                        if (productOpt.isPresent()) {
-                            Product product = productOpt.get();
-                            if (product.getName().toLowerCase().contains(searchName)) {
-                                products.add(product);
-                            }
+                        Product product = productOpt.get();
+                        if (product.getName().toLowerCase().contains(searchName)) {
+                            products.add(product);
                         }
                     }
                 }
             }
+        }
 
-            logger.info("Final products found: {}", products.size());
-
-            // Convert to DTOs for the application layer
-            List<ProductDTO> productDTOs = products.stream()
-                    .map(ProductDTO::new)
-                    .collect(Collectors.toList());
+        logger.info("Final products found: {}", products.size());
 
-            // Return success response with product DTOs
-            return Response.success(productDTOs);
-        } catch (Exception e) {
-            logger.error("Error while searching for products: {}", e.getMessage(), e);
-            return Response.error("Failed to search products: " + e.getMessage());
-        }
+        // Convert to DTOs for the application layer
+        return products.stream()
+                .map(ProductDTO::new)
+                .collect(Collectors.toList());
     }
 
     private boolean isEmptyRequest(ProductSearchRequest request) {
@@ -240,15 +253,7 @@ public class ProductService {
     public Response<List<ProductDTO>> getStoreProducts(UUID storeId) {
         logger.info("Getting products for store ID: {}", storeId);
         try {
-            List<Optional<Product>> products = productRepository.findByStoreId(storeId);
-
-            // Convert to DTOs
-            List<ProductDTO> productDTOs = products.stream()
-                    .filter(Optional::isPresent)
-                    .map(p -> new ProductDTO(p.get()))
-                    .collect(Collectors.toList());
-
-            return Response.success(productDTOs);
+            return Response.success(productRepository.findDTOsByStoreId(storeId));
         } catch (Exception e) {
             logger.error("Error while getting store products: {}", e.getMessage(), e);
             return Response.error("Failed to get store products: " + e.getMessage());
@@ -260,21 +265,20 @@ public class ProductService {
         logger.info("Getting products for store ID: {} with request", storeId);
         try {
             // Convert application request to domain parameters
-            List<Optional<Product>> products = productRepository.filterByStoreWithCriteria(
-                    storeId,
-                    request.getName(),
-                    request.getCategory(),
-                    request.getMinPrice(),
-                    request.getMaxPrice(),
-                    request.getMinRank(),
-                    request.getMaxRank()
-            );
-
-            // Convert to DTOs
-            List<ProductDTO> productDTOs = products.stream()
-                    .filter(Optional::isPresent)
-                    .map(p -> new ProductDTO(p.get()))
-                    .collect(Collectors.toList());
+            SearchResultCache.Query query = SearchResultCache.Query.of(storeId,
+                    request.getName(), request.getCategory(),
+                    request.getMinPrice(), request.getMaxPrice(),
+                    request.getMinRank(), request.getMaxRank());
+            List<ProductDTO> productDTOs = searchResultCache.get(query, () ->
+                    productRepository.filterDTOsByStoreWithCriteria(
+                            storeId,
+                            request.getName(),
+                            request.getCategory(),
+                            request.getMinPrice(),
+                            request.getMaxPrice(),
+                            request.getMinRank(),
+                            request.getMaxRank()
+                    ));
 
             return Response.success(productDTOs);
         } catch (Exception e) {
@@ -305,6 +309,7 @@ public class ProductService {
 
     public void clear() {
         productRepository.clear();
+        searchResultCache.clear();
     }
 
     public Response<List<ProductDTO>> getTopRatedProductsByStore(UUID storeId) {
@@ -340,21 +345,8 @@ public class ProductService {
     public Response<List<StoreProductDTO>> getStoreProductsWithInventory(UUID storeId) {
         logger.info("Getting products with available inventory for store ID: {}", storeId);
         try {
-            List<Optional<Product>> products = productRepository.findByStoreId(storeId);
-
-            // Convert to StoreProductDTOs with available quantity
-            List<StoreProductDTO> storeProductDTOs = products.stream()
-                    .filter(Optional::isPresent)
-                    .map(productOpt -> {
-                        Product product = productOpt.get();
-
-                        // Get available quantity from inventory service
-                        int availableQuantity = inventoryManagementService.getAvailableQuantityInStore(
-                                storeId, product.getProductId());
-
-                        return new StoreProductDTO(product, availableQuantity);
-                    })
-                    .collect(Collectors.toList());
+            // Products and stock are read together, not one stock lookup per product
+            List<StoreProductDTO> storeProductDTOs = productRepository.findDTOsWithInventoryByStoreId(storeId);
 
             return Response.success(storeProductDTOs);
         } catch (Exception e) {
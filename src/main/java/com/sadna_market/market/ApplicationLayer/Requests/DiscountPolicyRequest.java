@@ -1,5 +1,29 @@
 package com.sadna_market.market.ApplicationLayer.Requests;
 
-public class DiscountPolicyRequest {
+import com.sadna_market.market.DomainLayer.Policies.PolicyRuleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Store-level discount policy, possibly composite.
+ * PERCENTAGE takes percentage and an optional product or category scope, and its
+ * sub-policies are the conditions it depends on (MIN_QUANTITY, MAX_QUANTITY,
+ * MIN_BASKET_TOTAL with threshold, combined with AND / OR / XOR).
+ * MAX and SUM combine discounts: the best one applies, or they all stack.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscountPolicyRequest {
+    private PolicyRuleType type;
+    private UUID productId;
+    private String category;
+    private double percentage;
+    private double threshold;
+    private List<DiscountPolicyRequest> subPolicies = new ArrayList<>();
 }
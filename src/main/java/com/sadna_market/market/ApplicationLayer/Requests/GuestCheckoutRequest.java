@@ -54,10 +54,16 @@ public class GuestCheckoutRequest {
      */
     private String deliveryInstructions;
 
+    /**
+     * Token of a server-side guest cart, used instead of cartItems when present
+     */
+    private String cartToken;
+
     @Override
     public String toString() {
-        return String.format("GuestCheckoutRequest[items=%d stores, paymentMethod=%s, supplyMethod=%s, email=%s]",
+        return String.format("GuestCheckoutRequest[items=%d stores, cartToken=%s, paymentMethod=%s, supplyMethod=%s, email=%s]",
                 cartItems != null ? cartItems.size() : 0,
+                cartToken != null ? "yes" : "no",
                 paymentMethod != null ? paymentMethod.getClass().getSimpleName() : "null",
                 supplyMethod != null ? supplyMethod.getClass().getSimpleName() : "null",
                 contactEmail);
@@ -1,5 +1,21 @@
 package com.sadna_market.market.ApplicationLayer.Requests;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Percentage discount on a single product, optionally only when
+ * at least minQuantity units of it are bought (0 = unconditional)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductDiscountPolicyRequest
 {
+    private UUID productId;
+    private double percentage;
+    private int minQuantity;
 }
@@ -1,4 +1,26 @@
 package com.sadna_market.market.ApplicationLayer.Requests;
 
+import com.sadna_market.market.DomainLayer.Policies.PolicyRuleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Purchase rule a basket must satisfy: MIN_QUANTITY, MAX_QUANTITY or
+ * MIN_BASKET_TOTAL (with threshold and an optional product or category scope),
+ * or AND / OR / XOR over sub-policies
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductPurchasePolicyRequest {
+    private PolicyRuleType type;
+    private UUID productId;
+    private String category;
+    private double threshold;
+    private List<ProductPurchasePolicyRequest> subPolicies = new ArrayList<>();
 }
@@ -3,9 +3,12 @@ package com.sadna_market.market.ApplicationLayer;
 import com.sadna_market.market.ApplicationLayer.DTOs.*;
 import com.sadna_market.market.ApplicationLayer.Requests.*;
 import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.DomainLayer.DomainServices.PolicyManagementService;
 import com.sadna_market.market.DomainLayer.DomainServices.RatingService;
 import com.sadna_market.market.DomainLayer.DomainServices.StoreManagementService;
 import com.sadna_market.market.DomainLayer.Events.*;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRuleType;
 import com.sadna_market.market.DomainLayer.StoreExceptions.*;
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthenticationAdapter;
 import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryUserRepository;
@@ -29,6 +32,7 @@ public class StoreService {
     private final IOrderRepository orderRepository;
     private final RatingService ratingService;
     private final IUserRepository userRepository;
+    private final PolicyManagementService policyManagementService;
 
 
     //req 3.2
@@ -128,13 +132,7 @@ public class StoreService {
         logger.info("Getting all stores");
 
         try {
-            List<Store> stores = storeRepository.findAll();
-            List<StoreDTO> storeDTOs = stores.stream()
-                    .filter(Store::isActive)
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-
-            return Response.success(storeDTOs);
+            return Response.success(storeRepository.findActiveStoreDTOs());
 
         } catch (Exception e) {
             logger.error("Error getting all stores: {}", e.getMessage(), e);
@@ -368,6 +366,115 @@ public class StoreService {
     }
     
 
+    // ==================== STORE POLICIES ====================
+
+    //req 4.2 (a)
+    public Response<UUID> addDiscountPolicy(String username, String token, UUID storeId, DiscountPolicyRequest request) {
+        logger.info("Adding discount policy to store {} by user {}", storeId, username);
+
+        try {
+            authentication.validateToken(username, token);
+            UUID policyId = policyManagementService.addDiscountPolicy(username, storeId, toDiscountRule(request));
+            return Response.success(policyId);
+        } catch (Exception e) {
+            logger.error("Error adding discount policy: {}", e.getMessage());
+            return Response.error("Failed to add discount policy: " + e.getMessage());
+        }
+    }
+
+    //req 4.2 (c)
+    public Response<UUID> addProductDiscountPolicy(String username, String token, UUID storeId,
+                                                   ProductDiscountPolicyRequest request) {
+        logger.info("Adding product discount policy to store {} by user {}", storeId, username);
+
+        try {
+            authentication.validateToken(username, token);
+            if (request.getProductId() == null) {
+                return Response.error("Product ID cannot be null");
+            }
+            List<PolicyRule> conditions = request.getMinQuantity() > 0
+                    ? List.of(new PolicyRule(PolicyRuleType.MIN_QUANTITY, request.getProductId(), null,
+                            0, request.getMinQuantity(), null))
+                    : List.of();
+            PolicyRule rule = new PolicyRule(PolicyRuleType.PERCENTAGE, request.getProductId(), null,
+                    request.getPercentage(), 0, conditions);
+
+            UUID policyId = policyManagementService.addDiscountPolicy(username, storeId, rule);
+            return Response.success(policyId);
+        } catch (Exception e) {
+            logger.error("Error adding product discount policy: {}", e.getMessage());
+            return Response.error("Failed to add product discount policy: " + e.getMessage());
+        }
+    }
+
+    //req 4.2 (b), (d)
+    public Response<UUID> addPurchasePolicy(String username, String token, UUID storeId,
+                                            ProductPurchasePolicyRequest request) {
+        logger.info("Adding purchase policy to store {} by user {}", storeId, username);
+
+        try {
+            authentication.validateToken(username, token);
+            UUID policyId = policyManagementService.addPurchasePolicy(username, storeId, toPurchaseRule(request));
+            return Response.success(policyId);
+        } catch (Exception e) {
+            logger.error("Error adding purchase policy: {}", e.getMessage());
+            return Response.error("Failed to add purchase policy: " + e.getMessage());
+        }
+    }
+
+    public Response<String> removePolicy(String username, String token, UUID storeId, UUID policyId) {
+        logger.info("Removing policy {} from store {} by user {}", policyId, storeId, username);
+
+        try {
+            authentication.validateToken(username, token);
+            policyManagementService.removePolicy(username, storeId, policyId);
+            return Response.success("Policy removed successfully");
+        } catch (Exception e) {
+            logger.error("Error removing policy: {}", e.getMessage());
+            return Response.error("Failed to remove policy: " + e.getMessage());
+        }
+    }
+
+    public Response<List<PolicyDTO>> getStorePolicies(UUID storeId) {
+        try {
+            List<PolicyDTO> policies = policyManagementService.getPolicies(storeId).stream()
+                    .map(PolicyDTO::new)
+                    .collect(Collectors.toList());
+            return Response.success(policies);
+        } catch (Exception e) {
+            logger.error("Error getting store policies: {}", e.getMessage());
+            return Response.error("Failed to get store policies: " + e.getMessage());
+        }
+    }
+
+    private PolicyRule toDiscountRule(DiscountPolicyRequest request) {
+        if (request == null || request.getType() == null) {
+            throw new IllegalArgumentException("Policy type is required");
+        }
+        List<PolicyRule> children = new ArrayList<>();
+        if (request.getSubPolicies() != null) {
+            for (DiscountPolicyRequest sub : request.getSubPolicies()) {
+                children.add(toDiscountRule(sub));
+            }
+        }
+        return new PolicyRule(request.getType(), request.getProductId(), request.getCategory(),
+                request.getPercentage(), request.getThreshold(), children);
+    }
+
+    private PolicyRule toPurchaseRule(ProductPurchasePolicyRequest request) {
+        if (request == null || request.getType() == null) {
+            throw new IllegalArgumentException("Policy type is required");
+        }
+        List<PolicyRule> children = new ArrayList<>();
+        if (request.getSubPolicies() != null) {
+            for (ProductPurchasePolicyRequest sub : request.getSubPolicies()) {
+                children.add(toPurchaseRule(sub));
+            }
+        }
+        return new PolicyRule(request.getType(), request.getProductId(), request.getCategory(),
+                0, request.getThreshold(), children);
+    }
+
     private StoreDTO convertToDTO(Store store) {
         return new StoreDTO(
                 store.getStoreId(),
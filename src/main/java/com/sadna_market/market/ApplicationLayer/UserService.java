@@ -1,6 +1,7 @@
 package com.sadna_market.market.ApplicationLayer;
 
 import com.sadna_market.market.ApplicationLayer.DTOs.CartDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.CartUpdateDTO;
 import com.sadna_market.market.ApplicationLayer.DTOs.UserDTO;
 import com.sadna_market.market.ApplicationLayer.Requests.CartRequest;
 import com.sadna_market.market.ApplicationLayer.Requests.ProductRateRequest;
@@ -10,8 +11,12 @@ import com.sadna_market.market.ApplicationLayer.Requests.ReviewRequest;
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.DomainLayer.DomainServices.InventoryManagementService;
 import com.sadna_market.market.DomainLayer.DomainServices.OrderProcessingService;
+import com.sadna_market.market.DomainLayer.DomainServices.SystemStatsService;
 import com.sadna_market.market.DomainLayer.DomainServices.UserAccessService;
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthenticationAdapter;
+import com.sadna_market.market.InfrastructureLayer.Authentication.HashingOverloadedException;
+import com.sadna_market.market.InfrastructureLayer.Caching.ProductSummaryCache;
+import com.sadna_market.market.InfrastructureLayer.GuestCart.GuestCartStore;
 import com.sadna_market.market.ApplicationLayer.DTOs.CartProductDTO;
 import com.sadna_market.market.ApplicationLayer.DTOs.StoreCartDTO;
 import com.sadna_market.market.DomainLayer.IProductRepository;
@@ -35,22 +40,31 @@ public class UserService {
     private final UserAccessService userAccessService;
     private final InventoryManagementService inventoryManagementService;
     private final OrderProcessingService orderProcessingService;
+    private final SystemStatsService systemStatsService;
     private IProductRepository productRepository;
     private IStoreRepository storeRepository;
+    private final GuestCartStore guestCartStore;
+    private final ProductSummaryCache productSummaryCache;
 
     @Autowired
     public UserService(AuthenticationAdapter authentication,
                        UserAccessService userAccessService,
                        InventoryManagementService inventoryManagementService,
                        OrderProcessingService orderProcessingService,
+                       SystemStatsService systemStatsService,
                        IProductRepository productRepository,
-                       IStoreRepository storeRepository) {
+                       IStoreRepository storeRepository,
+                       GuestCartStore guestCartStore,
+                       ProductSummaryCache productSummaryCache) {
         this.authentication = authentication;
         this.userAccessService = userAccessService;
         this.inventoryManagementService = inventoryManagementService;
         this.orderProcessingService = orderProcessingService;
+        this.systemStatsService = systemStatsService;
         this.productRepository = productRepository;
         this.storeRepository = storeRepository;
+        this.guestCartStore = guestCartStore;
+        this.productSummaryCache = productSummaryCache;
     }
 
     // ==================== USER REGISTRATION & AUTHENTICATION ====================
@@ -81,6 +95,10 @@ public class UserService {
             userAccessService.loginUser(username, password);
             logger.info("User logged in successfully");
             return Response.success(token);
+        } catch (HashingOverloadedException e) {
+            // Not a failed login: the controller layer answers 503 with the retry hint
+            logger.warn("Login of user {} turned away: {}", username, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Error logging in user: {}", e.getMessage());
             return Response.error(e.getMessage());
@@ -96,6 +114,39 @@ public class UserService {
             userAccessService.loginUser(username, password,new Cart(cart));
             logger.info("User logged in successfully");
             return Response.success(token);
+        } catch (HashingOverloadedException e) {
+            // Not a failed login: the controller layer answers 503 with the retry hint
+            logger.warn("Login of user {} turned away: {}", username, e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error logging in user: {}", e.getMessage());
+            return Response.error(e.getMessage());
+        }
+    }
+
+    //req 1.4 - guest cart kept on the server
+    public Response<String> loginUserWithGuestCart(String username, String password, String cartToken) {
+        try {
+            logger.info("Logging in user with username: {}", username);
+            String token = authentication.createUserSessionToken(username, password);
+            logger.info("Token generated successfully: {}", token);
+            Map<UUID, Map<UUID, Integer>> guestCart;
+            try {
+                guestCart = guestCartStore.getCart(cartToken);
+            } catch (IllegalArgumentException e) {
+                // An expired guest cart should not block the login itself
+                logger.warn("Guest cart not merged for user {}: {}", username, e.getMessage());
+                guestCart = Map.of();
+            }
+            userAccessService.loginUser(username, password, new Cart(guestCart));
+            // Only now: a failed login leaves the guest their cart
+            guestCartStore.removeCart(cartToken);
+            logger.info("User logged in successfully");
+            return Response.success(token);
+        } catch (HashingOverloadedException e) {
+            // Not a failed login: the controller layer answers 503 with the retry hint
+            logger.warn("Login of user {} turned away: {}", username, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Error logging in user: {}", e.getMessage());
             return Response.error(e.getMessage());
@@ -124,14 +175,14 @@ public class UserService {
     // ==================== CART OPERATIONS FOR REGISTERED USERS ====================
 
     //req 2.3 for registered users
-    public Response<String> addToCart(String username, String token, UUID storeId, UUID productId, int quantity) {
+    public Response<CartUpdateDTO> addToCart(String username, String token, UUID storeId, UUID productId, int quantity) {
         try {
             logger.info("Validating token for user with username: {}", username);
             authentication.validateToken(username, token);
             logger.info("Adding product with ID: {} to user with username: {}", productId, username);
-            userAccessService.addToCart(username, storeId, productId, quantity);
+            int newQuantity = userAccessService.addToCart(username, storeId, productId, quantity);
             logger.info("Product added to cart successfully");
-            return Response.success("Product added to cart successfully");
+            return Response.success(buildCartUpdate(storeId, productId, newQuantity));
         } catch (Exception e) {
             logger.error("Error adding product to cart: {}", e.getMessage());
             return Response.error(e.getMessage());
@@ -157,17 +208,16 @@ public class UserService {
     }
 
     //req 2.4 (b) for registered users
-    public Response<CartDTO> updateCart(String username, String token, UUID storeId, UUID productId, int quantity) {
+    public Response<CartUpdateDTO> updateCart(String username, String token, UUID storeId, UUID productId, int quantity) {
         try {
             logger.info("Validating token for user with username: {}", username);
             authentication.validateToken(username, token);
             logger.info("Updating product with ID: {} in user with username: {}", productId, username);
 
-            Cart updatedCart = userAccessService.updateCart(username, storeId, productId, quantity);
-            CartDTO cartDTO = buildCartDTO(updatedCart);
+            userAccessService.updateCart(username, storeId, productId, quantity);
 
             logger.info("Product updated in cart successfully");
-            return Response.success(cartDTO);
+            return Response.success(buildCartUpdate(storeId, productId, quantity));
         } catch (Exception e) {
             logger.error("Error updating product in cart: {}", e.getMessage());
             return Response.error(e.getMessage());
@@ -175,17 +225,16 @@ public class UserService {
     }
 
     //req 2.4 (c) for registered users
-    public Response<CartDTO> removeFromCart(String username, String token, UUID storeId, UUID productId) {
+    public Response<CartUpdateDTO> removeFromCart(String username, String token, UUID storeId, UUID productId) {
         try {
             logger.info("Validating token for user with username: {}", username);
             authentication.validateToken(username, token);
             logger.info("Removing product with ID: {} from user with username: {}", productId, username);
 
-            Cart cartUpdated = userAccessService.removeFromCart(username, storeId, productId);
-            CartDTO cartDTO = buildCartDTO(cartUpdated);
+            userAccessService.removeFromCart(username, storeId, productId);
 
             logger.info("Product removed from cart successfully");
-            return Response.success(cartDTO);
+            return Response.success(buildCartUpdate(storeId, productId, 0));
         } catch (Exception e) {
             logger.error(e.getMessage());
             return Response.error(e.getMessage());
@@ -275,6 +324,71 @@ public class UserService {
         }
     }
 
+    // ==================== SERVER-SIDE GUEST CARTS ====================
+
+    public Response<String> createGuestCart() {
+        try {
+            String cartToken = guestCartStore.createCart();
+            logger.info("Guest cart created");
+            return Response.success(cartToken);
+        } catch (Exception e) {
+            logger.error("Error creating guest cart: {}", e.getMessage());
+            return Response.error(e.getMessage());
+        }
+    }
+
+    //req 2.3 for guests
+    public Response<CartRequest> addToGuestCart(String cartToken, UUID storeId, UUID productId, int quantity) {
+        logger.info("Adding product with ID: {} to server-side guest cart", productId);
+        try {
+            if (!inventoryManagementService.checkProductAvailability(storeId, productId, quantity)) {
+                return Response.error("Product not available");
+            }
+            return Response.success(toCartRequest(guestCartStore.addItem(cartToken, storeId, productId, quantity)));
+        } catch (Exception e) {
+            logger.error("Error processing cart: {}", e.getMessage());
+            return Response.error(e.getMessage());
+        }
+    }
+
+    //req 2.4 (a) for guests
+    public Response<CartRequest> viewGuestCart(String cartToken) {
+        try {
+            return Response.success(toCartRequest(guestCartStore.getCart(cartToken)));
+        } catch (Exception e) {
+            logger.error("Error viewing cart: {}", e.getMessage());
+            return Response.error(e.getMessage());
+        }
+    }
+
+    //req 2.4 (b) for guests
+    public Response<CartRequest> updateGuestCart(String cartToken, UUID storeId, UUID productId, int quantity) {
+        logger.info("Updating product with ID: {} in server-side guest cart", productId);
+        try {
+            return Response.success(toCartRequest(guestCartStore.updateItem(cartToken, storeId, productId, quantity)));
+        } catch (Exception e) {
+            logger.error("Error updating product in cart: {}", e.getMessage());
+            return Response.error(e.getMessage());
+        }
+    }
+
+    //req 2.4 (c) for guests
+    public Response<CartRequest> removeFromGuestCart(String cartToken, UUID storeId, UUID productId) {
+        logger.info("Removing product with ID: {} from server-side guest cart", productId);
+        try {
+            return Response.success(toCartRequest(guestCartStore.removeItem(cartToken, storeId, productId)));
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+            return Response.error(e.getMessage());
+        }
+    }
+
+    private CartRequest toCartRequest(Map<UUID, Map<UUID, Integer>> baskets) {
+        CartRequest cart = new CartRequest();
+        cart.setBaskets(baskets);
+        return cart;
+    }
+
     // NOTE: Checkout methods have been removed - use CheckoutApplicationService + CheckoutController instead
     // For registered users: POST /api/checkout/user/{username}
     // For guests: POST /api/checkout/guest
@@ -504,6 +618,15 @@ public class UserService {
         logger.info("Clearing UserService and its dependencies");
         authentication.clear();
         userAccessService.clear();
+        systemStatsService.invalidate();
+    }
+
+    // Describes the one changed line; product details come from the cache, not the repository
+    private CartUpdateDTO buildCartUpdate(UUID storeId, UUID productId, int quantity) {
+        return productSummaryCache.get(productId)
+                .map(product -> new CartUpdateDTO(storeId, productId, product.getName(),
+                        product.getCategory(), product.getPrice(), quantity))
+                .orElseGet(() -> new CartUpdateDTO(storeId, productId, null, null, 0.0, quantity));
     }
 
     private CartDTO buildCartDTO(Cart cart) {
@@ -1,21 +1,29 @@
 package com.sadna_market.market.DomainLayer;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.util.UUID;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "addresses")
-public class Address {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.addresses")
+public class Address implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     // ────────────────────────────────────────────────────────────────
-    // Primary key: auto-generated UUID
+    // Primary key: time-ordered UUID, generated in memory so inserts batch
     // ────────────────────────────────────────────────────────────────
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     @Column(name = "address_id", updatable = false, nullable = false)
     private UUID addressId;
 
@@ -7,6 +7,8 @@ import jakarta.persistence.*;
 @Entity
 @DiscriminatorValue("ADMIN")
 public class Admin extends User {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(Admin.class);
 
     public Admin() {
@@ -1,5 +1,6 @@
 package com.sadna_market.market.DomainLayer;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -13,18 +14,22 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "carts")
+@Cacheable(false) // cart lines are written with native SQL (see CartJpaAdapter)
 @Getter
 @NoArgsConstructor // Required by JPA
-public class Cart {
+public class Cart implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(Cart.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     @Column(name = "cart_id")
     private UUID cartId;
 
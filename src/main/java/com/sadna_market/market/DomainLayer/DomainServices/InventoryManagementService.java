@@ -1,6 +1,9 @@
 package com.sadna_market.market.DomainLayer.DomainServices;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO;
 import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.ProductChangedEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,6 +11,7 @@ import org.springframework.stereotype.Service;
 import com.sadna_market.market.DomainLayer.StoreExceptions.*;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Domain service responsible for inventory management operations.
@@ -87,8 +91,8 @@ public class InventoryManagementService {
         );
 
         // Add product to store's inventory
-        store.addProduct(productId, quantity);
-        storeRepository.save(store);
+        updateStore(storeId, "add product " + productId, current -> current.addProduct(productId, quantity));
+        DomainEventPublisher.publish(new ProductChangedEvent(storeId, productId, category));
 
         logger.info("Product added successfully: {} to store: {}", productId, storeId);
         return productId;
@@ -133,11 +137,12 @@ public class InventoryManagementService {
             throw new IllegalArgumentException("Product does not exist in store: " + productId);
         }
 
-        store.removeProduct(productId);
-        storeRepository.save(store);
+        updateStore(storeId, "remove product " + productId, current -> current.removeProduct(productId));
 
         // Also remove from product repository
+        String category = productRepository.findById(productId).map(Product::getCategory).orElse(null);
         productRepository.deleteProduct(productId);
+        DomainEventPublisher.publish(new ProductChangedEvent(storeId, productId, category));
 
         logger.info("Product: {} removed successfully from store: {}", productId, storeId);
     }
@@ -187,13 +192,16 @@ public class InventoryManagementService {
         }
 
         // Update product repository
-        productRepository.updateProduct(productId, name, category, description, price);
+        String previousCategory = productRepository.findById(productId).map(Product::getCategory).orElse(null);
+        OptimisticRetry.run("update product " + productId,
+                () -> productRepository.updateProduct(productId, name, category, description, price));
+        DomainEventPublisher.publish(new ProductChangedEvent(storeId, productId, previousCategory, category));
 
         // Update quantity if specified
         if (newQuantity >= 0) {
             try {
-                store.updateProductQuantity(productId, newQuantity);
-                storeRepository.save(store);
+                updateStore(storeId, "update quantity of product " + productId,
+                        current -> current.updateProductQuantity(productId, newQuantity));
             } catch (Exception e) {
                 logger.error("Error updating product quantity: {}", e.getMessage());
                 throw new RuntimeException("Failed to update product quantity: " + e.getMessage());
@@ -285,9 +293,9 @@ public class InventoryManagementService {
     }
 
     /**
-     * Gets all products in a store with their inventory status
+     * Gets all products in a store with their available quantity, read in one joined pass
      */
-    public List<Map<String, Object>> getAllProductsWithInventoryStatus(UUID storeId) {
+    public List<StoreProductDTO> getAllProductsWithInventoryStatus(UUID storeId) {
         logger.info("Getting all products with inventory status from store: {}", storeId);
 
         if (storeId == null) {
@@ -298,28 +306,7 @@ public class InventoryManagementService {
             throw new StoreNotFoundException("Store not found: " + storeId);
         }
 
-        Map<UUID, Integer> inventory = storeRepository.getAllProductsInStore(storeId);
-
-        List<Map<String, Object>> results = new ArrayList<>();
-
-        for (Map.Entry<UUID, Integer> entry : inventory.entrySet()) {
-            UUID productId = entry.getKey();
-            Integer quantity = entry.getValue();
-
-            Optional<Product> productOpt = productRepository.findById(productId);
-            if (productOpt.isPresent()) {
-                Product product = productOpt.get();
-
-                Map<String, Object> productInfo = new HashMap<>();
-                productInfo.put("product", product);
-                productInfo.put("quantity", quantity);
-                productInfo.put("inStock", quantity > 0);
-
-                results.add(productInfo);
-            }
-        }
-
-        return results;
+        return productRepository.findDTOsWithInventoryByStoreId(storeId);
     }
 
     /**
@@ -421,4 +408,17 @@ public class InventoryManagementService {
             return 0;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Re-reads the store, applies the change and saves it, retrying when a concurrent
+     * update of the same store wins the version check
+     */
+    private void updateStore(UUID storeId, String operation, Consumer<Store> change) {
+        OptimisticRetry.run(operation + " in store " + storeId, () -> {
+            Store store = storeRepository.findById(storeId)
+                    .orElseThrow(() -> new StoreNotFoundException("Store not found: " + storeId));
+            change.accept(store);
+            storeRepository.save(store);
+        });
+    }
+}
@@ -20,6 +20,8 @@ import java.util.UUID;
 public class MessageService {
     private static final Logger logger = LoggerFactory.getLogger(MessageService.class);
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final IMessageRepository messageRepository;
     private final IStoreRepository storeRepository;
     private final IUserRepository userRepository;
@@ -329,6 +331,58 @@ public class MessageService {
         return messageRepository.getUnreadMessagesForStore(storeId);
     }
 
+    /**
+     * Gets one page of a store's messages, newest first
+     *
+     * @param username The username of the requesting user
+     * @param storeId The ID of the store
+     * @param filter Which of the store's messages to include
+     * @param page Zero-based page number
+     * @param size Number of messages per page, at most MAX_PAGE_SIZE
+     * @return The messages of the page
+     * @throws IllegalStateException if the user doesn't have permission
+     */
+    public List<Message> getStoreMessagesPage(String username, UUID storeId, MessageFilter filter, int page, int size) {
+        logger.info("User {} getting {} messages for store {}, page {} of size {}", username, filter, storeId, page, size);
+
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be 0 or more and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        verifyCanViewStoreMessages(username, storeId);
+
+        return messageRepository.findStorePage(storeId, filter, page, size);
+    }
+
+    /**
+     * Counts the unread messages of a store
+     *
+     * @param username The username of the requesting user
+     * @param storeId The ID of the store
+     * @return The number of unread messages
+     * @throws IllegalStateException if the user doesn't have permission
+     */
+    public int countUnreadStoreMessages(String username, UUID storeId) {
+        logger.info("User {} counting unread messages for store {}", username, storeId);
+
+        verifyCanViewStoreMessages(username, storeId);
+
+        return messageRepository.countUnreadForStore(storeId);
+    }
+
+    private void verifyCanViewStoreMessages(String username, UUID storeId) {
+        Store store = storeRepository.findById(storeId)
+                .orElseThrow(() -> {
+                    logger.error("Store {} not found", storeId);
+                    return new IllegalArgumentException("Store not found: " + storeId);
+                });
+
+        if (!store.isStoreOwner(username) && !store.isStoreManager(username)) {
+            logger.error("User {} does not have permission to view messages for store {}",
+                    username, storeId);
+            throw new IllegalStateException("User does not have permission to view store messages");
+        }
+    }
+
     /**
      * Gets all messages between a user and a store
      *
@@ -0,0 +1,65 @@
+package com.sadna_market.market.DomainLayer.DomainServices;
+
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry for read-modify-write operations on versioned aggregates (Store, Product, Order).
+ * When a save loses an optimistic version check, the whole action runs again, so it must
+ * re-read the aggregate it changes and must not run inside an outer transaction
+ * (a failed flush marks that transaction rollback-only).
+ */
+public final class OptimisticRetry {
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 5;
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Runs an action, retrying it when a concurrent update wins the version check
+     *
+     * @param operation description used in logs and in the final error
+     * @throws IllegalStateException if every attempt hit a conflicting update
+     */
+    public static <T> T run(String operation, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    logger.warn("Giving up on {} after {} conflicting updates", operation, attempt);
+                    throw new IllegalStateException(
+                            "Concurrent update conflict on " + operation + ", please try again", e);
+                }
+                logger.debug("Conflicting update on {} (attempt {}), retrying", operation, attempt);
+                backOff(operation, attempt);
+            }
+        }
+    }
+
+    public static void run(String operation, Runnable action) {
+        run(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Randomized and growing, so two writers that just collided do not retry in lockstep
+    private static void backOff(String operation, int attempt) {
+        long millis = BASE_BACKOFF_MILLIS * attempt + ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying " + operation, e);
+        }
+    }
+}
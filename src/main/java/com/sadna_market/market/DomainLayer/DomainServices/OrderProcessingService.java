@@ -2,6 +2,7 @@ package com.sadna_market.market.DomainLayer.DomainServices;
 
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.DomainLayer.Events.*;
+import com.sadna_market.market.DomainLayer.Policies.BasketQuote;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,17 +23,20 @@ public class OrderProcessingService {
     private final IOrderRepository orderRepository;
     private final IUserRepository userRepository;
     private final IProductRepository productRepository;
+    private final PolicyManagementService policyManagementService;
 
     @Autowired
     public OrderProcessingService(
             IStoreRepository storeRepository,
             IOrderRepository orderRepository,
             IUserRepository userRepository,
-            IProductRepository productRepository) {
+            IProductRepository productRepository,
+            PolicyManagementService policyManagementService) {
         this.storeRepository = storeRepository;
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.productRepository = productRepository;
+        this.policyManagementService = policyManagementService;
 
         logger.info("OrderProcessingService initialized");
     }
@@ -223,16 +227,20 @@ public class OrderProcessingService {
             throw new IllegalStateException("Inventory validation failed: " + errorMessage);
         }
 
-        // Calculate total price
-        double totalPrice = calculateTotalPrice(items);
+        // Price the basket and apply the store's discount and purchase policies
+        BasketQuote quote = policyManagementService.quote(storeId, items);
+        if (!quote.isPurchaseAllowed()) {
+            logger.error("Purchase policy validation failed: {}", quote.getViolation());
+            throw new IllegalStateException(quote.getViolation());
+        }
 
         // Create order with PENDING status
         UUID orderId = orderRepository.createOrder(
                 storeId,
                 username,
                 new HashMap<>(items), // Defensive copy
-                totalPrice,
-                totalPrice, // TODO: Apply discounts/promotions here
+                quote.getTotalPrice(),
+                quote.getFinalPrice(),
                 LocalDateTime.now(),
                 OrderStatus.PENDING,
                 -1 // No transaction ID yet
@@ -272,16 +280,20 @@ public class OrderProcessingService {
             throw new IllegalStateException("Inventory validation failed: " + errorMessage);
         }
 
-        // Calculate total price
-        double totalPrice = calculateTotalPrice(items);
+        // Price the basket and apply the store's discount and purchase policies
+        BasketQuote quote = policyManagementService.quote(storeId, items);
+        if (!quote.isPurchaseAllowed()) {
+            logger.error("Purchase policy validation failed: {}", quote.getViolation());
+            throw new IllegalStateException(quote.getViolation());
+        }
 
         // Create order with enhanced details using new repository method
         UUID orderId = orderRepository.createOrderWithDetails(
                 storeId,
                 username,
                 new HashMap<>(items), // Defensive copy
-                totalPrice,
-                totalPrice, // TODO: Apply discounts/promotions here
+                quote.getTotalPrice(),
+                quote.getFinalPrice(),
                 LocalDateTime.now(),
                 OrderStatus.PENDING,
                 -1, // No transaction ID yet
@@ -299,110 +311,129 @@ public class OrderProcessingService {
 
     /**
      * Finalizes orders after successful payment and supply arrangement
-     * Called by CheckoutApplicationService after payment/supply processing
+     * Called by CheckoutApplicationService after payment/supply processing.
+     * Work is grouped so each order table, store and user is written once for the whole
+     * checkout rather than once per order, which lets the writes go out as JDBC batches.
      */
     public void finalizeOrders(List<Order> orders, int paymentTransactionId, List<Integer> supplyTransactionIds) {
         logger.info("Finalizing {} orders with payment ID: {}", orders.size(), paymentTransactionId);
 
-        for (int i = 0; i < orders.size(); i++) {
-            Order order = orders.get(i);
-            int supplyTransactionId = (i < supplyTransactionIds.size()) ? supplyTransactionIds.get(i) : -1;
-
-            try {
-                // Update order status to PAID
-                orderRepository.updateOrderStatus(order.getOrderId(), OrderStatus.PAID);
-                orderRepository.updeteOrderTransactionId(order.getOrderId(), paymentTransactionId);
-
-                // Update inventory (reduce stock)
-                updateInventoryAfterPayment(order);
-
-                // Add order to store's order history
-                addOrderToStore(order);
-
-                // Add order to user's history (if registered user)
-                addOrderToUserHistory(order);
+        List<UUID> orderIds = new ArrayList<>();
+        for (Order order : orders) {
+            orderIds.add(order.getOrderId());
+        }
 
-                // Update order status to SHIPPED if supply was arranged
-                if (supplyTransactionId != -1) {
-                    orderRepository.updateOrderStatus(order.getOrderId(), OrderStatus.SHIPPED);
-                }
+        // Update order statuses to PAID and record the payment
+        orderRepository.updateOrderStatuses(orderIds, OrderStatus.PAID, paymentTransactionId);
 
-                logger.info("Successfully finalized order: {}", order.getOrderId());
+        // Update inventory (reduce stock) and add orders to the stores' order history
+        Map<UUID, List<Order>> ordersByStore = new LinkedHashMap<>();
+        for (Order order : orders) {
+            ordersByStore.computeIfAbsent(order.getStoreId(), id -> new ArrayList<>()).add(order);
+        }
+        List<Order> finalized = new ArrayList<>();
+        for (Map.Entry<UUID, List<Order>> entry : ordersByStore.entrySet()) {
+            finalized.addAll(applyOrdersToStore(entry.getKey(), entry.getValue()));
+        }
 
-                // Publish order processed event
-                DomainEventPublisher.publish(
-                        new OrderProcessedEvent(order.getUserName(), order.getOrderId(), order.getStoreId())
-                );
+        // Add orders to users' history (registered users only)
+        addOrdersToUserHistory(finalized);
 
-            } catch (Exception e) {
-                logger.error("Failed to finalize order {}: {}", order.getOrderId(), e.getMessage());
-                // Continue with other orders, but log the error
+        // Update order status to SHIPPED where supply was arranged
+        List<UUID> shipped = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            int supplyTransactionId = (i < supplyTransactionIds.size()) ? supplyTransactionIds.get(i) : -1;
+            if (supplyTransactionId != -1 && finalized.contains(orders.get(i))) {
+                shipped.add(orders.get(i).getOrderId());
             }
         }
-    }
-
-    /**
-     * Updates inventory after successful payment
-     */
-    private void updateInventoryAfterPayment(Order order) {
-        logger.debug("Updating inventory for order: {}", order.getOrderId());
+        if (!shipped.isEmpty()) {
+            orderRepository.updateOrderStatuses(shipped, OrderStatus.SHIPPED, null);
+        }
 
-        Store store = storeRepository.findById(order.getStoreId())
-                .orElseThrow(() -> new IllegalStateException("Store not found for order: " + order.getOrderId()));
+        for (Order order : finalized) {
+            logger.info("Successfully finalized order: {}", order.getOrderId());
 
-        // Reduce inventory quantities
-        Map<UUID, Integer> items = order.getProductsMap();
-        Set<String> updateErrors = store.updateStockAfterPurchase(items);
+            // Published once per order, consumed by the system stats counters
+            DomainEventPublisher.publish(new OrderPlacedEvent(
+                    order.getUserName(), order.getOrderId(), order.getStoreId(), order.getFinalPrice()
+            ));
 
-        if (!updateErrors.isEmpty()) {
-            logger.error("Failed to update inventory for order {}: {}", order.getOrderId(),
-                    String.join(", ", updateErrors));
-            throw new IllegalStateException("Failed to update inventory: " + String.join(", ", updateErrors));
+            // Publish order processed event
+            DomainEventPublisher.publish(
+                    new OrderProcessedEvent(order.getUserName(), order.getOrderId(), order.getStoreId())
+            );
         }
-
-        // Save updated store
-        storeRepository.save(store);
-        logger.debug("Inventory updated successfully for order: {}", order.getOrderId());
     }
 
     /**
-     * Adds order to store's order history
+     * Reduces stock for each order of one store and records the orders in the store's history,
+     * then saves the store once. If another checkout updated the store first, the store is
+     * re-read and the orders are applied again against the current stock.
+     *
+     * @return the orders whose stock was reduced
      */
-    private void addOrderToStore(Order order) {
+    private List<Order> applyOrdersToStore(UUID storeId, List<Order> orders) {
         try {
-            Store store = storeRepository.findById(order.getStoreId())
-                    .orElseThrow(() -> new IllegalStateException("Store not found"));
-
-            store.addOrder(order.getOrderId());
-            storeRepository.save(store);
+            return OptimisticRetry.run("finalize orders of store " + storeId, () -> {
+                List<Order> applied = new ArrayList<>();
+                Store store = storeRepository.findById(storeId)
+                        .orElseThrow(() -> new IllegalStateException("Store not found: " + storeId));
+
+                for (Order order : orders) {
+                    Set<String> updateErrors = store.updateStockAfterPurchase(order.getProductsMap());
+                    if (!updateErrors.isEmpty()) {
+                        logger.error("Failed to update inventory for order {}: {}", order.getOrderId(),
+                                String.join(", ", updateErrors));
+                        continue;
+                    }
+                    applied.add(order);
+
+                    try {
+                        store.addOrder(order.getOrderId());
+                    } catch (Exception e) {
+                        logger.error("Failed to add order to store: {}", e.getMessage());
+                        // Non-critical error, don't fail the entire operation
+                    }
+                }
 
-            logger.debug("Added order {} to store {}", order.getOrderId(), order.getStoreId());
+                // Save updated store
+                storeRepository.save(store);
+                logger.debug("Inventory updated for {} orders in store: {}", applied.size(), storeId);
+                return applied;
+            });
         } catch (Exception e) {
-            logger.error("Failed to add order to store: {}", e.getMessage());
-            // Non-critical error, don't fail the entire operation
+            logger.error("Failed to finalize orders of store {}: {}", storeId, e.getMessage());
+            // Continue with other stores, but log the error
+            return List.of();
         }
     }
 
     /**
-     * Adds order to user's order history (if registered user)
+     * Adds orders to their buyers' order history (registered users only), one update per user
      */
-    private void addOrderToUserHistory(Order order) {
-        // Skip for guest users
-        if (order.getUserName().startsWith("GUEST-")) {
-            return;
+    private void addOrdersToUserHistory(List<Order> orders) {
+        Map<String, List<UUID>> ordersByUser = new LinkedHashMap<>();
+        for (Order order : orders) {
+            // Skip for guest users
+            if (!order.getUserName().startsWith("GUEST-")) {
+                ordersByUser.computeIfAbsent(order.getUserName(), name -> new ArrayList<>()).add(order.getOrderId());
+            }
         }
 
-        try {
-            Optional<User> userOpt = userRepository.findByUsername(order.getUserName());
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                user.addOrderToHistory(order.getOrderId());
-                userRepository.update(user);
-                logger.debug("Added order {} to user {}", order.getOrderId(), order.getUserName());
+        for (Map.Entry<String, List<UUID>> entry : ordersByUser.entrySet()) {
+            try {
+                Optional<User> userOpt = userRepository.findByUsername(entry.getKey());
+                if (userOpt.isPresent()) {
+                    User user = userOpt.get();
+                    entry.getValue().forEach(user::addOrderToHistory);
+                    userRepository.update(user);
+                    logger.debug("Added {} orders to user {}", entry.getValue().size(), entry.getKey());
+                }
+            } catch (Exception e) {
+                logger.error("Failed to add orders to user history: {}", e.getMessage());
+                // Non-critical error, don't fail the entire operation
             }
-        } catch (Exception e) {
-            logger.error("Failed to add order to user history: {}", e.getMessage());
-            // Non-critical error, don't fail the entire operation
         }
     }
 
@@ -457,22 +488,24 @@ public class OrderProcessingService {
         logger.debug("Restoring inventory for cancelled order: {}", order.getOrderId());
 
         try {
-            Store store = storeRepository.findById(order.getStoreId())
-                    .orElseThrow(() -> new IllegalStateException("Store not found"));
-
-            // Restore inventory quantities
-            Map<UUID, Integer> items = order.getProductsMap();
-            for (Map.Entry<UUID, Integer> entry : items.entrySet()) {
-                UUID productId = entry.getKey();
-                int quantity = entry.getValue();
-
-                if (store.hasProduct(productId)) {
-                    int currentQuantity = store.getProductQuantity(productId);
-                    store.updateProductQuantity(productId, currentQuantity + quantity);
+            OptimisticRetry.run("restore inventory of order " + order.getOrderId(), () -> {
+                Store store = storeRepository.findById(order.getStoreId())
+                        .orElseThrow(() -> new IllegalStateException("Store not found"));
+
+                // Restore inventory quantities
+                Map<UUID, Integer> items = order.getProductsMap();
+                for (Map.Entry<UUID, Integer> entry : items.entrySet()) {
+                    UUID productId = entry.getKey();
+                    int quantity = entry.getValue();
+
+                    if (store.hasProduct(productId)) {
+                        int currentQuantity = store.getProductQuantity(productId);
+                        store.updateProductQuantity(productId, currentQuantity + quantity);
+                    }
                 }
-            }
 
-            storeRepository.save(store);
+                storeRepository.save(store);
+            });
             logger.debug("Inventory restored for order: {}", order.getOrderId());
 
         } catch (Exception e) {
@@ -563,34 +596,6 @@ public class OrderProcessingService {
 
     // ==================== HELPER METHODS ====================
 
-    /**
-     * Calculates total price for order items
-     */
-    private double calculateTotalPrice(Map<UUID, Integer> items) {
-        logger.debug("Calculating total price for {} items", items.size());
-
-        double total = 0.0;
-
-        for (Map.Entry<UUID, Integer> entry : items.entrySet()) {
-            UUID productId = entry.getKey();
-            int quantity = entry.getValue();
-
-            Optional<Product> productOpt = productRepository.findById(productId);
-            if (productOpt.isEmpty()) {
-                throw new IllegalArgumentException("Product not found: " + productId);
-            }
-
-            Product product = productOpt.get();
-            double itemTotal = product.getPrice() * quantity;
-            total += itemTotal;
-
-            logger.debug("Product {}: {} x {} = {}", product.getName(), product.getPrice(), quantity, itemTotal);
-        }
-
-        logger.debug("Total price calculated: {}", total);
-        return total;
-    }
-
     /**
      * Validates that all products in the order exist and are available
      */
@@ -1,4 +1,165 @@
 package com.sadna_market.market.DomainLayer.DomainServices;
 
+import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.DomainLayer.Policies.*;
+import com.sadna_market.market.DomainLayer.StoreExceptions.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Domain service for store discount and purchase policies.
+ * Each store's rules are compiled once into an immutable evaluator tree and cached;
+ * the cached tree is dropped only when that store adds or removes a rule.
+ */
+@Service
 public class PolicyManagementService {
+    private static final Logger logger = LoggerFactory.getLogger(PolicyManagementService.class);
+
+    private final IPolicyRepository policyRepository;
+    private final IStoreRepository storeRepository;
+    private final IProductRepository productRepository;
+    private final IUserRepository userRepository;
+
+    private final ConcurrentHashMap<UUID, CompiledStorePolicy> compiledPolicies = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PolicyManagementService(IPolicyRepository policyRepository,
+                                   IStoreRepository storeRepository,
+                                   IProductRepository productRepository,
+                                   IUserRepository userRepository) {
+        this.policyRepository = policyRepository;
+        this.storeRepository = storeRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+    }
+
+    // ==================== POLICY EDITING ====================
+
+    /**
+     * Adds a top-level discount rule to a store
+     *
+     * @return the ID of the new rule
+     */
+    public UUID addDiscountPolicy(String username, UUID storeId, PolicyRule rule) {
+        return addPolicy(username, storeId, rule, PolicyKind.DISCOUNT, Permission.MANAGE_DISCOUNT_POLICY);
+    }
+
+    /**
+     * Adds a top-level purchase rule to a store
+     *
+     * @return the ID of the new rule
+     */
+    public UUID addPurchasePolicy(String username, UUID storeId, PolicyRule rule) {
+        return addPolicy(username, storeId, rule, PolicyKind.PURCHASE, Permission.MANAGE_PURCHASE_POLICY);
+    }
+
+    /**
+     * Removes a top-level discount or purchase rule from a store; rules nested in a composite
+     * are not policies of their own and cannot be removed on their own
+     */
+    public void removePolicy(String username, UUID storeId, UUID ruleId) {
+        logger.info("User {} removing policy {} from store {}", username, ruleId, storeId);
+
+        PolicyRule rule = policyRepository.findById(ruleId)
+                .filter(found -> found.isRoot() && storeId.equals(found.getStoreId()))
+                .orElseThrow(() -> new IllegalArgumentException("Policy not found: " + ruleId));
+
+        Permission required = rule.getKind() == PolicyKind.DISCOUNT
+                ? Permission.MANAGE_DISCOUNT_POLICY
+                : Permission.MANAGE_PURCHASE_POLICY;
+        validateCanManage(username, storeId, required);
+
+        editPolicies(storeId, () -> policyRepository.deleteById(ruleId));
+        logger.info("Policy {} removed from store {}", ruleId, storeId);
+    }
+
+    public List<PolicyRule> getPolicies(UUID storeId) {
+        return policyRepository.findByStoreId(storeId);
+    }
+
+    // ==================== EVALUATION ====================
+
+    /**
+     * Prices a store basket and checks it against the store's purchase rules.
+     * Products are looked up once; the compiled policy is reused across checkouts.
+     */
+    public BasketQuote quote(UUID storeId, Map<UUID, Integer> items) {
+        PricedBasket basket = new PricedBasket(items,
+                productId -> productRepository.findById(productId).orElse(null));
+        BasketQuote quote = getCompiledPolicy(storeId).evaluate(basket);
+
+        logger.debug("Store {} basket priced: total {}, discount {}, final {}",
+                storeId, quote.getTotalPrice(), quote.getDiscount(), quote.getFinalPrice());
+        return quote;
+    }
+
+    public CompiledStorePolicy getCompiledPolicy(UUID storeId) {
+        return compiledPolicies.computeIfAbsent(storeId, this::compileStore);
+    }
+
+    private CompiledStorePolicy compileStore(UUID storeId) {
+        List<PolicyRule> rules = policyRepository.findByStoreId(storeId);
+        logger.debug("Compiling {} policy rules for store {}", rules.size(), storeId);
+        return PolicyCompiler.compile(rules);
+    }
+
+    // ==================== HELPERS ====================
+
+    private UUID addPolicy(String username, UUID storeId, PolicyRule rule,
+                           PolicyKind kind, Permission required) {
+        logger.info("User {} adding {} policy to store {}", username, kind, storeId);
+
+        if (rule == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        validateCanManage(username, storeId, required);
+        PolicyCompiler.validate(rule, kind);
+
+        rule.attachTo(storeId, kind);
+        editPolicies(storeId, () -> policyRepository.save(rule));
+
+        logger.info("{} policy {} added to store {}", kind, rule.getRuleId(), storeId);
+        return rule.getRuleId();
+    }
+
+    /**
+     * Runs an edit, then drops the store's compiled policy.
+     * The repository write happens outside the map so no bin lock is held during I/O.
+     * A checkout compiling the store concurrently holds the entry's bin lock while it reads
+     * the rules, so the removal waits for it and drops a tree built from the old rules.
+     */
+    private void editPolicies(UUID storeId, Runnable edit) {
+        edit.run();
+        compiledPolicies.remove(storeId);
+    }
+
+    private void validateCanManage(String username, UUID storeId, Permission required) {
+        Store store = storeRepository.findById(storeId)
+                .orElseThrow(() -> new StoreNotFoundException("Store not found: " + storeId));
+
+        if (!store.isActive()) {
+            throw new StoreNotActiveException("Cannot change policies of inactive store");
+        }
+
+        if (store.isStoreOwner(username)) {
+            return;
+        }
+
+        if (store.isStoreManager(username)) {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UserNotFoundException("User not found: " + username));
+            if (user.hasPermission(storeId, required)) {
+                return;
+            }
+        }
+
+        throw new InsufficientPermissionsException("User does not have permission to manage store policies");
+    }
 }
@@ -1,6 +1,8 @@
 package com.sadna_market.market.DomainLayer.DomainServices;
 
 import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.ProductRatedEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -65,7 +68,8 @@ public class RatingService {
 
                 try {
                     // Update product's overall rating
-                    productRepository.updateProductRating(productId, oldRatingValue, ratingValue);
+                    OptimisticRetry.run("update rating of product " + productId,
+                            () -> productRepository.updateProductRating(productId, oldRatingValue, ratingValue));
                 } catch (Exception e) {
                     logger.error("Failed to update product rating, attempting rollback", e);
                     // Try to rollback rating change - best effort
@@ -83,7 +87,8 @@ public class RatingService {
 
                 try {
                     // Update product's overall rating
-                    productRepository.addProductRating(productId, username, ratingValue);
+                    OptimisticRetry.run("add rating to product " + productId,
+                            () -> productRepository.addProductRating(productId, username, ratingValue));
                 } catch (Exception e) {
                     logger.error("Failed to update product rating, attempting rollback", e);
                     // Try to delete the newly created rating - best effort rollback
@@ -99,6 +104,7 @@ public class RatingService {
                 logger.info("Created new product rating: {}", rating.getRatingId());
             }
 
+            DomainEventPublisher.publish(new ProductRatedEvent(product.getStoreId(), productId, product.getCategory()));
             return rating;
         } catch (Exception e) {
             if (!(e instanceof RuntimeException && e.getCause() != null)) {
@@ -120,7 +126,7 @@ public class RatingService {
             throw new IllegalArgumentException("User not found: " + username);
         }
 
-        Store store = storeRepository.findById(storeId)
+        storeRepository.findById(storeId)
                 .orElseThrow(() -> new IllegalArgumentException("Store not found: " + storeId));
 
         if (ratingValue < 1 || ratingValue > 5) {
@@ -141,7 +147,7 @@ public class RatingService {
             rating = ratingRepository.saveStoreRating(existingRating);
 
             // Update store's overall rating
-            store.updateRating(oldRatingValue, ratingValue);
+            updateStoreRating(storeId, current -> current.updateRating(oldRatingValue, ratingValue));
 
             logger.info("Updated store rating: {}", rating.getRatingId());
         } else {
@@ -150,17 +156,27 @@ public class RatingService {
             rating = ratingRepository.saveStoreRating(rating);
 
             // Update store's overall rating
-            store.addRating(ratingValue);
+            updateStoreRating(storeId, current -> current.addRating(ratingValue));
 
             logger.info("Created new store rating: {}", rating.getRatingId());
         }
 
-        // Save updated store
-        storeRepository.save(store);
-
         return rating;
     }
 
+    /**
+     * Re-reads the store and applies the rating change, retrying when a concurrent
+     * update of the same store wins the version check
+     */
+    private void updateStoreRating(UUID storeId, Consumer<Store> change) {
+        OptimisticRetry.run("update rating of store " + storeId, () -> {
+            Store store = storeRepository.findById(storeId)
+                    .orElseThrow(() -> new IllegalArgumentException("Store not found: " + storeId));
+            change.accept(store);
+            storeRepository.save(store);
+        });
+    }
+
     /**
      * Get average product rating
      */
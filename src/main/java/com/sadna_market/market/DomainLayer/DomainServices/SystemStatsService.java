@@ -0,0 +1,225 @@
+package com.sadna_market.market.DomainLayer.DomainServices;
+
+import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.DomainLayer.Events.*;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Domain Service that keeps the system-wide counters shown on the admin dashboard.
+ * Counters are updated incrementally from domain events, written through to the
+ * system_stats table and mirrored in memory, so reading them never touches the
+ * users/stores/orders tables.
+ * The first read after startup (or after {@link #invalidate()}) loads the table,
+ * and if it is empty, seeds it once from full count queries.
+ */
+@Service
+public class SystemStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(SystemStatsService.class);
+
+    // The orders an OrderPlacedEvent has been published for: paid, possibly shipped or completed since
+    private static final Set<OrderStatus> FINALIZED_STATUSES =
+            EnumSet.of(OrderStatus.PAID, OrderStatus.SHIPPED, OrderStatus.COMPLETED);
+
+    private final ISystemStatsRepository statsRepository;
+    private final IUserRepository userRepository;
+    private final IStoreRepository storeRepository;
+    private final IOrderRepository orderRepository;
+    private final IReportRepository reportRepository;
+
+    private final Map<SystemStatKey, DoubleAdder> mirror = new EnumMap<>(SystemStatKey.class);
+    private volatile boolean loaded = false;
+    // Held while reseeding, which queries the database - a lock rather than synchronized so
+    // virtual threads do not pin their carrier during that I/O
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    @Autowired
+    public SystemStatsService(ISystemStatsRepository statsRepository,
+                              IUserRepository userRepository,
+                              IStoreRepository storeRepository,
+                              IOrderRepository orderRepository,
+                              IReportRepository reportRepository) {
+        this.statsRepository = statsRepository;
+        this.userRepository = userRepository;
+        this.storeRepository = storeRepository;
+        this.orderRepository = orderRepository;
+        this.reportRepository = reportRepository;
+        for (SystemStatKey key : SystemStatKey.values()) {
+            mirror.put(key, new DoubleAdder());
+        }
+    }
+
+    @PostConstruct
+    public void subscribeToEvents() {
+        DomainEventPublisher.subscribe(UserRegisteredEvent.class, e -> apply(SystemStatKey.TOTAL_USERS, 1));
+        DomainEventPublisher.subscribe(UserDeletedEvent.class, this::handleUserDeleted);
+        DomainEventPublisher.subscribe(UserLoggedInEvent.class, e -> apply(SystemStatKey.ACTIVE_USERS, 1));
+        DomainEventPublisher.subscribe(UserLoggedOutEvent.class, e -> apply(SystemStatKey.ACTIVE_USERS, -1));
+        DomainEventPublisher.subscribe(StoreCreatedEvent.class, e -> apply(SystemStatKey.TOTAL_STORES, 1));
+        DomainEventPublisher.subscribe(OrderPlacedEvent.class, this::handleOrderPlaced);
+        DomainEventPublisher.subscribe(ViolationReportedEvent.class, e -> apply(SystemStatKey.PENDING_REPORTS, 1));
+
+        logger.info("System stats service subscribed to domain events");
+    }
+
+    /**
+     * Returns the current counters - O(1), never queries the source tables
+     */
+    public SystemStatsSnapshot getSnapshot() {
+        ensureLoaded();
+        return new SystemStatsSnapshot(
+                (int) read(SystemStatKey.TOTAL_USERS),
+                (int) read(SystemStatKey.TOTAL_STORES),
+                (int) read(SystemStatKey.TOTAL_ORDERS),
+                read(SystemStatKey.TOTAL_REVENUE),
+                (int) read(SystemStatKey.ACTIVE_USERS),
+                (int) read(SystemStatKey.PENDING_REPORTS)
+        );
+    }
+
+    /**
+     * Recomputes every counter from the source repositories and overwrites the stored values.
+     * Used to seed an empty stats table and to repair drift (e.g. data changed outside the services).
+     */
+    public void reconcile() {
+        loadLock.lock();
+        try {
+            logger.info("Reconciling system stats from source repositories");
+            Map<SystemStatKey, Double> fresh = new EnumMap<>(SystemStatKey.class);
+            fresh.put(SystemStatKey.TOTAL_USERS, (double) userRepository.countAll());
+            fresh.put(SystemStatKey.TOTAL_STORES, (double) storeRepository.countAll());
+            fresh.put(SystemStatKey.TOTAL_ORDERS, (double) orderRepository.countByStatuses(FINALIZED_STATUSES));
+            fresh.put(SystemStatKey.TOTAL_REVENUE, orderRepository.calculateRevenueByStatuses(FINALIZED_STATUSES));
+            fresh.put(SystemStatKey.ACTIVE_USERS, (double) userRepository.countActiveUsers());
+            fresh.put(SystemStatKey.PENDING_REPORTS, (double) reportRepository.countPendingReports());
+
+            for (Map.Entry<SystemStatKey, Double> entry : fresh.entrySet()) {
+                statsRepository.set(entry.getKey(), entry.getValue());
+            }
+            loadMirror(fresh);
+            loaded = true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the stored counters; the next read reseeds them from the repositories
+     */
+    public void invalidate() {
+        loadLock.lock();
+        try {
+            statsRepository.clear();
+            loaded = false;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void handleUserDeleted(UserDeletedEvent event) {
+        Map<SystemStatKey, Double> deltas = new EnumMap<>(SystemStatKey.class);
+        deltas.put(SystemStatKey.TOTAL_USERS, -1.0);
+        if (event.isWasLoggedIn()) {
+            deltas.put(SystemStatKey.ACTIVE_USERS, -1.0);
+        }
+        apply(deltas);
+    }
+
+    private void handleOrderPlaced(OrderPlacedEvent event) {
+        Map<SystemStatKey, Double> deltas = new EnumMap<>(SystemStatKey.class);
+        deltas.put(SystemStatKey.TOTAL_ORDERS, 1.0);
+        deltas.put(SystemStatKey.TOTAL_REVENUE, event.getFinalPrice());
+        apply(deltas);
+    }
+
+    private void apply(SystemStatKey key, double delta) {
+        apply(Map.of(key, delta));
+    }
+
+    private void apply(Map<SystemStatKey, Double> deltas) {
+        // Stats must never break the flow that published the event
+        try {
+            if (ensureLoaded()) {
+                // Events are published after the change is persisted, so a fresh reconcile already counted it
+                return;
+            }
+            for (Map.Entry<SystemStatKey, Double> entry : deltas.entrySet()) {
+                mirror.get(entry.getKey()).add(entry.getValue());
+                statsRepository.increment(entry.getKey(), entry.getValue());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to update system stats {}: {}", deltas.keySet(), e.getMessage());
+        }
+    }
+
+    private double read(SystemStatKey key) {
+        return mirror.get(key).sum();
+    }
+
+    /**
+     * @return true if the counters had to be reseeded from the source repositories
+     */
+    private boolean ensureLoaded() {
+        if (loaded) {
+            return false;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return false;
+            }
+            Map<SystemStatKey, Double> stored = statsRepository.findAll();
+            if (stored.size() < SystemStatKey.values().length) {
+                reconcile();
+                return true;
+            }
+            loadMirror(stored);
+            loaded = true;
+            return false;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void loadMirror(Map<SystemStatKey, Double> values) {
+        for (SystemStatKey key : SystemStatKey.values()) {
+            DoubleAdder adder = mirror.get(key);
+            adder.reset();
+            adder.add(values.getOrDefault(key, 0.0));
+        }
+    }
+
+    @Getter
+    public static class SystemStatsSnapshot {
+        private final int totalUsers;
+        private final int totalStores;
+        private final int totalOrders;
+        private final double totalRevenue;
+        private final int activeUsers;
+        private final int pendingReports;
+        private final LocalDateTime takenAt;
+
+        public SystemStatsSnapshot(int totalUsers, int totalStores, int totalOrders,
+                                   double totalRevenue, int activeUsers, int pendingReports) {
+            this.totalUsers = totalUsers;
+            this.totalStores = totalStores;
+            this.totalOrders = totalOrders;
+            this.totalRevenue = totalRevenue;
+            this.activeUsers = activeUsers;
+            this.pendingReports = pendingReports;
+            this.takenAt = LocalDateTime.now();
+        }
+    }
+}
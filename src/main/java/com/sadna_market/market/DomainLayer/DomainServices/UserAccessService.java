@@ -3,6 +3,7 @@ package com.sadna_market.market.DomainLayer.DomainServices;
 import com.sadna_market.market.ApplicationLayer.Requests.CartRequest;
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.DomainLayer.Events.*;
+import com.sadna_market.market.InfrastructureLayer.Metrics.ActivityMetrics;
 import com.sadna_market.market.InfrastructureLayer.Payment.PaymentMethod;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,9 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
 
 /**
@@ -22,24 +21,26 @@ import java.util.regex.Pattern;
 @Service
 public class UserAccessService {
     private final IUserRepository userRepository;
+    private final ICartRepository cartRepository;
     private final IStoreRepository storeRepository;
     private final IReportRepository reportRepository;
     private final Logger logger = LoggerFactory.getLogger(UserAccessService.class);
     private final String realAdmin;
-    private final Queue<LocalDateTime> transactionTimestamps;
-    private final Queue<LocalDateTime> subscriptionTimestamps;
+    private final ActivityMetrics activityMetrics;
 
     @Autowired
     public UserAccessService(IUserRepository userRepository,
+                             ICartRepository cartRepository,
                              IStoreRepository storeRepository,
                              IReportRepository reportRepository,
+                             ActivityMetrics activityMetrics,
                              @Value("${market.admin.username:admin}") String adminUsername) {
         this.userRepository = userRepository;
+        this.cartRepository = cartRepository;
         this.storeRepository = storeRepository;
         this.reportRepository = reportRepository;
+        this.activityMetrics = activityMetrics;
         this.realAdmin = adminUsername;
-        this.transactionTimestamps = new ConcurrentLinkedQueue<>();
-        this.subscriptionTimestamps = new ConcurrentLinkedQueue<>();
     }
 
     /*
@@ -76,6 +77,7 @@ public class UserAccessService {
 
         // Record subscription
         recordSubscription();
+        DomainEventPublisher.publish(new UserRegisteredEvent(username));
 
         return user;
     }
@@ -94,6 +96,7 @@ public class UserAccessService {
             // Invalidate the user's session (implementation depends on session management)
             user.logout();
             userRepository.update(user);
+            DomainEventPublisher.publish(new UserLoggedOutEvent(username));
             logger.info("User logged out successfully: {}", username);
         } else {
             logger.error("User not found: {}", username);
@@ -169,7 +172,11 @@ public class UserAccessService {
         }
 
         try {
+            boolean wasLoggedIn = userRepository.findByUsername(userToDelete)
+                    .map(User::isLoggedIn)
+                    .orElse(false);
             userRepository.delete(userToDelete);
+            DomainEventPublisher.publish(new UserDeletedEvent(userToDelete, wasLoggedIn));
             // Additional cleanup can happen here
             logger.info("User {} deleted successfully by admin {}", userToDelete, adminUser);
             return true;
@@ -184,6 +191,8 @@ public class UserAccessService {
             User user = userRepository.findByUsername(username).orElseThrow(()-> new IllegalArgumentException("user not found!"));
             user.login(username,password);
             userRepository.update(user);
+            activityMetrics.recordLogin();
+            DomainEventPublisher.publish(new UserLoggedInEvent(username));
             logger.info("User {} logged in successfully", username);
         }
         catch (Exception e) {
@@ -218,6 +227,8 @@ public class UserAccessService {
                 logger.error("Failed to add some of the products to cart: {}", e.getMessage());
             }
             userRepository.update(user);
+            activityMetrics.recordLogin();
+            DomainEventPublisher.publish(new UserLoggedInEvent(username));
             logger.info("User {} logged in successfully", username);
         }
         catch (Exception e) {
@@ -227,16 +238,21 @@ public class UserAccessService {
     }
 
     // Registered functions here:
-    public Cart addToCart(String username, UUID storeId, UUID productId, int quantity) {
+    // Cart edits write a single basket line; the user and the rest of the cart are not loaded.
+
+    /**
+     * @return the new quantity of the product in the user's basket
+     */
+    public int addToCart(String username, UUID storeId, UUID productId, int quantity) {
         try {
-            User user = userRepository.findByUsername(username).orElseThrow(()-> new IllegalArgumentException("user not found!"));
+            if (quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
             checkIfLoggedIn(username);
             if(storeRepository.hasProductInStock(storeId, productId, quantity)) {
-                Cart updatedCart = user.addToCart(storeId, productId, quantity);
-                userRepository.update(user);
+                int newQuantity = cartRepository.addProduct(username, storeId, productId, quantity);
                 logger.info("Product added to cart successfully for user: {}", username);
-                logger.info("Current Cart: {}", updatedCart.toString());
-                return updatedCart;
+                return newQuantity;
             }
             else throw new IllegalArgumentException("Store does not have product in stock");
         }
@@ -246,18 +262,18 @@ public class UserAccessService {
         }
     }
 
-    public Cart removeFromCart(String username, UUID storeId, UUID productId) {
+    public void removeFromCart(String username, UUID storeId, UUID productId) {
         try {
-            User user = userRepository.findByUsername(username).orElseThrow(()-> new IllegalArgumentException("user not found!"));
             checkIfLoggedIn(username);
             // find product in store
             if (!storeRepository.hasProductInStock(storeId, productId, 1)) {
                 throw new IllegalArgumentException("Store does not have product in stock");
             }
-            Cart updatedCart = user.removeFromCart(storeId, productId);
-            logger.info("Successfully removed from cart for user: {}", username);
-            userRepository.update(user);
-            return updatedCart;
+            if (cartRepository.removeProduct(username, storeId, productId)) {
+                logger.info("Successfully removed from cart for user: {}", username);
+            } else {
+                logger.warn("Product {} not found in cart of user {}", productId, username);
+            }
         }
         catch (Exception e) {
             logger.error("Failed to remove from cart for user: {}", username);
@@ -265,21 +281,20 @@ public class UserAccessService {
         }
     }
 
-    public Cart updateCart(String username, UUID storeId, UUID productId, int quantity) {
+    public void updateCart(String username, UUID storeId, UUID productId, int quantity) {
         try {
             if (quantity <= 0) {
                 throw new IllegalArgumentException("Quantity must be greater than 0");
             }
-            User user = userRepository.findByUsername(username).orElseThrow(()-> new IllegalArgumentException("user not found!"));
             // find product in store
             if (!storeRepository.hasProductInStock(storeId, productId, quantity)) {
                 throw new IllegalArgumentException("Store does not have product in stock");
             }
             checkIfLoggedIn(username);
-            Cart updatedCart = user.updateCart(storeId, productId, quantity);
-            userRepository.update(user);
+            if (!cartRepository.setProductQuantity(username, storeId, productId, quantity)) {
+                throw new IllegalArgumentException("No basket for store " + storeId + " in cart");
+            }
             logger.info("Successfully updated cart for user: {}", username);
-            return updatedCart;
         }
         catch (Exception e) {
             logger.error("Failed to update cart for user: {}", username);
@@ -472,7 +487,7 @@ public class UserAccessService {
         if (!user.isAdmin()){
             throw new IllegalArgumentException("Only admin can get transactions rate");
         }
-        return cleanupAndCount(transactionTimestamps);
+        return activityMetrics.transactions().lastHour();
     }
 
     public double getSubscriptionsRatePerHour(String admin) {
@@ -481,7 +496,7 @@ public class UserAccessService {
         if (!user.isAdmin()){
             throw new IllegalArgumentException("Only admin can get subscriptions rate");
         }
-        return cleanupAndCount(subscriptionTimestamps);
+        return activityMetrics.subscriptions().lastHour();
     }
 
     public void replyViolationReport(String admin, UUID reportId, String user, String message) {
@@ -526,20 +541,23 @@ public class UserAccessService {
 
     // Record transaction and subscription methods
     public void recordTransaction() {
-        transactionTimestamps.add(LocalDateTime.now());
+        activityMetrics.recordTransaction(0);
     }
 
-    public void recordSubscription() {
-        subscriptionTimestamps.add(LocalDateTime.now());
+    public void recordTransaction(double amount) {
+        activityMetrics.recordTransaction(amount);
     }
 
+    public void recordCheckoutFailure() {
+        activityMetrics.recordCheckoutFailure();
+    }
 
-    private double cleanupAndCount(Queue<LocalDateTime> timestamps) {
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-        while (!timestamps.isEmpty() && timestamps.peek().isBefore(oneHourAgo)) {
-            timestamps.poll(); // remove old entries
-        }
-        return timestamps.size(); // rate = count in past hour
+    public void recordSubscription() {
+        activityMetrics.recordSubscription();
+    }
+
+    public ActivityMetrics getActivityMetrics() {
+        return activityMetrics;
     }
 
     private boolean isValidPassword(String password) {
@@ -576,11 +594,12 @@ public class UserAccessService {
         reportRepository.clear();
         userRepository.clear();
         storeRepository.clear();
+        activityMetrics.clear();
     }
 
     private void checkIfLoggedIn(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow(()-> new IllegalArgumentException("user not found!"));
-        if (!user.isLoggedIn()) {
+        boolean loggedIn = userRepository.findLoggedInStatus(username).orElseThrow(()-> new IllegalArgumentException("user not found!"));
+        if (!loggedIn) {
             throw new IllegalArgumentException("User is not logged in");
         }
     }
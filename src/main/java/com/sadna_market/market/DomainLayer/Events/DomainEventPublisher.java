@@ -1,5 +1,7 @@
 package com.sadna_market.market.DomainLayer.Events;
 
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Scope;
@@ -9,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -22,6 +25,10 @@ public class DomainEventPublisher {
     // Thread-safe collections for concurrent event handling
     private static final Map<Class<?>, List<Consumer<?>>> subscribers = new ConcurrentHashMap<>();
 
+    // One dispatch timer per event type. The publisher is static, so it reports to the global
+    // registry, which Spring Boot links to the application registry (a no-op outside Spring).
+    private static final Map<Class<?>, Timer> dispatchTimers = new ConcurrentHashMap<>();
+
     /**
      * Subscribe to a specific event type
      *
@@ -68,18 +75,31 @@ public class DomainEventPublisher {
         } else {
             logger.debug("Notifying {} subscriber(s) for event type: {}", handlers.size(), event.getClass().getSimpleName());
 
-            for (Consumer<?> handler : handlers) {
-                try {
-                    ((Consumer<T>) handler).accept(event);
-                } catch (Exception e) {
-                    logger.error("Error in event handler for event type {}: {}", event.getClass().getSimpleName(), e.getMessage(), e);
-                    // Continue with other handlers despite errors
-                    throw new RuntimeException("Error in event handler", e);
+            long start = System.nanoTime();
+            try {
+                for (Consumer<?> handler : handlers) {
+                    try {
+                        ((Consumer<T>) handler).accept(event);
+                    } catch (Exception e) {
+                        logger.error("Error in event handler for event type {}: {}", event.getClass().getSimpleName(), e.getMessage(), e);
+                        // Continue with other handlers despite errors
+                        throw new RuntimeException("Error in event handler", e);
+                    }
                 }
+            } finally {
+                dispatchTimer(event.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
         }
     }
 
+    private static Timer dispatchTimer(Class<?> eventType) {
+        return dispatchTimers.computeIfAbsent(eventType, type -> Timer.builder("market.events.dispatch")
+                .description("Time spent running all handlers of a domain event")
+                .tag("event", type.getSimpleName())
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry));
+    }
+
     /**
      * Clear all subscribers - primarily for testing purposes
      */
@@ -0,0 +1,25 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Event triggered exactly once per order, when it is finalized after a successful payment
+ */
+@Getter
+public class OrderPlacedEvent extends DomainEvent {
+    private final String username;
+    private final UUID orderId;
+    private final UUID storeId;
+    private final double finalPrice;
+
+    public OrderPlacedEvent(String username, UUID orderId, UUID storeId, double finalPrice) {
+        super();
+        this.username = username;
+        this.orderId = orderId;
+        this.storeId = storeId;
+        this.finalPrice = finalPrice;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Event triggered when a product is added, its details change or the product is removed
+ */
+@Getter
+public class ProductChangedEvent extends DomainEvent {
+    private final UUID storeId;
+    private final UUID productId;
+    // The categories the product was listed under before and after the change; empty if unknown
+    private final Set<String> categories;
+
+    public ProductChangedEvent(UUID storeId, UUID productId) {
+        this(storeId, productId, Set.of());
+    }
+
+    public ProductChangedEvent(UUID storeId, UUID productId, String... categories) {
+        this(storeId, productId, categorySet(categories));
+    }
+
+    private ProductChangedEvent(UUID storeId, UUID productId, Set<String> categories) {
+        super();
+        this.storeId = storeId;
+        this.productId = productId;
+        this.categories = categories;
+    }
+
+    private static Set<String> categorySet(String... categories) {
+        Set<String> set = new HashSet<>();
+        for (String category : categories) {
+            if (category != null) {
+                set.add(category);
+            }
+        }
+        return Set.copyOf(set);
+    }
+}
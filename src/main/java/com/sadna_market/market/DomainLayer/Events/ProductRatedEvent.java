@@ -0,0 +1,21 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+import java.util.UUID;
+
+/**
+ * Event triggered when a product's average rating changes
+ */
+@Getter
+public class ProductRatedEvent extends DomainEvent {
+    private final UUID storeId;
+    private final UUID productId;
+    private final String category;
+
+    public ProductRatedEvent(UUID storeId, UUID productId, String category) {
+        super();
+        this.storeId = storeId;
+        this.productId = productId;
+        this.category = category;
+    }
+}
@@ -0,0 +1,19 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+
+/**
+ * Event triggered when an admin removes a user from the system
+ */
+@Getter
+public class UserDeletedEvent extends DomainEvent {
+    private final String username;
+    private final boolean wasLoggedIn;
+
+    public UserDeletedEvent(String username, boolean wasLoggedIn) {
+        super();
+        this.username = username;
+        this.wasLoggedIn = wasLoggedIn;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+
+/**
+ * Event triggered when a user logs in
+ */
+@Getter
+public class UserLoggedInEvent extends DomainEvent {
+    private final String username;
+
+    public UserLoggedInEvent(String username) {
+        super();
+        this.username = username;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+
+/**
+ * Event triggered when a user logs out
+ */
+@Getter
+public class UserLoggedOutEvent extends DomainEvent {
+    private final String username;
+
+    public UserLoggedOutEvent(String username) {
+        super();
+        this.username = username;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.sadna_market.market.DomainLayer.Events;
+
+import lombok.Getter;
+
+/**
+ * Event triggered when a new user registers
+ */
+@Getter
+public class UserRegisteredEvent extends DomainEvent {
+    private final String username;
+
+    public UserRegisteredEvent(String username) {
+        super();
+        this.username = username;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.sadna_market.market.DomainLayer;
+
+import java.util.UUID;
+
+/**
+ * Line-level edits of a registered user's cart.
+ * Each call touches a single basket line, so a cart change does not load or
+ * re-save the user, the cart or any other basket.
+ */
+public interface ICartRepository {
+
+    /**
+     * Adds units of a product to the user's basket for a store, creating the basket if needed
+     *
+     * @return the new quantity of the product in the basket
+     */
+    int addProduct(String username, UUID storeId, UUID productId, int quantity);
+
+    /**
+     * Sets the quantity of a product in the user's basket for a store
+     *
+     * @return false if the user has no basket for the store
+     */
+    boolean setProductQuantity(String username, UUID storeId, UUID productId, int quantity);
+
+    /**
+     * Removes a product from the user's basket for a store, dropping the basket once it is empty
+     *
+     * @return false if the product was not in the basket
+     */
+    boolean removeProduct(String username, UUID storeId, UUID productId);
+}
@@ -97,6 +97,25 @@ public interface IMessageRepository {
      */
     int markAllStoreMessagesAsRead(UUID storeId);
 
+    /**
+     * Gets one page of a store's messages, newest first
+     *
+     * @param storeId The store ID
+     * @param filter Which of the store's messages to include
+     * @param page Zero-based page number
+     * @param size Number of messages per page
+     * @return The messages of the page, empty past the last page
+     */
+    List<Message> findStorePage(UUID storeId, MessageFilter filter, int page, int size);
+
+    /**
+     * Counts the unread messages of a store without loading them
+     *
+     * @param storeId The store ID
+     * @return The number of unread messages
+     */
+    int countUnreadForStore(UUID storeId);
+
     void clear();
 
     List<Message> findAll();
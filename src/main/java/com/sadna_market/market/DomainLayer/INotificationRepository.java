@@ -6,6 +6,11 @@ import java.util.UUID;
 
 public interface INotificationRepository {
     void save(Notification notification);
+
+    /**
+     * Saves several notifications in one unit of work, so the inserts are written as a batch
+     */
+    void saveAll(List<Notification> notifications);
     Optional<Notification> findById(UUID notificationId);
     List<Notification> findByRecipientUsername(String username);
     List<Notification> findUnreadByRecipientUsername(String username);
@@ -3,9 +3,11 @@ package com.sadna_market.market.DomainLayer;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -102,6 +104,17 @@ public interface IOrderRepository {
     @Transactional
     boolean updeteOrderTransactionId(UUID orderId, int transactionId);
 
+    /**
+     * Moves several orders to a new status in one unit of work, so the updates are written as a batch.
+     * Orders for which the transition is not allowed are left unchanged.
+     *
+     * @param orderIds The order IDs
+     * @param newStatus The new status
+     * @param transactionId Payment transaction ID to record with the new status, or null to keep the current one
+     * @return the IDs of the orders that were updated
+     */
+    Set<UUID> updateOrderStatuses(Collection<UUID> orderIds, OrderStatus newStatus, Integer transactionId);
+
     /**
      * Sets the delivery ID for an order
      *
@@ -181,6 +194,16 @@ public interface IOrderRepository {
      */
     double calculateTotalRevenue();
 
+    /**
+     * Count the orders currently in one of the given statuses
+     */
+    int countByStatuses(Collection<OrderStatus> statuses);
+
+    /**
+     * Calculate the revenue of the orders currently in one of the given statuses
+     */
+    double calculateRevenueByStatuses(Collection<OrderStatus> statuses);
+
 
 
 
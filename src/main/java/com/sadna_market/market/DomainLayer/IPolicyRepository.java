@@ -0,0 +1,34 @@
+package com.sadna_market.market.DomainLayer;
+
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IPolicyRepository {
+
+    /**
+     * Saves a top-level policy rule together with its sub-rules
+     */
+    void save(PolicyRule rule);
+
+    /**
+     * Finds a top-level policy rule by ID
+     */
+    Optional<PolicyRule> findById(UUID ruleId);
+
+    /**
+     * Finds all top-level discount and purchase rules of a store
+     */
+    List<PolicyRule> findByStoreId(UUID storeId);
+
+    /**
+     * Deletes a top-level policy rule and its sub-rules
+     */
+    void deleteById(UUID ruleId);
+
+    void deleteByStoreId(UUID storeId);
+
+    void clear();
+}
@@ -1,6 +1,7 @@
 package com.sadna_market.market.DomainLayer;
 
 import com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +29,22 @@ public interface IProductRepository {
                                                       Double minPrice, Double maxPrice,
                                                       Double minRate, Double maxRate);
 
+    /**
+     * Listing variants of findByStoreId and filterByStoreWithCriteria: only the
+     * displayed columns are read, straight into DTOs
+     */
+    List<ProductDTO> findDTOsByStoreId(UUID storeId);
+
+    List<ProductDTO> filterDTOsByStoreWithCriteria(UUID storeId, String name, String category,
+                                                   Double minPrice, Double maxPrice,
+                                                   Double minRate, Double maxRate);
+
+    /**
+     * The store's catalog joined with its inventory in one read; products the store holds
+     * no stock for come back with quantity 0
+     */
+    List<StoreProductDTO> findDTOsWithInventoryByStoreId(UUID storeId);
+
     void deleteProduct(UUID productId);
 
     void addProductRating(UUID productId, String username, int ratingValue);
@@ -41,6 +58,13 @@ public interface IProductRepository {
                                           Double minPrice, Double maxPrice,
                                           Double minRate, Double maxRate);
 
+    /**
+     * Whether searchProduct matches the category exactly; otherwise it matches by substring
+     */
+    default boolean searchMatchesCategoryExactly() {
+        return false;
+    }
+
     void clear();
 
     List<ProductDTO> getTopRatedProducts(UUID storeId);
@@ -1,5 +1,7 @@
 package com.sadna_market.market.DomainLayer;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreDTO;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -31,6 +33,14 @@ public interface IStoreRepository {
      * @return List of all stores
      */
     List<Store> findAll();
+
+    /**
+     * Lists the active stores for display, reading only the listed columns
+     * and the owner and manager names (no inventory or order history)
+     *
+     * @return List of active store DTOs
+     */
+    List<StoreDTO> findActiveStoreDTOs();
     
     /**
      * Deletes a store by its ID
@@ -0,0 +1,25 @@
+package com.sadna_market.market.DomainLayer;
+
+import java.util.Map;
+
+public interface ISystemStatsRepository {
+
+    /**
+     * Loads every stored counter
+     *
+     * @return map from counter key to its value, empty if the counters were never seeded
+     */
+    Map<SystemStatKey, Double> findAll();
+
+    /**
+     * Atomically adds a delta to a counter, creating it if missing
+     */
+    void increment(SystemStatKey key, double delta);
+
+    /**
+     * Overwrites a counter with an absolute value (used when reconciling)
+     */
+    void set(SystemStatKey key, double value);
+
+    void clear();
+}
@@ -4,6 +4,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.util.UUID;
 
 /**
@@ -12,7 +13,9 @@ import java.util.UUID;
  * Using @MappedSuperclass since this is abstract and we don't want a separate table.
  */
 @MappedSuperclass
-public abstract class IUser {
+public abstract class IUser implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(IUser.class);
 
     @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
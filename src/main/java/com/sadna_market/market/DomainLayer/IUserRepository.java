@@ -1,16 +1,31 @@
 package com.sadna_market.market.DomainLayer;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.UserDTO;
+
 import java.util.List;
 import java.util.Optional;
 
 public interface IUserRepository {
     Optional<User> findByUsername(String username);
     boolean contains(String username);
+
+    /**
+     * Reads only the login flag, without loading the user's cart and roles
+     *
+     * @return empty if the user does not exist
+     */
+    Optional<Boolean> findLoggedInStatus(String username);
     void save(User user);
     void update(User user);
     void delete(String username);
 
     List<User> findAll();
+
+    /**
+     * Lists every user for display with their cart item count,
+     * without loading carts, roles or histories
+     */
+    List<UserDTO> findAllUserDTOs();
     List<User> findByEmail(String email);
     List<User> findActiveUsers();
 
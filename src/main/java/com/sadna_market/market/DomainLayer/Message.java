@@ -5,6 +5,7 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -12,7 +13,9 @@ import java.util.UUID;
 @Table(name = "messages")
 @Getter
 @NoArgsConstructor // Required by JPA
-public class Message {
+public class Message implements Serializable {
+    private static final long serialVersionUID = 1L;
+
 
     @Id
     @Column(name = "message_id", updatable = false, nullable = false)
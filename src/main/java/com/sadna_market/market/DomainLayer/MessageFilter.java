@@ -0,0 +1,10 @@
+package com.sadna_market.market.DomainLayer;
+
+/**
+ * Which of a store's messages a paged listing includes
+ */
+public enum MessageFilter {
+    ALL,
+    UNREAD,
+    UNANSWERED
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -11,7 +12,9 @@ import java.util.UUID;
 @Table(name = "notifications")
 @Getter
 @NoArgsConstructor
-public class Notification {
+public class Notification implements Serializable {
+    private static final long serialVersionUID = 1L;
+
 
     @Id
     @Column(name = "notification_id")
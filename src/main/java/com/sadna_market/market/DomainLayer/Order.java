@@ -4,16 +4,21 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Entity
 @Table(name = "orders")
+@Cacheable(false) // order state changes during checkout; never served from the second-level cache
 @Getter
 @NoArgsConstructor // Required by JPA
-public class Order {
+public class Order implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LoggerFactory.getLogger(Order.class);
 
     // JPA SETTERS (needed for repository operations)
@@ -22,6 +27,12 @@ public class Order {
     @Column(name = "order_id", updatable = false, nullable = false)
     private UUID orderId;
 
+    // Optimistic concurrency: a save from a stale copy fails instead of overwriting a newer one.
+    // The default lets ddl-auto add the column to tables that already hold rows
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @Setter
     @Column(name = "store_id", nullable = false)
     private UUID storeId;
@@ -75,8 +86,11 @@ public class Order {
     @Column(name = "delivery_address", length = 500)
     private String deliveryAddress;
 
-    // For thread-safe status updates (transient = not stored in DB)
-    private final transient Object statusLock = new Object();
+    // For thread-safe status updates. A ReentrantLock rather than a monitor, so virtual threads
+    // waiting on it do not pin their carrier thread. Not a transient field: serialized copies
+    // (the in-memory repository journal) must come back with a lock, which deserializes unlocked
+    @Transient // Don't persist the lock
+    private final ReentrantLock statusLock = new ReentrantLock();
 
     public void setProducts(Map<UUID, Integer> products) {
         this.products = products != null ? products : new HashMap<>();
@@ -180,7 +194,8 @@ public class Order {
      * Updates order status in a thread-safe manner
      */
     public boolean updateStatus(OrderStatus newStatus) {
-        synchronized (statusLock) {
+        statusLock.lock();
+        try {
             logger.info("Attempting to update order {} status from {} to {}",
                     orderId, status, newStatus);
 
@@ -194,6 +209,8 @@ public class Order {
             this.status = newStatus;
             logger.info("Order {} status updated to {}", orderId, newStatus);
             return true;
+        } finally {
+            statusLock.unlock();
         }
     }
 
@@ -0,0 +1,25 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+import lombok.Getter;
+
+/**
+ * Price of one store basket after the store's policies were applied
+ */
+@Getter
+public class BasketQuote {
+    private final double totalPrice;
+    private final double discount;
+    private final double finalPrice;
+    private final String violation; // null when every purchase rule holds
+
+    public BasketQuote(double totalPrice, double discount, String violation) {
+        this.totalPrice = totalPrice;
+        this.discount = discount;
+        this.finalPrice = totalPrice - discount;
+        this.violation = violation;
+    }
+
+    public boolean isPurchaseAllowed() {
+        return violation == null;
+    }
+}
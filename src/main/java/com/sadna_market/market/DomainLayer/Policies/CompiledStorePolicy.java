@@ -0,0 +1,41 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+/**
+ * Immutable result of compiling one store's policies.
+ * Instances are shared between checkouts and only replaced when the store edits its rules.
+ */
+public final class CompiledStorePolicy {
+    public static final CompiledStorePolicy EMPTY =
+            new CompiledStorePolicy(PolicyDiscount.NONE, new PolicyCondition[0], new String[0]);
+
+    private final PolicyDiscount discount;
+    private final PolicyCondition[] purchaseRules;
+    private final String[] purchaseDescriptions;
+
+    CompiledStorePolicy(PolicyDiscount discount, PolicyCondition[] purchaseRules, String[] purchaseDescriptions) {
+        this.discount = discount;
+        this.purchaseRules = purchaseRules;
+        this.purchaseDescriptions = purchaseDescriptions;
+    }
+
+    /**
+     * Prices the basket and checks the purchase rules in a single pass
+     */
+    public BasketQuote evaluate(PricedBasket basket) {
+        String violation = null;
+        for (int i = 0; i < purchaseRules.length; i++) {
+            if (!purchaseRules[i].test(basket)) {
+                violation = "Purchase policy requires " + purchaseDescriptions[i];
+                break;
+            }
+        }
+
+        double subtotal = basket.getSubtotal();
+        double amount = Math.min(subtotal, Math.max(0.0, discount.amount(basket)));
+        return new BasketQuote(subtotal, amount, violation);
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+}
@@ -0,0 +1,315 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Turns stored {@link PolicyRule} definitions into immutable evaluator trees.
+ * All validation, scope resolution and message formatting happen here, once per
+ * edit, so evaluating a basket is a plain walk over final fields and arrays.
+ */
+public final class PolicyCompiler {
+
+    private PolicyCompiler() {
+    }
+
+    /**
+     * Compiles every top-level rule of one store.
+     * Top-level discounts are added together; every top-level purchase rule must hold.
+     */
+    public static CompiledStorePolicy compile(List<PolicyRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            return CompiledStorePolicy.EMPTY;
+        }
+
+        List<PolicyDiscount> discounts = new ArrayList<>();
+        List<PolicyCondition> purchaseRules = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+
+        for (PolicyRule rule : rules) {
+            validate(rule, rule.getKind());
+            if (rule.getKind() == PolicyKind.DISCOUNT) {
+                discounts.add(compileDiscount(rule));
+            } else {
+                purchaseRules.add(compileCondition(rule));
+                descriptions.add(describe(rule));
+            }
+        }
+
+        PolicyDiscount discount = discounts.isEmpty() ? PolicyDiscount.NONE
+                : discounts.size() == 1 ? discounts.get(0)
+                : new SumDiscount(discounts.toArray(new PolicyDiscount[0]));
+
+        return new CompiledStorePolicy(discount,
+                purchaseRules.toArray(new PolicyCondition[0]),
+                descriptions.toArray(new String[0]));
+    }
+
+    /**
+     * Checks that a rule tree is well formed for the given policy kind
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    public static void validate(PolicyRule rule, PolicyKind kind) {
+        if (kind == null) {
+            throw new IllegalArgumentException("Policy kind cannot be null");
+        }
+        if (kind == PolicyKind.PURCHASE && !rule.getType().isCondition()) {
+            throw new IllegalArgumentException("Purchase policy must be a condition, got " + rule.getType());
+        }
+        if (kind == PolicyKind.DISCOUNT && !rule.getType().isDiscount()) {
+            throw new IllegalArgumentException("Discount policy must be a discount, got " + rule.getType());
+        }
+        validateNode(rule);
+    }
+
+    private static void validateNode(PolicyRule rule) {
+        PolicyRuleType type = rule.getType();
+        List<PolicyRule> children = rule.getChildren();
+
+        if (rule.getProductId() != null && rule.getCategory() != null) {
+            throw new IllegalArgumentException("Policy rule cannot target both a product and a category");
+        }
+
+        switch (type) {
+            case MIN_QUANTITY, MAX_QUANTITY, MIN_BASKET_TOTAL -> {
+                if (!children.isEmpty()) {
+                    throw new IllegalArgumentException(type + " cannot have sub-rules");
+                }
+                if (rule.getThreshold() < 0) {
+                    throw new IllegalArgumentException(type + " threshold cannot be negative");
+                }
+            }
+            case AND, OR, XOR -> {
+                int min = type == PolicyRuleType.XOR ? 2 : 1;
+                if (children.size() < min) {
+                    throw new IllegalArgumentException(type + " requires at least " + min + " conditions");
+                }
+                requireChildren(rule, true);
+            }
+            case PERCENTAGE -> {
+                if (rule.getPercentage() <= 0 || rule.getPercentage() > 100) {
+                    throw new IllegalArgumentException("Discount percentage must be in (0, 100]");
+                }
+                // Sub-rules of a percentage discount are its conditions
+                requireChildren(rule, true);
+            }
+            case MAX, SUM -> {
+                if (children.isEmpty()) {
+                    throw new IllegalArgumentException(type + " requires at least one discount");
+                }
+                requireChildren(rule, false);
+            }
+        }
+    }
+
+    private static void requireChildren(PolicyRule rule, boolean conditions) {
+        for (PolicyRule child : rule.getChildren()) {
+            if (child.getType().isCondition() != conditions) {
+                throw new IllegalArgumentException(rule.getType() + " cannot contain " + child.getType());
+            }
+            validateNode(child);
+        }
+    }
+
+    // ==================== COMPILATION ====================
+
+    private static PolicyCondition compileCondition(PolicyRule rule) {
+        UUID productId = rule.getProductId();
+        String category = rule.getCategory();
+
+        return switch (rule.getType()) {
+            case MIN_QUANTITY -> {
+                int min = (int) Math.ceil(rule.getThreshold());
+                yield basket -> basket.quantityIn(productId, category) >= min;
+            }
+            case MAX_QUANTITY -> {
+                int max = (int) Math.floor(rule.getThreshold());
+                yield basket -> basket.quantityIn(productId, category) <= max;
+            }
+            case MIN_BASKET_TOTAL -> {
+                double min = rule.getThreshold();
+                yield basket -> basket.totalIn(productId, category) >= min;
+            }
+            case AND -> new AndCondition(compileConditions(rule.getChildren()));
+            case OR -> new OrCondition(compileConditions(rule.getChildren()));
+            case XOR -> new XorCondition(compileConditions(rule.getChildren()));
+            default -> throw new IllegalArgumentException(rule.getType() + " is not a condition");
+        };
+    }
+
+    private static PolicyDiscount compileDiscount(PolicyRule rule) {
+        return switch (rule.getType()) {
+            case PERCENTAGE -> {
+                List<PolicyRule> conditions = rule.getChildren();
+                PolicyCondition guard = conditions.isEmpty() ? null
+                        : conditions.size() == 1 ? compileCondition(conditions.get(0))
+                        : new AndCondition(compileConditions(conditions));
+                yield new PercentageDiscount(rule.getProductId(), rule.getCategory(),
+                        rule.getPercentage() / 100.0, guard);
+            }
+            case MAX -> new MaxDiscount(compileDiscounts(rule.getChildren()));
+            case SUM -> new SumDiscount(compileDiscounts(rule.getChildren()));
+            default -> throw new IllegalArgumentException(rule.getType() + " is not a discount");
+        };
+    }
+
+    private static PolicyCondition[] compileConditions(List<PolicyRule> rules) {
+        PolicyCondition[] compiled = new PolicyCondition[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compileCondition(rules.get(i));
+        }
+        return compiled;
+    }
+
+    private static PolicyDiscount[] compileDiscounts(List<PolicyRule> rules) {
+        PolicyDiscount[] compiled = new PolicyDiscount[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compileDiscount(rules.get(i));
+        }
+        return compiled;
+    }
+
+    /**
+     * Human readable form of a condition, used as the purchase policy violation message
+     */
+    static String describe(PolicyRule rule) {
+        String scope = rule.getProductId() != null ? "product " + rule.getProductId()
+                : rule.getCategory() != null ? "category '" + rule.getCategory() + "'"
+                : "the basket";
+
+        return switch (rule.getType()) {
+            case MIN_QUANTITY -> "at least " + (int) Math.ceil(rule.getThreshold()) + " units of " + scope;
+            case MAX_QUANTITY -> "at most " + (int) Math.floor(rule.getThreshold()) + " units of " + scope;
+            case MIN_BASKET_TOTAL -> "a total of at least " + rule.getThreshold() + " for " + scope;
+            case AND, OR, XOR -> {
+                List<String> parts = new ArrayList<>();
+                for (PolicyRule child : rule.getChildren()) {
+                    parts.add(describe(child));
+                }
+                yield "(" + String.join(" " + rule.getType() + " ", parts) + ")";
+            }
+            default -> rule.getType().name();
+        };
+    }
+
+    // ==================== EVALUATOR NODES ====================
+
+    private static final class AndCondition implements PolicyCondition {
+        private final PolicyCondition[] conditions;
+
+        AndCondition(PolicyCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(PricedBasket basket) {
+            for (PolicyCondition condition : conditions) {
+                if (!condition.test(basket)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrCondition implements PolicyCondition {
+        private final PolicyCondition[] conditions;
+
+        OrCondition(PolicyCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(PricedBasket basket) {
+            for (PolicyCondition condition : conditions) {
+                if (condition.test(basket)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Exactly one of the conditions holds
+    private static final class XorCondition implements PolicyCondition {
+        private final PolicyCondition[] conditions;
+
+        XorCondition(PolicyCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public boolean test(PricedBasket basket) {
+            boolean found = false;
+            for (PolicyCondition condition : conditions) {
+                if (condition.test(basket)) {
+                    if (found) {
+                        return false;
+                    }
+                    found = true;
+                }
+            }
+            return found;
+        }
+    }
+
+    private static final class PercentageDiscount implements PolicyDiscount {
+        private final UUID productId;
+        private final String category;
+        private final double fraction;
+        private final PolicyCondition guard; // null when unconditional
+
+        PercentageDiscount(UUID productId, String category, double fraction, PolicyCondition guard) {
+            this.productId = productId;
+            this.category = category;
+            this.fraction = fraction;
+            this.guard = guard;
+        }
+
+        @Override
+        public double amount(PricedBasket basket) {
+            if (guard != null && !guard.test(basket)) {
+                return 0.0;
+            }
+            return basket.totalIn(productId, category) * fraction;
+        }
+    }
+
+    // Best single discount wins
+    private static final class MaxDiscount implements PolicyDiscount {
+        private final PolicyDiscount[] discounts;
+
+        MaxDiscount(PolicyDiscount[] discounts) {
+            this.discounts = discounts;
+        }
+
+        @Override
+        public double amount(PricedBasket basket) {
+            double best = 0.0;
+            for (PolicyDiscount discount : discounts) {
+                best = Math.max(best, discount.amount(basket));
+            }
+            return best;
+        }
+    }
+
+    // Discounts stack
+    private static final class SumDiscount implements PolicyDiscount {
+        private final PolicyDiscount[] discounts;
+
+        SumDiscount(PolicyDiscount[] discounts) {
+            this.discounts = discounts;
+        }
+
+        @Override
+        public double amount(PricedBasket basket) {
+            double total = 0.0;
+            for (PolicyDiscount discount : discounts) {
+                total += discount.amount(basket);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+/**
+ * Compiled, immutable condition node (purchase rule or discount guard)
+ */
+@FunctionalInterface
+public interface PolicyCondition {
+    boolean test(PricedBasket basket);
+}
@@ -0,0 +1,14 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+/**
+ * Compiled, immutable discount node
+ */
+@FunctionalInterface
+public interface PolicyDiscount {
+    PolicyDiscount NONE = basket -> 0.0;
+
+    /**
+     * @return the amount taken off the basket, before capping at the subtotal
+     */
+    double amount(PricedBasket basket);
+}
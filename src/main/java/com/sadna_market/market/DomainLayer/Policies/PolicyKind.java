@@ -0,0 +1,6 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+public enum PolicyKind {
+    DISCOUNT,
+    PURCHASE
+}
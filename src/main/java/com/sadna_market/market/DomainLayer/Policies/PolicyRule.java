@@ -0,0 +1,102 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stored definition of one store policy node (discount or purchase rule).
+ * Top-level rules of a store are roots; composites own their children.
+ * The definition is only the source of truth - checkout never walks it directly,
+ * it uses the tree compiled by {@link PolicyCompiler}.
+ */
+@Entity
+@Table(name = "policy_rules",
+        indexes = @Index(name = "idx_policy_rules_store_root", columnList = "store_id, root"))
+@Getter
+@NoArgsConstructor // Required by JPA
+public class PolicyRule implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+
+    @Id
+    @Column(name = "rule_id", updatable = false, nullable = false)
+    private UUID ruleId;
+
+    @Column(name = "store_id")
+    private UUID storeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", length = 20)
+    private PolicyKind kind;
+
+    @Column(name = "root", nullable = false)
+    private boolean root;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", length = 30, nullable = false)
+    private PolicyRuleType type;
+
+    // Scope: a product, a category, or (both null) the whole basket
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(name = "category", length = 100)
+    private String category;
+
+    // Discount percentage (PERCENTAGE only)
+    @Column(name = "percentage", nullable = false)
+    private double percentage;
+
+    // Quantity or amount limit (MIN_QUANTITY, MAX_QUANTITY, MIN_BASKET_TOTAL)
+    @Column(name = "threshold", nullable = false)
+    private double threshold;
+
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @JoinColumn(name = "parent_rule_id")
+    @OrderColumn(name = "position")
+    private List<PolicyRule> children = new ArrayList<>();
+
+    public PolicyRule(PolicyRuleType type, UUID productId, String category,
+                      double percentage, double threshold, List<PolicyRule> children) {
+        if (type == null) {
+            throw new IllegalArgumentException("Policy rule type cannot be null");
+        }
+        this.ruleId = UUID.randomUUID();
+        this.type = type;
+        this.productId = productId;
+        this.category = category;
+        this.percentage = percentage;
+        this.threshold = threshold;
+        if (children != null) {
+            this.children.addAll(children);
+        }
+    }
+
+    /**
+     * Binds this rule (and its whole subtree) to a store as a top-level policy
+     */
+    public void attachTo(UUID storeId, PolicyKind kind) {
+        assign(storeId, kind);
+        this.root = true;
+    }
+
+    private void assign(UUID storeId, PolicyKind kind) {
+        this.storeId = storeId;
+        this.kind = kind;
+        this.root = false;
+        for (PolicyRule child : children) {
+            child.assign(storeId, kind);
+        }
+    }
+
+    public List<PolicyRule> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+/**
+ * Node types of a store policy tree.
+ * Conditions evaluate to true/false and are used both as purchase rules and as
+ * the guard of a conditional discount; discounts evaluate to an amount off the basket.
+ */
+public enum PolicyRuleType {
+    // Conditions (leaves)
+    MIN_QUANTITY(true, false),
+    MAX_QUANTITY(true, false),
+    MIN_BASKET_TOTAL(true, false),
+
+    // Conditions (logical composites)
+    AND(true, true),
+    OR(true, true),
+    XOR(true, true),
+
+    // Discounts
+    PERCENTAGE(false, false),
+    MAX(false, true),
+    SUM(false, true);
+
+    private final boolean condition;
+    private final boolean composite;
+
+    PolicyRuleType(boolean condition, boolean composite) {
+        this.condition = condition;
+        this.composite = composite;
+    }
+
+    public boolean isCondition() {
+        return condition;
+    }
+
+    public boolean isDiscount() {
+        return !condition;
+    }
+
+    public boolean isComposite() {
+        return composite;
+    }
+}
@@ -0,0 +1,89 @@
+package com.sadna_market.market.DomainLayer.Policies;
+
+import com.sadna_market.market.DomainLayer.Product;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-only view of one store basket with the unit prices resolved once.
+ * Compiled policies evaluate against it without further repository lookups;
+ * lines are kept in flat arrays because baskets are small and a linear scan
+ * is cheaper than building a map per checkout.
+ */
+public final class PricedBasket {
+    private final UUID[] productIds;
+    private final String[] categories;
+    private final int[] quantities;
+    private final double[] unitPrices;
+    private final double subtotal;
+
+    public PricedBasket(Map<UUID, Integer> items, Function<UUID, Product> productLookup) {
+        int size = items.size();
+        this.productIds = new UUID[size];
+        this.categories = new String[size];
+        this.quantities = new int[size];
+        this.unitPrices = new double[size];
+
+        double total = 0.0;
+        int i = 0;
+        for (Map.Entry<UUID, Integer> entry : items.entrySet()) {
+            Product product = productLookup.apply(entry.getKey());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + entry.getKey());
+            }
+            productIds[i] = entry.getKey();
+            categories[i] = product.getCategory();
+            quantities[i] = entry.getValue();
+            unitPrices[i] = product.getPrice();
+            total += unitPrices[i] * quantities[i];
+            i++;
+        }
+        this.subtotal = total;
+    }
+
+    public double getSubtotal() {
+        return subtotal;
+    }
+
+    /**
+     * Units in scope: the given product, else the given category, else the whole basket
+     */
+    public int quantityIn(UUID productId, String category) {
+        int quantity = 0;
+        for (int i = 0; i < productIds.length; i++) {
+            if (inScope(i, productId, category)) {
+                quantity += quantities[i];
+            }
+        }
+        return quantity;
+    }
+
+    /**
+     * Price before discounts of the lines in scope (same scoping as {@link #quantityIn})
+     */
+    public double totalIn(UUID productId, String category) {
+        if (productId == null && category == null) {
+            return subtotal;
+        }
+        double total = 0.0;
+        for (int i = 0; i < productIds.length; i++) {
+            if (inScope(i, productId, category)) {
+                total += unitPrices[i] * quantities[i];
+            }
+        }
+        return total;
+    }
+
+    private boolean inScope(int line, UUID productId, String category) {
+        if (productId != null) {
+            return productId.equals(productIds[line]);
+        }
+        if (category != null) {
+            return category.equalsIgnoreCase(Objects.requireNonNullElse(categories[line], ""));
+        }
+        return true;
+    }
+}
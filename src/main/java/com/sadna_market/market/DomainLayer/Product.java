@@ -5,18 +5,31 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.io.Serializable;
 import java.util.UUID;
 
 @Entity
 @Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.products")
 @Getter
 @NoArgsConstructor // Required by JPA
-public class Product {
+public class Product implements Serializable {
+    private static final long serialVersionUID = 1L;
+
 
     @Id
     @Column(name = "product_id", updatable = false, nullable = false)
     private UUID productId;
 
+    // Optimistic concurrency: a save from a stale copy fails instead of overwriting a newer one.
+    // The default lets ddl-auto add the column to tables that already hold rows
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @Setter
     @Column(name = "name", nullable = false, length = 200)
     private String name;
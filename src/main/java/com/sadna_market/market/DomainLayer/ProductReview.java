@@ -2,6 +2,7 @@ package com.sadna_market.market.DomainLayer;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -9,7 +10,9 @@ import java.util.UUID;
 @Table(name = "product_reviews")
 @Getter
 @NoArgsConstructor // Required by JPA
-public class ProductReview {
+public class ProductReview implements Serializable {
+    private static final long serialVersionUID = 1L;
+
 
     @Id
     @Column(name = "review_id", updatable = false, nullable = false)
@@ -3,6 +3,7 @@ package com.sadna_market.market.DomainLayer;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -10,7 +11,9 @@ import java.util.UUID;
 @Table(name = "reports")
 @Getter
 @NoArgsConstructor // Required by JPA
-public class Report {
+public class Report implements Serializable {
+    private static final long serialVersionUID = 1L;
+
 
     @Id
     @Column(name = "report_id", updatable = false, nullable = false)
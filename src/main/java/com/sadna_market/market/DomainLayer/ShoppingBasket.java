@@ -1,5 +1,6 @@
 package com.sadna_market.market.DomainLayer;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -11,16 +12,21 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
-@Table(name = "shopping_baskets")
+@Table(name = "shopping_baskets",
+        uniqueConstraints = @UniqueConstraint(name = "uk_basket_cart_store", columnNames = {"cart_id", "store_id"}))
+@Cacheable(false) // cart lines are written with native SQL (see CartJpaAdapter)
 @Getter
 @NoArgsConstructor
-public class ShoppingBasket {
+public class ShoppingBasket implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(ShoppingBasket.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     @Column(name = "basket_id")
     private UUID basketId;
 
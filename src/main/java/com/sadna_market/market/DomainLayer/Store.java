@@ -2,21 +2,34 @@ package com.sadna_market.market.DomainLayer;
 
 import lombok.Getter;
 import lombok.Setter;
+import java.io.Serializable;
 import java.util.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import com.sadna_market.market.DomainLayer.StoreExceptions.InvalidStoreDataException;
 
 @Entity
 @Table(name = "stores")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.stores")
 @Getter
-public class Store {
+public class Store implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     // Basic properties
     @Id
     @Column(name = "store_id", updatable = false, nullable = false)
     private UUID storeId;
 
+    // Optimistic concurrency: a save from a stale copy fails instead of overwriting a newer one.
+    // The default lets ddl-auto add the column to tables that already hold rows
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @Setter
     @Column(name = "name", nullable = false, length = 200)
     private String name;
@@ -47,6 +60,8 @@ public class Store {
     private String founderUsername; // This will be persisted
 
     // Collections using @ElementCollection with EAGER fetch (no lazy loading)
+    // Inventory and order IDs are deliberately left out of the second-level cache:
+    // stock must always be read from the database.
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "store_product_quantities",
             joinColumns = @JoinColumn(name = "store_id"))
@@ -55,12 +70,14 @@ public class Store {
     private Map<UUID, Integer> productQuantities = new HashMap<>();
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.stores.personnel")
     @CollectionTable(name = "store_owners",
             joinColumns = @JoinColumn(name = "store_id"))
     @Column(name = "username", length = 50)
     private Set<String> ownerUsernames = new HashSet<>();
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.stores.personnel")
     @CollectionTable(name = "store_managers",
             joinColumns = @JoinColumn(name = "store_id"))
     @Column(name = "username", length = 50)
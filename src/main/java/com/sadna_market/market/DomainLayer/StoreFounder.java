@@ -19,6 +19,8 @@ import java.util.UUID;
 @DiscriminatorValue("STORE_FOUNDER")
 @NoArgsConstructor // Required by JPA
 public class StoreFounder extends UserStoreRoles {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(StoreFounder.class);
 
     public StoreFounder(String username, UUID storeId, String appointedBy) {
@@ -14,6 +14,8 @@ import lombok.NoArgsConstructor;
 @DiscriminatorValue("STORE_MANAGER")
 @NoArgsConstructor
 public class StoreManager extends UserStoreRoles {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(StoreManager.class);
 
     /**
@@ -13,6 +13,8 @@ import java.util.UUID;
 @DiscriminatorValue("STORE_OWNER")
 @NoArgsConstructor
 public class StoreOwner extends UserStoreRoles {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(StoreOwner.class);
 
     /**
@@ -3,6 +3,7 @@ package com.sadna_market.market.DomainLayer;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -10,7 +11,9 @@ import java.util.UUID;
 @Table(name = "store_ratings")
 @Getter
 @NoArgsConstructor // Required by JPA
-public class StoreRating implements IRating {
+public class StoreRating implements IRating, Serializable {
+    private static final long serialVersionUID = 1L;
+
 
     @Id
     @Column(name = "rating_id", updatable = false, nullable = false)
@@ -0,0 +1,38 @@
+package com.sadna_market.market.DomainLayer;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One pre-aggregated system counter (a row per {@link SystemStatKey}).
+ * Rows are bumped in place as domain events arrive, so the admin dashboard
+ * never has to count or sum the underlying tables.
+ */
+@Entity
+@Table(name = "system_stats")
+@Getter
+@NoArgsConstructor // Required by JPA
+public class SystemStat {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "stat_key", length = 50, updatable = false, nullable = false)
+    private SystemStatKey key;
+
+    @Setter
+    @Column(name = "stat_value", nullable = false)
+    private double value;
+
+    @Setter
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public SystemStat(SystemStatKey key, double value) {
+        this.key = key;
+        this.value = value;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,10 @@
+package com.sadna_market.market.DomainLayer;
+
+public enum SystemStatKey {
+    TOTAL_USERS,      // Registered users
+    TOTAL_STORES,     // Stores ever opened
+    TOTAL_ORDERS,     // Finalized (paid) orders
+    TOTAL_REVENUE,    // Sum of final prices of finalized orders
+    ACTIVE_USERS,     // Users currently logged in
+    PENDING_REPORTS   // Violation reports submitted
+}
@@ -13,6 +13,7 @@ import org.hibernate.annotations.OnDeleteAction;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Entity
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
@@ -21,8 +22,15 @@ import java.util.UUID;
 @Getter
 @NoArgsConstructor // Required by JPA
 public class User extends IUser {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(User.class);
 
+    // Guards the login state. A ReentrantLock rather than synchronized, so a virtual thread
+    // waiting for it unmounts instead of pinning its carrier thread
+    @Transient // Don't persist the lock
+    private final ReentrantLock sessionLock = new ReentrantLock();
+
     @Id
     @Setter
     @Column(name = "username", nullable = false, unique = true, length = 50)
@@ -102,9 +110,14 @@ public class User extends IUser {
     }
 
     @Override
-    public synchronized boolean isLoggedIn() {
-        logger.debug("🔍 isLoggedIn() called for user {}: {}", userName, isLoggedIn);
-        return isLoggedIn;
+    public boolean isLoggedIn() {
+        sessionLock.lock();
+        try {
+            logger.debug("🔍 isLoggedIn() called for user {}: {}", userName, isLoggedIn);
+            return isLoggedIn;
+        } finally {
+            sessionLock.unlock();
+        }
     }
 
     public boolean isAdmin() {
@@ -112,34 +125,49 @@ public class User extends IUser {
         return isAdmin;
     }
 
-    public synchronized void setIsLoggedIn(boolean isLoggedIn) {
-        logger.debug("🔍 setIsLoggedIn() called for user {}: {} -> {}", userName, this.isLoggedIn, isLoggedIn);
-        this.isLoggedIn = isLoggedIn;
+    public void setIsLoggedIn(boolean isLoggedIn) {
+        sessionLock.lock();
+        try {
+            logger.debug("🔍 setIsLoggedIn() called for user {}: {} -> {}", userName, this.isLoggedIn, isLoggedIn);
+            this.isLoggedIn = isLoggedIn;
+        } finally {
+            sessionLock.unlock();
+        }
     }
 
-    public synchronized void login(String username,String password) {
-        if (isLoggedIn) {
-            logger.error("User {} is already logged in", userName);
-            throw new IllegalStateException("User is already logged in");
+    public void login(String username,String password) {
+        sessionLock.lock();
+        try {
+            if (isLoggedIn) {
+                logger.error("User {} is already logged in", userName);
+                throw new IllegalStateException("User is already logged in");
+            }
+            if (username == null) {
+                logger.error("Username cannot be null");
+                throw new IllegalArgumentException("Username cannot be null");
+            }
+            if (!this.userName.equals(username)) {
+                logger.error("Invalid username for user {}", userName);
+                throw new IllegalArgumentException("Invalid username");
+            }
+            this.isLoggedIn = true;
+        } finally {
+            sessionLock.unlock();
         }
-        if (username == null) {
-            logger.error("Username cannot be null");
-            throw new IllegalArgumentException("Username cannot be null");
-        }
-        if (!this.userName.equals(username)) {
-            logger.error("Invalid username for user {}", userName);
-            throw new IllegalArgumentException("Invalid username");
-        }
-        this.isLoggedIn = true;
         logger.info("User {} logged in successfully", userName);
     }
 
-    public synchronized void logout() {
-        if (!isLoggedIn) {
-            logger.error("User {} is not logged in", userName);
-            throw new IllegalStateException("User is not logged in");
+    public void logout() {
+        sessionLock.lock();
+        try {
+            if (!isLoggedIn) {
+                logger.error("User {} is not logged in", userName);
+                throw new IllegalStateException("User is not logged in");
+            }
+            this.isLoggedIn = false;
+        } finally {
+            sessionLock.unlock();
         }
-        this.isLoggedIn = false;
         logger.info("User {} logged out successfully", userName);
     }
 
@@ -1,5 +1,6 @@
 package com.sadna_market.market.DomainLayer;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -10,21 +11,28 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 
 @Entity
 @Table(name = "user_store_roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.store-roles")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "role_type", discriminatorType = DiscriminatorType.STRING)
 @Getter
 @NoArgsConstructor // Required by JPA
-public abstract class UserStoreRoles implements IUserRole {
+public abstract class UserStoreRoles implements IUserRole, Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final Logger logger = LogManager.getLogger(UserStoreRoles.class);
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidGenerator(style = UuidGenerator.Style.TIME)
     @Column(name = "role_id")
     private UUID roleId;
 
@@ -39,6 +47,7 @@ public abstract class UserStoreRoles implements IUserRole {
 
 
     @ElementCollection(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.store-roles.appointees")
     @CollectionTable(
             name = "role_appointees",
             joinColumns = @JoinColumn(name = "role_id")
@@ -48,6 +57,7 @@ public abstract class UserStoreRoles implements IUserRole {
 
     // Store permissions as enumerated values
     @ElementCollection(fetch = FetchType.EAGER, targetClass = Permission.class)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "market.store-roles.permissions")
     @CollectionTable(
             name = "role_permissions",
             joinColumns = @JoinColumn(name = "role_id")
@@ -3,6 +3,7 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 import com.sadna_market.market.DomainLayer.Address;
 import com.sadna_market.market.DomainLayer.IAddressRepository;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.AddressJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
@@ -15,6 +16,7 @@ import java.util.UUID;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class AddressJpaAdapter implements IAddressRepository {
     private static final Logger logger = LoggerFactory.getLogger(AddressJpaAdapter.class);
     private final AddressJpaRepository jpaRepo;
@@ -2,7 +2,9 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 
 import com.sadna_market.market.InfrastructureLayer.Authentication.AuthCredential;
 import com.sadna_market.market.InfrastructureLayer.Authentication.IAuthRepository;
+import com.sadna_market.market.InfrastructureLayer.Authentication.PasswordEncryptor;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.AuthCredentialJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +26,7 @@ import java.util.Optional;
 @Profile({"dev", "prod", "default", "!test"})
 @Primary
 @Transactional
+@Timed(value = "market.repository", histogram = true)
 public class AuthJpaAdapter implements IAuthRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthJpaAdapter.class);
@@ -50,6 +53,13 @@ public class AuthJpaAdapter implements IAuthRepository {
             throw new IllegalArgumentException("Wrong password");
         }
 
+        // The BCrypt cost was raised since this hash was made: replace it while the password is at hand
+        if (PasswordEncryptor.needsRehash(credential.getEncryptedPassword())) {
+            credential.updatePassword(password);
+            repository.save(credential);
+            logger.info("Password of user {} rehashed with the current BCrypt cost", username);
+        }
+
         logger.info("Login successful for user: {}", username);
     }
 
@@ -0,0 +1,134 @@
+package com.sadna_market.market.InfrastructureLayer.Adapters;
+
+import com.sadna_market.market.DomainLayer.ICartRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cart line edits as single statements against basket_products.
+ * The user's basket is reached through users.cart_id, so neither the user nor the cart
+ * entity is loaded. Uses PostgreSQL upserts (ON CONFLICT ... RETURNING).
+ */
+@Repository
+@Profile({"dev", "prod", "default"})
+@Transactional
+@Timed(value = "market.repository", histogram = true)
+public class CartJpaAdapter implements ICartRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartJpaAdapter.class);
+
+    private static final String BASKET_OF_USER =
+            "SELECT b.basket_id FROM shopping_baskets b JOIN users u ON u.cart_id = b.cart_id " +
+            "WHERE u.username = :username AND b.store_id = :storeId";
+
+    private static final String ADD_PRODUCT =
+            "INSERT INTO basket_products (basket_id, product_id, quantity) " +
+            "SELECT b.basket_id, :productId, :quantity FROM shopping_baskets b " +
+            "JOIN users u ON u.cart_id = b.cart_id " +
+            "WHERE u.username = :username AND b.store_id = :storeId " +
+            "ON CONFLICT (basket_id, product_id) " +
+            "DO UPDATE SET quantity = basket_products.quantity + EXCLUDED.quantity " +
+            "RETURNING quantity";
+
+    private static final String SET_QUANTITY =
+            "INSERT INTO basket_products (basket_id, product_id, quantity) " +
+            "SELECT b.basket_id, :productId, :quantity FROM shopping_baskets b " +
+            "JOIN users u ON u.cart_id = b.cart_id " +
+            "WHERE u.username = :username AND b.store_id = :storeId " +
+            "ON CONFLICT (basket_id, product_id) DO UPDATE SET quantity = EXCLUDED.quantity";
+
+    private static final String CREATE_BASKET =
+            "INSERT INTO shopping_baskets (basket_id, store_id, cart_id) " +
+            "SELECT :basketId, :storeId, u.cart_id FROM users u " +
+            "WHERE u.username = :username AND u.cart_id IS NOT NULL " +
+            "ON CONFLICT (cart_id, store_id) DO NOTHING";
+
+    private static final String REMOVE_PRODUCT =
+            "DELETE FROM basket_products bp WHERE bp.product_id = :productId " +
+            "AND bp.basket_id = (" + BASKET_OF_USER + ")";
+
+    private static final String REMOVE_EMPTY_BASKET =
+            "DELETE FROM shopping_baskets b USING users u " +
+            "WHERE u.cart_id = b.cart_id AND u.username = :username AND b.store_id = :storeId " +
+            "AND NOT EXISTS (SELECT 1 FROM basket_products bp WHERE bp.basket_id = b.basket_id)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int addProduct(String username, UUID storeId, UUID productId, int quantity) {
+        List<?> result = upsert(ADD_PRODUCT, username, storeId, productId, quantity);
+        if (result.isEmpty()) {
+            // First product from this store: open the basket, then retry the upsert
+            int created = nativeQuery(CREATE_BASKET)
+                    .setParameter("basketId", UUID.randomUUID())
+                    .setParameter("storeId", storeId)
+                    .setParameter("username", username)
+                    .executeUpdate();
+            logger.debug("Opened basket for store {} in cart of {} ({} rows)", storeId, username, created);
+            result = upsert(ADD_PRODUCT, username, storeId, productId, quantity);
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("user not found!");
+        }
+        return ((Number) result.get(0)).intValue();
+    }
+
+    @Override
+    public boolean setProductQuantity(String username, UUID storeId, UUID productId, int quantity) {
+        return nativeQuery(SET_QUANTITY)
+                .setParameter("productId", productId)
+                .setParameter("quantity", quantity)
+                .setParameter("username", username)
+                .setParameter("storeId", storeId)
+                .executeUpdate() > 0;
+    }
+
+    @Override
+    public boolean removeProduct(String username, UUID storeId, UUID productId) {
+        int removed = nativeQuery(REMOVE_PRODUCT)
+                .setParameter("productId", productId)
+                .setParameter("username", username)
+                .setParameter("storeId", storeId)
+                .executeUpdate();
+        if (removed > 0) {
+            nativeQuery(REMOVE_EMPTY_BASKET)
+                    .setParameter("username", username)
+                    .setParameter("storeId", storeId)
+                    .executeUpdate();
+        }
+        return removed > 0;
+    }
+
+    /**
+     * Declares the cart tables as the statement's query space. Without it Hibernate treats a
+     * native write as touching every table and empties the whole second-level cache.
+     */
+    private Query nativeQuery(String sql) {
+        Query query = entityManager.createNativeQuery(sql);
+        query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("basket_products")
+                .addSynchronizedQuerySpace("shopping_baskets");
+        return query;
+    }
+
+    private List<?> upsert(String sql, String username, UUID storeId, UUID productId, int quantity) {
+        return nativeQuery(sql)
+                .setParameter("productId", productId)
+                .setParameter("quantity", quantity)
+                .setParameter("username", username)
+                .setParameter("storeId", storeId)
+                .getResultList();
+    }
+}
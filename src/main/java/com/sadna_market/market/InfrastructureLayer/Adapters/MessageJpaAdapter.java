@@ -2,9 +2,14 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 
 import com.sadna_market.market.DomainLayer.IMessageRepository;
 import com.sadna_market.market.DomainLayer.Message;
+import com.sadna_market.market.DomainLayer.MessageFilter;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.MessageJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +19,7 @@ import java.util.UUID;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class MessageJpaAdapter implements IMessageRepository {
 
     @Autowired
@@ -91,6 +97,23 @@ public class MessageJpaAdapter implements IMessageRepository {
         return messageJpaRepository.markAllStoreMessagesAsRead(storeId);
     }
 
+    @Override
+    public List<Message> findStorePage(UUID storeId, MessageFilter filter, int page, int size) {
+        // The message ID breaks timestamp ties so rows never move between pages
+        Pageable pageable = PageRequest.of(page, size,
+                Sort.by(Sort.Direction.DESC, "timestamp").and(Sort.by(Sort.Direction.DESC, "messageId")));
+        return switch (filter) {
+            case ALL -> messageJpaRepository.findByStoreId(storeId, pageable);
+            case UNREAD -> messageJpaRepository.findByStoreIdAndIsReadFalse(storeId, pageable);
+            case UNANSWERED -> messageJpaRepository.findUnansweredMessagesByStore(storeId, pageable);
+        };
+    }
+
+    @Override
+    public int countUnreadForStore(UUID storeId) {
+        return messageJpaRepository.countByStoreIdAndIsReadFalse(storeId);
+    }
+
     @Override
     public void clear() {
         messageJpaRepository.deleteAll();
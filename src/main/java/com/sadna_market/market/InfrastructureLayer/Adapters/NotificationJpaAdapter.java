@@ -3,6 +3,9 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 import com.sadna_market.market.DomainLayer.INotificationRepository;
 import com.sadna_market.market.DomainLayer.Notification;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.NotificationJpaRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
@@ -15,10 +18,14 @@ import java.util.UUID;
 @Repository
 @Transactional
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class NotificationJpaAdapter implements INotificationRepository {
 
     private final NotificationJpaRepository jpaRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public NotificationJpaAdapter(NotificationJpaRepository jpaRepository) {
         this.jpaRepository = jpaRepository;
@@ -29,6 +36,14 @@ public class NotificationJpaAdapter implements INotificationRepository {
         jpaRepository.save(notification);
     }
 
+    @Override
+    public void saveAll(List<Notification> notifications) {
+        // persist, not save: notification IDs are assigned up front, and save() would merge (SELECT first)
+        for (Notification notification : notifications) {
+            entityManager.persist(notification);
+        }
+    }
+
     @Override
     public Optional<Notification> findById(UUID notificationId) {
         return jpaRepository.findById(notificationId);
@@ -2,6 +2,9 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.OrderJpaRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +17,16 @@ import java.util.*;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class OrderJpaAdapter implements IOrderRepository {
     private static final Logger logger = LoggerFactory.getLogger(OrderJpaAdapter.class);
 
     @Autowired
     private OrderJpaRepository orderJpaRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // ================================================================================
     // BASIC CRUD OPERATIONS (from IOrderRepository)
     // ================================================================================
@@ -89,8 +96,8 @@ public class OrderJpaAdapter implements IOrderRepository {
         order.setPaymentMethod("Unknown Payment Method");
         order.setDeliveryAddress("Not specified");
 
-        // Save and return the ID
-        orderJpaRepository.save(order);
+        // persist, not save: the ID is assigned here, and save() would merge (SELECT first)
+        entityManager.persist(order);
         logger.info("Order created successfully: {}", orderId);
         return orderId;
     }
@@ -119,8 +126,8 @@ public class OrderJpaAdapter implements IOrderRepository {
         order.setPaymentMethod(paymentMethod != null ? paymentMethod : "Unknown Payment Method");
         order.setDeliveryAddress(deliveryAddress != null ? deliveryAddress : "Not specified");
 
-        // Save and return the ID
-        orderJpaRepository.save(order);
+        // persist, not save: the ID is assigned here, and save() would merge (SELECT first)
+        entityManager.persist(order);
         logger.info("Order with details created successfully: {}", orderId);
         return orderId;
     }
@@ -176,6 +183,26 @@ public class OrderJpaAdapter implements IOrderRepository {
         }
     }
 
+    @Override
+    @Transactional
+    public Set<UUID> updateOrderStatuses(Collection<UUID> orderIds, OrderStatus newStatus, Integer transactionId) {
+        logger.info("Updating {} orders to status {}", orderIds.size(), newStatus);
+
+        // One SELECT for all orders; the changes are flushed together at commit as batched UPDATEs
+        Set<UUID> updated = new HashSet<>();
+        for (Order order : orderJpaRepository.findAllById(orderIds)) {
+            if (!order.updateStatus(newStatus)) {
+                logger.warn("Invalid status transition for order {}", order.getOrderId());
+                continue;
+            }
+            if (transactionId != null) {
+                order.updateTransactionId(transactionId);
+            }
+            updated.add(order.getOrderId());
+        }
+        return updated;
+    }
+
     @Override
     @Transactional
     public boolean setDeliveryId(UUID orderId, UUID deliveryId) {
@@ -355,4 +382,14 @@ public class OrderJpaAdapter implements IOrderRepository {
         return orderJpaRepository.calculateTotalRevenue();
     }
 
+    @Override
+    public int countByStatuses(Collection<OrderStatus> statuses) {
+        return statuses.isEmpty() ? 0 : Math.toIntExact(orderJpaRepository.countByStatusIn(statuses));
+    }
+
+    @Override
+    public double calculateRevenueByStatuses(Collection<OrderStatus> statuses) {
+        return statuses.isEmpty() ? 0.0 : orderJpaRepository.calculateRevenueByStatuses(statuses);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.sadna_market.market.InfrastructureLayer.Adapters;
+
+import com.sadna_market.market.DomainLayer.IPolicyRepository;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+import com.sadna_market.market.InfrastructureLayer.JpaRepos.PolicyRuleJpaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
+public class PolicyJpaAdapter implements IPolicyRepository {
+
+    @Autowired
+    private PolicyRuleJpaRepository policyRuleJpaRepository;
+
+    @Override
+    @Transactional
+    public void save(PolicyRule rule) {
+        if (rule == null || !rule.isRoot()) {
+            throw new IllegalArgumentException("Only top-level policy rules can be saved");
+        }
+        policyRuleJpaRepository.save(rule);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PolicyRule> findById(UUID ruleId) {
+        if (ruleId == null) {
+            return Optional.empty();
+        }
+        return policyRuleJpaRepository.findById(ruleId).filter(PolicyRule::isRoot);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PolicyRule> findByStoreId(UUID storeId) {
+        return policyRuleJpaRepository.findByStoreIdAndRootTrue(storeId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(UUID ruleId) {
+        if (ruleId != null) {
+            policyRuleJpaRepository.deleteById(ruleId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteByStoreId(UUID storeId) {
+        policyRuleJpaRepository.deleteAll(policyRuleJpaRepository.findByStoreIdAndRootTrue(storeId));
+    }
+
+    @Override
+    @Transactional
+    public void clear() {
+        policyRuleJpaRepository.deleteAll(policyRuleJpaRepository.findAll().stream()
+                .filter(PolicyRule::isRoot)
+                .toList());
+    }
+}
@@ -2,12 +2,15 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 
 
 import com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO;
 import com.sadna_market.market.DomainLayer.IProductRepository;
 import com.sadna_market.market.DomainLayer.Product;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.ProductJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +20,7 @@ import java.util.stream.Collectors;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class ProductJpaAdapter implements IProductRepository {
 
     @Autowired
@@ -82,6 +86,7 @@ public class ProductJpaAdapter implements IProductRepository {
     }
 
     @Override
+    @Transactional // read and write in one transaction, so the version check covers the whole change
     public void updateProduct(UUID productId, String name, String category, String description, double price) {
         Optional<Product> optionalProduct = productJpaRepository.findById(productId);
         if (optionalProduct.isPresent()) {
@@ -131,6 +136,7 @@ public class ProductJpaAdapter implements IProductRepository {
     }
 
     @Override
+    @Transactional
     public void addProductRating(UUID productId, String username, int ratingValue) {
         Optional<Product> optionalProduct = productJpaRepository.findById(productId);
         if (optionalProduct.isPresent()) {
@@ -141,6 +147,7 @@ public class ProductJpaAdapter implements IProductRepository {
     }
 
     @Override
+    @Transactional
     public void updateProductRating(UUID productId, int oldRating, int newRating) {
         Optional<Product> optionalProduct = productJpaRepository.findById(productId);
         if (optionalProduct.isPresent()) {
@@ -172,6 +179,29 @@ public class ProductJpaAdapter implements IProductRepository {
         productJpaRepository.deleteAll();
     }
 
+    @Override
+    public List<ProductDTO> findDTOsByStoreId(UUID storeId) {
+        return productJpaRepository.findDTOsByStoreId(storeId);
+    }
+
+    @Override
+    public List<ProductDTO> filterDTOsByStoreWithCriteria(UUID storeId, String name, String category,
+                                                          Double minPrice, Double maxPrice,
+                                                          Double minRate, Double maxRate) {
+        return productJpaRepository.findDTOsByStoreWithCriteria(storeId, name, category,
+                minPrice, maxPrice, minRate, maxRate);
+    }
+
+    @Override
+    public boolean searchMatchesCategoryExactly() {
+        return true; // p.category = :category
+    }
+
+    @Override
+    public List<StoreProductDTO> findDTOsWithInventoryByStoreId(UUID storeId) {
+        return productJpaRepository.findDTOsWithInventoryByStoreId(storeId);
+    }
+
     @Override
     public List<ProductDTO> getTopRatedProducts(UUID storeId) {
         return productJpaRepository.findTopRatedByStore(storeId)
@@ -5,6 +5,7 @@ import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.ProductRatingJpaRepository;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.ProductReviewJpaRepository;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.StoreRatingJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
@@ -17,6 +18,7 @@ import java.util.stream.Stream;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class RatingJpaAdapter implements IRatingRepository {
 
     @Autowired
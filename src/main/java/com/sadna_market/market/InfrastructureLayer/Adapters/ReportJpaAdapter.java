@@ -4,6 +4,7 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 import com.sadna_market.market.DomainLayer.IReportRepository;
 import com.sadna_market.market.DomainLayer.Report;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.ReportJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
@@ -14,6 +15,7 @@ import java.util.UUID;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class ReportJpaAdapter implements IReportRepository {
 
     @Autowired
@@ -1,7 +1,9 @@
 package com.sadna_market.market.InfrastructureLayer.Adapters;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreDTO;
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.StoreJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +16,7 @@ import java.util.stream.Collectors;
 
 @Repository
 @Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
 public class StoreJpaAdapter implements IStoreRepository {
     private static final Logger logger = LoggerFactory.getLogger(StoreJpaAdapter.class);
 
@@ -42,6 +45,36 @@ public class StoreJpaAdapter implements IStoreRepository {
         return storeJpaRepository.findAll();
     }
 
+    @Override
+    public List<StoreDTO> findActiveStoreDTOs() {
+        logger.debug("Listing active stores");
+        Map<UUID, Set<String>> owners = groupByStore(storeJpaRepository.findActiveStoreOwnerRows());
+        Map<UUID, Set<String>> managers = groupByStore(storeJpaRepository.findActiveStoreManagerRows());
+
+        List<StoreDTO> stores = new ArrayList<>();
+        for (StoreJpaRepository.StoreListRow row : storeJpaRepository.findActiveStoreRows()) {
+            stores.add(new StoreDTO(
+                    row.getStoreId(),
+                    row.getName(),
+                    row.getDescription(),
+                    row.isActive(),
+                    row.getFounderUsername(),
+                    owners.getOrDefault(row.getStoreId(), new HashSet<>()),
+                    managers.getOrDefault(row.getStoreId(), new HashSet<>()),
+                    row.getRating()
+            ));
+        }
+        return stores;
+    }
+
+    private static Map<UUID, Set<String>> groupByStore(List<StoreJpaRepository.StorePersonnelRow> rows) {
+        Map<UUID, Set<String>> byStore = new HashMap<>();
+        for (StoreJpaRepository.StorePersonnelRow row : rows) {
+            byStore.computeIfAbsent(row.getStoreId(), id -> new HashSet<>()).add(row.getUsername());
+        }
+        return byStore;
+    }
+
     @Override
     @Transactional
     public void deleteById(UUID id) {
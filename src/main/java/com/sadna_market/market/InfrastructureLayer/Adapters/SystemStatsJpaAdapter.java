@@ -0,0 +1,58 @@
+package com.sadna_market.market.InfrastructureLayer.Adapters;
+
+import com.sadna_market.market.DomainLayer.ISystemStatsRepository;
+import com.sadna_market.market.DomainLayer.SystemStat;
+import com.sadna_market.market.DomainLayer.SystemStatKey;
+import com.sadna_market.market.InfrastructureLayer.JpaRepos.SystemStatJpaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Repository
+@Profile({"dev", "prod", "default"})
+@Timed(value = "market.repository", histogram = true)
+public class SystemStatsJpaAdapter implements ISystemStatsRepository {
+
+    @Autowired
+    private SystemStatJpaRepository systemStatJpaRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<SystemStatKey, Double> findAll() {
+        Map<SystemStatKey, Double> stats = new EnumMap<>(SystemStatKey.class);
+        for (SystemStat stat : systemStatJpaRepository.findAll()) {
+            stats.put(stat.getKey(), stat.getValue());
+        }
+        return stats;
+    }
+
+    @Override
+    @Transactional
+    public void increment(SystemStatKey key, double delta) {
+        int updated = systemStatJpaRepository.incrementValue(key, delta, LocalDateTime.now());
+        if (updated == 0) {
+            systemStatJpaRepository.save(new SystemStat(key, delta));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void set(SystemStatKey key, double value) {
+        SystemStat stat = systemStatJpaRepository.findById(key).orElseGet(() -> new SystemStat(key, value));
+        stat.setValue(value);
+        stat.setUpdatedAt(LocalDateTime.now());
+        systemStatJpaRepository.save(stat);
+    }
+
+    @Override
+    @Transactional
+    public void clear() {
+        systemStatJpaRepository.deleteAll();
+    }
+}
@@ -1,10 +1,12 @@
 package com.sadna_market.market.InfrastructureLayer.Adapters;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.UserDTO;
 import com.sadna_market.market.DomainLayer.Cart;
 import com.sadna_market.market.DomainLayer.IUserRepository;
 import com.sadna_market.market.DomainLayer.User;
 import com.sadna_market.market.DomainLayer.RoleType;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.UserJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
@@ -20,6 +22,7 @@ import java.util.Optional;
 @Repository
 @Profile({"dev", "prod", "default"})
 @Transactional
+@Timed(value = "market.repository", histogram = true)
 public class UserJpaAdapter implements IUserRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(UserJpaAdapter.class);
@@ -78,6 +81,15 @@ public class UserJpaAdapter implements IUserRepository {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Boolean> findLoggedInStatus(String username) {
+        if (username == null || username.isEmpty()) {
+            return Optional.empty();
+        }
+        return userJpaRepository.findLoggedInByUserName(username);
+    }
+
     @Override
     @Transactional
     public void save(User user) {
@@ -324,6 +336,11 @@ public class UserJpaAdapter implements IUserRepository {
         return userJpaRepository.findAll();
     }
 
+    @Override
+    public List<UserDTO> findAllUserDTOs() {
+        return userJpaRepository.findAllUserDTOs();
+    }
+
     @Override
     public boolean existsByIsAdmin(boolean isAdmin) {
         return userJpaRepository.countByIsAdmin(isAdmin) > 0;
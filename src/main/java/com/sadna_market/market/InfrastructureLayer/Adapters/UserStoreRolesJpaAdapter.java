@@ -2,6 +2,7 @@ package com.sadna_market.market.InfrastructureLayer.Adapters;
 
 import com.sadna_market.market.DomainLayer.*;
 import com.sadna_market.market.InfrastructureLayer.JpaRepos.UserStoreRolesJpaRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,7 @@ import java.util.UUID;
 @Repository
 @Profile({"dev", "prod", "default"})
 @Transactional
+@Timed(value = "market.repository", histogram = true)
 public class UserStoreRolesJpaAdapter implements IUserStoreRolesRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(UserStoreRolesJpaAdapter.class);
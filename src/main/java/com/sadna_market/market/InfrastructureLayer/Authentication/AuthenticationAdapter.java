@@ -1,5 +1,6 @@
 package com.sadna_market.market.InfrastructureLayer.Authentication;
 
+import io.micrometer.core.annotation.Timed;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +53,7 @@ public class AuthenticationAdapter {
     }
 
 
+    @Timed(value = "market.auth.validate_token", histogram = true)
     public void validateToken(String username, String jwt) {
         logger.info("Validating token for user: {}", username);
         // Check if the user exists
@@ -0,0 +1,18 @@
+package com.sadna_market.market.InfrastructureLayer.Authentication;
+
+/**
+ * Thrown instead of queuing a password verification when the hashing pool already has a full queue.
+ * Carries an estimate of when the queue will have room again.
+ */
+public class HashingOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public HashingOverloadedException(long retryAfterSeconds) {
+        super("Too many logins in progress, retry in " + retryAfterSeconds + " s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,7 +1,9 @@
 package com.sadna_market.market.InfrastructureLayer.Authentication;
 
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -21,9 +23,18 @@ public class InMemoryAuthRepository implements IAuthRepository {
     private static final Logger logger = LoggerFactory.getLogger(InMemoryAuthRepository.class);
     private final Map<String, String> username2Password = new ConcurrentHashMap<>();
     private final Map<String, String> username2Token = new ConcurrentHashMap<>();
-
+    // Session tokens are deliberately not journaled: a restart ends every session
+    private final RepositoryJournal.Table<String, String> passwordJournal;
 
     public InMemoryAuthRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryAuthRepository(RepositoryJournal journal) {
+        // Hashes are immutable strings, so a row can never be serialized mid-change and needs no write lock
+        this.passwordJournal = journal.table("auth-passwords", username2Password, new Object());
+        dropJournaledTokens(journal);
         logger.info("InMemoryAuthRepository initialized for testing");
     }
 
@@ -38,6 +49,14 @@ public class InMemoryAuthRepository implements IAuthRepository {
             throw new IllegalArgumentException("Wrong password");
         }
 
+        // The BCrypt cost was raised since this hash was made: replace it while the password is at hand
+        if (PasswordEncryptor.needsRehash(username2Password.get(username))) {
+            String encryptedPassword = PasswordEncryptor.encryptPassword(password);
+            username2Password.put(username, encryptedPassword);
+            passwordJournal.put(username, encryptedPassword);
+            logger.info("Password of user {} rehashed with the current BCrypt cost", username);
+        }
+
         logger.info("Login successful for user: {}", username);
     }
 
@@ -55,6 +74,7 @@ public class InMemoryAuthRepository implements IAuthRepository {
 
         String encryptedPassword = PasswordEncryptor.encryptPassword(password);
         username2Password.put(username, encryptedPassword);
+        passwordJournal.put(username, encryptedPassword);
         logger.info("User added successfully: {}", username);
     }
 
@@ -71,6 +91,7 @@ public class InMemoryAuthRepository implements IAuthRepository {
 
         String encryptedPassword = PasswordEncryptor.encryptPassword(newPassword);
         username2Password.put(username, encryptedPassword);
+        passwordJournal.put(username, encryptedPassword);
         logger.info("Password updated successfully for user: {}", username);
     }
 
@@ -82,6 +103,7 @@ public class InMemoryAuthRepository implements IAuthRepository {
         }
 
         username2Password.remove(username);
+        passwordJournal.remove(username);
         logger.info("User removed successfully: {}", username);
     }
 
@@ -90,6 +112,7 @@ public class InMemoryAuthRepository implements IAuthRepository {
         logger.info("Clearing in-memory auth repository");
         username2Password.clear();
         username2Token.clear();
+        passwordJournal.clear();
         logger.info("In-memory auth repository cleared");
     }
 
@@ -143,6 +166,16 @@ public class InMemoryAuthRepository implements IAuthRepository {
         logger.info("Token cleared successfully for user: {}", username);
     }
 
+    // Earlier versions journaled the tokens; recover them into a throwaway map and erase them
+    private static void dropJournaledTokens(RepositoryJournal journal) {
+        Map<String, String> journaledTokens = new HashMap<>();
+        RepositoryJournal.Table<String, String> tokenTable = journal.table("auth-tokens", journaledTokens, journaledTokens);
+        if (!journaledTokens.isEmpty()) {
+            tokenTable.clear();
+            logger.info("Discarded {} session tokens journaled before restart", journaledTokens.size());
+        }
+    }
+
     private boolean checkPassword(String userName, String password) {
         String storedPassword = username2Password.get(userName);
         if (storedPassword == null) {
@@ -1,14 +1,172 @@
 package com.sadna_market.market.InfrastructureLayer.Authentication;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.stereotype.Component;
 
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
-// this class is used only to encrypt & verify passwords functions
+/**
+ * BCrypt hashing and verification of passwords.
+ *
+ * Outside Spring (unit tests) the work runs on the calling thread with the default cost. As a
+ * Spring component it runs on a dedicated pool sized to the cores, so a burst of logins keeps at
+ * most that many cores busy hashing and the request threads wait without using CPU. A verification
+ * (login) is only queued while fewer than max-queue tasks are waiting; beyond that it fails at once
+ * with HashingOverloadedException and a retry hint. Hashing a new password (registration, password
+ * change, rehash) always queues, because its callers are in the middle of a change.
+ *
+ * Hashes made with a lower cost than the configured one report needsRehash, and the auth
+ * repositories replace them on the user's next successful login.
+ */
+@Component
 public class PasswordEncryptor {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncryptor.class);
+
+    public static final int DEFAULT_COST = 10;
+
+    private static volatile int cost = DEFAULT_COST;
+    private static volatile ThreadPoolExecutor pool; // null: hash on the calling thread
+    private static volatile int maxQueue;
+    // Moving average of one hash, for the retry hint
+    private static volatile long meanHashNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Value("${market.auth.bcrypt-cost:10}")
+    private int instanceCost;
+
+    @Value("${market.auth.hashing.threads:0}")
+    private int instanceThreads;
+
+    @Value("${market.auth.hashing.max-queue:0}")
+    private int instanceMaxQueue;
+
+    @PostConstruct
+    private void initialize() {
+        configure(instanceCost, instanceThreads, instanceMaxQueue);
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        useCallingThread();
+    }
+
+    /**
+     * Moves hashing onto a pool.
+     *
+     * @param threads  pool size, 0 for one thread per core
+     * @param queueMax verifications allowed to wait for a thread, 0 for eight per thread
+     */
+    public static synchronized void configure(int bcryptCost, int threads, int queueMax) {
+        if (bcryptCost < 4 || bcryptCost > 31) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31, was " + bcryptCost);
+        }
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        useCallingThread();
+        cost = bcryptCost;
+        maxQueue = queueMax > 0 ? queueMax : 8 * size;
+        pool = executor;
+        logger.info("Password hashing on {} threads (BCrypt cost {}, logins rejected beyond {} waiting)",
+                size, bcryptCost, maxQueue);
+    }
+
+    /** Runs hashing on the calling thread again (with the configured cost) and stops the pool */
+    public static synchronized void useCallingThread() {
+        ThreadPoolExecutor executor = pool;
+        pool = null;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     public static String encryptPassword(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+        int rounds = cost;
+        return compute(() -> BCrypt.hashpw(password, BCrypt.gensalt(rounds)), false);
+    }
+
+    /**
+     * Hashes on the calling thread, for bulk work that brings its own threads (the seed loader),
+     * so it does not fill the queue that logins are admitted by
+     */
+    public static String encryptPasswordOnCallingThread(String password) {
+        return timed(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost)));
     }
 
+    /**
+     * @throws HashingOverloadedException if too many verifications are already waiting
+     */
     public static boolean verifyPassword(String password, String encryptedPassword) {
-        return BCrypt.checkpw(password, encryptedPassword);
+        return compute(() -> BCrypt.checkpw(password, encryptedPassword), true);
+    }
+
+    /** Whether the hash was made with a lower cost than the configured one */
+    public static boolean needsRehash(String encryptedPassword) {
+        int hashCost = costOf(encryptedPassword);
+        return hashCost > 0 && hashCost < cost;
+    }
+
+    /** The cost a BCrypt hash ($2a$10$...) was made with, or -1 if it is not one */
+    public static int costOf(String encryptedPassword) {
+        if (encryptedPassword == null || encryptedPassword.length() < 7 || encryptedPassword.charAt(0) != '$'
+                || encryptedPassword.charAt(3) != '$' || encryptedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encryptedPassword.charAt(4);
+        char ones = encryptedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    private static <T> T compute(Supplier<T> work, boolean admissionControlled) {
+        ThreadPoolExecutor executor = pool;
+        if (executor == null) {
+            return timed(work);
+        }
+        int waiting = executor.getQueue().size();
+        if (admissionControlled && waiting >= maxQueue) {
+            throw new HashingOverloadedException(retryAfterSeconds(waiting, executor.getMaximumPoolSize()));
+        }
+
+        Future<T> result = executor.submit(() -> timed(work));
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime; // e.g. IllegalArgumentException for a malformed hash
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static <T> T timed(Supplier<T> work) {
+        long started = System.nanoTime();
+        T result = work.get();
+        long mean = meanHashNanos;
+        meanHashNanos = mean + (System.nanoTime() - started - mean) / 8; // lossy under contention, fine for a hint
+        return result;
+    }
+
+    private static long retryAfterSeconds(int waiting, int threads) {
+        long drainNanos = waiting * meanHashNanos / Math.max(1, threads);
+        return Math.max(1, (drainNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
     }
 }
@@ -0,0 +1,114 @@
+package com.sadna_market.market.InfrastructureLayer.Caching;
+
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.ProductChangedEvent;
+import com.sadna_market.market.DomainLayer.IProductRepository;
+import com.sadna_market.market.DomainLayer.Product;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache of the product fields shown next to cart lines (name, price, category).
+ * Entries are loaded on first use and dropped when a {@link ProductChangedEvent} reports
+ * the product was edited or removed, so cart summaries never trail a price change.
+ * Each invalidation bumps the product's version; a load only stores its result if the version
+ * is still the one read before loading, so a load racing an edit cannot put back the old summary.
+ */
+@Component
+public class ProductSummaryCache {
+    private static final Logger logger = LoggerFactory.getLogger(ProductSummaryCache.class);
+
+    private final IProductRepository productRepository;
+    private final int maxEntries;
+    private final ConcurrentHashMap<UUID, ProductSummary> summaries = new ConcurrentHashMap<>();
+    // Bumped inside summaries.compute, so a version check and the write it guards are atomic
+    private final ConcurrentHashMap<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProductSummaryCache(IProductRepository productRepository,
+                               @Value("${market.product-cache.max-entries:50000}") int maxEntries) {
+        this.productRepository = productRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    @PostConstruct
+    public void subscribeToEvents() {
+        DomainEventPublisher.subscribe(ProductChangedEvent.class, event -> invalidate(event.getProductId()));
+    }
+
+    /**
+     * @return the product's summary, or empty if the product does not exist
+     */
+    public Optional<ProductSummary> get(UUID productId) {
+        if (productId == null) {
+            return Optional.empty();
+        }
+        ProductSummary cached = summaries.get(productId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long version = versions.getOrDefault(productId, 0L);
+        Optional<ProductSummary> loaded = productRepository.findById(productId).map(ProductSummary::new);
+        loaded.ifPresent(summary -> {
+            makeRoom(productId);
+            summaries.compute(productId, (id, current) ->
+                    versions.getOrDefault(id, 0L) == version ? summary : current);
+        });
+        return loaded;
+    }
+
+    public void invalidate(UUID productId) {
+        if (productId != null) {
+            summaries.compute(productId, (id, current) -> {
+                versions.merge(id, 1L, Long::sum);
+                return null;
+            });
+        }
+    }
+
+    // Evicts arbitrary other entries, which in a hash map is close to random eviction
+    private void makeRoom(UUID productId) {
+        Iterator<UUID> candidates = summaries.keySet().iterator();
+        while (summaries.size() >= maxEntries && candidates.hasNext()) {
+            UUID candidate = candidates.next();
+            if (!candidate.equals(productId)) {
+                summaries.remove(candidate);
+                logger.trace("Product summary cache full, evicted {}", candidate);
+            }
+        }
+    }
+
+    public int size() {
+        return summaries.size();
+    }
+
+    public void clear() {
+        summaries.clear();
+    }
+
+    @Getter
+    public static final class ProductSummary {
+        private final UUID productId;
+        private final String name;
+        private final String category;
+        private final double price;
+
+        private ProductSummary(Product product) {
+            this.productId = product.getProductId();
+            this.name = product.getName();
+            this.category = product.getCategory();
+            this.price = product.getPrice();
+        }
+    }
+}
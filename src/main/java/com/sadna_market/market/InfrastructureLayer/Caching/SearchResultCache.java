@@ -0,0 +1,229 @@
+package com.sadna_market.market.InfrastructureLayer.Caching;
+
+import com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO;
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.ProductChangedEvent;
+import com.sadna_market.market.DomainLayer.Events.ProductRatedEvent;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Product search results by normalized query, for the marketplace-wide search and the
+ * per-store product filters.
+ *
+ * Invalidation is by generation counters rather than by scanning entries: every product
+ * add, edit or removal bumps the counters of its store, of its categories (before and after
+ * the change) and the marketplace-wide one; a rating change bumps the matching rating counters.
+ * An entry remembers the counters its query depends on as they were before it was computed,
+ * and is recomputed on the first read after any of them moved. A store query depends on its
+ * store, and queries with a rating filter also on the rating counters. A marketplace query
+ * depends on its category only when the repository matches categories exactly and no name
+ * is given (a name can fall back to a partial match across categories); otherwise on the
+ * marketplace counter, which every product change moves. Ratings shown in results without a rating filter may
+ * trail a new rating by up to the TTL.
+ */
+@Component
+public class SearchResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<Query, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final Generations productGenerations = new Generations();
+    private final Generations ratingGenerations = new Generations();
+
+    /**
+     * A search with its criteria normalized: names match case-insensitively everywhere,
+     * so they are lower-cased, and empty names are absent
+     *
+     * @param storeId       the store searched, or null for the whole marketplace
+     * @param exactCategory whether the search matches the category exactly rather than by substring
+     */
+    public record Query(UUID storeId, String name, String category, Double minPrice, Double maxPrice,
+                        Double minRate, Double maxRate, boolean exactCategory) {
+        public static Query of(UUID storeId, String name, String category, Double minPrice, Double maxPrice,
+                               Double minRate, Double maxRate, boolean exactCategory) {
+            String normalizedName = name == null || name.isEmpty() ? null : name.toLowerCase(Locale.ROOT);
+            return new Query(storeId, normalizedName, category, minPrice, maxPrice, minRate, maxRate, exactCategory);
+        }
+
+        /** A query whose category, if any, may match by substring */
+        public static Query of(UUID storeId, String name, String category, Double minPrice, Double maxPrice,
+                               Double minRate, Double maxRate) {
+            return of(storeId, name, category, minPrice, maxPrice, minRate, maxRate, false);
+        }
+
+        boolean filtersByRate() {
+            return minRate != null || maxRate != null;
+        }
+
+        // Only then can a product outside the category never change the results
+        boolean scopedToCategory() {
+            return exactCategory && category != null && !category.isEmpty() && name == null;
+        }
+    }
+
+    private record Entry(List<ProductDTO> results, long version, long expiresAt) {
+    }
+
+    /**
+     * Counters bumped per store, per category (case-insensitive) and for the whole marketplace.
+     * They only grow, so the sum of those a query depends on changes whenever one of them does.
+     */
+    private static final class Generations {
+        private final Map<UUID, AtomicLong> byStore = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> byCategory = new ConcurrentHashMap<>();
+        // Bumped for changes whose category is unknown, which every category query depends on
+        private final AtomicLong anyCategory = new AtomicLong();
+        private final AtomicLong marketplace = new AtomicLong();
+
+        void bump(UUID storeId, Iterable<String> categories, boolean categoriesKnown) {
+            if (storeId != null) {
+                byStore.computeIfAbsent(storeId, ignored -> new AtomicLong()).incrementAndGet();
+            }
+            if (categoriesKnown) {
+                for (String category : categories) {
+                    byCategory.computeIfAbsent(key(category), ignored -> new AtomicLong()).incrementAndGet();
+                }
+            } else {
+                anyCategory.incrementAndGet();
+            }
+            marketplace.incrementAndGet();
+        }
+
+        long version(Query query) {
+            if (query.storeId() != null) {
+                return get(byStore, query.storeId());
+            }
+            if (query.scopedToCategory()) {
+                return get(byCategory, key(query.category())) + anyCategory.get();
+            }
+            return marketplace.get();
+        }
+
+        private static <K> long get(Map<K, AtomicLong> counters, K key) {
+            AtomicLong counter = counters.get(key);
+            return counter == null ? 0 : counter.get();
+        }
+
+        private static String key(String category) {
+            return category.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    @Autowired
+    public SearchResultCache(@Value("${market.search-cache.max-entries:10000}") int maxEntries,
+                             @Value("${market.search-cache.ttl-seconds:30}") long ttlSeconds) {
+        this(maxEntries, Duration.ofSeconds(ttlSeconds), System::nanoTime);
+    }
+
+    public SearchResultCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @PostConstruct
+    public void subscribeToEvents() {
+        DomainEventPublisher.subscribe(ProductChangedEvent.class, event ->
+                productChanged(event.getStoreId(), event.getCategories()));
+        DomainEventPublisher.subscribe(ProductRatedEvent.class, event ->
+                productRated(event.getStoreId(), event.getCategory()));
+    }
+
+    /**
+     * @param search computes the results on a miss
+     * @return the cached results of the query, or those of the search, which are cached
+     */
+    public List<ProductDTO> get(Query query, Supplier<List<ProductDTO>> search) {
+        if (maxEntries <= 0) {
+            return search.get();
+        }
+        long now = nanoClock.getAsLong();
+        // Read before searching: a change made during the search leaves the entry already stale
+        long version = version(query);
+        Entry entry = entries.get(query);
+        if (entry != null && entry.version() == version && now - entry.expiresAt() < 0) {
+            hits.increment();
+            return entry.results();
+        }
+
+        misses.increment();
+        List<ProductDTO> results = List.copyOf(search.get());
+        if (entries.size() >= maxEntries && !entries.containsKey(query)) {
+            makeRoom(now);
+        }
+        entries.put(query, new Entry(results, version, now + ttlNanos));
+        return results;
+    }
+
+    public void productChanged(UUID storeId, Collection<String> categories) {
+        productGenerations.bump(storeId, categories, !categories.isEmpty());
+    }
+
+    public void productRated(UUID storeId, String category) {
+        ratingGenerations.bump(storeId, category == null ? List.of() : List.of(category), category != null);
+    }
+
+    private long version(Query query) {
+        long version = productGenerations.version(query);
+        return query.filtersByRate() ? version + ratingGenerations.version(query) : version;
+    }
+
+    private void makeRoom(long now) {
+        entries.entrySet().removeIf(candidate -> now - candidate.getValue().expiresAt() >= 0
+                || candidate.getValue().version() != version(candidate.getKey()));
+        if (entries.size() >= maxEntries) {
+            // Every entry is live: popular queries come back within a request or two, so start over
+            logger.debug("Search result cache full ({} entries), clearing", entries.size());
+            entries.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the share of lookups answered from the cache since startup, or 0 before any
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // The generation counters are kept: resetting them could make a stale entry look current again
+    public void clear() {
+        entries.clear();
+    }
+}
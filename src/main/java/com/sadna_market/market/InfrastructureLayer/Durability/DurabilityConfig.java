@@ -0,0 +1,39 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Opt-in durability for the in-memory repositories (test profile), switched by
+ * market.durability.enabled. When enabled, the repositories are journaled to a write-ahead log
+ * with periodic snapshots in market.durability.directory and recovered from it on startup,
+ * which makes the in-memory profile usable as a single-node deployment without PostgreSQL.
+ * When disabled, the repositories keep their state in memory only, as before.
+ */
+@Configuration
+@Profile("test")
+public class DurabilityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(DurabilityConfig.class);
+
+    @Bean
+    public RepositoryJournal repositoryJournal(@Value("${market.durability.enabled:false}") boolean enabled,
+                                               @Value("${market.durability.directory:data/journal}") String directory,
+                                               @Value("${market.durability.fsync:true}") boolean fsync,
+                                               @Value("${market.durability.snapshot-interval-seconds:300}") long snapshotIntervalSeconds)
+            throws IOException {
+        if (!enabled) {
+            return RepositoryJournal.NONE;
+        }
+        logger.info("In-memory repositories journaled to {} (fsync: {}, snapshot every {} s)",
+                directory, fsync, snapshotIntervalSeconds);
+        return new FileRepositoryJournal(Path.of(directory), fsync, Duration.ofSeconds(snapshotIntervalSeconds));
+    }
+}
@@ -0,0 +1,255 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Repository journal kept in a directory as a write-ahead log plus periodic snapshots.
+ *
+ * Every row change is appended to the log as the row's full new state. A snapshot rotates the
+ * log, copies all tables and then deletes the log segments and snapshots it supersedes. Each row
+ * is serialized under its repository's write lock, one row at a time, so writes continue around
+ * the copy and it may already contain changes logged after the rotation; replaying those records
+ * again is harmless because each one sets a row to a complete state.
+ * Recovery loads the newest snapshot and replays the log records after it.
+ *
+ * Objects shared between rows of different tables come back as separate copies, so repositories
+ * must refer to rows of other tables by key (which the domain model already does).
+ */
+public class FileRepositoryJournal implements RepositoryJournal, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(FileRepositoryJournal.class);
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    private static final int STRIPES = 64;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final WriteAheadLog log;
+
+    private final Map<String, SnapshotFile.Table> tables = new ConcurrentHashMap<>();
+    // Rows recovered for tables that have not been registered yet
+    private final Map<String, Map<Object, Object>> recovered;
+
+    // A row's states must reach the log in the order they were serialized: puts and removes of
+    // the same row serialize and queue under one stripe, a table clear excludes them all
+    private final Object[] stripes = new Object[STRIPES];
+    private final ReadWriteLock clearLock = new ReentrantReadWriteLock();
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile long snapshotSeq;
+    private final ScheduledExecutorService snapshotScheduler;
+    private volatile boolean closed;
+
+    /**
+     * Recovers the directory's state and opens the log for new records
+     *
+     * @param fsync            whether a write returns only once its record is forced to disk (group
+     *                         committed); otherwise records are handed to the OS and written behind
+     * @param snapshotInterval time between snapshots while there are new records, zero for none
+     *                         besides the one taken on close
+     */
+    public FileRepositoryJournal(Path directory, boolean fsync, Duration snapshotInterval) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        Files.createDirectories(directory);
+
+        long started = System.nanoTime();
+        SnapshotFile.Loaded snapshot = SnapshotFile.readLatest(directory);
+        recovered = snapshot.tables();
+        snapshotSeq = snapshot.seq();
+        long lastSeq = WriteAheadLog.replay(directory, snapshot.seq(), this::replay);
+        log = WriteAheadLog.open(directory, lastSeq + 1, fsync);
+
+        logger.info("Repository journal recovered from {} in {} ms: snapshot at record {}, {} log records replayed, {} rows",
+                directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), snapshot.seq(),
+                lastSeq - snapshot.seq(), recovered.values().stream().mapToInt(Map::size).sum());
+
+        if (snapshotInterval.isZero()) {
+            snapshotScheduler = null;
+        } else {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "repository-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = snapshotInterval.toMillis();
+            snapshotScheduler.scheduleWithFixedDelay(this::scheduledSnapshot, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public <K extends Serializable, V extends Serializable> Table<K, V> table(String name, Map<K, V> rows,
+                                                                              Object writeLock) {
+        if (tables.putIfAbsent(name, new SnapshotFile.Table(rows, writeLock)) != null) {
+            throw new IllegalArgumentException("Journal table already registered: " + name);
+        }
+        Map<Object, Object> restored = recovered.remove(name);
+        if (restored != null) {
+            @SuppressWarnings("unchecked")
+            Map<K, V> typed = (Map<K, V>) (Map<?, ?>) restored;
+            rows.putAll(typed);
+            logger.info("Restored {} rows of table {}", restored.size(), name);
+        }
+        return new JournaledTable<>(name);
+    }
+
+    /**
+     * Rotates the log, writes a snapshot of every table and deletes what it supersedes.
+     *
+     * @return the sequence number the snapshot covers
+     */
+    public long snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            if (log.lastSeq() == snapshotSeq) {
+                return snapshotSeq;
+            }
+            long started = System.nanoTime();
+            long seq = log.rotate();
+
+            // Recovered rows of unregistered tables are only read here, so need no lock
+            Map<String, SnapshotFile.Table> contents = new LinkedHashMap<>();
+            recovered.forEach((name, rows) -> contents.put(name, new SnapshotFile.Table(rows, new Object())));
+            contents.putAll(tables);
+            SnapshotFile.write(directory, seq, contents);
+            snapshotSeq = seq;
+
+            log.deleteSegmentsThrough(seq);
+            SnapshotFile.deleteOlderThan(directory, seq);
+            logger.info("Repository snapshot at record {} written in {} ms", seq,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return seq;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /** Takes a final snapshot, so the next start has no log to replay, and closes the log */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+        }
+        try {
+            snapshot();
+        } finally {
+            log.close();
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Scheduled repository snapshot failed, the log keeps growing until one succeeds", e);
+        }
+    }
+
+    private void write(Object stripeKey, byte op, String table, Object... row) {
+        if (closed) {
+            throw new IllegalStateException("Repository journal is closed");
+        }
+        CompletableFuture<Long> done;
+        if (op == CLEAR) {
+            clearLock.writeLock().lock();
+            try {
+                done = log.append(encode(op, table, row));
+            } finally {
+                clearLock.writeLock().unlock();
+            }
+        } else {
+            clearLock.readLock().lock();
+            try {
+                synchronized (stripes[Math.floorMod(31 * table.hashCode() + stripeKey.hashCode(), STRIPES)]) {
+                    done = log.append(encode(op, table, row));
+                }
+            } finally {
+                clearLock.readLock().unlock();
+            }
+        }
+
+        if (fsync) {
+            try {
+                done.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Repository journal write failed", e.getCause());
+            }
+        }
+    }
+
+    private static byte[] encode(byte op, String table, Object... row) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(op);
+            out.writeUTF(table);
+            if (row.length > 0) {
+                out.write(RowCodec.encode(row));
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void replay(long seq, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        String table = in.readUTF();
+        Map<Object, Object> rows = recovered.computeIfAbsent(table, name -> new HashMap<>());
+        switch (op) {
+            case PUT -> {
+                Object[] row = RowCodec.decode(in.readAllBytes(), 2);
+                rows.put(row[0], row[1]);
+            }
+            case REMOVE -> rows.remove(RowCodec.decode(in.readAllBytes(), 1)[0]);
+            case CLEAR -> rows.clear();
+            default -> throw new IOException("Unknown journal operation " + op + " in record " + seq);
+        }
+    }
+
+    private final class JournaledTable<K extends Serializable, V extends Serializable> implements Table<K, V> {
+        private final String name;
+
+        private JournaledTable(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            write(key, PUT, name, key, value);
+        }
+
+        @Override
+        public void remove(K key) {
+            write(key, REMOVE, name, key);
+        }
+
+        @Override
+        public void clear() {
+            write(name, CLEAR, name);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.TreeMap;
+
+/**
+ * Naming of the journal directory's files: log segments and snapshots are named after a
+ * sequence number, zero-padded so that name order is sequence order.
+ */
+final class JournalFiles {
+
+    private JournalFiles() {
+    }
+
+    static String name(String prefix, long seq, String suffix) {
+        return String.format("%s%020d%s", prefix, seq, suffix);
+    }
+
+    /** Files of one kind, keyed by the sequence number in their name */
+    static TreeMap<Long, Path> list(Path directory, String prefix, String suffix) throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                String digits = name.substring(prefix.length(), name.length() - suffix.length());
+                try {
+                    files.put(Long.parseLong(digits), file);
+                } catch (NumberFormatException e) {
+                    // not one of ours
+                }
+            }
+        }
+        return files;
+    }
+
+    /** Makes a file creation, rename or deletion itself durable (a no-op where directories cannot be opened) */
+    static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // not supported on this platform
+        }
+    }
+}
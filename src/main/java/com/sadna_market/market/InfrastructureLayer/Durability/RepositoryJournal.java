@@ -0,0 +1,60 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Durability hook for the in-memory repositories.
+ *
+ * Each repository registers the map holding its rows as a named table, and reports every
+ * change to a row after making it. Rows are journaled as their full new state, so rows that
+ * were changed in place (a store gaining an owner, an order changing status) are reported
+ * with put as well. On registration a durable journal fills the map with the recovered rows.
+ *
+ * Rows are serialized while the repository's write lock is held, and a durable journal takes it
+ * to copy rows for a snapshot. So a change the repository makes under that lock (including cart
+ * edits, which run under the user repository's lock) is never serialized halfway through. A row
+ * object that a caller changes in place before handing it back is not covered: a snapshot taken
+ * meanwhile may copy it mid-change, and the put that follows records its final state.
+ */
+public interface RepositoryJournal {
+
+    /** Journal that records nothing, used when durability is switched off */
+    RepositoryJournal NONE = new RepositoryJournal() {
+        @Override
+        public <K extends Serializable, V extends Serializable> Table<K, V> table(String name, Map<K, V> rows,
+                                                                                  Object writeLock) {
+            return new Table<>() {
+                @Override
+                public void put(K key, V value) {
+                }
+
+                @Override
+                public void remove(K key) {
+                }
+
+                @Override
+                public void clear() {
+                }
+            };
+        }
+    };
+
+    /**
+     * Registers a repository map under a table name that is unique across the repositories
+     *
+     * @param rows      the live map; recovered rows are put into it before this returns
+     * @param writeLock the monitor the repository holds while changing rows and reporting them
+     */
+    <K extends Serializable, V extends Serializable> Table<K, V> table(String name, Map<K, V> rows, Object writeLock);
+
+    /** Called with the repository's write lock held */
+    interface Table<K, V> {
+        /** Row inserted, replaced or changed in place */
+        void put(K key, V value);
+
+        void remove(K key);
+
+        void clear();
+    }
+}
@@ -0,0 +1,51 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import java.io.*;
+import java.util.ConcurrentModificationException;
+
+/**
+ * Java serialization of journaled rows. Rows are live domain objects that other threads may be
+ * changing while they are written, so a write that trips over a concurrent change of one of the
+ * row's collections is simply taken again.
+ */
+final class RowCodec {
+    private static final int MAX_ATTEMPTS = 5;
+
+    private RowCodec() {
+    }
+
+    static byte[] encode(Object... objects) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    for (Object object : objects) {
+                        out.writeObject(object);
+                    }
+                }
+                return bytes.toByteArray();
+            } catch (ConcurrentModificationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new IllegalStateException("Row kept changing while it was being journaled", e);
+                }
+                Thread.onSpinWait();
+            } catch (NotSerializableException e) {
+                throw new IllegalStateException("Row is not serializable: " + e.getMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    static Object[] decode(byte[] data, int count) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            Object[] objects = new Object[count];
+            for (int i = 0; i < count; i++) {
+                objects[i] = in.readObject();
+            }
+            return objects;
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException("Journaled row of unknown class: " + e.getMessage());
+        }
+    }
+}
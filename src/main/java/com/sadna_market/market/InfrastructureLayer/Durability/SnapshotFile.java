@@ -0,0 +1,136 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full copy of every journal table, taken right after the log was rotated at sequence number seq.
+ *
+ * Layout (gzip-compressed): magic, format, seq, table count, then per table its name, row count
+ * and rows as length-prefixed serialized (key, value) pairs, then the magic again. Compression
+ * removes most of the class descriptors each row repeats; gzip's own checksum catches damage.
+ * A snapshot is written to a temporary file and renamed into place, so a crash while writing
+ * one leaves the previous snapshot in charge.
+ */
+final class SnapshotFile {
+    static final String PREFIX = "snapshot-";
+    static final String SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x4D4B5453; // "MKTS"
+    private static final int FORMAT = 1;
+
+    record Loaded(long seq, Map<String, Map<Object, Object>> tables) {
+    }
+
+    /** A table to write, with the lock its rows are serialized under */
+    record Table(Map<?, ?> rows, Object writeLock) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    static void write(Path directory, long seq, Map<String, Table> tables) throws IOException {
+        String name = JournalFiles.name(PREFIX, seq, SUFFIX);
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(seq);
+            out.writeInt(tables.size());
+            for (Map.Entry<String, Table> table : tables.entrySet()) {
+                List<? extends Map.Entry<?, ?>> rows = new ArrayList<>(table.getValue().rows().entrySet());
+                out.writeUTF(table.getKey());
+                out.writeInt(rows.size());
+                for (Map.Entry<?, ?> row : rows) {
+                    byte[] bytes;
+                    synchronized (table.getValue().writeLock()) {
+                        bytes = RowCodec.encode(row.getKey(), row.getValue());
+                    }
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            out.writeInt(MAGIC);
+            out.flush();
+            gzip.finish();
+            channel.force(true);
+        }
+
+        Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        JournalFiles.syncDirectory(directory);
+    }
+
+    /**
+     * Loads the newest snapshot, or an empty state at sequence 0 when there is none.
+     * A damaged newest snapshot fails recovery rather than falling back to an older one,
+     * since the log segments that would bridge the older one have already been deleted.
+     */
+    static Loaded readLatest(Path directory) throws IOException {
+        for (Path temp : JournalFiles.list(directory, PREFIX, SUFFIX + TEMP_SUFFIX).values()) {
+            Files.deleteIfExists(temp); // left by a crash mid-snapshot
+        }
+        TreeMap<Long, Path> snapshots = JournalFiles.list(directory, PREFIX, SUFFIX);
+        if (snapshots.isEmpty()) {
+            return new Loaded(0, new ConcurrentHashMap<>());
+        }
+        Map.Entry<Long, Path> latest = snapshots.lastEntry();
+        try {
+            return read(latest.getValue(), latest.getKey());
+        } catch (IOException e) {
+            throw new IOException("Snapshot " + latest.getValue().getFileName() + " is damaged: " + e.getMessage(), e);
+        }
+    }
+
+    private static Loaded read(Path file, long expectedSeq) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                throw new IOException("not a snapshot of this format");
+            }
+            long seq = in.readLong();
+            if (seq != expectedSeq) {
+                throw new IOException("holds sequence " + seq + " but is named for " + expectedSeq);
+            }
+
+            Map<String, Map<Object, Object>> tables = new ConcurrentHashMap<>();
+            int tableCount = in.readInt();
+            for (int t = 0; t < tableCount; t++) {
+                String name = in.readUTF();
+                int rowCount = in.readInt();
+                Map<Object, Object> rows = new HashMap<>(Math.max(16, rowCount * 4 / 3 + 1));
+                for (int r = 0; r < rowCount; r++) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    Object[] row = RowCodec.decode(bytes, 2);
+                    rows.put(row[0], row[1]);
+                }
+                tables.put(name, rows);
+            }
+            if (in.readInt() != MAGIC || in.read() != -1) { // reading to the end verifies the gzip checksum
+                throw new IOException("unexpected trailing data");
+            }
+            return new Loaded(seq, tables);
+        }
+    }
+
+    /** Deletes the snapshots older than the one at seq */
+    static void deleteOlderThan(Path directory, long seq) throws IOException {
+        for (Path old : JournalFiles.list(directory, PREFIX, SUFFIX).headMap(seq, false).values()) {
+            Files.deleteIfExists(old);
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.sadna_market.market.InfrastructureLayer.Durability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of journal records, split into segments named after their first sequence number.
+ *
+ * A record is framed as [int length][int crc32][long seq][payload], where length and checksum
+ * cover seq and payload, so a record torn by a crash is detected and cut off on recovery.
+ * Appends are queued and written by a single writer thread, which takes everything queued since
+ * its previous write, frames it into one direct buffer and issues one write and (with fsync on)
+ * one force for the lot. Concurrent writers therefore share an fsync instead of paying for one each.
+ */
+final class WriteAheadLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    static final String PREFIX = "wal-";
+    static final String SUFFIX = ".log";
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int MAX_RECORD_BYTES = 64 << 20;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    /** Receives replayed records in sequence order */
+    @FunctionalInterface
+    interface RecordHandler {
+        void accept(long seq, byte[] payload) throws IOException;
+    }
+
+    // A queued append; a null payload marks a segment rotation
+    private record Append(long seq, byte[] payload, CompletableFuture<Long> done) {
+    }
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition queued = lock.newCondition();
+    private ArrayList<Append> queue = new ArrayList<>();
+    private long nextSeq;
+    private boolean closed;
+    private IOException failure;
+
+    // Owned by the writer thread
+    private final Thread writer;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+    private FileChannel segment;
+    private long segmentFirstSeq;
+
+    private WriteAheadLog(Path directory, long firstSeq, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.nextSeq = firstSeq;
+        openSegment(firstSeq);
+        this.writer = new Thread(this::writeLoop, "repository-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Opens a new segment for records from firstSeq on; existing segments are left as they are */
+    static WriteAheadLog open(Path directory, long firstSeq, boolean fsync) throws IOException {
+        return new WriteAheadLog(directory, firstSeq, fsync);
+    }
+
+    /**
+     * Queues a record. The future completes with its sequence number once the record has been
+     * written, and with fsync on, forced to disk.
+     */
+    CompletableFuture<Long> append(byte[] payload) {
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+            }
+            if (failure != null) {
+                return CompletableFuture.failedFuture(failure);
+            }
+            CompletableFuture<Long> done = new CompletableFuture<>();
+            queue.add(new Append(nextSeq++, payload, done));
+            queued.signal();
+            return done;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastSeq() {
+        lock.lock();
+        try {
+            return nextSeq - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment after every record queued so far and starts a new one.
+     *
+     * @return the sequence number of the last record in the closed segments
+     */
+    long rotate() throws IOException {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            queue.add(new Append(nextSeq - 1, null, done));
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return done.join();
+        } catch (RuntimeException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException("Log rotation failed", e);
+        }
+    }
+
+    /** Deletes the segments holding only records up to seq (the current segment is never among them) */
+    void deleteSegmentsThrough(long seq) throws IOException {
+        for (Map.Entry<Long, Path> file : JournalFiles.list(directory, PREFIX, SUFFIX).headMap(seq, true).entrySet()) {
+            Files.deleteIfExists(file.getValue());
+        }
+        JournalFiles.syncDirectory(directory);
+    }
+
+    /** Writes out everything queued, then stops the writer */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queued.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void writeLoop() {
+        ArrayList<Append> batch = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (queue.isEmpty() && !closed) {
+                    queued.awaitUninterruptibly();
+                }
+                if (queue.isEmpty()) {
+                    break;
+                }
+                ArrayList<Append> taken = queue;
+                queue = batch;
+                batch = taken;
+            } finally {
+                lock.unlock();
+            }
+
+            if (failure != null) {
+                fail(failure, batch); // never write past a failed write, that would leave a gap
+            } else {
+                try {
+                    write(batch);
+                } catch (IOException e) {
+                    logger.error("Write-ahead log write failed, journaling stopped", e);
+                    fail(e, batch);
+                }
+            }
+            batch.clear();
+        }
+
+        try {
+            segment.force(false);
+            segment.close();
+        } catch (IOException e) {
+            logger.error("Failed to close write-ahead log segment", e);
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    private void write(ArrayList<Append> batch) throws IOException {
+        int written = 0; // appends of the batch whose records are in the channel
+        for (int i = 0; i < batch.size(); i++) {
+            Append append = batch.get(i);
+            if (append.payload() == null) {
+                sync();
+                complete(batch, written, i);
+                written = i + 1;
+                rotateSegment(append.seq() + 1);
+                append.done().complete(append.seq());
+                continue;
+            }
+            frame(append.seq(), append.payload());
+        }
+        sync();
+        complete(batch, written, batch.size());
+    }
+
+    private void frame(long seq, byte[] payload) throws IOException {
+        int length = Long.BYTES + payload.length;
+        crc.reset();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(0, seq));
+        crc.update(payload);
+
+        if (HEADER_BYTES + length > buffer.capacity()) {
+            flushBuffer();
+            ByteBuffer large = ByteBuffer.allocate(HEADER_BYTES + length);
+            large.putInt(length).putInt((int) crc.getValue()).putLong(seq).put(payload).flip();
+            writeFully(large);
+            return;
+        }
+        if (HEADER_BYTES + length > buffer.remaining()) {
+            flushBuffer();
+        }
+        buffer.putInt(length).putInt((int) crc.getValue()).putLong(seq).put(payload);
+    }
+
+    private void sync() throws IOException {
+        flushBuffer();
+        if (fsync) {
+            segment.force(false);
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            segment.write(data);
+        }
+    }
+
+    private void rotateSegment(long firstSeq) throws IOException {
+        if (firstSeq == segmentFirstSeq) {
+            return; // nothing was written to the current segment
+        }
+        segment.force(false);
+        segment.close();
+        openSegment(firstSeq);
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path file = directory.resolve(JournalFiles.name(PREFIX, firstSeq, SUFFIX));
+        segment = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segmentFirstSeq = firstSeq;
+        JournalFiles.syncDirectory(directory);
+    }
+
+    private static void complete(ArrayList<Append> batch, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Append append = batch.get(i);
+            append.done().complete(append.seq());
+        }
+    }
+
+    private void fail(IOException e, ArrayList<Append> batch) {
+        lock.lock();
+        try {
+            failure = e;
+        } finally {
+            lock.unlock();
+        }
+        for (Append append : batch) {
+            append.done().completeExceptionally(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Replays the records after afterSeq from every segment in the directory.
+     * A record torn by a crash ends the last segment: the segment is cut back to the last whole
+     * record. Damage anywhere else, or a gap in the sequence, means records were lost and fails recovery.
+     *
+     * @return the sequence number of the last record replayed, or afterSeq if there were none
+     */
+    static long replay(Path directory, long afterSeq, RecordHandler handler) throws IOException {
+        long lastSeq = afterSeq;
+        TreeMap<Long, Path> segments = JournalFiles.list(directory, PREFIX, SUFFIX);
+        Iterator<Path> files = segments.values().iterator();
+        while (files.hasNext()) {
+            Path file = files.next();
+            lastSeq = replaySegment(file, !files.hasNext(), afterSeq, lastSeq, handler);
+        }
+        return lastSeq;
+    }
+
+    private static long replaySegment(Path file, boolean lastSegment, long afterSeq, long lastSeq,
+                                      RecordHandler handler) throws IOException {
+        long position = 0;
+        String damage = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break; // clean end of segment
+                }
+                if (length < Long.BYTES || length > MAX_RECORD_BYTES) {
+                    damage = "bad record length " + length;
+                    break;
+                }
+                byte[] body = new byte[length];
+                int checksum;
+                try {
+                    checksum = in.readInt();
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    damage = "record cut short";
+                    break;
+                }
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    damage = "checksum mismatch";
+                    break;
+                }
+
+                long seq = ByteBuffer.wrap(body).getLong();
+                if (seq > afterSeq) {
+                    if (seq != lastSeq + 1) {
+                        throw new IOException("Write-ahead log has a gap: expected record " + (lastSeq + 1)
+                                + " but found " + seq + " in " + file.getFileName());
+                    }
+                    byte[] payload = new byte[length - Long.BYTES];
+                    System.arraycopy(body, Long.BYTES, payload, 0, payload.length);
+                    handler.accept(seq, payload);
+                    lastSeq = seq;
+                }
+                position += HEADER_BYTES + length;
+            }
+        }
+
+        if (damage != null) {
+            if (!lastSegment) {
+                throw new IOException("Write-ahead log segment " + file.getFileName() + " is damaged at byte "
+                        + position + " (" + damage + ") and is followed by later segments");
+            }
+            logger.warn("Write-ahead log segment {} ends in a torn record at byte {} ({}), truncating it",
+                    file.getFileName(), position, damage);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(position);
+                channel.force(false);
+            }
+        }
+        return lastSeq;
+    }
+}
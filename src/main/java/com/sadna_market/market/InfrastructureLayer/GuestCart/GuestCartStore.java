@@ -0,0 +1,295 @@
+package com.sadna_market.market.InfrastructureLayer.GuestCart;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Server-side guest carts, keyed by an opaque cart token handed to the client.
+ * Each cart is a flat long[] (store id, product id, quantity per line) instead of nested
+ * maps, so an idle anonymous session costs a few dozen bytes per line.
+ * Carts expire after a period without access; when the store is full the
+ * longest-idle carts are evicted first, so memory stays bounded however many
+ * anonymous sessions are opened.
+ */
+@Component
+public class GuestCartStore {
+    private static final Logger logger = LoggerFactory.getLogger(GuestCartStore.class);
+
+    // storeId (msb, lsb), productId (msb, lsb), quantity
+    private static final int LINE_WIDTH = 5;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, EncodedCart> carts = new ConcurrentHashMap<>();
+    private final AtomicInteger createsSinceSweep = new AtomicInteger();
+    // Only creation adds carts, so serializing it keeps the store within maxCarts
+    private final Object createLock = new Object();
+    private final SecureRandom random = new SecureRandom();
+
+    private final long ttlMillis;
+    private final int maxCarts;
+    private final int maxLinesPerCart;
+    private final LongSupplier clock;
+
+    @Autowired
+    public GuestCartStore(@Value("${market.guest-cart.ttl-minutes:60}") long ttlMinutes,
+                          @Value("${market.guest-cart.max-carts:100000}") int maxCarts,
+                          @Value("${market.guest-cart.max-lines:200}") int maxLinesPerCart) {
+        this(Duration.ofMinutes(ttlMinutes), maxCarts, maxLinesPerCart, System::currentTimeMillis);
+    }
+
+    public GuestCartStore(Duration ttl, int maxCarts, int maxLinesPerCart, LongSupplier clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxCarts = maxCarts;
+        this.maxLinesPerCart = maxLinesPerCart;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens an empty guest cart
+     *
+     * @return the opaque token identifying the cart
+     */
+    public String createCart() {
+        String token = newToken();
+        synchronized (createLock) {
+            if (createsSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+                createsSinceSweep.set(0);
+                evictIdle(ttlMillis);
+            }
+            if (carts.size() >= maxCarts) {
+                makeRoom();
+            }
+            carts.put(token, new EncodedCart(new long[0], clock.getAsLong()));
+        }
+        return token;
+    }
+
+    /**
+     * @return the cart contents as store ID -> (product ID -> quantity)
+     * @throws IllegalArgumentException if the cart does not exist or has expired
+     */
+    public Map<UUID, Map<UUID, Integer>> getCart(String token) {
+        return decode(touch(token, cart -> cart.lines));
+    }
+
+    public Map<UUID, Map<UUID, Integer>> addItem(String token, UUID storeId, UUID productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        return decode(touch(token, cart -> {
+            int line = find(cart.lines, storeId, productId);
+            if (line >= 0) {
+                long[] lines = cart.lines.clone();
+                try {
+                    lines[line + 4] = Math.addExact((int) lines[line + 4], quantity);
+                } catch (ArithmeticException e) {
+                    throw new IllegalArgumentException("Quantity too large for product " + productId);
+                }
+                return lines;
+            }
+            return append(cart.lines, storeId, productId, quantity);
+        }));
+    }
+
+    /**
+     * Sets the quantity of a product already in the cart; zero or less removes it
+     */
+    public Map<UUID, Map<UUID, Integer>> updateItem(String token, UUID storeId, UUID productId, int quantity) {
+        return decode(touch(token, cart -> {
+            int line = find(cart.lines, storeId, productId);
+            if (line < 0) {
+                return cart.lines;
+            }
+            if (quantity <= 0) {
+                return removeLine(cart.lines, line);
+            }
+            long[] lines = cart.lines.clone();
+            lines[line + 4] = quantity;
+            return lines;
+        }));
+    }
+
+    public Map<UUID, Map<UUID, Integer>> removeItem(String token, UUID storeId, UUID productId) {
+        return decode(touch(token, cart -> {
+            int line = find(cart.lines, storeId, productId);
+            if (line < 0) {
+                throw new IllegalArgumentException("Product with ID " + productId + " not found in cart");
+            }
+            return removeLine(cart.lines, line);
+        }));
+    }
+
+    /**
+     * Removes the cart and returns what it held (used when a guest logs in or checks out)
+     *
+     * @throws IllegalArgumentException if the cart does not exist or has expired
+     */
+    public Map<UUID, Map<UUID, Integer>> takeCart(String token) {
+        EncodedCart cart = token == null ? null : carts.remove(token);
+        if (cart == null || isExpired(cart, clock.getAsLong())) {
+            throw new IllegalArgumentException("Guest cart not found or expired");
+        }
+        return decode(cart.lines);
+    }
+
+    public void removeCart(String token) {
+        if (token != null) {
+            carts.remove(token);
+        }
+    }
+
+    public int size() {
+        return carts.size();
+    }
+
+    public void clear() {
+        carts.clear();
+    }
+
+    // ==================== HELPERS ====================
+
+    @FunctionalInterface
+    private interface CartEdit {
+        long[] apply(EncodedCart cart);
+    }
+
+    /**
+     * Applies an edit atomically and refreshes the cart's idle timer
+     */
+    private long[] touch(String token, CartEdit edit) {
+        if (token == null) {
+            throw new IllegalArgumentException("Guest cart token cannot be null");
+        }
+        long now = clock.getAsLong();
+        EncodedCart updated = carts.computeIfPresent(token, (key, cart) -> {
+            if (isExpired(cart, now)) {
+                return null;
+            }
+            long[] lines = edit.apply(cart);
+            if (lines.length / LINE_WIDTH > maxLinesPerCart) {
+                throw new IllegalStateException("Guest cart cannot hold more than " + maxLinesPerCart + " products");
+            }
+            return new EncodedCart(lines, now);
+        });
+        if (updated == null) {
+            throw new IllegalArgumentException("Guest cart not found or expired");
+        }
+        return updated.lines;
+    }
+
+    private boolean isExpired(EncodedCart cart, long now) {
+        return now - cart.lastAccess > ttlMillis;
+    }
+
+    // Drops every cart idle for longer than maxIdleMillis
+    private int evictIdle(long maxIdleMillis) {
+        long now = clock.getAsLong();
+        int before = carts.size();
+        carts.values().removeIf(cart -> now - cart.lastAccess > maxIdleMillis);
+        int evicted = before - carts.size();
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle guest carts", evicted);
+        }
+        return evicted;
+    }
+
+    // Full: drop expired carts, then the least recently used ones until there is room for
+    // a small batch of new carts, so a store under churn does not sort on every creation
+    private void makeRoom() {
+        evictIdle(ttlMillis);
+        int target = maxCarts - Math.max(1, maxCarts / 16);
+        int excess = carts.size() - target;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, EncodedCart>> byLastAccess = new ArrayList<>(carts.entrySet());
+        byLastAccess.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        int evicted = 0;
+        for (Map.Entry<String, EncodedCart> entry : byLastAccess) {
+            if (evicted == excess) {
+                break;
+            }
+            // A cart used since the snapshot has a new entry and is kept
+            if (carts.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        logger.debug("Guest cart store full, evicted {} least recently used carts", evicted);
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[18];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static int find(long[] lines, UUID storeId, UUID productId) {
+        long storeMsb = storeId.getMostSignificantBits();
+        long storeLsb = storeId.getLeastSignificantBits();
+        long productMsb = productId.getMostSignificantBits();
+        long productLsb = productId.getLeastSignificantBits();
+        for (int i = 0; i < lines.length; i += LINE_WIDTH) {
+            if (lines[i] == storeMsb && lines[i + 1] == storeLsb
+                    && lines[i + 2] == productMsb && lines[i + 3] == productLsb) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long[] append(long[] lines, UUID storeId, UUID productId, int quantity) {
+        long[] result = new long[lines.length + LINE_WIDTH];
+        System.arraycopy(lines, 0, result, 0, lines.length);
+        int i = lines.length;
+        result[i] = storeId.getMostSignificantBits();
+        result[i + 1] = storeId.getLeastSignificantBits();
+        result[i + 2] = productId.getMostSignificantBits();
+        result[i + 3] = productId.getLeastSignificantBits();
+        result[i + 4] = quantity;
+        return result;
+    }
+
+    private static long[] removeLine(long[] lines, int line) {
+        long[] result = new long[lines.length - LINE_WIDTH];
+        System.arraycopy(lines, 0, result, 0, line);
+        System.arraycopy(lines, line + LINE_WIDTH, result, line, lines.length - line - LINE_WIDTH);
+        return result;
+    }
+
+    private static Map<UUID, Map<UUID, Integer>> decode(long[] lines) {
+        Map<UUID, Map<UUID, Integer>> baskets = new HashMap<>();
+        for (int i = 0; i < lines.length; i += LINE_WIDTH) {
+            UUID storeId = new UUID(lines[i], lines[i + 1]);
+            UUID productId = new UUID(lines[i + 2], lines[i + 3]);
+            baskets.computeIfAbsent(storeId, k -> new HashMap<>()).put(productId, (int) lines[i + 4]);
+        }
+        return baskets;
+    }
+
+    // Immutable; every edit replaces the entry
+    private static final class EncodedCart {
+        private final long[] lines;
+        private final long lastAccess;
+
+        private EncodedCart(long[] lines, long lastAccess) {
+            this.lines = lines;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
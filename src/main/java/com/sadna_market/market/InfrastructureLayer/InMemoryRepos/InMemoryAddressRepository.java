@@ -2,8 +2,10 @@ package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
 import com.sadna_market.market.DomainLayer.Address;
 import com.sadna_market.market.DomainLayer.IAddressRepository;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -17,8 +19,16 @@ public class InMemoryAddressRepository implements IAddressRepository {
     private static final Logger logger = LoggerFactory.getLogger(InMemoryAddressRepository.class);
 
     private final Map<UUID, Address> addresses = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Address> journal;
+    private final Object writeLock = new Object();
 
     public InMemoryAddressRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryAddressRepository(RepositoryJournal journal) {
+        this.journal = journal.table("addresses", addresses, writeLock);
         logger.info("InMemoryAddressRepository initialized");
     }
 
@@ -35,7 +45,10 @@ public class InMemoryAddressRepository implements IAddressRepository {
         }
 
         logger.debug("Saving address: {}", address.getAddressId());
-        addresses.put(address.getAddressId(), address);
+        synchronized (writeLock) {
+            addresses.put(address.getAddressId(), address);
+            journal.put(address.getAddressId(), address);
+        }
         logger.info("Address saved successfully: {}", address.getAddressId());
         return address;
     }
@@ -100,7 +113,10 @@ public class InMemoryAddressRepository implements IAddressRepository {
         }
 
         logger.debug("Updating address: {}", address.getAddressId());
-        addresses.put(address.getAddressId(), address);
+        synchronized (writeLock) {
+            addresses.put(address.getAddressId(), address);
+            journal.put(address.getAddressId(), address);
+        }
         logger.info("Address updated successfully: {}", address.getAddressId());
         return address;
     }
@@ -113,7 +129,13 @@ public class InMemoryAddressRepository implements IAddressRepository {
         }
 
         logger.debug("Deleting address: {}", addressId);
-        Address removed = addresses.remove(addressId);
+        Address removed;
+        synchronized (writeLock) {
+            removed = addresses.remove(addressId);
+            if (removed != null) {
+                journal.remove(addressId);
+            }
+        }
 
         if (removed != null) {
             logger.info("Address deleted successfully: {}", addressId);
@@ -139,8 +161,11 @@ public class InMemoryAddressRepository implements IAddressRepository {
 
         int deletedCount = 0;
         for (UUID addressId : toDelete) {
-            if (addresses.remove(addressId) != null) {
-                deletedCount++;
+            synchronized (writeLock) {
+                if (addresses.remove(addressId) != null) {
+                    journal.remove(addressId);
+                    deletedCount++;
+                }
             }
         }
 
@@ -156,20 +181,26 @@ public class InMemoryAddressRepository implements IAddressRepository {
 
         logger.debug("Setting address {} as default for user: {}", addressId, username);
 
-        // First, unset all default addresses for this user
-        addresses.values().stream()
-                .filter(address -> username.equals(address.getUsername()) && address.isDefault())
-                .forEach(address -> address.setDefault(false));
-
-        // Then set the specified address as default
-        Address targetAddress = addresses.get(addressId);
-        if (targetAddress != null && username.equals(targetAddress.getUsername())) {
-            targetAddress.setDefault(true);
-            logger.info("Address {} set as default for user: {}", addressId, username);
-            return true;
-        } else {
-            logger.warn("Cannot set default - address not found or not owned by user: {}", addressId);
-            return false;
+        synchronized (writeLock) {
+            // First, unset all default addresses for this user
+            addresses.values().stream()
+                    .filter(address -> username.equals(address.getUsername()) && address.isDefault())
+                    .forEach(address -> {
+                        address.setDefault(false);
+                        journal.put(address.getAddressId(), address);
+                    });
+
+            // Then set the specified address as default
+            Address targetAddress = addresses.get(addressId);
+            if (targetAddress != null && username.equals(targetAddress.getUsername())) {
+                targetAddress.setDefault(true);
+                journal.put(addressId, targetAddress);
+                logger.info("Address {} set as default for user: {}", addressId, username);
+                return true;
+            } else {
+                logger.warn("Cannot set default - address not found or not owned by user: {}", addressId);
+                return false;
+            }
         }
     }
 
@@ -185,7 +216,10 @@ public class InMemoryAddressRepository implements IAddressRepository {
 
     @Override
     public void clear() {
-        addresses.clear();
+        synchronized (writeLock) {
+            addresses.clear();
+            journal.clear();
+        }
         logger.info("Address repository cleared");
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
+
+import com.sadna_market.market.DomainLayer.Cart;
+import com.sadna_market.market.DomainLayer.ICartRepository;
+import com.sadna_market.market.DomainLayer.ShoppingBasket;
+import com.sadna_market.market.DomainLayer.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * In memory the carts live on the user objects, so line edits go straight to the user's cart
+ * and the changed user is handed back to the user repository (which journals it when durable).
+ * Edits run under the user repository's write lock, so a snapshot never sees half of one.
+ */
+@Repository
+@Profile("test")
+public class InMemoryCartRepository implements ICartRepository {
+
+    private final InMemoryUserRepository userRepository;
+
+    @Autowired
+    public InMemoryCartRepository(InMemoryUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public int addProduct(String username, UUID storeId, UUID productId, int quantity) {
+        return userRepository.updateInPlace(findUser(username), user -> {
+            Cart cart = user.addToCart(storeId, productId, quantity);
+            return cart.getShoppingBaskets().get(storeId).getProductQuantity(productId);
+        });
+    }
+
+    @Override
+    public boolean setProductQuantity(String username, UUID storeId, UUID productId, int quantity) {
+        return userRepository.updateInPlace(findUser(username), user -> {
+            if (!user.getCart().getShoppingBaskets().containsKey(storeId)) {
+                return false;
+            }
+            user.updateCart(storeId, productId, quantity);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean removeProduct(String username, UUID storeId, UUID productId) {
+        return userRepository.updateInPlace(findUser(username), user -> {
+            ShoppingBasket basket = user.getCart().getShoppingBaskets().get(storeId);
+            if (basket == null || !basket.containsProduct(productId)) {
+                return false;
+            }
+            user.removeFromCart(storeId, productId);
+            return true;
+        });
+    }
+
+    private User findUser(String username) {
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("user not found!"));
+    }
+}
@@ -2,15 +2,25 @@ package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
 import com.sadna_market.market.DomainLayer.IMessageRepository;
 import com.sadna_market.market.DomainLayer.Message;
+import com.sadna_market.market.DomainLayer.MessageFilter;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Messages by ID, with secondary indexes by store, by sender and by store for the unread and
+ * the unanswered messages. Each index holds (timestamp, ID) keys sorted newest first, so store
+ * listings and pages read only the messages they return.
+ * Changes take a lock so a message and its index entries move together; reads do not.
+ */
 @Repository
 @Profile("test")
 public class InMemoryMessageRepository implements IMessageRepository {
@@ -19,8 +29,37 @@ public class InMemoryMessageRepository implements IMessageRepository {
 
     // Thread-safe map to store messages by ID
     private final Map<UUID, Message> messages = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Message> journal;
+
+    private final Map<UUID, NavigableSet<Key>> byStore = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Key>> bySender = new ConcurrentHashMap<>();
+    private final Map<UUID, NavigableSet<Key>> unreadByStore = new ConcurrentHashMap<>();
+    private final Map<UUID, NavigableSet<Key>> unansweredByStore = new ConcurrentHashMap<>();
+    // Skip list sizes are counted by walking them, so the unread count is kept separately
+    private final Map<UUID, Integer> unreadCounts = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    /** Index key; the natural order is newest first */
+    private record Key(LocalDateTime timestamp, UUID messageId) implements Comparable<Key> {
+        static Key of(Message message) {
+            return new Key(message.getTimestamp(), message.getMessageId());
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byTime = other.timestamp.compareTo(timestamp);
+            return byTime != 0 ? byTime : other.messageId.compareTo(messageId);
+        }
+    }
 
     public InMemoryMessageRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryMessageRepository(RepositoryJournal journal) {
+        this.journal = journal.table("messages", messages, writeLock);
+        messages.values().forEach(this::index);
         logger.info("InMemoryMessageRepository initialized");
     }
 
@@ -32,7 +71,14 @@ public class InMemoryMessageRepository implements IMessageRepository {
         }
 
         logger.debug("Saving message: {}", message.getMessageId());
-        messages.put(message.getMessageId(), message);
+        synchronized (writeLock) {
+            Message previous = messages.put(message.getMessageId(), message);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(message);
+            journal.put(message.getMessageId(), message);
+        }
         return message;
     }
 
@@ -55,11 +101,7 @@ public class InMemoryMessageRepository implements IMessageRepository {
         }
 
         logger.debug("Finding messages sent by user: {}", username);
-
-        return messages.values().stream()
-                .filter(message -> username.equals(message.getSenderUsername()))
-                .sorted(Comparator.comparing(Message::getTimestamp).reversed())
-                .collect(Collectors.toList());
+        return resolve(bySender.get(username), 0, Integer.MAX_VALUE);
     }
 
     @Override
@@ -70,11 +112,7 @@ public class InMemoryMessageRepository implements IMessageRepository {
         }
 
         logger.debug("Finding messages for store: {}", storeId);
-
-        return messages.values().stream()
-                .filter(message -> storeId.equals(message.getStoreId()))
-                .sorted(Comparator.comparing(Message::getTimestamp).reversed())
-                .collect(Collectors.toList());
+        return resolve(byStore.get(storeId), 0, Integer.MAX_VALUE);
     }
 
     @Override
@@ -86,13 +124,20 @@ public class InMemoryMessageRepository implements IMessageRepository {
 
         logger.debug("Finding messages between user: {} and store: {}", username, storeId);
 
-        return messages.values().stream()
-                .filter(message -> (username.equals(message.getSenderUsername()) &&
-                        storeId.equals(message.getStoreId())) ||
-                        (storeId.equals(message.getStoreId()) &&
-                                username.equals(message.getReplyAuthor())))
-                .sorted(Comparator.comparing(Message::getTimestamp))
-                .collect(Collectors.toList());
+        NavigableSet<Key> keys = byStore.get(storeId);
+        if (keys == null) {
+            return new ArrayList<>();
+        }
+        // Oldest first, as a conversation reads
+        List<Message> conversation = new ArrayList<>();
+        for (Key key : keys.descendingSet()) {
+            Message message = messages.get(key.messageId());
+            if (message != null && (username.equals(message.getSenderUsername())
+                    || username.equals(message.getReplyAuthor()))) {
+                conversation.add(message);
+            }
+        }
+        return conversation;
     }
 
     @Override
@@ -103,7 +148,13 @@ public class InMemoryMessageRepository implements IMessageRepository {
         }
 
         logger.debug("Deleting message with ID: {}", messageId);
-        messages.remove(messageId);
+        synchronized (writeLock) {
+            Message removed = messages.remove(messageId);
+            if (removed != null) {
+                unindex(removed);
+            }
+            journal.remove(messageId);
+        }
     }
 
     @Override
@@ -116,13 +167,17 @@ public class InMemoryMessageRepository implements IMessageRepository {
 
         logger.debug("Adding reply to message: {}", messageId);
 
-        Message message = messages.get(messageId);
-        if (message == null) {
-            logger.warn("Cannot add reply - message not found with ID: {}", messageId);
-            return false;
-        }
+        synchronized (writeLock) {
+            Message message = messages.get(messageId);
+            if (message == null) {
+                logger.warn("Cannot add reply - message not found with ID: {}", messageId);
+                return false;
+            }
 
-        message.addReply(replyAuthor, replyText);
+            message.addReply(replyAuthor, replyText);
+            remove(unansweredByStore, message.getStoreId(), Key.of(message));
+            journal.put(messageId, message);
+        }
         logger.info("Reply added to message: {}", messageId);
         return true;
     }
@@ -135,11 +190,7 @@ public class InMemoryMessageRepository implements IMessageRepository {
         }
 
         logger.debug("Finding unread messages for store: {}", storeId);
-
-        return messages.values().stream()
-                .filter(message -> storeId.equals(message.getStoreId()) && !message.isRead())
-                .sorted(Comparator.comparing(Message::getTimestamp).reversed())
-                .collect(Collectors.toList());
+        return resolve(unreadByStore.get(storeId), 0, Integer.MAX_VALUE);
     }
 
     @Override
@@ -149,13 +200,17 @@ public class InMemoryMessageRepository implements IMessageRepository {
             return false;
         }
 
-        Message message = messages.get(messageId);
-        if (message == null) {
-            logger.warn("Cannot mark non-existent message as read: {}", messageId);
-            return false;
-        }
+        synchronized (writeLock) {
+            Message message = messages.get(messageId);
+            if (message == null) {
+                logger.warn("Cannot mark non-existent message as read: {}", messageId);
+                return false;
+            }
 
-        message.markAsRead();
+            message.markAsRead();
+            removeUnread(message.getStoreId(), Key.of(message));
+            journal.put(messageId, message);
+        }
         logger.debug("Message {} marked as read", messageId);
         return true;
     }
@@ -170,10 +225,19 @@ public class InMemoryMessageRepository implements IMessageRepository {
         logger.debug("Marking all messages for store {} as read", storeId);
 
         int count = 0;
-        for (Message message : messages.values()) {
-            if (storeId.equals(message.getStoreId()) && !message.isRead()) {
-                message.markAsRead();
-                count++;
+        synchronized (writeLock) {
+            NavigableSet<Key> unread = unreadByStore.get(storeId);
+            if (unread != null) {
+                for (Key key : unread) {
+                    Message message = messages.get(key.messageId());
+                    if (message != null) {
+                        message.markAsRead();
+                        journal.put(message.getMessageId(), message);
+                        count++;
+                    }
+                }
+                unreadByStore.remove(storeId);
+                unreadCounts.remove(storeId);
             }
         }
 
@@ -189,16 +253,46 @@ public class InMemoryMessageRepository implements IMessageRepository {
         }
 
         logger.debug("Finding unanswered messages for store: {}", storeId);
+        // Oldest first: the longest waiting questions lead
+        NavigableSet<Key> keys = unansweredByStore.get(storeId);
+        return keys == null ? new ArrayList<>() : resolve(keys.descendingSet(), 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Message> findStorePage(UUID storeId, MessageFilter filter, int page, int size) {
+        if (storeId == null || page < 0 || size <= 0) {
+            logger.error("Cannot page store messages with store {}, page {} and size {}", storeId, page, size);
+            return Collections.emptyList();
+        }
+
+        logger.debug("Finding {} messages of store {}, page {} of size {}", filter, storeId, page, size);
+        NavigableSet<Key> keys = switch (filter) {
+            case ALL -> byStore.get(storeId);
+            case UNREAD -> unreadByStore.get(storeId);
+            case UNANSWERED -> unansweredByStore.get(storeId);
+        };
+        return resolve(keys, (long) page * size, size);
+    }
 
-        return messages.values().stream()
-                .filter(message -> storeId.equals(message.getStoreId()) && !message.hasReply())
-                .sorted(Comparator.comparing(Message::getTimestamp))
-                .collect(Collectors.toList());
+    @Override
+    public int countUnreadForStore(UUID storeId) {
+        if (storeId == null) {
+            return 0;
+        }
+        return unreadCounts.getOrDefault(storeId, 0);
     }
 
     @Override
     public void clear() {
-        messages.clear();
+        synchronized (writeLock) {
+            messages.clear();
+            byStore.clear();
+            bySender.clear();
+            unreadByStore.clear();
+            unansweredByStore.clear();
+            unreadCounts.clear();
+            journal.clear();
+        }
         logger.info("Message repository cleared");
     }
 
@@ -206,4 +300,65 @@ public class InMemoryMessageRepository implements IMessageRepository {
     public List<Message> findAll() {
         return new ArrayList<>(messages.values());
     }
-}
\ No newline at end of file
+
+    private List<Message> resolve(NavigableSet<Key> keys, long skip, int limit) {
+        List<Message> result = new ArrayList<>();
+        if (keys == null) {
+            return result;
+        }
+        Iterator<Key> iterator = keys.iterator();
+        for (long i = 0; i < skip && iterator.hasNext(); i++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && result.size() < limit) {
+            Message message = messages.get(iterator.next().messageId());
+            if (message != null) {
+                result.add(message);
+            }
+        }
+        return result;
+    }
+
+    // Called with the write lock held (or from the constructor)
+    private void index(Message message) {
+        Key key = Key.of(message);
+        add(byStore, message.getStoreId(), key);
+        add(bySender, message.getSenderUsername(), key);
+        if (!message.isRead() && add(unreadByStore, message.getStoreId(), key)) {
+            unreadCounts.merge(message.getStoreId(), 1, Integer::sum);
+        }
+        if (!message.hasReply()) {
+            add(unansweredByStore, message.getStoreId(), key);
+        }
+    }
+
+    // The message may have been changed in place since it was indexed, so every index is cleared
+    private void unindex(Message message) {
+        Key key = Key.of(message);
+        remove(byStore, message.getStoreId(), key);
+        remove(bySender, message.getSenderUsername(), key);
+        removeUnread(message.getStoreId(), key);
+        remove(unansweredByStore, message.getStoreId(), key);
+    }
+
+    private void removeUnread(UUID storeId, Key key) {
+        if (remove(unreadByStore, storeId, key)) {
+            unreadCounts.computeIfPresent(storeId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static <K> boolean add(Map<K, NavigableSet<Key>> index, K indexKey, Key key) {
+        return index.computeIfAbsent(indexKey, ignored -> new ConcurrentSkipListSet<>()).add(key);
+    }
+
+    private static <K> boolean remove(Map<K, NavigableSet<Key>> index, K indexKey, Key key) {
+        NavigableSet<Key> keys = index.get(indexKey);
+        if (keys == null || !keys.remove(key)) {
+            return false;
+        }
+        if (keys.isEmpty()) {
+            index.remove(indexKey);
+        }
+        return true;
+    }
+}
@@ -2,6 +2,8 @@ package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
 import com.sadna_market.market.DomainLayer.INotificationRepository;
 import com.sadna_market.market.DomainLayer.Notification;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -14,10 +16,31 @@ import java.util.stream.Collectors;
 public class InMemoryNotificationRepository implements INotificationRepository {
 
     private final Map<UUID, Notification> notifications = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Notification> journal;
+    private final Object writeLock = new Object();
+
+    public InMemoryNotificationRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryNotificationRepository(RepositoryJournal journal) {
+        this.journal = journal.table("notifications", notifications, writeLock);
+    }
 
     @Override
     public void save(Notification notification) {
-        notifications.put(notification.getNotificationId(), notification);
+        synchronized (writeLock) {
+            notifications.put(notification.getNotificationId(), notification);
+            journal.put(notification.getNotificationId(), notification);
+        }
+    }
+
+    @Override
+    public void saveAll(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            save(notification);
+        }
     }
 
     @Override
@@ -43,22 +66,33 @@ public class InMemoryNotificationRepository implements INotificationRepository {
 
     @Override
     public void delete(UUID notificationId) {
-        notifications.remove(notificationId);
+        synchronized (writeLock) {
+            notifications.remove(notificationId);
+            journal.remove(notificationId);
+        }
     }
 
     @Override
     public void markAsRead(UUID notificationId) {
-        Notification notification = notifications.get(notificationId);
-        if (notification != null) {
-            notification.markAsRead();
+        synchronized (writeLock) {
+            Notification notification = notifications.get(notificationId);
+            if (notification != null) {
+                notification.markAsRead();
+                journal.put(notificationId, notification);
+            }
         }
     }
 
     @Override
     public void markAllAsReadForUser(String username) {
-        notifications.values().stream()
-                .filter(n -> n.getRecipientUsername().equals(username) && !n.isRead())
-                .forEach(Notification::markAsRead);
+        synchronized (writeLock) {
+            notifications.values().stream()
+                    .filter(n -> n.getRecipientUsername().equals(username) && !n.isRead())
+                    .forEach(notification -> {
+                        notification.markAsRead();
+                        journal.put(notification.getNotificationId(), notification);
+                    });
+        }
     }
 
     @Override
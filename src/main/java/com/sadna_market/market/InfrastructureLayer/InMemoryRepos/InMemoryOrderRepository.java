@@ -3,16 +3,26 @@ package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 import com.sadna_market.market.DomainLayer.IOrderRepository;
 import com.sadna_market.market.DomainLayer.Order;
 import com.sadna_market.market.DomainLayer.OrderStatus;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders by ID, with postings lists per store and per user, a set per status, a skip list
+ * ordered by order date, the products each user bought in completed orders, and a running
+ * revenue total kept in whole cents, so reindexing an order never makes it drift.
+ * Queries cost the size of their answer rather than a scan of the history.
+ * Changes take a lock so an order and its index entries move together; reads do not.
+ */
 @Repository
 @Profile("test")
 public class InMemoryOrderRepository implements IOrderRepository {
@@ -21,8 +31,47 @@ public class InMemoryOrderRepository implements IOrderRepository {
 
     // Thread-safe map to store orders by ID
     private final Map<UUID, Order> orders = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Order> journal;
+
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    // The values each order was indexed with; orders are changed in place before reindexing
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<UUID, Set<UUID>> byStore = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> byUser = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Set<UUID>> byStatus = new ConcurrentHashMap<>();
+    private final NavigableSet<Dated> byDate = new ConcurrentSkipListSet<>();
+    // user -> product -> number of the user's completed orders containing it
+    private final Map<String, Map<UUID, Integer>> completedPurchases = new ConcurrentHashMap<>();
+    private final AtomicLong revenueCents = new AtomicLong();
+    private final Object writeLock = new Object();
+
+    private record Entry(UUID storeId, String userName, LocalDateTime orderDate, OrderStatus status,
+                         long finalPriceCents, Set<UUID> productIds) {
+        static Entry of(Order order) {
+            return new Entry(order.getStoreId(), order.getUserName(), order.getOrderDate(), order.getStatus(),
+                    cents(order.getFinalPrice()), Set.copyOf(order.getProductsMap().keySet()));
+        }
+    }
+
+    /** An order ID ordered by order date, ties broken by ID */
+    private record Dated(LocalDateTime orderDate, UUID orderId) implements Comparable<Dated> {
+        @Override
+        public int compareTo(Dated other) {
+            int byDate = orderDate.compareTo(other.orderDate);
+            return byDate != 0 ? byDate : orderId.compareTo(other.orderId);
+        }
+    }
 
     public InMemoryOrderRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryOrderRepository(RepositoryJournal journal) {
+        this.journal = journal.table("orders", orders, writeLock);
+        orders.values().forEach(this::index);
         logger.info("InMemoryOrderRepository initialized");
     }
 
@@ -34,7 +83,7 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         logger.debug("Saving order: {}", order.getOrderId());
-        orders.put(order.getOrderId(), order);
+        store(order);
         return order;
     }
 
@@ -63,7 +112,11 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         logger.debug("Deleting order with ID: {}", orderId);
-        orders.remove(orderId);
+        synchronized (writeLock) {
+            orders.remove(orderId);
+            unindex(orderId);
+            journal.remove(orderId);
+        }
     }
 
     @Override
@@ -116,7 +169,7 @@ public class InMemoryOrderRepository implements IOrderRepository {
         Order order = new Order(storeId, userName, productsCopy, totalPrice, finalPrice,
                 orderDate, status, transactionId);
 
-        orders.put(order.getOrderId(), order);
+        store(order);
         logger.info("Order created with ID: {}", order.getOrderId());
 
         return order.getOrderId();
@@ -163,7 +216,7 @@ public class InMemoryOrderRepository implements IOrderRepository {
         Order order = new Order(storeId, userName, productsCopy, totalPrice, finalPrice,
                 orderDate, status, transactionId, storeName, paymentMethod, deliveryAddress);
 
-        orders.put(order.getOrderId(), order);
+        store(order);
         logger.info("Order created with enhanced details. ID: {}, Store: {}, Payment: {}",
                 order.getOrderId(), storeName, paymentMethod);
 
@@ -190,7 +243,14 @@ public class InMemoryOrderRepository implements IOrderRepository {
             return false;
         }
 
-        boolean updated = order.updateStatus(newStatus);
+        boolean updated;
+        synchronized (writeLock) {
+            updated = order.updateStatus(newStatus);
+            if (updated) {
+                index(order);
+                journal.put(orderId, order);
+            }
+        }
         if (updated) {
             logger.info("Order status updated. ID: {}, status: {}", orderId, newStatus);
         } else {
@@ -201,6 +261,20 @@ public class InMemoryOrderRepository implements IOrderRepository {
         return updated;
     }
 
+    @Override
+    public Set<UUID> updateOrderStatuses(Collection<UUID> orderIds, OrderStatus newStatus, Integer transactionId) {
+        Set<UUID> updated = new HashSet<>();
+        for (UUID orderId : orderIds) {
+            if (updateOrderStatus(orderId, newStatus)) {
+                if (transactionId != null) {
+                    updeteOrderTransactionId(orderId, transactionId);
+                }
+                updated.add(orderId);
+            }
+        }
+        return updated;
+    }
+
     @Override
     public boolean updeteOrderTransactionId(UUID orderId, int transactionId) {
         if (orderId == null) {
@@ -216,7 +290,13 @@ public class InMemoryOrderRepository implements IOrderRepository {
             return false;
         }
 
-        boolean updated = order.updateTransactionId(transactionId);
+        boolean updated;
+        synchronized (writeLock) {
+            updated = order.updateTransactionId(transactionId);
+            if (updated) {
+                journal.put(orderId, order);
+            }
+        }
         if (updated) {
             logger.info("Transaction ID updated for order: {}, transactionId: {}", orderId, transactionId);
         } else {
@@ -242,7 +322,13 @@ public class InMemoryOrderRepository implements IOrderRepository {
             return false;
         }
 
-        boolean updated = order.setDeliveryTracking(deliveryId);
+        boolean updated;
+        synchronized (writeLock) {
+            updated = order.setDeliveryTracking(deliveryId);
+            if (updated) {
+                journal.put(orderId, order);
+            }
+        }
         if (updated) {
             logger.info("Delivery ID set for order: {}, deliveryId: {}", orderId, deliveryId);
         } else {
@@ -269,21 +355,24 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         // Update only non-null values
-        if (storeName != null) {
-            order.setStoreName(storeName);
-            logger.debug("Updated store name for order {}: {}", orderId, storeName);
-        }
+        synchronized (writeLock) {
+            if (storeName != null) {
+                order.setStoreName(storeName);
+                logger.debug("Updated store name for order {}: {}", orderId, storeName);
+            }
 
-        if (paymentMethod != null) {
-            order.setPaymentMethod(paymentMethod);
-            logger.debug("Updated payment method for order {}: {}", orderId, paymentMethod);
-        }
+            if (paymentMethod != null) {
+                order.setPaymentMethod(paymentMethod);
+                logger.debug("Updated payment method for order {}: {}", orderId, paymentMethod);
+            }
 
-        if (deliveryAddress != null) {
-            order.setDeliveryAddress(deliveryAddress);
-            logger.debug("Updated delivery address for order {}: {}", orderId, deliveryAddress);
-        }
+            if (deliveryAddress != null) {
+                order.setDeliveryAddress(deliveryAddress);
+                logger.debug("Updated delivery address for order {}: {}", orderId, deliveryAddress);
+            }
 
+            journal.put(orderId, order);
+        }
         logger.info("Order details updated for ID: {}", orderId);
         return true;
     }
@@ -296,10 +385,7 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         logger.debug("Finding orders for store: {}", storeId);
-
-        return orders.values().stream()
-                .filter(order -> storeId.equals(order.getStoreId()))
-                .collect(Collectors.toList());
+        return resolve(byStore.get(storeId));
     }
 
     @Override
@@ -310,10 +396,7 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         logger.debug("Finding orders for user: {}", userName);
-
-        return orders.values().stream()
-                .filter(order -> userName.equals(order.getUserName()))
-                .collect(Collectors.toList());
+        return resolve(byUser.get(userName));
     }
 
     @Override
@@ -324,10 +407,7 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         logger.debug("Finding orders with status: {}", status);
-
-        return orders.values().stream()
-                .filter(order -> status == order.getStatus())
-                .collect(Collectors.toList());
+        return resolve(byStatus.get(status));
     }
 
     @Override
@@ -344,13 +424,14 @@ public class InMemoryOrderRepository implements IOrderRepository {
 
         logger.debug("Finding orders between dates: {} and {}", startDate, endDate);
 
-        return orders.values().stream()
-                .filter(order -> {
-                    LocalDateTime orderDate = order.getOrderDate();
-                    return (orderDate.isEqual(startDate) || orderDate.isAfter(startDate)) &&
-                            (orderDate.isEqual(endDate) || orderDate.isBefore(endDate));
-                })
-                .collect(Collectors.toList());
+        List<Order> result = new ArrayList<>();
+        for (Dated dated : byDate.subSet(new Dated(startDate, FIRST_ID), true, new Dated(endDate, LAST_ID), true)) {
+            Order order = orders.get(dated.orderId());
+            if (order != null) {
+                result.add(order);
+            }
+        }
+        return result;
     }
 
     @Override
@@ -391,21 +472,54 @@ public class InMemoryOrderRepository implements IOrderRepository {
 
     @Override
     public int countAll() {
-        // TODO
-        // implement this
-        return 0;
+        return orders.size();
     }
 
     @Override
     public double calculateTotalRevenue() {
-        // TODO
-        // implement this
-        return 0;
+        return revenueCents.get() / 100.0;
+    }
+
+    @Override
+    public int countByStatuses(Collection<OrderStatus> statuses) {
+        int count = 0;
+        for (OrderStatus status : distinct(statuses)) {
+            Set<UUID> orderIds = byStatus.get(status);
+            count += orderIds == null ? 0 : orderIds.size();
+        }
+        return count;
+    }
+
+    @Override
+    public double calculateRevenueByStatuses(Collection<OrderStatus> statuses) {
+        long totalCents = 0;
+        for (OrderStatus status : distinct(statuses)) {
+            for (Order order : resolve(byStatus.get(status))) {
+                totalCents += cents(order.getFinalPrice());
+            }
+        }
+        return totalCents / 100.0;
+    }
+
+    private static Set<OrderStatus> distinct(Collection<OrderStatus> statuses) {
+        Set<OrderStatus> distinct = EnumSet.noneOf(OrderStatus.class);
+        distinct.addAll(statuses);
+        return distinct;
     }
 
     @Override
     public void clear() {
-        orders.clear();
+        synchronized (writeLock) {
+            orders.clear();
+            entries.clear();
+            byStore.clear();
+            byUser.clear();
+            byStatus.clear();
+            byDate.clear();
+            completedPurchases.clear();
+            revenueCents.set(0);
+            journal.clear();
+        }
         logger.info("Order repository cleared");
     }
 
@@ -417,25 +531,89 @@ public class InMemoryOrderRepository implements IOrderRepository {
         }
 
         logger.debug("Finding orders for user: {}", username);
-
-        return orders.values().stream()
-                .filter(order -> username.equals(order.getUserName()))
-                .collect(Collectors.toList());
+        return resolve(byUser.get(username));
     }
 
     @Override
     public boolean hasUserPurchasedProduct(String username, UUID productId) {
-        logger.info("Checking if user {} has purchased product {}", username, productId);
-        List<Order> orders = findOrdersByUser(username);
-        logger.info("Found {} orders for user {}", orders.size(), username);
-        for (Order order : orders) {
-            logger.info("Checking order {} with status {}", order.getOrderId(), order.getStatus());
-            if (order.getProductsMap().containsKey(productId) && order.getStatus() == OrderStatus.COMPLETED) {
-                logger.info("User {} has purchased product {}", username, productId);
-                return true;
+        if (username == null || productId == null) {
+            return false;
+        }
+        Map<UUID, Integer> purchased = completedPurchases.get(username);
+        boolean hasPurchased = purchased != null && purchased.containsKey(productId);
+        logger.debug("User {} has {}purchased product {}", username, hasPurchased ? "" : "not ", productId);
+        return hasPurchased;
+    }
+
+    private void store(Order order) {
+        synchronized (writeLock) {
+            orders.put(order.getOrderId(), order);
+            index(order);
+            journal.put(order.getOrderId(), order);
+        }
+    }
+
+    // Called with the write lock held (or from the constructor); replaces any earlier entries
+    private void index(Order order) {
+        UUID orderId = order.getOrderId();
+        unindex(orderId);
+        Entry entry = Entry.of(order);
+        entries.put(orderId, entry);
+        byStore.computeIfAbsent(entry.storeId(), ignored -> ConcurrentHashMap.newKeySet()).add(orderId);
+        byUser.computeIfAbsent(entry.userName(), ignored -> ConcurrentHashMap.newKeySet()).add(orderId);
+        byStatus.computeIfAbsent(entry.status(), ignored -> ConcurrentHashMap.newKeySet()).add(orderId);
+        byDate.add(new Dated(entry.orderDate(), orderId));
+        if (entry.status() == OrderStatus.COMPLETED) {
+            Map<UUID, Integer> purchased = completedPurchases.computeIfAbsent(entry.userName(),
+                    ignored -> new ConcurrentHashMap<>());
+            entry.productIds().forEach(productId -> purchased.merge(productId, 1, Integer::sum));
+        }
+        revenueCents.addAndGet(entry.finalPriceCents());
+    }
+
+    private void unindex(UUID orderId) {
+        Entry entry = entries.remove(orderId);
+        if (entry == null) {
+            return;
+        }
+        removePosting(byStore, entry.storeId(), orderId);
+        removePosting(byUser, entry.userName(), orderId);
+        removePosting(byStatus, entry.status(), orderId);
+        byDate.remove(new Dated(entry.orderDate(), orderId));
+        if (entry.status() == OrderStatus.COMPLETED) {
+            Map<UUID, Integer> purchased = completedPurchases.get(entry.userName());
+            if (purchased != null) {
+                entry.productIds().forEach(productId ->
+                        purchased.computeIfPresent(productId, (id, count) -> count > 1 ? count - 1 : null));
+                if (purchased.isEmpty()) {
+                    completedPurchases.remove(entry.userName());
+                }
+            }
+        }
+        revenueCents.addAndGet(-entry.finalPriceCents());
+    }
+
+    private static long cents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private static <K> void removePosting(Map<K, Set<UUID>> postings, K key, UUID orderId) {
+        Set<UUID> orderIds = postings.get(key);
+        if (orderIds != null && orderIds.remove(orderId) && orderIds.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private List<Order> resolve(Set<UUID> orderIds) {
+        List<Order> result = new ArrayList<>();
+        if (orderIds != null) {
+            for (UUID orderId : orderIds) {
+                Order order = orders.get(orderId);
+                if (order != null) {
+                    result.add(order);
+                }
             }
         }
-        logger.info("User {} has not purchased product {}", username, productId);
-        return false;
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
+
+import com.sadna_market.market.DomainLayer.IPolicyRepository;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("test")
+public class InMemoryPolicyRepository implements IPolicyRepository {
+
+    private final Map<UUID, PolicyRule> rules = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, PolicyRule> journal;
+    private final Object writeLock = new Object();
+
+    public InMemoryPolicyRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryPolicyRepository(RepositoryJournal journal) {
+        this.journal = journal.table("policy-rules", rules, writeLock);
+    }
+
+    @Override
+    public void save(PolicyRule rule) {
+        if (rule == null || !rule.isRoot()) {
+            throw new IllegalArgumentException("Only top-level policy rules can be saved");
+        }
+        synchronized (writeLock) {
+            rules.put(rule.getRuleId(), rule);
+            journal.put(rule.getRuleId(), rule);
+        }
+    }
+
+    @Override
+    public Optional<PolicyRule> findById(UUID ruleId) {
+        if (ruleId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(rules.get(ruleId));
+    }
+
+    @Override
+    public List<PolicyRule> findByStoreId(UUID storeId) {
+        return rules.values().stream()
+                .filter(rule -> rule.getStoreId().equals(storeId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void deleteById(UUID ruleId) {
+        if (ruleId != null) {
+            synchronized (writeLock) {
+                rules.remove(ruleId);
+                journal.remove(ruleId);
+            }
+        }
+    }
+
+    @Override
+    public void deleteByStoreId(UUID storeId) {
+        List<UUID> storeRuleIds = rules.values().stream()
+                .filter(rule -> rule.getStoreId().equals(storeId))
+                .map(PolicyRule::getRuleId)
+                .collect(Collectors.toList());
+        for (UUID ruleId : storeRuleIds) {
+            synchronized (writeLock) {
+                rules.remove(ruleId);
+                journal.remove(ruleId);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (writeLock) {
+            rules.clear();
+            journal.clear();
+        }
+    }
+}
@@ -1,30 +1,88 @@
 package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
 import com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO;
 import com.sadna_market.market.DomainLayer.IProductRepository;
+import com.sadna_market.market.DomainLayer.IStoreRepository;
 import com.sadna_market.market.DomainLayer.Product;
 import com.sadna_market.market.DomainLayer.ProductRating;
 import com.sadna_market.market.DomainLayer.StoreRating;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+/**
+ * Products by ID, with secondary indexes: a product set and a name map per store (store listings
+ * and the duplicate-name check), sets per exact name and per category (both case-insensitive), and sorted
+ * price and rating indexes that answer range filters and top-rated lists without a scan.
+ * Changes take a lock so a product and its index entries move together; reads do not.
+ * Only the substring name and category matches of searchProduct still scan every product,
+ * unless a price or rating range narrows the candidates first.
+ */
 @Repository
 @Profile("test")
 public class InMemoryProductRepository implements IProductRepository {
     private final Map<UUID, Product> productStorage = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Product> journal;
     private final List<String> productReviews = new ArrayList<>(); // Simple storage for reviews
     private static final Logger logger = LoggerFactory.getLogger(IProductRepository.class);
     private final Map<UUID, ProductRating> productRatings = new ConcurrentHashMap<>();
     private final Map<UUID, StoreRating> storeRatings = new ConcurrentHashMap<>();
 
+    private static final UUID FIRST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID LAST_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    // The values each product was indexed with; products are changed in place before reindexing
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Map<UUID, Set<UUID>> byStore = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, UUID>> byStoreAndName = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> byName = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> byCategory = new ConcurrentHashMap<>();
+    private final NavigableSet<Ranked> byPrice = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Ranked> byRate = new ConcurrentSkipListSet<>();
+    private final Object writeLock = new Object();
+    // Stock is kept by the stores; only needed by findDTOsWithInventoryByStoreId
+    private final IStoreRepository storeRepository;
+
+    private record Entry(UUID storeId, String name, String category, double price, double rate) {
+        static Entry of(Product product) {
+            return new Entry(product.getStoreId(), key(product.getName()), key(product.getCategory()),
+                    product.getPrice(), product.getRate());
+        }
+    }
+
+    /** A product ID ordered by a value (price or rating), ties broken by ID */
+    private record Ranked(double value, UUID productId) implements Comparable<Ranked> {
+        @Override
+        public int compareTo(Ranked other) {
+            int byValue = Double.compare(value, other.value);
+            return byValue != 0 ? byValue : productId.compareTo(other.productId);
+        }
+    }
+
 
     public InMemoryProductRepository() {
+        this(RepositoryJournal.NONE, null);
+    }
+
+    public InMemoryProductRepository(RepositoryJournal journal) {
+        this(journal, null);
+    }
+
+    @Autowired
+    public InMemoryProductRepository(RepositoryJournal journal, IStoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+        this.journal = journal.table("products", productStorage, writeLock);
+        productStorage.values().forEach(this::index);
         logger.info("InMemoryProductRepository initialized");
     }
 
@@ -46,54 +104,44 @@ public class InMemoryProductRepository implements IProductRepository {
     @Override
     public List<Optional<Product>> filterByName(String name) {
         logger.debug("Filtering products by name: '{}'", name);
-        return productStorage.values().stream()
-                .filter(product -> product.getName().equalsIgnoreCase(name) && product.isAvailable())
-                .map(Optional::of)
-                .collect(Collectors.toList());
+        return available(resolve(byName.get(key(name))));
     }
 
     @Override
     public List<Optional<Product>> filterByCategory(String category) {
         logger.debug("Filtering products by category: '{}'", category);
-        return productStorage.values().stream()
-                .filter(product -> product.getCategory().equalsIgnoreCase(category) && product.isAvailable())
-                .map(Optional::of)
-                .collect(Collectors.toList());
+        return available(resolve(byCategory.get(key(category))));
     }
 
     @Override
     public List<Optional<Product>> filterByPriceRange(double minPrice, double maxPrice) {
         logger.debug("Filtering products by price range: {} to {}", minPrice, maxPrice);
-        return productStorage.values().stream()
-                .filter(product -> product.getPrice() >= minPrice && product.getPrice() <= maxPrice && product.isAvailable())
-                .map(Optional::of)
-                .collect(Collectors.toList());
+        return available(range(byPrice, minPrice, maxPrice));
     }
 
     @Override
     public List<Optional<Product>> filterByRate(double minRate, double maxRate) {
         logger.debug("Filtering products by rate range: {} to {}", minRate, maxRate);
-        return productStorage.values().stream()
-                .filter(product -> product.getRate() >= minRate && product.getRate() <= maxRate && product.isAvailable())
-                .map(Optional::of)
-                .collect(Collectors.toList());
+        return available(range(byRate, minRate, maxRate));
     }
 
     @Override
     public UUID addProduct(UUID storeId, String name, String category, String description, double price, boolean isAvailable) {
 
-        // Check if a product with the same name already exists
-        Optional<Product> existingProduct = productStorage.values().stream()
-                .filter(p -> p.getName().equalsIgnoreCase(name) && p.getStoreId().equals(storeId))
-                .findFirst();
-
-        if (existingProduct.isPresent()) {
-            logger.warn("Product with name '{}' already exists in store {}", name, storeId);
-            throw new IllegalArgumentException("Product with the same name already exists in this store");
+        Product product;
+        synchronized (writeLock) {
+            // Check if a product with the same name already exists
+            Map<String, UUID> storeNames = byStoreAndName.get(storeId);
+            if (storeNames != null && storeNames.containsKey(key(name))) {
+                logger.warn("Product with name '{}' already exists in store {}", name, storeId);
+                throw new IllegalArgumentException("Product with the same name already exists in this store");
+            }
+
+            product = new Product(name, storeId, category, description, price, isAvailable);
+            productStorage.put(product.getProductId(), product);
+            index(product);
+            journal.put(product.getProductId(), product);
         }
-
-        Product product = new Product(name, storeId, category, description, price, isAvailable);
-        productStorage.put(product.getProductId(), product);
         logger.info("Product successfully added: {}", product.getProductId());
 
         return product.getProductId();
@@ -108,7 +156,14 @@ public class InMemoryProductRepository implements IProductRepository {
             throw new IllegalArgumentException("Product ID cannot be null");
         }
 
-        Product removedProduct = productStorage.remove(productId);
+        Product removedProduct;
+        synchronized (writeLock) {
+            removedProduct = productStorage.remove(productId);
+            if (removedProduct != null) {
+                unindex(productId);
+                journal.remove(productId);
+            }
+        }
         if (removedProduct != null) {
             logger.info("Product successfully deleted: {}", productId);
         } else {
@@ -132,8 +187,12 @@ public class InMemoryProductRepository implements IProductRepository {
         }
 
         Product existingProduct = existingProductOpt.get();
-        existingProduct.updateProduct(name, description, category, price);
-        productStorage.put(existingProduct.getProductId(), existingProduct);
+        synchronized (writeLock) {
+            existingProduct.updateProduct(name, description, category, price);
+            productStorage.put(existingProduct.getProductId(), existingProduct);
+            index(existingProduct);
+            journal.put(productId, existingProduct);
+        }
         logger.info("Product successfully updated: {}", productId);
     }
 
@@ -149,10 +208,7 @@ public class InMemoryProductRepository implements IProductRepository {
     @Override
     public List<Optional<Product>> findByStoreId(UUID storeId) {
         logger.debug("Finding products by store ID: {}", storeId);
-        return productStorage.values().stream()
-                .filter(product -> product.getStoreId().equals(storeId) && product.isAvailable())
-                .map(Optional::of)
-                .collect(Collectors.toList());
+        return available(storeProducts(storeId));
     }
 
     @Override
@@ -162,8 +218,8 @@ public class InMemoryProductRepository implements IProductRepository {
         logger.debug("Filtering products by store with criteria");
 
         // Start with all products from this store
-        List<Product> storeProducts = productStorage.values().stream()
-                .filter(product -> product.getStoreId().equals(storeId) && product.isAvailable())
+        List<Product> storeProducts = storeProducts(storeId).stream()
+                .filter(Product::isAvailable)
                 .collect(Collectors.toList());
 
         // Apply filters based on provided criteria
@@ -208,8 +264,12 @@ public class InMemoryProductRepository implements IProductRepository {
         }
 
         Product product = productOpt.get();
-        product.addRank(ratingValue);
-        productStorage.put(product.getProductId(), product);
+        synchronized (writeLock) {
+            product.addRank(ratingValue);
+            productStorage.put(product.getProductId(), product);
+            index(product);
+            journal.put(product.getProductId(), product);
+        }
         logger.info("Product rating updated directly");
     }
 
@@ -224,8 +284,12 @@ public class InMemoryProductRepository implements IProductRepository {
         }
 
         Product product = productOpt.get();
-        product.updateRank(oldRating, newRating);
-        productStorage.put(product.getProductId(), product);
+        synchronized (writeLock) {
+            product.updateRank(oldRating, newRating);
+            productStorage.put(product.getProductId(), product);
+            index(product);
+            journal.put(product.getProductId(), product);
+        }
         logger.info("Product rating updated directly");
     }
 
@@ -253,47 +317,36 @@ public class InMemoryProductRepository implements IProductRepository {
     public List<Optional<Product>> searchProduct(String name, String category, Double minPrice, Double maxPrice, Double minRate, Double maxRate) {
         logger.debug("Searching products with criteria");
 
-        // Start with all products
-        Set<UUID> resultIds = new HashSet<>(productStorage.keySet());
+        boolean byPriceRange = minPrice != -1.0 && maxPrice != -1.0;
+        boolean byRateRange = minRate != -1.0 && maxRate != -1.0;
 
-        // Apply filters based on provided criteria
+        // Start from a range index when there is one, otherwise from all products
+        Collection<Product> candidates = byPriceRange ? range(byPrice, minPrice, maxPrice)
+                : byRateRange ? range(byRate, minRate, maxRate)
+                : productStorage.values();
+
+        Predicate<Product> matches = product -> true;
         if (name != null && !name.isEmpty()) {
-            Set<UUID> nameIds = productStorage.values().stream()
-                    .filter(product -> product.getName().toLowerCase().contains(name.toLowerCase()))
-                    .map(Product::getProductId)
-                    .collect(Collectors.toSet());
-            logger.info("Filtered by name IDs: {}", nameIds);
-            resultIds.retainAll(nameIds);
+            String term = name.toLowerCase();
+            matches = matches.and(product -> product.getName().toLowerCase().contains(term));
         }
-
-
         if (category != null && !category.isEmpty()) {
-            Set<UUID> categoryIds = productStorage.values().stream()
-                    .filter(product -> product.getCategory().toLowerCase().contains(category.toLowerCase()))
-                    .map(Product::getProductId)
-                    .collect(Collectors.toSet());
-            logger.info("Filtered by category IDs: {}", categoryIds);
-            resultIds.retainAll(categoryIds);
+            String term = category.toLowerCase();
+            matches = matches.and(product -> product.getCategory().toLowerCase().contains(term));
         }
-
-        if (minPrice != -1.0 && maxPrice != -1.0) {
-            Set<UUID> priceIds = productStorage.values().stream()
-                    .filter(product -> product.getPrice() >= minPrice && product.getPrice() <= maxPrice)
-                    .map(Product::getProductId)
-                    .collect(Collectors.toSet());
-            logger.info("Filtered by price IDs: {}", priceIds);
-            resultIds.retainAll(priceIds);
+        if (byPriceRange) {
+            matches = matches.and(product -> product.getPrice() >= minPrice && product.getPrice() <= maxPrice);
         }
-
-        if (minRate != -1.0 && maxRate != -1.0) {
-            Set<UUID> rateIds = productStorage.values().stream()
-                    .filter(product -> product.getRate() >= minRate && product.getRate() <= maxRate)
-                    .map(Product::getProductId)
-                    .collect(Collectors.toSet());
-            logger.info("Filtered by rate IDs: {}", rateIds);
-            resultIds.retainAll(rateIds);
+        if (byRateRange) {
+            matches = matches.and(product -> product.getRate() >= minRate && product.getRate() <= maxRate);
         }
-        return getProductsByIds(resultIds);
+
+        List<Optional<Product>> results = candidates.stream()
+                .filter(matches)
+                .map(Optional::of)
+                .collect(Collectors.toList());
+        logger.debug("Search matched {} of {} candidates", results.size(), candidates.size());
+        return results;
     }
 
     /**
@@ -321,10 +374,43 @@ public class InMemoryProductRepository implements IProductRepository {
         }
     }
 
+    @Override
+    public List<ProductDTO> findDTOsByStoreId(UUID storeId) {
+        return findByStoreId(storeId).stream()
+                .map(product -> new ProductDTO(product.get()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductDTO> filterDTOsByStoreWithCriteria(UUID storeId, String name, String category,
+                                                          Double minPrice, Double maxPrice,
+                                                          Double minRate, Double maxRate) {
+        return filterByStoreWithCriteria(storeId, name, category, minPrice, maxPrice, minRate, maxRate).stream()
+                .map(product -> new ProductDTO(product.get()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StoreProductDTO> findDTOsWithInventoryByStoreId(UUID storeId) {
+        if (storeRepository == null) {
+            throw new IllegalStateException("No store repository to read inventory from");
+        }
+        // One copy of the store's stock, then one pass over the store's products
+        Map<UUID, Integer> stock = storeRepository.getAllProductsInStore(storeId);
+        List<StoreProductDTO> result = new ArrayList<>();
+        for (Product product : storeProducts(storeId)) {
+            if (!product.isAvailable()) {
+                continue; // as findByStoreId
+            }
+            result.add(new StoreProductDTO(product, stock.getOrDefault(product.getProductId(), 0)));
+        }
+        return result;
+    }
+
     public List<ProductDTO> getTopRatedProducts(UUID storeId) {
         logger.debug("Retrieving top-rated products for store ID: {}", storeId);
-        return productStorage.values().stream()
-                .filter(product -> product.getStoreId().equals(storeId) && product.isAvailable())
+        return storeProducts(storeId).stream()
+                .filter(Product::isAvailable)
                 .sorted(Comparator.comparingDouble(Product::getRate).reversed())
                 .limit(10)
                 .map(ProductDTO::new)
@@ -333,19 +419,111 @@ public class InMemoryProductRepository implements IProductRepository {
 
     public List<ProductDTO> getTopTenRatedProducts() {
         logger.debug("Retrieving top 10 rated products");
-        return productStorage.values().stream()
-                .filter(Product::isAvailable)
-                .sorted(Comparator.comparingDouble(Product::getRate).reversed())
-                .limit(10)
-                .map(ProductDTO::new)
-                .collect(Collectors.toList());
+        List<ProductDTO> topRated = new ArrayList<>();
+        for (Ranked ranked : byRate.descendingSet()) {
+            Product product = productStorage.get(ranked.productId());
+            if (product != null && product.isAvailable()) {
+                topRated.add(new ProductDTO(product));
+                if (topRated.size() == 10) {
+                    break;
+                }
+            }
+        }
+        return topRated;
     }
 
 
     @Override
     public void clear() {
-        productStorage.clear();
+        synchronized (writeLock) {
+            productStorage.clear();
+            entries.clear();
+            byStore.clear();
+            byStoreAndName.clear();
+            byName.clear();
+            byCategory.clear();
+            byPrice.clear();
+            byRate.clear();
+            journal.clear();
+        }
         productReviews.clear();
         logger.info("Product repository cleared");
     }
+
+    // Called with the write lock held (or from the constructor); replaces any earlier entries
+    private void index(Product product) {
+        UUID productId = product.getProductId();
+        unindex(productId);
+        Entry entry = Entry.of(product);
+        entries.put(productId, entry);
+        byStore.computeIfAbsent(entry.storeId(), ignored -> ConcurrentHashMap.newKeySet()).add(productId);
+        byStoreAndName.computeIfAbsent(entry.storeId(), ignored -> new ConcurrentHashMap<>()).put(entry.name(), productId);
+        byName.computeIfAbsent(entry.name(), ignored -> ConcurrentHashMap.newKeySet()).add(productId);
+        byCategory.computeIfAbsent(entry.category(), ignored -> ConcurrentHashMap.newKeySet()).add(productId);
+        byPrice.add(new Ranked(entry.price(), productId));
+        byRate.add(new Ranked(entry.rate(), productId));
+    }
+
+    private void unindex(UUID productId) {
+        Entry entry = entries.remove(productId);
+        if (entry == null) {
+            return;
+        }
+        removePosting(byStore, entry.storeId(), productId);
+        // updateProduct does not check names, so another product may hold this name now
+        Map<String, UUID> storeNames = byStoreAndName.get(entry.storeId());
+        if (storeNames != null && storeNames.remove(entry.name(), productId) && storeNames.isEmpty()) {
+            byStoreAndName.remove(entry.storeId());
+        }
+        removePosting(byName, entry.name(), productId);
+        removePosting(byCategory, entry.category(), productId);
+        byPrice.remove(new Ranked(entry.price(), productId));
+        byRate.remove(new Ranked(entry.rate(), productId));
+    }
+
+    private static <K> void removePosting(Map<K, Set<UUID>> postings, K key, UUID productId) {
+        Set<UUID> productIds = postings.get(key);
+        if (productIds != null && productIds.remove(productId) && productIds.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+    private static String key(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private List<Product> storeProducts(UUID storeId) {
+        return resolve(byStore.get(storeId));
+    }
+
+    private List<Product> range(NavigableSet<Ranked> index, double min, double max) {
+        if (min > max) {
+            return new ArrayList<>();
+        }
+        List<UUID> productIds = new ArrayList<>();
+        for (Ranked ranked : index.subSet(new Ranked(min, FIRST_ID), true, new Ranked(max, LAST_ID), true)) {
+            productIds.add(ranked.productId());
+        }
+        return resolve(productIds);
+    }
+
+    private List<Product> resolve(Collection<UUID> productIds) {
+        List<Product> products = new ArrayList<>();
+        if (productIds != null) {
+            for (UUID productId : productIds) {
+                Product product = productStorage.get(productId);
+                if (product != null) {
+                    products.add(product);
+                }
+            }
+        }
+        return products;
+    }
+
+    private static List<Optional<Product>> available(List<Product> products) {
+        return products.stream()
+                .filter(Product::isAvailable)
+                .map(Optional::of)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -4,15 +4,24 @@ import com.sadna_market.market.DomainLayer.IRatingRepository;
 import com.sadna_market.market.DomainLayer.ProductRating;
 import com.sadna_market.market.DomainLayer.ProductReview;
 import com.sadna_market.market.DomainLayer.StoreRating;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ratings and reviews by ID, indexed by (user, product or store), by product or store and by
+ * user, with a running rating sum and count per product and per store. Lookups, averages and
+ * counts therefore cost the size of their answer rather than a scan of every rating.
+ * Changes take a lock so a row and its index entries move together; reads do not.
+ */
 @Repository
 @Profile("test")
 public class InMemoryRatingRepository implements IRatingRepository {
@@ -21,6 +30,34 @@ public class InMemoryRatingRepository implements IRatingRepository {
     private final Map<UUID, ProductRating> productRatings = new ConcurrentHashMap<>();
     private final Map<UUID, StoreRating> storeRatings = new ConcurrentHashMap<>();
     private final Map<UUID, ProductReview> productReviews = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, ProductRating> productRatingJournal;
+    private final RepositoryJournal.Table<UUID, StoreRating> storeRatingJournal;
+    private final RepositoryJournal.Table<UUID, ProductReview> productReviewJournal;
+
+    private final Index<ProductRating> productRatingIndex = new Index<>(productRatings, ProductRating::getRatingId,
+            ProductRating::getUsername, ProductRating::getProductId, ProductRating::getRatingValue);
+    private final Index<StoreRating> storeRatingIndex = new Index<>(storeRatings, StoreRating::getRatingId,
+            StoreRating::getUsername, StoreRating::getStoreId, StoreRating::getRatingValue);
+    private final Index<ProductReview> productReviewIndex = new Index<>(productReviews, ProductReview::getReviewId,
+            ProductReview::getUsername, ProductReview::getProductId, review -> 0);
+    private final Index<ProductReview> productReviewStoreIndex = new Index<>(productReviews, ProductReview::getReviewId,
+            ProductReview::getUsername, ProductReview::getStoreId, review -> 0);
+    private final Object writeLock = new Object();
+
+    public InMemoryRatingRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryRatingRepository(RepositoryJournal journal) {
+        this.productRatingJournal = journal.table("product-ratings", productRatings, writeLock);
+        this.storeRatingJournal = journal.table("store-ratings", storeRatings, writeLock);
+        this.productReviewJournal = journal.table("product-reviews", productReviews, writeLock);
+        productRatings.values().forEach(productRatingIndex::add);
+        storeRatings.values().forEach(storeRatingIndex::add);
+        productReviews.values().forEach(productReviewIndex::add);
+        productReviews.values().forEach(productReviewStoreIndex::add);
+    }
 
     // Product rating methods
     @Override
@@ -31,7 +68,11 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Saving product rating: {}", rating.getRatingId());
-        productRatings.put(rating.getRatingId(), rating);
+        synchronized (writeLock) {
+            productRatings.put(rating.getRatingId(), rating);
+            productRatingIndex.add(rating);
+            productRatingJournal.put(rating.getRatingId(), rating);
+        }
         logger.info("Product rating saved: {}", rating.getRatingId());
         return rating;
     }
@@ -55,9 +96,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product rating by user: {} and product: {}", username, productId);
-        return productRatings.values().stream()
-                .filter(rating -> rating.getUsername().equals(username) && rating.getProductId().equals(productId))
-                .findFirst();
+        return productRatingIndex.find(username, productId);
     }
 
     @Override
@@ -68,9 +107,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product ratings by product: {}", productId);
-        return productRatings.values().stream()
-                .filter(rating -> rating.getProductId().equals(productId))
-                .collect(Collectors.toList());
+        return productRatingIndex.byTarget(productId);
     }
 
     @Override
@@ -81,9 +118,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product ratings by user: {}", username);
-        return productRatings.values().stream()
-                .filter(rating -> rating.getUsername().equals(username))
-                .collect(Collectors.toList());
+        return productRatingIndex.byUser(username);
     }
 
     @Override
@@ -93,16 +128,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
             return 0.0;
         }
 
-        List<ProductRating> ratings = findProductRatingsByProduct(productId);
-        if (ratings.isEmpty()) {
-            return 0.0;
-        }
-
-        double sum = ratings.stream()
-                .mapToInt(ProductRating::getRatingValue)
-                .sum();
-
-        return sum / ratings.size();
+        return productRatingIndex.average(productId);
     }
 
     @Override
@@ -112,7 +138,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
             return 0;
         }
 
-        return findProductRatingsByProduct(productId).size();
+        return productRatingIndex.count(productId);
     }
 
     // Store rating methods
@@ -124,7 +150,11 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Saving store rating: {}", rating.getRatingId());
-        storeRatings.put(rating.getRatingId(), rating);
+        synchronized (writeLock) {
+            storeRatings.put(rating.getRatingId(), rating);
+            storeRatingIndex.add(rating);
+            storeRatingJournal.put(rating.getRatingId(), rating);
+        }
         logger.info("Store rating saved: {}", rating.getRatingId());
         return rating;
     }
@@ -148,9 +178,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding store rating by user: {} and store: {}", username, storeId);
-        return storeRatings.values().stream()
-                .filter(rating -> rating.getUsername().equals(username) && rating.getStoreId().equals(storeId))
-                .findFirst();
+        return storeRatingIndex.find(username, storeId);
     }
 
     @Override
@@ -161,9 +189,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding store ratings by store: {}", storeId);
-        return storeRatings.values().stream()
-                .filter(rating -> rating.getStoreId().equals(storeId))
-                .collect(Collectors.toList());
+        return storeRatingIndex.byTarget(storeId);
     }
 
     @Override
@@ -174,9 +200,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding store ratings by user: {}", username);
-        return storeRatings.values().stream()
-                .filter(rating -> rating.getUsername().equals(username))
-                .collect(Collectors.toList());
+        return storeRatingIndex.byUser(username);
     }
 
     @Override
@@ -186,16 +210,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
             return 0.0;
         }
 
-        List<StoreRating> ratings = findStoreRatingsByStore(storeId);
-        if (ratings.isEmpty()) {
-            return 0.0;
-        }
-
-        double sum = ratings.stream()
-                .mapToInt(StoreRating::getRatingValue)
-                .sum();
-
-        return sum / ratings.size();
+        return storeRatingIndex.average(storeId);
     }
 
     @Override
@@ -205,7 +220,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
             return 0;
         }
 
-        return findStoreRatingsByStore(storeId).size();
+        return storeRatingIndex.count(storeId);
     }
 
     /**
@@ -222,7 +237,14 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Deleting product rating by ID: {}", ratingId);
-        ProductRating removed = productRatings.remove(ratingId);
+        ProductRating removed;
+        synchronized (writeLock) {
+            removed = productRatings.remove(ratingId);
+            if (removed != null) {
+                productRatingIndex.remove(ratingId);
+                productRatingJournal.remove(ratingId);
+            }
+        }
 
         if (removed != null) {
             logger.info("Successfully deleted product rating: {}", ratingId);
@@ -247,7 +269,14 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Deleting store rating by ID: {}", ratingId);
-        StoreRating removed = storeRatings.remove(ratingId);
+        StoreRating removed;
+        synchronized (writeLock) {
+            removed = storeRatings.remove(ratingId);
+            if (removed != null) {
+                storeRatingIndex.remove(ratingId);
+                storeRatingJournal.remove(ratingId);
+            }
+        }
 
         if (removed != null) {
             logger.info("Successfully deleted store rating: {}", ratingId);
@@ -267,7 +296,12 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Saving product review: {}", review.getReviewId());
-        productReviews.put(review.getReviewId(), review);
+        synchronized (writeLock) {
+            productReviews.put(review.getReviewId(), review);
+            productReviewIndex.add(review);
+            productReviewStoreIndex.add(review);
+            productReviewJournal.put(review.getReviewId(), review);
+        }
         logger.info("Product review saved: {}", review.getReviewId());
         return review;
     }
@@ -291,9 +325,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product reviews by product: {}", productId);
-        return productReviews.values().stream()
-                .filter(review -> review.getProductId().equals(productId))
-                .collect(Collectors.toList());
+        return productReviewIndex.byTarget(productId);
     }
 
     @Override
@@ -304,9 +336,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product reviews by user: {}", username);
-        return productReviews.values().stream()
-                .filter(review -> review.getUsername().equals(username))
-                .collect(Collectors.toList());
+        return productReviewIndex.byUser(username);
     }
 
     @Override
@@ -317,9 +347,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product reviews by store: {}", storeId);
-        return productReviews.values().stream()
-                .filter(review -> review.getStoreId().equals(storeId))
-                .collect(Collectors.toList());
+        return productReviewStoreIndex.byTarget(storeId);
     }
 
     @Override
@@ -330,9 +358,7 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Finding product review by user: {} and product: {}", username, productId);
-        return productReviews.values().stream()
-                .filter(review -> review.getUsername().equals(username) && review.getProductId().equals(productId))
-                .findFirst();
+        return productReviewIndex.find(username, productId);
     }
 
     @Override
@@ -343,7 +369,15 @@ public class InMemoryRatingRepository implements IRatingRepository {
         }
 
         logger.debug("Deleting product review by ID: {}", reviewId);
-        ProductReview removed = productReviews.remove(reviewId);
+        ProductReview removed;
+        synchronized (writeLock) {
+            removed = productReviews.remove(reviewId);
+            if (removed != null) {
+                productReviewIndex.remove(reviewId);
+                productReviewStoreIndex.remove(reviewId);
+                productReviewJournal.remove(reviewId);
+            }
+        }
 
         if (removed != null) {
             logger.info("Successfully deleted product review: {}", reviewId);
@@ -361,14 +395,23 @@ public class InMemoryRatingRepository implements IRatingRepository {
             return 0;
         }
 
-        return findProductReviewsByProduct(productId).size();
+        return productReviewIndex.count(productId);
     }
 
     @Override
     public void clear() {
-        productRatings.clear();
-        storeRatings.clear();
-        productReviews.clear();
+        synchronized (writeLock) {
+            productRatings.clear();
+            storeRatings.clear();
+            productReviews.clear();
+            productRatingIndex.clear();
+            storeRatingIndex.clear();
+            productReviewIndex.clear();
+            productReviewStoreIndex.clear();
+            productRatingJournal.clear();
+            storeRatingJournal.clear();
+            productReviewJournal.clear();
+        }
         logger.info("Rating repository cleared");
     }
 
@@ -380,5 +423,116 @@ public class InMemoryRatingRepository implements IRatingRepository {
         return allRatings;
     }
 
+    private record UserKey(String username, UUID target) {
+    }
+
+    private record Entry(String username, UUID target, int value) {
+    }
+
+    private record Aggregate(long sum, int count) {
+    }
+
+    /**
+     * Indexes one kind of row by (user, target), by target and by user, and keeps the sum and count
+     * of the row values per target. The user, target and value each row was indexed with are kept,
+     * because ratings are changed in place before they are saved again. Changes are made under the
+     * repository's write lock.
+     */
+    private static final class Index<R> {
+        private final Map<UUID, R> rows;
+        private final Function<R, UUID> id;
+        private final Function<R, String> user;
+        private final Function<R, UUID> target;
+        private final ToIntFunction<R> value;
+
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final Map<UserKey, UUID> byUserAndTarget = new ConcurrentHashMap<>();
+        private final Map<UUID, Set<UUID>> byTarget = new ConcurrentHashMap<>();
+        private final Map<String, Set<UUID>> byUser = new ConcurrentHashMap<>();
+        private final Map<UUID, Aggregate> aggregates = new ConcurrentHashMap<>();
+
+        Index(Map<UUID, R> rows, Function<R, UUID> id, Function<R, String> user, Function<R, UUID> target,
+              ToIntFunction<R> value) {
+            this.rows = rows;
+            this.id = id;
+            this.user = user;
+            this.target = target;
+            this.value = value;
+        }
+
+        void add(R row) {
+            UUID rowId = id.apply(row);
+            remove(rowId);
+            Entry entry = new Entry(user.apply(row), target.apply(row), value.applyAsInt(row));
+            entries.put(rowId, entry);
+            byUserAndTarget.put(new UserKey(entry.username(), entry.target()), rowId);
+            byTarget.computeIfAbsent(entry.target(), ignored -> ConcurrentHashMap.newKeySet()).add(rowId);
+            byUser.computeIfAbsent(entry.username(), ignored -> ConcurrentHashMap.newKeySet()).add(rowId);
+            aggregates.merge(entry.target(), new Aggregate(entry.value(), 1),
+                    (current, added) -> new Aggregate(current.sum() + added.sum(), current.count() + 1));
+        }
+
+        void remove(UUID rowId) {
+            Entry entry = entries.remove(rowId);
+            if (entry == null) {
+                return;
+            }
+            byUserAndTarget.remove(new UserKey(entry.username(), entry.target()), rowId);
+            removePosting(byTarget, entry.target(), rowId);
+            removePosting(byUser, entry.username(), rowId);
+            aggregates.computeIfPresent(entry.target(), (key, current) -> current.count() == 1 ? null
+                    : new Aggregate(current.sum() - entry.value(), current.count() - 1));
+        }
+
+        void clear() {
+            entries.clear();
+            byUserAndTarget.clear();
+            byTarget.clear();
+            byUser.clear();
+            aggregates.clear();
+        }
+
+        Optional<R> find(String username, UUID targetId) {
+            UUID rowId = byUserAndTarget.get(new UserKey(username, targetId));
+            return rowId == null ? Optional.empty() : Optional.ofNullable(rows.get(rowId));
+        }
+
+        List<R> byTarget(UUID targetId) {
+            return resolve(byTarget.get(targetId));
+        }
+
+        List<R> byUser(String username) {
+            return resolve(byUser.get(username));
+        }
+
+        double average(UUID targetId) {
+            Aggregate aggregate = aggregates.get(targetId);
+            return aggregate == null ? 0.0 : (double) aggregate.sum() / aggregate.count();
+        }
+
+        int count(UUID targetId) {
+            Aggregate aggregate = aggregates.get(targetId);
+            return aggregate == null ? 0 : aggregate.count();
+        }
+
+        private List<R> resolve(Set<UUID> rowIds) {
+            List<R> result = new ArrayList<>();
+            if (rowIds != null) {
+                for (UUID rowId : rowIds) {
+                    R row = rows.get(rowId);
+                    if (row != null) {
+                        result.add(row);
+                    }
+                }
+            }
+            return result;
+        }
 
+        private static <K> void removePosting(Map<K, Set<UUID>> postings, K key, UUID rowId) {
+            Set<UUID> rowIds = postings.get(key);
+            if (rowIds != null && rowIds.remove(rowId) && rowIds.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
 }
\ No newline at end of file
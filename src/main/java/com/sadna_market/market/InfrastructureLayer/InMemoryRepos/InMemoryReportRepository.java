@@ -2,6 +2,8 @@ package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
 import com.sadna_market.market.DomainLayer.IReportRepository;
 import com.sadna_market.market.DomainLayer.Report;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -19,8 +21,16 @@ public class InMemoryReportRepository implements IReportRepository {
 
     private final Logger logger = Logger.getLogger(InMemoryReportRepository.class.getName());
     private final Map<UUID, Report> reports = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Report> journal;
+    private final Object writeLock = new Object();
 
     public InMemoryReportRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryReportRepository(RepositoryJournal journal) {
+        this.journal = journal.table("reports", reports, writeLock);
         logger.info("InMemoryReportRepository initialized");
     }
 
@@ -32,7 +42,10 @@ public class InMemoryReportRepository implements IReportRepository {
         }
 
         logger.info("Saving report: " + report.getReportId());
-        reports.put(report.getReportId(), report);
+        synchronized (writeLock) {
+            reports.put(report.getReportId(), report);
+            journal.put(report.getReportId(), report);
+        }
         return true;
     }
 
@@ -44,7 +57,13 @@ public class InMemoryReportRepository implements IReportRepository {
         }
 
         logger.info("Deleting report by ID: " + reportId);
-        return reports.remove(reportId) != null;
+        synchronized (writeLock) {
+            if (reports.remove(reportId) == null) {
+                return false;
+            }
+            journal.remove(reportId);
+        }
+        return true;
     }
 
     @Override
@@ -55,7 +74,10 @@ public class InMemoryReportRepository implements IReportRepository {
         }
 
         logger.info("Updating report: " + report.getReportId());
-        reports.put(report.getReportId(), report);
+        synchronized (writeLock) {
+            reports.put(report.getReportId(), report);
+            journal.put(report.getReportId(), report);
+        }
         return true;
     }
 
@@ -68,9 +90,8 @@ public class InMemoryReportRepository implements IReportRepository {
 
     @Override
     public int countPendingReports() {
-        // TODO
-        // implement this
-        return 0;
+        // Reports have no status yet, so every report is pending
+        return reports.size();
     }
 
     @Override
@@ -107,7 +128,10 @@ public class InMemoryReportRepository implements IReportRepository {
 
     @Override
     public void clear() {
-        reports.clear();
+        synchronized (writeLock) {
+            reports.clear();
+            journal.clear();
+        }
         logger.info("Report repository cleared");
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreDTO;
 import com.sadna_market.market.DomainLayer.IStoreRepository;
 import com.sadna_market.market.DomainLayer.Store;
 import com.sadna_market.market.DomainLayer.StoreFounder;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -20,8 +23,16 @@ public class InMemoryStoreRepository implements IStoreRepository {
 
     // Thread-safe collection to store the stores
     private final Map<UUID, Store> stores = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<UUID, Store> journal;
+    private final Object writeLock = new Object();
 
     public InMemoryStoreRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryStoreRepository(RepositoryJournal journal) {
+        this.journal = journal.table("stores", stores, writeLock);
         logger.info("InMemoryStoreRepository initialized");
     }
 
@@ -45,10 +56,29 @@ public class InMemoryStoreRepository implements IStoreRepository {
         return new ArrayList<>(stores.values());
     }
 
+    @Override
+    public List<StoreDTO> findActiveStoreDTOs() {
+        return stores.values().stream()
+                .filter(Store::isActive)
+                .map(store -> new StoreDTO(
+                        store.getStoreId(),
+                        store.getName(),
+                        store.getDescription(),
+                        store.isActive(),
+                        store.getFounderUserName(),
+                        new HashSet<>(store.getOwnerUsernames()),
+                        new HashSet<>(store.getManagerUsernames()),
+                        store.getRating()))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public void deleteById(UUID id) {
         logger.debug("Deleting store with ID: {}", id);
-        stores.remove(id);
+        synchronized (writeLock) {
+            stores.remove(id);
+            journal.remove(id);
+        }
     }
 
     @Override
@@ -61,7 +91,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
     @Override
     public Store save(Store store) {
         logger.debug("Saving store: {}", store.getStoreId());
-        stores.put(store.getStoreId(), store);
+        synchronized (writeLock) {
+            stores.put(store.getStoreId(), store);
+            journal.put(store.getStoreId(), store);
+        }
         return store;
     }
 
@@ -83,7 +116,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         store.setFounder(founder);
 
         // Save the store to our in-memory repository
-        stores.put(store.getStoreId(), store);
+        synchronized (writeLock) {
+            stores.put(store.getStoreId(), store);
+            journal.put(store.getStoreId(), store);
+        }
 
         logger.info("Store created with ID: {}", store.getStoreId());
 
@@ -96,10 +132,13 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Updating store status. ID: {}, isOpen: {}", storeId, isOpen);
         Store store = stores.get(storeId);
         if (store != null) {
-            if (isOpen) {
-                store.reopenStore();
-            } else {
-                store.closeStore();
+            synchronized (writeLock) {
+                if (isOpen) {
+                    store.reopenStore();
+                } else {
+                    store.closeStore();
+                }
+                journal.put(storeId, store);
             }
             logger.info("Store status updated. ID: {}, isOpen: {}", storeId, isOpen);
         } else {
@@ -112,7 +151,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Adding owner {} to store {}", username, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.addStoreOwner(username);
+            synchronized (writeLock) {
+                store.addStoreOwner(username);
+                journal.put(storeId, store);
+            }
             logger.info("Owner {} added to store {}", username, storeId);
         } else {
             logger.warn("Cannot add owner - store not found with ID: {}", storeId);
@@ -124,7 +166,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Removing owner {} from store {}", username, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.removeStoreOwner(username);
+            synchronized (writeLock) {
+                store.removeStoreOwner(username);
+                journal.put(storeId, store);
+            }
             logger.info("Owner {} removed from store {}", username, storeId);
         } else {
             logger.warn("Cannot remove owner - store not found with ID: {}", storeId);
@@ -136,7 +181,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Adding manager {} to store {}", username, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.addStoreManager(username);
+            synchronized (writeLock) {
+                store.addStoreManager(username);
+                journal.put(storeId, store);
+            }
             logger.info("Manager {} added to store {}", username, storeId);
         } else {
             logger.warn("Cannot add manager - store not found with ID: {}", storeId);
@@ -148,7 +196,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Removing manager {} from store {}", username, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.removeStoreManager(username);
+            synchronized (writeLock) {
+                store.removeStoreManager(username);
+                journal.put(storeId, store);
+            }
             logger.info("Manager {} removed from store {}", username, storeId);
         } else {
             logger.warn("Cannot remove manager - store not found with ID: {}", storeId);
@@ -233,7 +284,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Adding product {} with quantity {} to store {}", productId, quantity, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.addProduct(productId, quantity);
+            synchronized (writeLock) {
+                store.addProduct(productId, quantity);
+                journal.put(storeId, store);
+            }
             logger.info("Product {} added to store {} with quantity {}", productId, storeId, quantity);
         } else {
             logger.warn("Cannot add product - store not found with ID: {}", storeId);
@@ -245,7 +299,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Removing product {} from store {}", productId, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.removeProduct(productId);
+            synchronized (writeLock) {
+                store.removeProduct(productId);
+                journal.put(storeId, store);
+            }
             logger.info("Product {} removed from store {}", productId, storeId);
         } else {
             logger.warn("Cannot remove product - store not found with ID: {}", storeId);
@@ -257,7 +314,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Updating product {} quantity to {} in store {}", productId, newQuantity, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.updateProductQuantity(productId, newQuantity);
+            synchronized (writeLock) {
+                store.updateProductQuantity(productId, newQuantity);
+                journal.put(storeId, store);
+            }
             logger.info("Product {} quantity updated to {} in store {}", productId, newQuantity, storeId);
         } else {
             logger.warn("Cannot update product quantity - store not found with ID: {}", storeId);
@@ -295,7 +355,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Adding order {} to store {}", orderId, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.addOrder(orderId);
+            synchronized (writeLock) {
+                store.addOrder(orderId);
+                journal.put(storeId, store);
+            }
             logger.info("Order {} added to store {}", orderId, storeId);
         } else {
             logger.warn("Cannot add order - store not found with ID: {}", storeId);
@@ -345,9 +408,7 @@ public class InMemoryStoreRepository implements IStoreRepository {
 
     @Override
     public int countAll() {
-        // TOOD
-        // implement this
-        return 0;
+        return stores.size();
     }
 
     @Override
@@ -377,7 +438,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
         logger.debug("Adding rating {} to store {}", rating, storeId);
         Store store = stores.get(storeId);
         if (store != null) {
-            store.addRating(rating); // Properly calculates average internally
+            synchronized (writeLock) {
+                store.addRating(rating); // Properly calculates average internally
+                journal.put(storeId, store);
+            }
             logger.info("Rating {} added to store {}", rating, storeId);
         } else {
             logger.warn("Cannot add rating - store not found with ID: {}", storeId);
@@ -388,7 +452,10 @@ public class InMemoryStoreRepository implements IStoreRepository {
 
     @Override
     public void clear() {
-        stores.clear();
+        synchronized (writeLock) {
+            stores.clear();
+            journal.clear();
+        }
         logger.info("Store repository cleared");
     }
 }
\ No newline at end of file
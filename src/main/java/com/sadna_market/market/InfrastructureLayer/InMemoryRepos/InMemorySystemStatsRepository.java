@@ -0,0 +1,61 @@
+package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
+
+import com.sadna_market.market.DomainLayer.ISystemStatsRepository;
+import com.sadna_market.market.DomainLayer.SystemStatKey;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+@Profile("test")
+public class InMemorySystemStatsRepository implements ISystemStatsRepository {
+
+    private final Map<SystemStatKey, Double> stats = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<SystemStatKey, Double> journal;
+
+    public InMemorySystemStatsRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemorySystemStatsRepository(RepositoryJournal journal) {
+        // Values are immutable, so a row can never be serialized mid-change and needs no write lock
+        this.journal = journal.table("system-stats", stats, new Object());
+    }
+
+    @Override
+    public Map<SystemStatKey, Double> findAll() {
+        Map<SystemStatKey, Double> copy = new EnumMap<>(SystemStatKey.class);
+        copy.putAll(stats);
+        return copy;
+    }
+
+    @Override
+    public void increment(SystemStatKey key, double delta) {
+        // journaled inside compute, so concurrent increments of a key are logged in the order applied
+        stats.compute(key, (k, current) -> {
+            double updated = current == null ? delta : current + delta;
+            journal.put(k, updated);
+            return updated;
+        });
+    }
+
+    @Override
+    public void set(SystemStatKey key, double value) {
+        stats.compute(key, (k, current) -> {
+            journal.put(k, value);
+            return value;
+        });
+    }
+
+    @Override
+    public void clear() {
+        stats.clear();
+        journal.clear();
+    }
+}
@@ -1,10 +1,13 @@
 package com.sadna_market.market.InfrastructureLayer.InMemoryRepos;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.UserDTO;
 import com.sadna_market.market.DomainLayer.IUserRepository;
 import com.sadna_market.market.DomainLayer.RoleType;
 import com.sadna_market.market.DomainLayer.User;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
@@ -23,8 +27,16 @@ public class InMemoryUserRepository implements IUserRepository {
 
     // Thread-safe map to store users by username
     private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final RepositoryJournal.Table<String, User> journal;
+    private final Object writeLock = new Object();
 
     public InMemoryUserRepository() {
+        this(RepositoryJournal.NONE);
+    }
+
+    @Autowired
+    public InMemoryUserRepository(RepositoryJournal journal) {
+        this.journal = journal.table("users", users, writeLock);
         logger.info("InMemoryUserRepository initialized");
     }
 
@@ -71,7 +83,10 @@ public class InMemoryUserRepository implements IUserRepository {
         }
 
         logger.debug("Saving user: {}", user.getUserName());
-        users.put(user.getUserName(), user);
+        synchronized (writeLock) {
+            users.put(user.getUserName(), user);
+            journal.put(user.getUserName(), user);
+        }
         logger.info("User saved successfully: {}", user.getUserName());
     }
 
@@ -94,10 +109,25 @@ public class InMemoryUserRepository implements IUserRepository {
         }
 
         logger.debug("Updating user: {}", username);
-        users.put(username, user);
+        synchronized (writeLock) {
+            users.put(username, user);
+            journal.put(username, user);
+        }
         logger.info("User updated successfully: {}", username);
     }
 
+    /**
+     * Changes a stored user in place and updates it, both under the write lock, so a snapshot
+     * never copies the user halfway through the change
+     */
+    public <T> T updateInPlace(User user, Function<User, T> change) {
+        synchronized (writeLock) {
+            T result = change.apply(user);
+            update(user);
+            return result;
+        }
+    }
+
     @Override
     public void delete(String username) {
         if (username == null || username.isEmpty()) {
@@ -106,7 +136,10 @@ public class InMemoryUserRepository implements IUserRepository {
         }
 
         logger.debug("Deleting user with username: {}", username);
-        users.remove(username);
+        synchronized (writeLock) {
+            users.remove(username);
+            journal.remove(username);
+        }
         logger.info("User deleted: {}", username);
     }
 
@@ -116,6 +149,13 @@ public class InMemoryUserRepository implements IUserRepository {
         return new ArrayList<>(users.values());
     }
 
+    @Override
+    public List<UserDTO> findAllUserDTOs() {
+        return users.values().stream()
+                .map(UserDTO::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<User> findByEmail(String email) {
         if (email == null || email.isEmpty()) {
@@ -176,21 +216,30 @@ public class InMemoryUserRepository implements IUserRepository {
 
     @Override
     public int countAll() {
-        // TODO
-        // implement this
-        return 0;
+        return users.size();
+    }
+
+    @Override
+    public Optional<Boolean> findLoggedInStatus(String username) {
+        if (username == null || username.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.get(username)).map(User::isLoggedIn);
     }
 
     @Override
     public int countActiveUsers() {
-        // TODO
-        // implement this
-        return 0;
+        return (int) users.values().stream()
+                .filter(User::isLoggedIn)
+                .count();
     }
 
     @Override
     public void clear() {
-        users.clear();
+        synchronized (writeLock) {
+            users.clear();
+            journal.clear();
+        }
         logger.info("User repository cleared");
     }
 }
\ No newline at end of file
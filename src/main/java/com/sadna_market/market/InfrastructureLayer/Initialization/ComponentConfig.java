@@ -6,10 +6,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Data
-class ComponentConfig {
+public class ComponentConfig {
     private String id;
+    private String type;  // What the component does (admin_setup, store_creation, ...); defaults to the id
     private boolean enabled = true;
     private boolean force = false;  // Force execution even if already completed
     private List<String> dependsOn = new ArrayList<>();
     private java.util.Map<String, Object> config = new java.util.HashMap<>();
+
+    public String getType() {
+        return type != null ? type : id;
+    }
 }
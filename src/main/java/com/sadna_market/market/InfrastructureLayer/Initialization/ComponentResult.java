@@ -10,6 +10,7 @@ import lombok.Data;
     private java.util.Map<String, String> createdEntities = new java.util.HashMap<>();
     private java.util.Map<String, String> rollbackData = new java.util.HashMap<>();
     private java.util.Map<String, Object> details = new java.util.HashMap<>();
+    private long durationMillis;
 
     public ComponentResult(String componentId) {
         this.componentId = componentId;
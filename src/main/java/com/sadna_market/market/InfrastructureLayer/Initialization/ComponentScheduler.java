@@ -0,0 +1,192 @@
+package com.sadna_market.market.InfrastructureLayer.Initialization;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs initialization components as a dependency graph on a bounded pool.
+ *
+ * A component starts as soon as every component it depends on has completed, so independent
+ * components run side by side. Dependencies on components outside the given list (disabled, or
+ * skipped because they are already done) count as satisfied. Results are added to the
+ * InitializationResult in completion order, which is also a valid order to undo them in.
+ *
+ * When a component fails, STOP and ROLLBACK start nothing new and wait for the running components;
+ * the components that never started are left out of the result. CONTINUE keeps going but does not
+ * run the components that depend on the failed one, directly or not: they are reported as failed.
+ */
+public class ComponentScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ComponentScheduler.class);
+
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    private final int parallelism;
+
+    public ComponentScheduler(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs the components and adds their results to result.
+     *
+     * @param runner executes one component; an exception it throws is recorded as a failure
+     * @throws IllegalArgumentException if two components share an id or the dependencies form a cycle
+     */
+    public void run(List<ComponentConfig> components, SystemConfig.FailureAction onFailure,
+                    Function<ComponentConfig, ComponentResult> runner, InitializationResult result) {
+        if (components.isEmpty()) {
+            return;
+        }
+
+        Map<String, ComponentConfig> byId = new LinkedHashMap<>();
+        for (ComponentConfig component : components) {
+            if (byId.putIfAbsent(component.getId(), component) != null) {
+                throw new IllegalArgumentException("Duplicate component id: " + component.getId());
+            }
+        }
+
+        Map<String, Integer> waitingOn = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (ComponentConfig component : components) {
+            Set<String> dependencies = new LinkedHashSet<>(component.getDependsOn());
+            dependencies.retainAll(byId.keySet());
+            waitingOn.put(component.getId(), dependencies.size());
+            for (String dependency : dependencies) {
+                dependents.computeIfAbsent(dependency, id -> new ArrayList<>()).add(component.getId());
+            }
+        }
+        checkAcyclic(waitingOn, dependents);
+
+        int threads = Math.min(parallelism, components.size());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, threadFactory());
+        CompletionService<ComponentResult> completions = new ExecutorCompletionService<>(pool);
+        Set<String> blocked = new HashSet<>();
+        int running = 0;
+        boolean stopping = false;
+
+        try {
+            for (ComponentConfig component : components) {
+                if (waitingOn.get(component.getId()) == 0) {
+                    completions.submit(task(component, runner));
+                    running++;
+                }
+            }
+
+            while (running > 0) {
+                ComponentResult componentResult = completions.take().get();
+                running--;
+                result.addComponentResult(componentResult);
+                String id = componentResult.getComponentId();
+
+                if (componentResult.getStatus() == SystemStateManager.ComponentStatus.FAILED) {
+                    if (onFailure == SystemConfig.FailureAction.CONTINUE) {
+                        block(id, dependents, blocked, result);
+                    } else if (!stopping) {
+                        stopping = true;
+                        logger.error("Component '{}' failed, starting no further components ({} still running)",
+                                id, running);
+                    }
+                    continue;
+                }
+
+                for (String dependent : dependents.getOrDefault(id, List.of())) {
+                    int remaining = waitingOn.merge(dependent, -1, Integer::sum);
+                    if (remaining == 0 && !stopping && !blocked.contains(dependent)) {
+                        completions.submit(task(byId.get(dependent), runner));
+                        running++;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running initialization components", e);
+        } catch (ExecutionException e) {
+            // tasks record their own failures, so this only happens on a bug in the scheduler itself
+            throw new IllegalStateException("Initialization component task failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Callable<ComponentResult> task(ComponentConfig component, Function<ComponentConfig, ComponentResult> runner) {
+        return () -> {
+            long started = System.nanoTime();
+            ComponentResult componentResult;
+            try {
+                componentResult = runner.apply(component);
+            } catch (RuntimeException e) {
+                logger.error("Component '{}' failed: {}", component.getId(), e.getMessage(), e);
+                componentResult = new ComponentResult(component.getId());
+                componentResult.setStatus(SystemStateManager.ComponentStatus.FAILED);
+                componentResult.setErrorMessage(e.getMessage());
+            }
+            componentResult.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return componentResult;
+        };
+    }
+
+    /** Reports every component that depends on the failed one, directly or not, as failed without running it */
+    private static void block(String failedId, Map<String, List<String>> dependents, Set<String> blocked,
+                              InitializationResult result) {
+        Deque<String> failed = new ArrayDeque<>(List.of(failedId));
+        while (!failed.isEmpty()) {
+            String id = failed.poll();
+            for (String dependent : dependents.getOrDefault(id, List.of())) {
+                if (blocked.add(dependent)) {
+                    logger.warn("Component '{}' not run: it depends on failed component '{}'", dependent, id);
+                    ComponentResult componentResult = new ComponentResult(dependent);
+                    componentResult.setStatus(SystemStateManager.ComponentStatus.FAILED);
+                    componentResult.setErrorMessage("Not run: depends on failed component '" + id + "'");
+                    result.addComponentResult(componentResult);
+                    failed.add(dependent);
+                }
+            }
+        }
+    }
+
+    private static void checkAcyclic(Map<String, Integer> waitingOn, Map<String, List<String>> dependents) {
+        Map<String, Integer> remaining = new HashMap<>(waitingOn);
+        Deque<String> ready = new ArrayDeque<>();
+        remaining.forEach((id, count) -> {
+            if (count == 0) {
+                ready.add(id);
+            }
+        });
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            String id = ready.poll();
+            visited++;
+            for (String dependent : dependents.getOrDefault(id, List.of())) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (visited < remaining.size()) {
+            List<String> cycle = remaining.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            throw new IllegalArgumentException("Component dependencies form a cycle among " + cycle);
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        int pool = poolNumber.incrementAndGet();
+        AtomicInteger thread = new AtomicInteger();
+        return runnable -> {
+            Thread worker = new Thread(runnable, "system-init-" + pool + "-" + thread.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        };
+    }
+}
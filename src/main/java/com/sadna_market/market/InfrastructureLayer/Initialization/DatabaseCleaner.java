@@ -24,11 +24,13 @@ public class DatabaseCleaner {
 
         try {
             // Your SQL script - much cleaner than repository.clear()!
+            // The migration history is schema metadata, not data, so it survives a clear
             String sql = """
                 DO $$ DECLARE
                     r RECORD;
                 BEGIN
-                    FOR r IN (SELECT tablename FROM pg_tables WHERE schemaname = 'public') LOOP
+                    FOR r IN (SELECT tablename FROM pg_tables WHERE schemaname = 'public'
+                              AND tablename <> 'schema_history') LOOP
                         EXECUTE 'TRUNCATE TABLE ' || quote_ident(r.tablename) || ' RESTART IDENTITY CASCADE';
                     END LOOP;
                 END $$;
@@ -10,6 +10,7 @@ public class InitializationResult {
     private SystemStateManager.ComponentStatus overallStatus;
     private String errorMessage;
     private List<ComponentResult> componentResults = new ArrayList<>();
+    private long durationMillis;  // Wall time of the whole run; per-component times are in the component results
 
     public void addComponentResult(ComponentResult result) {
         componentResults.add(result);
@@ -196,11 +196,11 @@ public class InteractiveStartupMenu implements CommandLineRunner {
             String url = "http://localhost:5173";
 
             if (os.contains("win")) {
-                Runtime.getRuntime().exec("rundll32 url.dll,FileProtocolHandler " + url);
+                new ProcessBuilder("rundll32", "url.dll,FileProtocolHandler", url).start();
             } else if (os.contains("mac")) {
-                Runtime.getRuntime().exec("open " + url);
+                new ProcessBuilder("open", url).start();
             } else {
-                Runtime.getRuntime().exec("xdg-open " + url);
+                new ProcessBuilder("xdg-open", url).start();
             }
 
             logger.info("🌐 Frontend opened at: {}", url);
@@ -15,11 +15,11 @@ public class SimpleFrontendOpener {
             String os = System.getProperty("os.name").toLowerCase();
 
             if (os.contains("win")) {
-                Runtime.getRuntime().exec("rundll32 url.dll,FileProtocolHandler " + FRONTEND_URL);
+                new ProcessBuilder("rundll32", "url.dll,FileProtocolHandler", FRONTEND_URL).start();
             } else if (os.contains("mac")) {
-                Runtime.getRuntime().exec("open " + FRONTEND_URL);
+                new ProcessBuilder("open", FRONTEND_URL).start();
             } else if (os.contains("nix") || os.contains("nux")) {
-                Runtime.getRuntime().exec("xdg-open " + FRONTEND_URL);
+                new ProcessBuilder("xdg-open", FRONTEND_URL).start();
             }
 
             logger.info("🌐 Opening frontend at: {}", FRONTEND_URL);
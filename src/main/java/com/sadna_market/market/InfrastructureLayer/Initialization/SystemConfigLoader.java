@@ -78,6 +78,12 @@ public class SystemConfigLoader {
             ComponentConfig component = new ComponentConfig();
             component.setId(componentId);
 
+            // Parse type, so one kind of component can appear several times under different ids
+            String type = (String) componentData.get("type");
+            if (type != null) {
+                component.setType(type);
+            }
+
             // Parse enabled flag
             Boolean enabled = (Boolean) componentData.get("enabled");
             if (enabled != null) {
@@ -8,15 +8,25 @@ import com.sadna_market.market.ApplicationLayer.*;
 import com.sadna_market.market.ApplicationLayer.Requests.*;
 import com.sadna_market.market.ApplicationLayer.DTOs.*;
 import com.sadna_market.market.DomainLayer.*;
+import com.sadna_market.market.DomainLayer.DomainServices.SystemStatsService;
+import com.sadna_market.market.InfrastructureLayer.Seeding.BulkSeedLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Profile("!test")  // Exclude from test profile - tests don't need initialization
@@ -47,6 +57,19 @@ public class SystemStateManager {
     @Autowired
     private DatabaseCleaner databaseCleaner;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BulkSeedLoader bulkSeedLoader;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    // Components whose dependencies are done run concurrently on up to this many threads
+    @Value("${system.init.parallelism:4}")
+    private int parallelism;
+
     private final Map<String, String> sessionTokens = new ConcurrentHashMap<>();
 
     public enum InitializationMode {
@@ -65,7 +88,7 @@ public class SystemStateManager {
         SKIPPED     // Intentionally skipped
     }
 
-    @Transactional
+    // Not transactional itself: each component commits in its own transaction, see executeComponents
     public InitializationResult executeInitialization(SystemConfig config) {
         logger.info("=== Starting System Initialization ===");
         logger.info("Mode: {}", config.getMode());
@@ -75,7 +98,7 @@ public class SystemStateManager {
         try {
             switch (config.getMode()) {
                 case CHECK_ONLY:
-                    return checkCurrentState(config);
+                    return inTransaction(status -> checkCurrentState(config));
                 case RESET_AND_INIT:
                     resetSystemState();
                     return executeFullInitialization(config);
@@ -134,6 +157,12 @@ public class SystemStateManager {
         logger.info("=== Executing Selective Initialization ===");
 
         InitializationResult result = new InitializationResult();
+        List<ComponentConfig> componentsToInitialize = inTransaction(status -> selectComponents(config, result));
+
+        return executeComponents(componentsToInitialize, config, result);
+    }
+
+    private List<ComponentConfig> selectComponents(SystemConfig config, InitializationResult result) {
         List<ComponentConfig> componentsToInitialize = new ArrayList<>();
 
         for (ComponentConfig component : config.getComponents()) {
@@ -158,7 +187,7 @@ public class SystemStateManager {
             }
         }
 
-        return executeComponents(componentsToInitialize, config, result);
+        return componentsToInitialize;
     }
 
     private InitializationResult executeFullInitialization(SystemConfig config) {
@@ -172,34 +201,65 @@ public class SystemStateManager {
         return executeComponents(enabledComponents, config, result);
     }
 
+    /**
+     * Runs the components as a dependency graph (depends_on), independent ones in parallel,
+     * each in its own transaction. A failed component's transaction is rolled back.
+     */
     private InitializationResult executeComponents(List<ComponentConfig> components, SystemConfig config, InitializationResult result) {
-        List<ComponentConfig> sortedComponents = sortByDependencies(components);
-
-        for (ComponentConfig component : sortedComponents) {
-            ComponentResult componentResult = executeComponent(component);
-            result.addComponentResult(componentResult);
-
-            if (componentResult.getStatus() == ComponentStatus.FAILED) {
-                if (config.getOnFailure() == SystemConfig.FailureAction.STOP) {
-                    logger.error("Component '{}' failed, stopping initialization", component.getId());
-                    result.setOverallStatus(ComponentStatus.FAILED);
-                    return result;
-                } else if (config.getOnFailure() == SystemConfig.FailureAction.ROLLBACK) {
-                    logger.error("Component '{}' failed, rolling back", component.getId());
-                    rollbackChanges(result);
-                    result.setOverallStatus(ComponentStatus.FAILED);
-                    return result;
-                }
-                logger.warn("Component '{}' failed, but continuing with remaining components", component.getId());
+        long started = System.nanoTime();
+        new ComponentScheduler(parallelism).run(components, config.getOnFailure(), this::executeComponentInTransaction, result);
+        result.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        Optional<ComponentResult> failed = result.getComponentResults().stream()
+                .filter(componentResult -> componentResult.getStatus() == ComponentStatus.FAILED)
+                .findFirst();
+        if (failed.isPresent()) {
+            String failedId = failed.get().getComponentId();
+            if (config.getOnFailure() == SystemConfig.FailureAction.STOP) {
+                logger.error("Component '{}' failed, stopped initialization", failedId);
+                result.setOverallStatus(ComponentStatus.FAILED);
+                return result;
+            } else if (config.getOnFailure() == SystemConfig.FailureAction.ROLLBACK) {
+                logger.error("Component '{}' failed, rolling back", failedId);
+                rollbackChanges(result);
+                result.setOverallStatus(ComponentStatus.FAILED);
+                return result;
             }
+            logger.warn("Component '{}' failed, but continued with the components not depending on it", failedId);
         }
 
         result.setOverallStatus(ComponentStatus.COMPLETED);
-        logger.info("=== System Initialization Completed Successfully ===");
+        logger.info("=== System Initialization Completed in {} ms ===", result.getDurationMillis());
 
         return result;
     }
 
+    private ComponentResult executeComponentInTransaction(ComponentConfig component) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return transaction.execute(status -> {
+                ComponentResult result = executeComponent(component);
+                if (result.getStatus() == ComponentStatus.FAILED) {
+                    status.setRollbackOnly();
+                }
+                return result;
+            });
+        } catch (TransactionException e) {
+            // e.g. the commit failed, or a service call marked the transaction rollback-only
+            logger.error("Component '{}' failed to commit: {}", component.getId(), e.getMessage(), e);
+            ComponentResult result = new ComponentResult(component.getId());
+            result.setStatus(ComponentStatus.FAILED);
+            result.setErrorMessage(e.getMessage());
+            stateRepository.saveComponentState(component.getId(), ComponentStatus.FAILED, null, e.getMessage());
+            return result;
+        }
+    }
+
+    private <T> T inTransaction(TransactionCallback<T> work) {
+        return new TransactionTemplate(transactionManager).execute(work);
+    }
+
     private ComponentResult executeComponent(ComponentConfig component) {
         logger.info("Executing component: {}", component.getId());
 
@@ -209,7 +269,7 @@ public class SystemStateManager {
         stateRepository.saveComponentState(component.getId(), ComponentStatus.RUNNING, null, null);
 
         try {
-            switch (component.getId()) {
+            switch (component.getType()) {
                 case "admin_setup":
                     result = executeAdminSetup(component);
                     break;
@@ -231,8 +291,11 @@ public class SystemStateManager {
                 case "user_logout":
                     result = executeUserLogout(component);
                     break;
+                case "bulk_seed":
+                    result = executeBulkSeed(component);
+                    break;
                 default:
-                    throw new IllegalArgumentException("Unknown component: " + component.getId());
+                    throw new IllegalArgumentException("Unknown component type: " + component.getType());
             }
 
             stateRepository.saveComponentState(
@@ -604,12 +667,44 @@ public class SystemStateManager {
         return result;
     }
 
+    private ComponentResult executeBulkSeed(ComponentConfig component) {
+        ComponentResult result = new ComponentResult(component.getId());
+        Map<String, Object> config = component.getConfig();
+
+        String dataset = (String) config.get("dataset");
+        boolean sharePasswordHashes = Boolean.TRUE.equals(config.get("share_password_hashes"));
+        if (dataset == null) {
+            throw new IllegalArgumentException("bulk_seed needs a dataset path");
+        }
+
+        BulkSeedLoader.Summary summary;
+        try {
+            summary = bulkSeedLoader.load(Path.of(dataset), sharePasswordHashes);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read seed dataset '" + dataset + "': " + e.getMessage(), e);
+        }
+        // The loader publishes no domain events, so the dashboard counters are recounted instead
+        systemStatsService.reconcile();
+
+        // Chunks are committed as they are loaded and are not rolled back; loading again skips what exists
+        result.getDetails().put("users_created", summary.usersCreated());
+        result.getDetails().put("users_skipped", summary.usersSkipped());
+        result.getDetails().put("stores_created", summary.storesCreated());
+        result.getDetails().put("stores_skipped", summary.storesSkipped());
+        result.getDetails().put("products_created", summary.productsCreated());
+        result.getDetails().put("products_skipped", summary.productsSkipped());
+        logger.info("✓ Seed dataset '{}' loaded", dataset);
+
+        result.setStatus(ComponentStatus.COMPLETED);
+        return result;
+    }
+
     // ===================================================================
     // State Management Helper Methods
     // ===================================================================
 
     private ComponentStatus checkComponentStatus(ComponentConfig component) {
-        switch (component.getId()) {
+        switch (component.getType()) {
             case "admin_setup":
                 Map<String, Object> adminConfig = component.getConfig();
                 String adminUsername = (String) adminConfig.get("username");
@@ -692,7 +787,7 @@ public class SystemStateManager {
     private Map<String, Object> gatherComponentDetails(ComponentConfig component) {
         Map<String, Object> details = new HashMap<>();
 
-        switch (component.getId()) {
+        switch (component.getType()) {
             case "admin_setup":
                 Map<String, Object> adminConfig = component.getConfig();
                 String adminUsername = (String) adminConfig.get("username");
@@ -854,37 +949,6 @@ public class SystemStateManager {
         }
     }
 
-    private List<ComponentConfig> sortByDependencies(List<ComponentConfig> components) {
-        List<ComponentConfig> sorted = new ArrayList<>();
-        Set<String> processed = new HashSet<>();
-
-        List<String> dependencyOrder = Arrays.asList(
-                "admin_setup",
-                "user_registration",
-                "user_login",
-                "store_creation",
-                "product_management",
-                "role_management",
-                "user_logout"
-        );
-
-        for (String componentId : dependencyOrder) {
-            components.stream()
-                    .filter(c -> c.getId().equals(componentId))
-                    .filter(c -> !processed.contains(c.getId()))
-                    .forEach(c -> {
-                        sorted.add(c);
-                        processed.add(c.getId());
-                    });
-        }
-
-        components.stream()
-                .filter(c -> !processed.contains(c.getId()))
-                .forEach(sorted::add);
-
-        return sorted;
-    }
-
     /**
      * Helper method to populate session tokens for users who are already logged in
      * This handles the case where the app restarts but users are still logged in the database
@@ -1,7 +1,10 @@
 package com.sadna_market.market.InfrastructureLayer.JpaRepos;
 
 import com.sadna_market.market.DomainLayer.Address;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,6 +13,7 @@ public interface AddressJpaRepository extends JpaRepository<Address, UUID> {
     /**
      * Find all addresses for a given username.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Address> findByUsername(String username);
 
     /**
@@ -1,6 +1,7 @@
 package com.sadna_market.market.InfrastructureLayer.JpaRepos;
 
 import com.sadna_market.market.DomainLayer.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -42,4 +43,12 @@ public interface MessageJpaRepository extends JpaRepository<Message, UUID> {
 
     // Find messages by sender ordered by timestamp
     List<Message> findBySenderUsernameOrderByTimestampDesc(String senderUsername);
+
+    // Pages of a store's messages; the order comes from the Pageable
+    List<Message> findByStoreId(UUID storeId, Pageable pageable);
+
+    List<Message> findByStoreIdAndIsReadFalse(UUID storeId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.storeId = :storeId AND (m.reply IS NULL OR m.reply = '')")
+    List<Message> findUnansweredMessagesByStore(@Param("storeId") UUID storeId, Pageable pageable);
 }
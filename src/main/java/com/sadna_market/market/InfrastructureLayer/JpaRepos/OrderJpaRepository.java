@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,4 +32,9 @@ public interface OrderJpaRepository extends JpaRepository<Order, UUID> {
 
     @Query("SELECT COALESCE(SUM(o.finalPrice), 0.0) FROM Order o")
     double calculateTotalRevenue();
+
+    long countByStatusIn(Collection<OrderStatus> statuses);
+
+    @Query("SELECT COALESCE(SUM(o.finalPrice), 0.0) FROM Order o WHERE o.status IN :statuses")
+    double calculateRevenueByStatuses(@Param("statuses") Collection<OrderStatus> statuses);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.sadna_market.market.InfrastructureLayer.JpaRepos;
+
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PolicyRuleJpaRepository extends JpaRepository<PolicyRule, UUID> {
+
+    List<PolicyRule> findByStoreIdAndRootTrue(UUID storeId);
+}
@@ -1,9 +1,14 @@
 package com.sadna_market.market.InfrastructureLayer.JpaRepos;
 
 
+import com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO;
 import com.sadna_market.market.DomainLayer.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,6 +19,22 @@ import java.util.UUID;
 @Repository
 public interface ProductJpaRepository extends JpaRepository<Product, UUID> {
 
+    // Constructor projection for listings: selects the displayed columns straight into the DTO,
+    // so listed products are never hydrated as managed entities
+    String PRODUCT_DTO = "SELECT new com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO(" +
+            "p.productId, p.storeId, p.name, p.description, p.category, p.price, p.isAvailable, " +
+            "CASE WHEN p.ratingCount > 0 THEN p.ratingSum / p.ratingCount ELSE 0.0 END, p.ratingCount) " +
+            "FROM Product p ";
+
+    String STORE_CRITERIA = "WHERE p.storeId = :storeId " +
+            "AND (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
+            "AND (:category IS NULL OR p.category = :category) " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "AND (:minRate IS NULL OR (p.ratingCount > 0 AND (p.ratingSum / p.ratingCount) >= :minRate)) " +
+            "AND (:maxRate IS NULL OR (p.ratingCount > 0 AND (p.ratingSum / p.ratingCount) <= :maxRate))";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByStoreId(UUID storeId);
 
     List<Product> findByNameContainingIgnoreCase(String name);
@@ -27,13 +48,7 @@ public interface ProductJpaRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT p FROM Product p WHERE p.ratingCount > 0 AND (p.ratingSum / p.ratingCount) BETWEEN :minRate AND :maxRate")
     List<Product> findByRateRange(@Param("minRate") double minRate, @Param("maxRate") double maxRate);
 
-    @Query("SELECT p FROM Product p WHERE p.storeId = :storeId " +
-            "AND (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
-            "AND (:category IS NULL OR p.category = :category) " +
-            "AND (:minPrice IS NULL OR p.price >= :minPrice) " +
-            "AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
-            "AND (:minRate IS NULL OR (p.ratingCount > 0 AND (p.ratingSum / p.ratingCount) >= :minRate)) " +
-            "AND (:maxRate IS NULL OR (p.ratingCount > 0 AND (p.ratingSum / p.ratingCount) <= :maxRate))")
+    @Query("SELECT p FROM Product p " + STORE_CRITERIA)
     List<Product> findByStoreWithCriteria(@Param("storeId") UUID storeId,
                                           @Param("name") String name,
                                           @Param("category") String category,
@@ -56,6 +71,30 @@ public interface ProductJpaRepository extends JpaRepository<Product, UUID> {
                                  @Param("minRate") Double minRate,
                                  @Param("maxRate") Double maxRate);
 
+    @Query(PRODUCT_DTO + "WHERE p.storeId = :storeId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProductDTO> findDTOsByStoreId(@Param("storeId") UUID storeId);
+
+    @Query(PRODUCT_DTO + STORE_CRITERIA)
+    List<ProductDTO> findDTOsByStoreWithCriteria(@Param("storeId") UUID storeId,
+                                                 @Param("name") String name,
+                                                 @Param("category") String category,
+                                                 @Param("minPrice") Double minPrice,
+                                                 @Param("maxPrice") Double maxPrice,
+                                                 @Param("minRate") Double minRate,
+                                                 @Param("maxRate") Double maxRate);
+
+    // The store's stock lives in the store_product_quantities collection of Store, keyed by product ID
+    @Query("SELECT new com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO(" +
+            "p.productId, p.storeId, p.name, p.description, p.category, p.price, p.isAvailable, " +
+            "CASE WHEN p.ratingCount > 0 THEN p.ratingSum / p.ratingCount ELSE 0.0 END, p.ratingCount, " +
+            "COALESCE(VALUE(q), 0)) " +
+            "FROM Product p " +
+            "LEFT JOIN Store s ON s.storeId = p.storeId " +
+            "LEFT JOIN s.productQuantities q ON KEY(q) = p.productId " +
+            "WHERE p.storeId = :storeId")
+    List<StoreProductDTO> findDTOsWithInventoryByStoreId(@Param("storeId") UUID storeId);
+
     @Query("SELECT p FROM Product p WHERE p.storeId = :storeId AND p.ratingCount > 0 ORDER BY (p.ratingSum / p.ratingCount) DESC")
     List<Product> findTopRatedByStore(@Param("storeId") UUID storeId);
 
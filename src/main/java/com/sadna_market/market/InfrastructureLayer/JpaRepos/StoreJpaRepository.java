@@ -14,6 +14,31 @@ import java.util.UUID;
 @Repository
 public interface StoreJpaRepository extends JpaRepository<Store, UUID> {
 
+    // Interface projections for the store listing: scalar columns only, no inventory or order IDs
+    interface StoreListRow {
+        UUID getStoreId();
+        String getName();
+        String getDescription();
+        boolean isActive();
+        String getFounderUsername();
+        double getRating();
+    }
+
+    interface StorePersonnelRow {
+        UUID getStoreId();
+        String getUsername();
+    }
+
+    @Query("SELECT s.storeId AS storeId, s.name AS name, s.description AS description, s.active AS active, " +
+            "s.founderUsername AS founderUsername, s.rating AS rating FROM Store s WHERE s.active = true")
+    List<StoreListRow> findActiveStoreRows();
+
+    @Query("SELECT s.storeId AS storeId, ou AS username FROM Store s JOIN s.ownerUsernames ou WHERE s.active = true")
+    List<StorePersonnelRow> findActiveStoreOwnerRows();
+
+    @Query("SELECT s.storeId AS storeId, mu AS username FROM Store s JOIN s.managerUsernames mu WHERE s.active = true")
+    List<StorePersonnelRow> findActiveStoreManagerRows();
+
     // Basic finder methods
     Optional<Store> findByName(String name);
 
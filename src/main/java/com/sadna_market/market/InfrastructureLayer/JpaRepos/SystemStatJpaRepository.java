@@ -0,0 +1,20 @@
+package com.sadna_market.market.InfrastructureLayer.JpaRepos;
+
+import com.sadna_market.market.DomainLayer.SystemStat;
+import com.sadna_market.market.DomainLayer.SystemStatKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SystemStatJpaRepository extends JpaRepository<SystemStat, SystemStatKey> {
+
+    // In-place increment, avoids a read-modify-write race between nodes
+    @Modifying
+    @Query("UPDATE SystemStat s SET s.value = s.value + :delta, s.updatedAt = :now WHERE s.key = :key")
+    int incrementValue(@Param("key") SystemStatKey key, @Param("delta") double delta, @Param("now") LocalDateTime now);
+}
@@ -1,5 +1,6 @@
 package com.sadna_market.market.InfrastructureLayer.JpaRepos;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.UserDTO;
 import com.sadna_market.market.DomainLayer.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +14,14 @@ import java.util.UUID;
 @Repository
 public interface UserJpaRepository extends JpaRepository<User, String> {
 
+    // Constructor projection for the admin user list; the cart item count is summed in the query
+    @Query("SELECT new com.sadna_market.market.ApplicationLayer.DTOs.UserDTO(" +
+            "u.userName, u.email, u.firstName, u.lastName, u.isLoggedIn, " +
+            "CAST(COALESCE(SUM(VALUE(bp)), 0) AS Integer), u.isAdmin) " +
+            "FROM User u LEFT JOIN u.cart c LEFT JOIN c.shoppingBaskets b LEFT JOIN b.products bp " +
+            "GROUP BY u.userName, u.email, u.firstName, u.lastName, u.isLoggedIn, u.isAdmin")
+    List<UserDTO> findAllUserDTOs();
+
     /**
      * Find a user by username (this is the primary key).
      */
@@ -68,5 +77,8 @@ public interface UserJpaRepository extends JpaRepository<User, String> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.isLoggedIn = true")
     int countActiveUsers();
 
+    @Query("SELECT u.isLoggedIn FROM User u WHERE u.userName = :username")
+    Optional<Boolean> findLoggedInByUserName(@Param("username") String username);
+
 
 }
\ No newline at end of file
@@ -3,8 +3,11 @@ package com.sadna_market.market.InfrastructureLayer.JpaRepos;
 import com.sadna_market.market.DomainLayer.UserStoreRoles;
 import com.sadna_market.market.DomainLayer.RoleType;
 import com.sadna_market.market.DomainLayer.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,16 +21,19 @@ public interface UserStoreRolesJpaRepository extends JpaRepository<UserStoreRole
     /**
      * Find all roles for a specific user.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<UserStoreRoles> findByUsername(String username);
 
     /**
      * Find all roles for a specific store.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<UserStoreRoles> findByStoreId(UUID storeId);
 
     /**
      * Find a specific role for a user in a store.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserStoreRoles> findByUsernameAndStoreId(String username, UUID storeId);
 
     /**
@@ -0,0 +1,67 @@
+package com.sadna_market.market.InfrastructureLayer.Metrics;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Process-wide activity counters used by the admin insights.
+ * Every counter is a {@link RateCounter}, so recording is a lock-free increment
+ * and reading a window costs a scan over a fixed number of buckets.
+ */
+@Component
+public class ActivityMetrics {
+    private final RateCounter transactions = new RateCounter();
+    private final RateCounter subscriptions = new RateCounter();
+    private final RateCounter logins = new RateCounter();
+    private final RateCounter checkoutFailures = new RateCounter();
+    // Revenue is accumulated in cents to keep the buckets integral
+    private final RateCounter revenueCents = new RateCounter();
+
+    public void recordTransaction(double amount) {
+        transactions.increment();
+        revenueCents.add(Math.round(amount * 100));
+    }
+
+    public void recordSubscription() {
+        subscriptions.increment();
+    }
+
+    public void recordLogin() {
+        logins.increment();
+    }
+
+    public void recordCheckoutFailure() {
+        checkoutFailures.increment();
+    }
+
+    public RateCounter transactions() {
+        return transactions;
+    }
+
+    public RateCounter subscriptions() {
+        return subscriptions;
+    }
+
+    public RateCounter logins() {
+        return logins;
+    }
+
+    public RateCounter checkoutFailures() {
+        return checkoutFailures;
+    }
+
+    public double revenueLastHour() {
+        return revenueCents.lastHour() / 100.0;
+    }
+
+    public double revenueLastDay() {
+        return revenueCents.lastDay() / 100.0;
+    }
+
+    public void clear() {
+        transactions.reset();
+        subscriptions.reset();
+        logins.reset();
+        checkoutFailures.reset();
+        revenueCents.reset();
+    }
+}
@@ -0,0 +1,56 @@
+package com.sadna_market.market.InfrastructureLayer.Metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named meters for business outcomes and WebSocket pushes that the @Timed latency
+ * histograms do not cover.
+ * Meter names live here so dashboards and alerts have a single place to look them up.
+ */
+@Component
+public class MarketMetrics {
+    public static final String CHECKOUT_OUTCOME = "market.checkout.outcome";
+    public static final String WEBSOCKET_SEND = "market.websocket.send";
+    public static final String RATE_LIMIT_REJECTED = "market.ratelimit.rejected";
+    public static final String RATE_LIMIT_BUCKETS = "market.ratelimit.buckets";
+    public static final String SEARCH_CACHE_REQUESTS = "market.search.cache.requests";
+    public static final String SEARCH_CACHE_HIT_RATIO = "market.search.cache.hit_ratio";
+    public static final String SEARCH_CACHE_SIZE = "market.search.cache.size";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_EMPTY_CART = "empty_cart";
+    public static final String OUTCOME_PAYMENT_FAILED = "payment_failed";
+    public static final String OUTCOME_SUPPLY_FAILED = "supply_failed";
+    public static final String OUTCOME_ERROR = "error";
+
+    private final MeterRegistry registry;
+
+    @Autowired
+    public MarketMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param buyer "user" or "guest"
+     * @param outcome one of the OUTCOME_* constants
+     */
+    public void recordCheckoutOutcome(String buyer, String outcome) {
+        registry.counter(CHECKOUT_OUTCOME, "buyer", buyer, "outcome", outcome).increment();
+    }
+
+    /**
+     * Records one push to a WebSocket client. The destination must be the
+     * un-expanded queue name (e.g. "/queue/notifications"), never a per-user path,
+     * to keep the tag cardinality bounded.
+     */
+    public void recordWebSocketSend(String destination, boolean delivered, long elapsedNanos) {
+        registry.timer(WEBSOCKET_SEND,
+                "destination", destination,
+                "result", delivered ? "delivered" : "failed")
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
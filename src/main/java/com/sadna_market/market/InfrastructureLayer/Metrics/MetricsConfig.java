@@ -0,0 +1,83 @@
+package com.sadna_market.market.InfrastructureLayer.Metrics;
+
+import com.sadna_market.market.InfrastructureLayer.Caching.SearchResultCache;
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimitRule;
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimiter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer wiring. The {@link TimedAspect} turns every {@code @Timed} class or method
+ * into a latency histogram, and the activity windows already kept for the admin
+ * dashboard are exported as gauges so they show up next to the timers, as are the
+ * counts the rate limiter keeps of the requests it turned away and the search cache's hit ratio.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder activityMetricsBinder(ActivityMetrics activityMetrics) {
+        return registry -> {
+            Gauge.builder("market.activity.transactions.last_minute", activityMetrics,
+                            metrics -> metrics.transactions().lastMinute())
+                    .description("Completed checkouts in the last minute")
+                    .register(registry);
+            Gauge.builder("market.activity.logins.last_minute", activityMetrics,
+                            metrics -> metrics.logins().lastMinute())
+                    .description("Successful logins in the last minute")
+                    .register(registry);
+            Gauge.builder("market.activity.checkout_failures.last_minute", activityMetrics,
+                            metrics -> metrics.checkoutFailures().lastMinute())
+                    .description("Failed checkouts in the last minute")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetricsBinder(RateLimiter rateLimiter) {
+        return registry -> {
+            for (RateLimitRule rule : rateLimiter.getRules()) {
+                for (String scope : new String[]{RateLimiter.SCOPE_CLIENT, RateLimiter.SCOPE_ENDPOINT}) {
+                    FunctionCounter.builder(MarketMetrics.RATE_LIMIT_REJECTED, rateLimiter,
+                                    limiter -> limiter.getRejections(rule.name(), scope))
+                            .tags("route", rule.name(), "scope", scope)
+                            .description("Requests rejected with 429 by the route's client or endpoint limit")
+                            .register(registry);
+                }
+            }
+            Gauge.builder(MarketMetrics.RATE_LIMIT_BUCKETS, rateLimiter, RateLimiter::getBucketCount)
+                    .description("Token buckets currently held by the rate limiter")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder searchCacheMetricsBinder(SearchResultCache searchResultCache) {
+        return registry -> {
+            FunctionCounter.builder(MarketMetrics.SEARCH_CACHE_REQUESTS, searchResultCache, SearchResultCache::getHits)
+                    .tags("result", "hit")
+                    .description("Product searches answered from the search result cache")
+                    .register(registry);
+            FunctionCounter.builder(MarketMetrics.SEARCH_CACHE_REQUESTS, searchResultCache, SearchResultCache::getMisses)
+                    .tags("result", "miss")
+                    .description("Product searches that had to run against the repository")
+                    .register(registry);
+            Gauge.builder(MarketMetrics.SEARCH_CACHE_HIT_RATIO, searchResultCache, SearchResultCache::getHitRatio)
+                    .description("Share of product searches answered from the cache since startup")
+                    .register(registry);
+            Gauge.builder(MarketMetrics.SEARCH_CACHE_SIZE, searchResultCache, SearchResultCache::size)
+                    .description("Search results currently cached")
+                    .register(registry);
+        };
+    }
+}
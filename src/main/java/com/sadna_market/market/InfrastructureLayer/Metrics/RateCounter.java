@@ -0,0 +1,145 @@
+package com.sadna_market.market.InfrastructureLayer.Metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free sliding-window counter backed by fixed-size rings of time buckets.
+ * Recent history (up to one hour) is kept at one-second resolution, older history
+ * (up to one day) at one-minute resolution, so memory stays constant regardless of
+ * how many events are recorded.
+ */
+public class RateCounter {
+    private static final int SECOND_BUCKETS = 3600;
+    private static final int MINUTE_BUCKETS = 1440;
+
+    private final Ring seconds = new Ring(SECOND_BUCKETS, 1_000L);
+    private final Ring minutes = new Ring(MINUTE_BUCKETS, 60_000L);
+    private final LongAdder total = new LongAdder();
+    private final LongSupplier clock;
+
+    public RateCounter() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock source of epoch milliseconds - replaceable for testing
+     */
+    public RateCounter(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public void increment() {
+        add(1);
+    }
+
+    public void add(long amount) {
+        long now = clock.getAsLong();
+        seconds.add(now, amount);
+        minutes.add(now, amount);
+        total.add(amount);
+    }
+
+    /**
+     * Sum of all amounts recorded within the given window ending now.
+     * Windows up to one hour are answered at second precision, longer windows
+     * (up to one day) at minute precision.
+     */
+    public long sum(Duration window) {
+        long now = clock.getAsLong();
+        long millis = window.toMillis();
+        if (millis <= SECOND_BUCKETS * seconds.bucketMillis) {
+            return seconds.sum(now, millis);
+        }
+        return minutes.sum(now, Math.min(millis, MINUTE_BUCKETS * minutes.bucketMillis));
+    }
+
+    public long lastMinute() {
+        return sum(Duration.ofMinutes(1));
+    }
+
+    public long lastHour() {
+        return sum(Duration.ofHours(1));
+    }
+
+    public long lastDay() {
+        return sum(Duration.ofDays(1));
+    }
+
+    /**
+     * Sum of everything recorded since creation (or the last reset)
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    public void reset() {
+        seconds.reset();
+        minutes.reset();
+        total.reset();
+    }
+
+    /**
+     * One ring of buckets. Each slot holds a cell for one epoch (bucket index since 1970);
+     * a writer landing on a stale cell swaps in a fresh one with a CAS, so a count is never
+     * cleared under another writer. Readers ignore cells whose epoch falls outside the window.
+     */
+    private static final class Ring {
+        private static final Cell EMPTY = new Cell(-1L);
+
+        private final long bucketMillis;
+        private final AtomicReferenceArray<Cell> cells;
+
+        Ring(int size, long bucketMillis) {
+            this.bucketMillis = bucketMillis;
+            this.cells = new AtomicReferenceArray<>(size);
+            reset();
+        }
+
+        void add(long nowMillis, long amount) {
+            long epoch = nowMillis / bucketMillis;
+            int slot = (int) (epoch % cells.length());
+            Cell cell = cells.get(slot);
+            while (cell.epoch < epoch) {
+                Cell fresh = new Cell(epoch);
+                cell = cells.compareAndSet(slot, cell, fresh) ? fresh : cells.get(slot);
+            }
+            if (cell.epoch != epoch) {
+                // Slot already moved past us (clock skew between threads) - drop the sample
+                return;
+            }
+            cell.count.add(amount);
+        }
+
+        long sum(long nowMillis, long windowMillis) {
+            long newest = nowMillis / bucketMillis;
+            long span = Math.max(1, Math.min(cells.length(), (windowMillis + bucketMillis - 1) / bucketMillis));
+            long oldest = newest - span + 1;
+            long sum = 0;
+            for (int i = 0; i < cells.length(); i++) {
+                Cell cell = cells.get(i);
+                if (cell.epoch >= oldest && cell.epoch <= newest) {
+                    sum += cell.count.sum();
+                }
+            }
+            return sum;
+        }
+
+        void reset() {
+            for (int i = 0; i < cells.length(); i++) {
+                cells.set(i, EMPTY);
+            }
+        }
+    }
+
+    private static final class Cell {
+        private final long epoch;
+        private final LongAdder count = new LongAdder();
+
+        Cell(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sadna_market.market.InfrastructureLayer.Migrations;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Applies the versioned SQL migrations in classpath:db/migration.
+ *
+ * Hibernate (ddl-auto=update) still owns tables and columns; the migrations add what it
+ * cannot express, such as composite, partial and trigram indexes. They therefore have to
+ * run after the schema update, which is why this takes the EntityManagerFactory and
+ * Spring Boot's own Flyway auto-configuration (which runs before JPA) is switched off.
+ */
+@Component
+@Profile({"dev", "prod", "default"})
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    public static final String LOCATION = "classpath:db/migration";
+    public static final String HISTORY_TABLE = "schema_history";
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public SchemaMigrator(DataSource dataSource,
+                          EntityManagerFactory entityManagerFactory, // schema update must finish first
+                          @Value("${market.migrations.enabled:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled) {
+            logger.info("Schema migrations disabled (market.migrations.enabled=false)");
+            return;
+        }
+        MigrateResult result = flyway(dataSource).migrate();
+        logger.info("Schema migrations: {} applied, schema version {} -> {}",
+                result.migrationsExecuted, result.initialSchemaVersion, result.targetSchemaVersion);
+    }
+
+    /**
+     * Flyway configured for this schema. Databases created before migrations existed
+     * are baselined at version 0, so every versioned script still runs against them.
+     */
+    public static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations(LOCATION)
+                .table(HISTORY_TABLE)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+}
@@ -4,6 +4,7 @@ import com.sadna_market.market.InfrastructureLayer.ExternalAPI.*;
 import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,10 @@ public class MockExternalPaymentAPI extends ExternalPaymentAPI {
     private boolean simulateUnavailable = false;
     private boolean simulateFailure = false;
 
+    // Simulated gateway round-trip, so load tests see realistic checkout latency
+    @Value("${mock.external.payment.latency-ms:0}")
+    private long latencyMillis;
+
     @Autowired
     public MockExternalPaymentAPI(ExternalAPIClient apiClient, ExternalAPIConfig config) {
         super(apiClient, config);
@@ -29,8 +34,27 @@ public class MockExternalPaymentAPI extends ExternalPaymentAPI {
         this.simulateFailure = value;
     }
 
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public int sendCreditCardPayment(String cardNumber, String cardHolderName,
+                                     String expiryDate, String cvv, double amount)
+            throws ExternalAPIException {
+        simulateLatency();
+        return super.sendCreditCardPayment(cardNumber, cardHolderName, expiryDate, cvv, amount);
+    }
+
+    @Override
+    public int sendBankPayment(String accountNumber, String bankName, double amount) throws ExternalAPIException {
+        simulateLatency();
+        return super.sendBankPayment(accountNumber, bankName, amount);
+    }
+
     @Override
     public int cancelPayment(int transactionId) throws ExternalAPIException {
+        simulateLatency();
         if (simulateUnavailable) throw new ExternalAPIException("Simulated network unavailability");
         return simulateFailure ? -1 : 1;
     }
@@ -40,6 +64,17 @@ public class MockExternalPaymentAPI extends ExternalPaymentAPI {
         return !simulateUnavailable;
     }
 
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @PostConstruct
     public void confirmMockInjected(){
         System.out.println("MockExternalPaymentAPI is Active");
@@ -1,6 +1,7 @@
 package com.sadna_market.market.InfrastructureLayer.Payment;
 
 import com.sadna_market.market.InfrastructureLayer.ExternalAPI.ExternalAPIException;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +31,7 @@ public class PaymentService {
      * @param amount The payment amount
      * @return PaymentResult containing transaction ID and status
      */
+    @Timed(value = "market.payment.process", histogram = true)
     public PaymentResult processPayment(PaymentMethod method, double amount) {
         if (method == null) {
             logger.error("Payment method cannot be null");
@@ -0,0 +1,55 @@
+package com.sadna_market.market.InfrastructureLayer.RateLimiting;
+
+import java.time.Duration;
+
+/**
+ * A burst of up to capacity requests, earned back at capacity per period.
+ * Written as capacity/period, e.g. 20/10s, 5/s, 100/1m or 1000/h.
+ */
+public record RateLimit(int capacity, Duration period) {
+
+    public RateLimit {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be positive");
+        }
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit period must be positive");
+        }
+    }
+
+    public static RateLimit parse(String text) {
+        String[] parts = text.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rate limit '" + text + "' is not of the form capacity/period");
+        }
+        try {
+            return new RateLimit(Integer.parseInt(parts[0].trim()), parsePeriod(parts[1].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rate limit '" + text + "' is not of the form capacity/period", e);
+        }
+    }
+
+    private static Duration parsePeriod(String text) {
+        if (text.isEmpty()) {
+            throw new NumberFormatException("empty period");
+        }
+        char unit = text.charAt(text.length() - 1);
+        String amount = text.substring(0, text.length() - 1);
+        long count = amount.isEmpty() ? 1 : Long.parseLong(amount);
+        return switch (unit) {
+            case 's' -> Duration.ofSeconds(count);
+            case 'm' -> Duration.ofMinutes(count);
+            case 'h' -> Duration.ofHours(count);
+            default -> throw new NumberFormatException("unknown period unit '" + unit + "'");
+        };
+    }
+
+    long intervalNanos() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+
+    @Override
+    public String toString() {
+        return capacity + "/" + period.getSeconds() + "s";
+    }
+}
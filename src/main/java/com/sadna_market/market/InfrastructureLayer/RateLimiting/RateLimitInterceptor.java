@@ -0,0 +1,79 @@
+package com.sadna_market.market.InfrastructureLayer.RateLimiting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sadna_market.market.ApplicationLayer.Response;
+import com.sadna_market.market.InfrastructureLayer.Authentication.TokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every API request past the {@link RateLimiter} before it reaches a controller.
+ * A rejected request gets 429 with a Retry-After header and a Response.error body, without
+ * its body being read or any service being called, so turning it away is cheap.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private static final String BEARER = "Bearer ";
+
+    private final RateLimiter rateLimiter;
+    private final TokenService tokenService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitInterceptor(RateLimiter rateLimiter, TokenService tokenService, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return true; // CORS preflight
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        long waitNanos = rateLimiter.admit(request.getMethod(), path, key -> clientKey(request, key));
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        logger.debug("Rate limited {} {} from {}, retry in {} s", request.getMethod(), path,
+                request.getRemoteAddr(), retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                Response.error("Too many requests, retry in " + retryAfterSeconds + " s"));
+        return false;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitRule.ClientKey key) {
+        if (key == RateLimitRule.ClientKey.USER) {
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null && !authorization.isBlank()) {
+                String token = authorization.startsWith(BEARER) ? authorization.substring(BEARER.length()) : authorization;
+                try {
+                    return "user:" + tokenService.extractUsername(token);
+                } catch (RuntimeException e) {
+                    // Not a valid token: limit the caller as a guest
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,64 @@
+package com.sadna_market.market.InfrastructureLayer.RateLimiting;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits for one class of endpoints.
+ *
+ * @param name      the route name, used in metrics and bucket keys
+ * @param endpoints the requests it covers, e.g. "POST /api/products/search" or "/api/**" for any method
+ * @param key       what a client is: the logged-in user, or the caller's IP
+ * @param perClient the limit for each client, or null for none
+ * @param endpoint  the limit for all clients together, or null for none
+ */
+public record RateLimitRule(String name, List<Endpoint> endpoints, ClientKey key, RateLimit perClient,
+                            RateLimit endpoint) {
+
+    public enum ClientKey {
+        /** The username of a valid Authorization token; guests fall back to their IP */
+        USER,
+        IP
+    }
+
+    public record Endpoint(String method, PathPattern pattern) {
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pattern.matches(path);
+        }
+    }
+
+    /**
+     * Builds a rule from its property values; endpoints is a comma separated list of
+     * "[METHOD] pattern", the limits are in {@link RateLimit#parse} form and may be blank.
+     */
+    public static RateLimitRule parse(String name, String endpoints, String key, String perClient, String endpoint) {
+        if (endpoints == null || endpoints.isBlank()) {
+            throw new IllegalArgumentException("Rate limit route '" + name + "' matches no endpoints");
+        }
+        List<Endpoint> parsed = new ArrayList<>();
+        for (String entry : endpoints.split(",")) {
+            String[] parts = entry.trim().split("\\s+");
+            String method = parts.length > 1 ? parts[0] : null;
+            parsed.add(new Endpoint(method, PathPatternParser.defaultInstance.parse(parts[parts.length - 1])));
+        }
+        ClientKey clientKey = key == null || key.isBlank() ? ClientKey.USER : ClientKey.valueOf(key.trim().toUpperCase());
+        return new RateLimitRule(name, List.copyOf(parsed), clientKey, limit(perClient), limit(endpoint));
+    }
+
+    private static RateLimit limit(String text) {
+        return text == null || text.isBlank() ? null : RateLimit.parse(text);
+    }
+
+    boolean matches(String method, PathContainer path) {
+        for (Endpoint candidate : endpoints) {
+            if (candidate.matches(method, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
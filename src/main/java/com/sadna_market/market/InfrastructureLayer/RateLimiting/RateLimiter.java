@@ -0,0 +1,163 @@
+package com.sadna_market.market.InfrastructureLayer.RateLimiting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission decisions for API requests, from token buckets per route and client.
+ *
+ * Each request is matched against the configured routes in order and the first match applies:
+ * the client's own bucket is checked first, so a client over its limit is turned away without
+ * spending the shared endpoint bucket that everyone else draws from. Buckets are created on first
+ * use and dropped once full again; beyond max-buckets, new clients of a route share one overflow
+ * bucket, so spraying requests from many addresses cannot grow memory without bound.
+ */
+@Component
+public class RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    public static final String SCOPE_CLIENT = "client";
+    public static final String SCOPE_ENDPOINT = "endpoint";
+
+    private static final int SWEEP_INTERVAL = 1024;
+    private static final String OVERFLOW_CLIENT = "overflow";
+
+    private final List<RateLimitRule> rules;
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger createsSinceSweep = new AtomicInteger();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(Environment environment) {
+        this(rulesFrom(environment),
+                environment.getProperty("market.rate-limit.max-buckets", Integer.class, 100_000),
+                System::nanoTime);
+    }
+
+    public RateLimiter(List<RateLimitRule> rules, int maxBuckets, LongSupplier nanoClock) {
+        this.rules = List.copyOf(rules);
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+        for (RateLimitRule rule : this.rules) {
+            rejections.put(rule.name() + "|" + SCOPE_CLIENT, new LongAdder());
+            rejections.put(rule.name() + "|" + SCOPE_ENDPOINT, new LongAdder());
+        }
+    }
+
+    /**
+     * market.rate-limit.routes lists the route names in match order; each route reads
+     * market.rate-limit.route.NAME.match, .key, .per-client and .endpoint.
+     */
+    private static List<RateLimitRule> rulesFrom(Environment environment) {
+        List<RateLimitRule> rules = new ArrayList<>();
+        if (!environment.getProperty("market.rate-limit.enabled", Boolean.class, true)) {
+            logger.info("Rate limiting disabled");
+            return rules;
+        }
+        for (String name : environment.getProperty("market.rate-limit.routes", "").split(",")) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String prefix = "market.rate-limit.route." + name + ".";
+            RateLimitRule rule = RateLimitRule.parse(name,
+                    environment.getProperty(prefix + "match"),
+                    environment.getProperty(prefix + "key"),
+                    environment.getProperty(prefix + "per-client"),
+                    environment.getProperty(prefix + "endpoint"));
+            logger.info("Rate limit route '{}': per client ({}) {}, endpoint {}", name, rule.key(),
+                    rule.perClient(), rule.endpoint());
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    /**
+     * Takes a token for the request from the buckets of the first matching route.
+     *
+     * @param path   the request path without the context path
+     * @param client resolves the client key for the route's key type; only called when needed
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it could be
+     */
+    public long admit(String method, String path, Function<RateLimitRule.ClientKey, String> client) {
+        if (rules.isEmpty()) {
+            return 0;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (RateLimitRule rule : rules) {
+            if (rule.matches(method, container)) {
+                return admit(rule, client);
+            }
+        }
+        return 0;
+    }
+
+    private long admit(RateLimitRule rule, Function<RateLimitRule.ClientKey, String> client) {
+        long now = nanoClock.getAsLong();
+        if (rule.perClient() != null) {
+            long wait = bucket(rule.name() + "|" + client.apply(rule.key()), rule, rule.perClient(), now)
+                    .tryAcquire(now);
+            if (wait > 0) {
+                rejections.get(rule.name() + "|" + SCOPE_CLIENT).increment();
+                return wait;
+            }
+        }
+        if (rule.endpoint() != null) {
+            long wait = bucket(rule.name(), rule, rule.endpoint(), now).tryAcquire(now);
+            if (wait > 0) {
+                rejections.get(rule.name() + "|" + SCOPE_ENDPOINT).increment();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    private TokenBucket bucket(String key, RateLimitRule rule, RateLimit limit, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Misses, not only creations, count towards the sweep, so a full map is swept again soon
+        if (createsSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            createsSinceSweep.set(0);
+            buckets.values().removeIf(candidate -> candidate.isFull(now));
+        }
+        if (buckets.size() >= maxBuckets) {
+            key = rule.name() + "|" + OVERFLOW_CLIENT;
+        }
+        return buckets.computeIfAbsent(key, ignored -> new TokenBucket(limit));
+    }
+
+    public List<RateLimitRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * @param scope SCOPE_CLIENT or SCOPE_ENDPOINT
+     * @return how many requests of the route were rejected by that limit since startup
+     */
+    public long getRejections(String route, String scope) {
+        LongAdder count = rejections.get(route + "|" + scope);
+        return count == null ? 0 : count.sum();
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+}
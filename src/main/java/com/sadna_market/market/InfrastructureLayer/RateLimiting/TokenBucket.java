@@ -0,0 +1,47 @@
+package com.sadna_market.market.InfrastructureLayer.RateLimiting;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to capacity tokens, refilled at capacity per period.
+ * The whole state is one AtomicLong - the instant at which the bucket will be full again
+ * (the "theoretical arrival time" of the generic cell rate algorithm) - so taking a token
+ * is a single compare-and-set and an idle bucket needs no background refill.
+ */
+public final class TokenBucket {
+    private final long intervalNanos; // time to earn back one token
+    private final long periodNanos;   // time to refill an empty bucket
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(RateLimit limit) {
+        this.intervalNanos = limit.intervalNanos();
+        this.periodNanos = intervalNanos * limit.capacity();
+    }
+
+    /**
+     * Takes one token if there is one.
+     *
+     * @param nowNanos the current time on a monotonic clock
+     * @return 0 if a token was taken, otherwise how long until one will be available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > periodNanos) {
+                return debt - periodNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A full bucket behaves exactly like a new one, so it can be dropped
+     */
+    public boolean isFull(long nowNanos) {
+        return fullAt.get() <= nowNanos;
+    }
+}
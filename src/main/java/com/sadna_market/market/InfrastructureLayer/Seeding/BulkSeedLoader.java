@@ -0,0 +1,385 @@
+package com.sadna_market.market.InfrastructureLayer.Seeding;
+
+import com.sadna_market.market.DomainLayer.Product;
+import com.sadna_market.market.DomainLayer.Store;
+import com.sadna_market.market.DomainLayer.StoreFounder;
+import com.sadna_market.market.DomainLayer.User;
+import com.sadna_market.market.InfrastructureLayer.Authentication.AuthCredential;
+import com.sadna_market.market.InfrastructureLayer.Authentication.PasswordEncryptor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads a large seed dataset (see SeedDataset) straight into the database.
+ *
+ * The regular registration path hashes one password, saves one user and publishes one event
+ * per call. Here each chunk of users has its passwords hashed in parallel on a pool sized to the
+ * cores, while the previous chunk is being written, and every chunk is written in one transaction
+ * with persist() and a flush every JDBC batch, so Hibernate sends the inserts as batches.
+ * Stock rows are inserted with plain JDBC batches (see insertStock).
+ *
+ * Rows that already exist (same username, store name, or product name in the store) are skipped,
+ * so a dataset can be loaded again after a partial run. Stores whose founder and products whose
+ * store is unknown are skipped as well. Seed data is trusted: the service-level validation
+ * (password strength, email format) and the domain events of the regular path are not applied.
+ */
+@Service
+@Profile("!test")
+public class BulkSeedLoader {
+    private static final Logger logger = LoggerFactory.getLogger(BulkSeedLoader.class);
+
+    public record Summary(long usersCreated, long usersSkipped, long storesCreated, long storesSkipped,
+                          long productsCreated, long productsSkipped, long millis) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+    private final int flushEvery;
+    private final int hashingThreads;
+
+    @Autowired
+    public BulkSeedLoader(PlatformTransactionManager transactionManager,
+                          @Value("${system.seed.chunk-size:1000}") int chunkSize,
+                          @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int flushEvery,
+                          @Value("${system.seed.hashing-threads:0}") int hashingThreads) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        // Each chunk commits on its own, also when the load is started inside another transaction
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.flushEvery = flushEvery;
+        this.hashingThreads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Loads the dataset at path.
+     *
+     * @param sharePasswordHashes hash each distinct password once and give every user with that
+     *                            password the same hash. Much faster for generated datasets where
+     *                            many users share a password, but users with equal passwords then
+     *                            have equal hashes, so only use it for demo and staging data.
+     */
+    public Summary load(Path dataset, boolean sharePasswordHashes) throws IOException {
+        logger.info("Bulk seeding from {} (chunks of {}, {} hashing threads)", dataset, chunkSize, hashingThreads);
+        long started = System.nanoTime();
+        try (Run run = new Run(sharePasswordHashes)) {
+            SeedDataset.read(dataset, chunkSize, run);
+            run.finishUsers();
+            Summary summary = run.summary(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            logger.info("Bulk seeding finished in {} ms: users {} created / {} skipped, stores {} / {}, products {} / {}",
+                    summary.millis(), summary.usersCreated(), summary.usersSkipped(), summary.storesCreated(),
+                    summary.storesSkipped(), summary.productsCreated(), summary.productsSkipped());
+            return summary;
+        }
+    }
+
+    /** State of one load */
+    private final class Run implements SeedDataset.Sink, AutoCloseable {
+        private final ExecutorService hashingPool;
+        private final Map<String, String> sharedHashes;
+
+        // A chunk of users whose passwords are being hashed while the chunk before it is written
+        private List<SeedDataset.UserRow> pendingUsers = List.of();
+        private CompletableFuture<String[]> pendingHashes;
+
+        // Store name to id, for the products; filled from the stores created and looked up on a miss
+        private final Map<String, UUID> storeIds = new HashMap<>();
+
+        private long usersCreated, usersSkipped, storesCreated, storesSkipped, productsCreated, productsSkipped;
+
+        private Run(boolean sharePasswordHashes) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.hashingPool = Executors.newFixedThreadPool(hashingThreads, runnable -> {
+                Thread thread = new Thread(runnable, "seed-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.sharedHashes = sharePasswordHashes ? new ConcurrentHashMap<>() : null;
+        }
+
+        @Override
+        public void users(List<SeedDataset.UserRow> chunk) {
+            Set<String> pendingNames = new HashSet<>();
+            for (SeedDataset.UserRow user : pendingUsers) {
+                pendingNames.add(user.username());
+            }
+            List<SeedDataset.UserRow> fresh = transaction.execute(status ->
+                    newRows(chunk, SeedDataset.UserRow::username, existing(
+                            "select u.userName from User u where u.userName in :keys",
+                            chunk.stream().map(SeedDataset.UserRow::username).toList())));
+            fresh.removeIf(user -> pendingNames.contains(user.username()));
+            usersSkipped += chunk.size() - fresh.size();
+
+            CompletableFuture<String[]> hashes = hash(fresh);
+            finishUsers();
+            pendingUsers = fresh;
+            pendingHashes = hashes;
+        }
+
+        /** Writes the chunk of users still being hashed */
+        private void finishUsers() {
+            if (pendingUsers.isEmpty()) {
+                return;
+            }
+            List<SeedDataset.UserRow> users = pendingUsers;
+            String[] hashes = joinHashes(pendingHashes);
+            pendingUsers = List.of();
+            pendingHashes = null;
+
+            transaction.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (int i = 0; i < users.size(); i++) {
+                    SeedDataset.UserRow row = users.get(i);
+                    User user = new User(row.username(), null, row.email(), row.firstName(), row.lastName());
+                    user.setAdmin(row.admin());
+                    entityManager.persist(user);
+
+                    AuthCredential credential = new AuthCredential();
+                    credential.setUsername(row.username());
+                    credential.setEncryptedPassword(hashes[i]);
+                    credential.setCreatedAt(now);
+                    entityManager.persist(credential);
+                    flushEvery(i + 1);
+                }
+            });
+            usersCreated += users.size();
+        }
+
+        @Override
+        public void stores(List<SeedDataset.StoreRow> chunk) {
+            finishUsers(); // founders must be in the database first
+
+            transaction.executeWithoutResult(status -> {
+                List<SeedDataset.StoreRow> fresh = newRows(chunk, SeedDataset.StoreRow::name, existing(
+                        "select s.name from Store s where s.name in :keys",
+                        chunk.stream().map(SeedDataset.StoreRow::name).toList()));
+                Set<String> founders = existing("select u.userName from User u where u.userName in :keys",
+                        fresh.stream().map(SeedDataset.StoreRow::founder).distinct().toList());
+
+                int written = 0;
+                for (SeedDataset.StoreRow row : fresh) {
+                    if (!founders.contains(row.founder())) {
+                        logger.warn("Skipping store '{}': founder '{}' does not exist", row.name(), row.founder());
+                        continue;
+                    }
+                    // Same description as stores created through the store service
+                    String description = String.format("Address: %s, Email: %s, Phone: %s",
+                            row.address(), row.email(), row.phone());
+                    Store store = new Store(row.name(), description);
+                    store.setFounder(new StoreFounder(row.founder(), store.getStoreId(), null));
+                    entityManager.persist(store);
+                    entityManager.persist(new StoreFounder(row.founder(), store.getStoreId(), null));
+                    storeIds.put(row.name(), store.getStoreId());
+                    flushEvery(++written);
+                }
+                storesCreated += written;
+                storesSkipped += chunk.size() - written;
+            });
+        }
+
+        @Override
+        public void products(List<SeedDataset.ProductRow> chunk) {
+            finishUsers();
+
+            transaction.executeWithoutResult(status -> {
+                resolveStoreIds(chunk);
+
+                Set<UUID> stores = new HashSet<>();
+                Set<String> names = new HashSet<>();
+                for (SeedDataset.ProductRow row : chunk) {
+                    UUID storeId = storeIds.get(row.store());
+                    if (storeId != null) {
+                        stores.add(storeId);
+                        names.add(row.name().toLowerCase());
+                    }
+                }
+                // Product names are unique per store, ignoring case (as ProductJpaAdapter.addProduct checks)
+                Set<String> taken = new HashSet<>();
+                if (!stores.isEmpty()) {
+                    List<Object[]> existing = entityManager.createQuery(
+                                    "select p.storeId, lower(p.name) from Product p where p.storeId in :stores "
+                                            + "and lower(p.name) in :names", Object[].class)
+                            .setParameter("stores", stores)
+                            .setParameter("names", names)
+                            .getResultList();
+                    for (Object[] product : existing) {
+                        taken.add(product[0] + "/" + product[1]);
+                    }
+                }
+
+                List<Object[]> stock = new ArrayList<>(chunk.size());
+                for (SeedDataset.ProductRow row : chunk) {
+                    UUID storeId = storeIds.get(row.store());
+                    if (storeId == null) {
+                        logger.warn("Skipping product '{}': store '{}' does not exist", row.name(), row.store());
+                        continue;
+                    }
+                    if (row.quantity() < 0) {
+                        logger.warn("Skipping product '{}': negative quantity {}", row.name(), row.quantity());
+                        continue;
+                    }
+                    if (!taken.add(storeId + "/" + row.name().toLowerCase())) {
+                        continue;
+                    }
+                    Product product = new Product(row.name(), storeId, row.category(), row.description(),
+                            row.price(), true);
+                    entityManager.persist(product);
+                    stock.add(new Object[]{storeId, product.getProductId(), row.quantity()});
+                    flushEvery(stock.size());
+                }
+                entityManager.flush();
+                insertStock(stock);
+                productsCreated += stock.size();
+                productsSkipped += chunk.size() - stock.size();
+            });
+        }
+
+        /**
+         * Adds the products to their stores' stock. Loading a store to add to its stock map would
+         * read its whole stock each time, so the rows are inserted as one JDBC batch instead, and
+         * the stores' versions are bumped so that a store copy read before the load cannot be
+         * saved over the new stock.
+         */
+        private void insertStock(List<Object[]> stock) {
+            if (stock.isEmpty()) {
+                return;
+            }
+            entityManager.unwrap(Session.class).doWork(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "insert into store_product_quantities (store_id, product_id, quantity) values (?, ?, ?)")) {
+                    for (Object[] row : stock) {
+                        insert.setObject(1, row[0]);
+                        insert.setObject(2, row[1]);
+                        insert.setInt(3, (Integer) row[2]);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            });
+            Set<UUID> stores = new HashSet<>();
+            for (Object[] row : stock) {
+                stores.add((UUID) row[0]);
+            }
+            entityManager.createQuery("update Store s set s.version = s.version + 1 where s.storeId in :stores")
+                    .setParameter("stores", stores)
+                    .executeUpdate();
+        }
+
+        private void resolveStoreIds(List<SeedDataset.ProductRow> chunk) {
+            List<String> missing = chunk.stream()
+                    .map(SeedDataset.ProductRow::store)
+                    .filter(name -> !storeIds.containsKey(name))
+                    .distinct()
+                    .toList();
+            if (missing.isEmpty()) {
+                return;
+            }
+            List<Object[]> found = entityManager.createQuery(
+                            "select s.name, s.storeId from Store s where s.name in :names", Object[].class)
+                    .setParameter("names", missing)
+                    .getResultList();
+            for (Object[] store : found) {
+                storeIds.put((String) store[0], (UUID) store[1]);
+            }
+        }
+
+        private CompletableFuture<String[]> hash(List<SeedDataset.UserRow> users) {
+            String[] hashes = new String[users.size()];
+            int slices = Math.min(hashingThreads, users.size());
+            CompletableFuture<?>[] parts = new CompletableFuture<?>[slices];
+            for (int slice = 0; slice < slices; slice++) {
+                int from = slice * users.size() / slices;
+                int to = (slice + 1) * users.size() / slices;
+                parts[slice] = CompletableFuture.runAsync(() -> {
+                    for (int i = from; i < to; i++) {
+                        hashes[i] = hash(users.get(i).password());
+                    }
+                }, hashingPool);
+            }
+            return CompletableFuture.allOf(parts).thenApply(done -> hashes);
+        }
+
+        private String hash(String password) {
+            if (sharedHashes == null) {
+                return PasswordEncryptor.encryptPasswordOnCallingThread(password);
+            }
+            String hash = sharedHashes.get(password);
+            if (hash == null) {
+                // Two threads may both hash a new password; either result is fine
+                hash = PasswordEncryptor.encryptPasswordOnCallingThread(password);
+                String raced = sharedHashes.putIfAbsent(password, hash);
+                if (raced != null) {
+                    hash = raced;
+                }
+            }
+            return hash;
+        }
+
+        private Summary summary(long millis) {
+            return new Summary(usersCreated, usersSkipped, storesCreated, storesSkipped, productsCreated,
+                    productsSkipped, millis);
+        }
+
+        @Override
+        public void close() {
+            hashingPool.shutdownNow();
+        }
+    }
+
+    private static String[] joinHashes(CompletableFuture<String[]> hashes) {
+        try {
+            return hashes.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /** The given keys that already exist, by a query with a :keys collection parameter */
+    private Set<String> existing(String query, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(entityManager.createQuery(query, String.class)
+                .setParameter("keys", keys)
+                .getResultList());
+    }
+
+    /** The rows whose key is not taken, keeping the first of rows that share a key */
+    private static <T> List<T> newRows(List<T> rows, java.util.function.Function<T, String> key, Set<String> taken) {
+        Set<String> seen = new HashSet<>(taken);
+        List<T> fresh = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            if (seen.add(key.apply(row))) {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    private void flushEvery(int written) {
+        if (written % flushEvery == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.sadna_market.market.InfrastructureLayer.Seeding;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming reader for CSV with a header row (RFC 4180: comma separated, fields optionally
+ * quoted with "", a doubled "" inside quotes is a literal quote, quoted fields may span lines).
+ * Rows are read one at a time, so files of any size use constant memory.
+ */
+final class CsvReader implements Closeable {
+    private final Reader reader;
+    private final List<String> header;
+    private long line = 1;
+    private int peeked = -2; // -2: nothing peeked
+
+    CsvReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> names = readRecord();
+        if (names == null) {
+            throw new IOException("CSV has no header row");
+        }
+        this.header = names.stream().map(String::trim).toList();
+    }
+
+    /**
+     * Reads the next row as column name to value, or null at the end of the input.
+     * Blank lines are skipped; a row with more fields than the header is rejected.
+     */
+    Map<String, String> next() throws IOException {
+        while (true) {
+            long rowLine = line;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() > header.size()) {
+                throw new IOException("Line " + rowLine + " has " + fields.size() + " fields but the header has "
+                        + header.size());
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(header.get(i), fields.get(i));
+            }
+            return row;
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field at line " + line);
+                }
+                if (c == '"') {
+                    int after = read();
+                    if (after == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = after;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                int after = read();
+                if (after != '\n') {
+                    unread(after);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (peeked != -2) {
+            c = peeked;
+            peeked = -2;
+        } else {
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            line--;
+        }
+        peeked = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
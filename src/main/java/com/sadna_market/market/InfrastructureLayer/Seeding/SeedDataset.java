@@ -0,0 +1,189 @@
+package com.sadna_market.market.InfrastructureLayer.Seeding;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A seed dataset of users, stores and products (with their stock), read as a stream of chunks.
+ *
+ * Two layouts are accepted:
+ * - a directory with users.csv, stores.csv and products.csv (each optional), read in that order;
+ * - a YAML file of one or more documents (separated by ---), each a mapping with optional
+ *   users, stores and products lists, read document by document and in that order within one.
+ * CSV files are streamed row by row. A YAML document is loaded whole, so large YAML datasets
+ * should be split into many documents.
+ *
+ * Columns / keys:
+ * - users: username, password, email, firstName, lastName, admin (optional, default false)
+ * - stores: name, founder, address, email, phone
+ * - products: store (name), name, category, description, price, quantity
+ */
+public final class SeedDataset {
+
+    public record UserRow(String username, String password, String email, String firstName, String lastName,
+                          boolean admin) {
+        static UserRow of(Map<String, ?> row) {
+            return new UserRow(required(row, "username"), requiredUntrimmed(row, "password"), required(row, "email"),
+                    required(row, "firstName"), required(row, "lastName"),
+                    Boolean.parseBoolean(optional(row, "admin", "false")));
+        }
+    }
+
+    public record StoreRow(String name, String founder, String address, String email, String phone) {
+        static StoreRow of(Map<String, ?> row) {
+            return new StoreRow(required(row, "name"), required(row, "founder"), optional(row, "address", ""),
+                    optional(row, "email", ""), optional(row, "phone", ""));
+        }
+    }
+
+    public record ProductRow(String store, String name, String category, String description, double price,
+                             int quantity) {
+        static ProductRow of(Map<String, ?> row) {
+            return new ProductRow(required(row, "store"), required(row, "name"), optional(row, "category", ""),
+                    optional(row, "description", ""), Double.parseDouble(required(row, "price")),
+                    Integer.parseInt(required(row, "quantity")));
+        }
+    }
+
+    /** Receives the dataset in chunks; all users of a CSV dataset come before its stores, and so on */
+    public interface Sink {
+        void users(List<UserRow> chunk);
+
+        void stores(List<StoreRow> chunk);
+
+        void products(List<ProductRow> chunk);
+    }
+
+    private SeedDataset() {
+    }
+
+    /**
+     * Reads the dataset at path into sink in chunks of up to chunkSize rows.
+     *
+     * @throws IllegalArgumentException for a row with a missing or malformed field
+     */
+    public static void read(Path path, int chunkSize, Sink sink) throws IOException {
+        if (Files.isDirectory(path)) {
+            readCsv(path.resolve("users.csv"), chunkSize, UserRow::of, sink::users);
+            readCsv(path.resolve("stores.csv"), chunkSize, StoreRow::of, sink::stores);
+            readCsv(path.resolve("products.csv"), chunkSize, ProductRow::of, sink::products);
+        } else {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                readYaml(reader, chunkSize, sink);
+            }
+        }
+    }
+
+    private static void readYaml(Reader reader, int chunkSize, Sink sink) {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        int document = 0;
+        for (Object loaded : new Yaml(options).loadAll(reader)) {
+            document++;
+            if (loaded == null) {
+                continue;
+            }
+            if (!(loaded instanceof Map<?, ?> sections)) {
+                throw new IllegalArgumentException("YAML document " + document + " is not a mapping");
+            }
+            emit(rows(sections, "users", document), chunkSize, UserRow::of, sink::users);
+            emit(rows(sections, "stores", document), chunkSize, StoreRow::of, sink::stores);
+            emit(rows(sections, "products", document), chunkSize, ProductRow::of, sink::products);
+        }
+    }
+
+    private static <T> void readCsv(Reader reader, String name, int chunkSize, Function<Map<String, ?>, T> parser,
+                                    Consumer<List<T>> consumer) throws IOException {
+        try (CsvReader csv = new CsvReader(reader)) {
+            List<T> chunk = new ArrayList<>(chunkSize);
+            long rowNumber = 0;
+            Map<String, String> row;
+            while ((row = csv.next()) != null) {
+                rowNumber++;
+                chunk.add(parse(parser, row, name + " row " + rowNumber));
+                if (chunk.size() == chunkSize) {
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                consumer.accept(chunk);
+            }
+        }
+    }
+
+    private static <T> void readCsv(Path file, int chunkSize, Function<Map<String, ?>, T> parser,
+                                    Consumer<List<T>> consumer) throws IOException {
+        if (Files.exists(file)) {
+            readCsv(Files.newBufferedReader(file, StandardCharsets.UTF_8), file.getFileName().toString(),
+                    chunkSize, parser, consumer);
+        }
+    }
+
+    private static <T> void emit(List<?> rows, int chunkSize, Function<Map<String, ?>, T> parser,
+                                 Consumer<List<T>> consumer) {
+        List<T> chunk = new ArrayList<>(Math.min(chunkSize, rows.size()));
+        for (int i = 0; i < rows.size(); i++) {
+            if (!(rows.get(i) instanceof Map<?, ?> row)) {
+                throw new IllegalArgumentException("Entry " + (i + 1) + " is not a mapping");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, ?> typed = (Map<String, ?>) row;
+            chunk.add(parse(parser, typed, "entry " + (i + 1)));
+            if (chunk.size() == chunkSize) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+    }
+
+    private static List<?> rows(Map<?, ?> sections, String section, int document) {
+        Object rows = sections.get(section);
+        if (rows == null) {
+            return List.of();
+        }
+        if (!(rows instanceof List<?> list)) {
+            throw new IllegalArgumentException(section + " in YAML document " + document + " is not a list");
+        }
+        return list;
+    }
+
+    private static <T> T parse(Function<Map<String, ?>, T> parser, Map<String, ?> row, String where) {
+        try {
+            return parser.apply(row);
+        } catch (IllegalArgumentException e) { // includes NumberFormatException
+            throw new IllegalArgumentException("Bad seed data in " + where + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String required(Map<String, ?> row, String key) {
+        return requiredUntrimmed(row, key).trim();
+    }
+
+    private static String requiredUntrimmed(Map<String, ?> row, String key) {
+        Object value = row.get(key);
+        if (value == null || value.toString().isBlank()) {
+            throw new IllegalArgumentException("missing " + key);
+        }
+        return value.toString();
+    }
+
+    private static String optional(Map<String, ?> row, String key, String defaultValue) {
+        Object value = row.get(key);
+        return value == null || value.toString().isBlank() ? defaultValue : value.toString().trim();
+    }
+}
@@ -165,14 +165,15 @@ public class StateBasedSystemInitializer implements CommandLineRunner {
 
             switch (componentResult.getStatus()) {
                 case COMPLETED:
-                    logger.info("✓ {}: {}", componentId, status);
+                    logger.info("✓ {}: {} ({} ms)", componentId, status, componentResult.getDurationMillis());
                     logComponentDetails(componentResult);
                     break;
                 case SKIPPED:
                     logger.info("⏭ {}: {} (already completed or disabled)", componentId, status);
                     break;
                 case FAILED:
-                    logger.error("❌ {}: {} - {}", componentId, status, componentResult.getErrorMessage());
+                    logger.error("❌ {}: {} - {} ({} ms)", componentId, status, componentResult.getErrorMessage(),
+                            componentResult.getDurationMillis());
                     break;
                 default:
                     logger.info("ℹ {}: {}", componentId, status);
@@ -194,6 +195,7 @@ public class StateBasedSystemInitializer implements CommandLineRunner {
         logger.info("Components completed: {}", completed);
         logger.info("Components failed: {}", failed);
         logger.info("Components skipped: {}", skipped);
+        logger.info("Total time: {} ms", result.getDurationMillis());
 
         if (result.getOverallStatus() == SystemStateManager.ComponentStatus.COMPLETED) {
             logger.info("🎉 System initialization completed successfully!");
@@ -1,6 +1,7 @@
 package com.sadna_market.market.InfrastructureLayer.Supply;
 
 import com.sadna_market.market.InfrastructureLayer.ExternalAPI.ExternalAPIException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
@@ -8,30 +9,42 @@ import org.springframework.stereotype.Service;
 @Service
 public class MockExternalSupplyAPI extends ExternalSupplyAPI {
 
+    // Simulated carrier round-trip, so load tests see realistic checkout latency
+    @Value("${mock.external.supply.latency-ms:0}")
+    private long latencyMillis;
+
     public MockExternalSupplyAPI() {
         super(null, null); // We override all behavior, so we don't need real dependencies
     }
 
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
     @Override
     public int sendStandardShippingRequest(String carrier, ShipmentDetails details, double weight, int estimatedDays)
             throws ExternalAPIException {
+        simulateLatency();
         return 12345; // Always return a successful mock transaction ID
     }
 
     @Override
     public int sendExpressShippingRequest(String carrier, ShipmentDetails details, double weight, int priorityLevel)
             throws ExternalAPIException {
+        simulateLatency();
         return 67890;
     }
 
     @Override
     public int registerPickupRequest(String location, String pickupCode, ShipmentDetails details, double weight)
             throws ExternalAPIException {
+        simulateLatency();
         return 11111;
     }
 
     @Override
     public int cancelSupply(int transactionId) throws ExternalAPIException {
+        simulateLatency();
         return 1; // success
     }
 
@@ -39,4 +52,15 @@ public class MockExternalSupplyAPI extends ExternalSupplyAPI {
     public boolean testConnection() {
         return true;
     }
+
+    private void simulateLatency() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
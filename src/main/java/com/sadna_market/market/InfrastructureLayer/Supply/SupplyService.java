@@ -1,6 +1,7 @@
 package com.sadna_market.market.InfrastructureLayer.Supply;
 
 import com.sadna_market.market.InfrastructureLayer.ExternalAPI.ExternalAPIException;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,7 @@ public class SupplyService {
      * @param weight The package weight
      * @return SupplyResult containing transaction ID and status
      */
+    @Timed(value = "market.supply.process", histogram = true)
     public SupplyResult processShipment(SupplyMethod method, ShipmentDetails shipmentDetails, double weight) {
         if (method == null) {
             logger.error("Supply method cannot be null");
@@ -0,0 +1,35 @@
+package com.sadna_market.market.InfrastructureLayer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Opt-in virtual-thread execution mode, switched by spring.threads.virtual.enabled.
+ * When enabled, Spring Boot already runs Tomcat request handling on virtual threads;
+ * this config adds the executor used to fan out blocking work (per-order supply calls
+ * during checkout, notification event listeners) onto virtual threads as well.
+ * When disabled, that work keeps running inline on the calling thread as before.
+ */
+@Configuration
+public class VirtualThreadConfig {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    public static final String BLOCKING_TASK_EXECUTOR = "blockingTaskExecutor";
+
+    @Bean(name = BLOCKING_TASK_EXECUTOR)
+    public TaskExecutor blockingTaskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (!virtualThreads) {
+            return new SyncTaskExecutor();
+        }
+        logger.info("Virtual-thread mode enabled for blocking tasks");
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("blocking-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
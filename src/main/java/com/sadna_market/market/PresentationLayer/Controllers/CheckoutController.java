@@ -104,7 +104,8 @@ public class CheckoutController {
                         .body(Response.error("Checkout request cannot be empty"));
             }
 
-            if (request.getCartItems() == null || request.getCartItems().isEmpty()) {
+            if ((request.getCartItems() == null || request.getCartItems().isEmpty())
+                    && request.getCartToken() == null) {
                 logger.error("Guest cart is empty");
                 return ResponseEntity.badRequest()
                         .body(Response.error("Cart cannot be empty"));
@@ -6,6 +6,7 @@ import com.sadna_market.market.ApplicationLayer.Response;
 import com.sadna_market.market.ApplicationLayer.MessageApplicationService;
 import com.sadna_market.market.DomainLayer.DomainServices.StoreManagementService;
 import com.sadna_market.market.DomainLayer.Message;
+import com.sadna_market.market.DomainLayer.MessageFilter;
 import com.sadna_market.market.DomainLayer.Permission;
 import com.sadna_market.market.DomainLayer.Store;
 import com.sadna_market.market.ApplicationLayer.StoreService;
@@ -300,6 +301,83 @@ public ResponseEntity<Response<String>> updateOwnerPermissions(
         return ResponseEntity.ok(response);
     }
 
+    // ───────────── Store Policies ─────────────
+
+    @GetMapping("/{storeId}/policies")
+    public ResponseEntity<Response<List<PolicyDTO>>> getStorePolicies(@PathVariable UUID storeId) {
+        logger.info("Getting policies for store: {}", storeId);
+        Response<List<PolicyDTO>> response = storeService.getStorePolicies(storeId);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{storeId}/policies/discounts")
+    public ResponseEntity<Response<UUID>> addDiscountPolicy(
+            @PathVariable UUID storeId,
+            @RequestBody DiscountPolicyRequest request,
+            @RequestHeader("Authorization") String token,
+            @RequestParam String username) {
+
+        logger.info("Adding discount policy to store: {} by user: {}", storeId, username);
+        Response<UUID> response = storeService.addDiscountPolicy(username, token, storeId, request);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{storeId}/policies/product-discounts")
+    public ResponseEntity<Response<UUID>> addProductDiscountPolicy(
+            @PathVariable UUID storeId,
+            @RequestBody ProductDiscountPolicyRequest request,
+            @RequestHeader("Authorization") String token,
+            @RequestParam String username) {
+
+        logger.info("Adding product discount policy to store: {} by user: {}", storeId, username);
+        Response<UUID> response = storeService.addProductDiscountPolicy(username, token, storeId, request);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{storeId}/policies/purchase")
+    public ResponseEntity<Response<UUID>> addPurchasePolicy(
+            @PathVariable UUID storeId,
+            @RequestBody ProductPurchasePolicyRequest request,
+            @RequestHeader("Authorization") String token,
+            @RequestParam String username) {
+
+        logger.info("Adding purchase policy to store: {} by user: {}", storeId, username);
+        Response<UUID> response = storeService.addPurchasePolicy(username, token, storeId, request);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{storeId}/policies/{policyId}")
+    public ResponseEntity<Response<String>> removePolicy(
+            @PathVariable UUID storeId,
+            @PathVariable UUID policyId,
+            @RequestHeader("Authorization") String token,
+            @RequestParam String username) {
+
+        logger.info("Removing policy: {} from store: {} by user: {}", policyId, storeId, username);
+        Response<String> response = storeService.removePolicy(username, token, storeId, policyId);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     // ───────────── Store Messages ─────────────
 
     @GetMapping("/{storeId}/messages")
@@ -317,6 +395,39 @@ public ResponseEntity<Response<String>> updateOwnerPermissions(
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{storeId}/messages/page")
+    public ResponseEntity<Response<MessagePageDTO>> getStoreMessagesPage(
+            @PathVariable UUID storeId,
+            @RequestHeader("Authorization") String token,
+            @RequestParam String username,
+            @RequestParam(defaultValue = "ALL") MessageFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        logger.info("Getting {} messages for store: {} page {} by user: {}", filter, storeId, page, username);
+        Response<MessagePageDTO> response = messageService.getStoreMessagesPage(username, token, storeId, filter, page, size);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{storeId}/messages/unread-count")
+    public ResponseEntity<Response<Integer>> getUnreadStoreMessageCount(
+            @PathVariable UUID storeId,
+            @RequestHeader("Authorization") String token,
+            @RequestParam String username) {
+
+        logger.info("Counting unread messages for store: {} by user: {}", storeId, username);
+        Response<Integer> response = messageService.getUnreadStoreMessageCount(username, token, storeId);
+
+        if (response.isError()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     // ───────────── Store Orders ─────────────
 
     @GetMapping("/{storeId}/orders")
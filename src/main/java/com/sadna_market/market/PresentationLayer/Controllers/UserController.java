@@ -1,6 +1,7 @@
 package com.sadna_market.market.PresentationLayer.Controllers;
 
 import com.sadna_market.market.ApplicationLayer.DTOs.CartDTO;
+import com.sadna_market.market.ApplicationLayer.DTOs.CartUpdateDTO;
 import com.sadna_market.market.ApplicationLayer.DTOs.StoreDTO;
 import com.sadna_market.market.ApplicationLayer.DTOs.UserDTO;
 import com.sadna_market.market.ApplicationLayer.Requests.*;
@@ -8,8 +9,10 @@ import com.sadna_market.market.ApplicationLayer.Response;
 import com.sadna_market.market.ApplicationLayer.UserService;
 import com.sadna_market.market.DomainLayer.IUserRepository;
 import com.sadna_market.market.DomainLayer.Report;
+import com.sadna_market.market.InfrastructureLayer.Authentication.HashingOverloadedException;
 import com.sadna_market.market.InfrastructureLayer.Payment.PaymentMethod;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -37,6 +40,17 @@ public class UserController {
         this.userService = userService;
     }
 
+    /**
+     * Logins turned away because password hashing is saturated: 503 with a Retry-After hint,
+     * so clients back off instead of treating it as a wrong password
+     */
+    @ExceptionHandler(HashingOverloadedException.class)
+    public ResponseEntity<Response<String>> hashingOverloaded(HashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(Response.error(e.getMessage()));
+    }
+
     //---------------------------
     // Authentication Endpoints
     //---------------------------
@@ -84,6 +98,22 @@ public class UserController {
                 : ResponseEntity.ok(response);
     }
 
+    /**
+     * Login a user and merge a server-side guest cart into the user cart
+     */
+    @PostMapping("/login-guest-cart")
+    public ResponseEntity<Response<String>> loginUserWithGuestCart(
+            @RequestParam String username,
+            @RequestParam String password,
+            @RequestParam String cartToken) {
+
+        Response<String> response = userService.loginUserWithGuestCart(username, password, cartToken);
+
+        return response.isError()
+                ? ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response)
+                : ResponseEntity.ok(response);
+    }
+
     /**
      * Logout a user
      */
@@ -165,6 +195,84 @@ public class UserController {
                 : ResponseEntity.ok(response);
     }
 
+    //---------------------------
+    // Server-side Guest Cart Endpoints (cart kept on the server, client holds only the token)
+    //---------------------------
+
+    /**
+     * Open a guest cart and get its token
+     */
+    @PostMapping("/guest/carts")
+    public ResponseEntity<Response<String>> createGuestCart() {
+        Response<String> response = userService.createGuestCart();
+
+        return response.isError()
+                ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
+                : ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * View a server-side guest cart
+     */
+    @GetMapping("/guest/carts/{cartToken}")
+    public ResponseEntity<Response<CartRequest>> viewServerGuestCart(@PathVariable String cartToken) {
+        Response<CartRequest> response = userService.viewGuestCart(cartToken);
+
+        return response.isError()
+                ? ResponseEntity.status(HttpStatus.NOT_FOUND).body(response)
+                : ResponseEntity.ok(response);
+    }
+
+    /**
+     * Add product to a server-side guest cart
+     */
+    @PostMapping("/guest/carts/{cartToken}/items")
+    public ResponseEntity<Response<CartRequest>> addToServerGuestCart(
+            @PathVariable String cartToken,
+            @RequestParam UUID storeId,
+            @RequestParam UUID productId,
+            @RequestParam int quantity) {
+
+        Response<CartRequest> response = userService.addToGuestCart(cartToken, storeId, productId, quantity);
+
+        return response.isError()
+                ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
+                : ResponseEntity.ok(response);
+    }
+
+    /**
+     * Update product quantity in a server-side guest cart
+     */
+    @PutMapping("/guest/carts/{cartToken}/items")
+    public ResponseEntity<Response<CartRequest>> updateServerGuestCart(
+            @PathVariable String cartToken,
+            @RequestParam UUID storeId,
+            @RequestParam UUID productId,
+            @RequestParam int quantity) {
+
+        Response<CartRequest> response = userService.updateGuestCart(cartToken, storeId, productId, quantity);
+
+        return response.isError()
+                ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
+                : ResponseEntity.ok(response);
+    }
+
+    /**
+     * Remove product from a server-side guest cart
+     */
+    @DeleteMapping("/guest/carts/{cartToken}/items")
+    public ResponseEntity<Response<CartRequest>> removeFromServerGuestCart(
+            @PathVariable String cartToken,
+            @RequestParam UUID storeId,
+            @RequestParam UUID productId) {
+
+        Response<CartRequest> response = userService.removeFromGuestCart(cartToken, storeId, productId);
+
+        return response.isError()
+                ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
+                : ResponseEntity.ok(response);
+    }
+
     //---------------------------
     // Registered User Cart Endpoints
     //---------------------------
@@ -173,14 +281,14 @@ public class UserController {
      * Add product to user cart
      */
     @PostMapping("/{username}/cart")
-    public ResponseEntity<Response<String>> addToUserCart(
+    public ResponseEntity<Response<CartUpdateDTO>> addToUserCart(
             @PathVariable String username,
             @RequestHeader("Authorization") String token,
             @RequestParam UUID storeId,
             @RequestParam UUID productId,
             @RequestParam int quantity) {
 
-        Response<String> response = userService.addToCart(username, token, storeId, productId, quantity);
+        Response<CartUpdateDTO> response = userService.addToCart(username, token, storeId, productId, quantity);
 
         return response.isError()
                 ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
@@ -203,17 +311,17 @@ public class UserController {
     }
 
     /**
-     * Update user cart item quantity
+     * Update user cart item quantity; returns only the changed line
      */
     @PutMapping("/{username}/cart")
-    public ResponseEntity<Response<CartDTO>> updateUserCart(
+    public ResponseEntity<Response<CartUpdateDTO>> updateUserCart(
             @PathVariable String username,
             @RequestHeader("Authorization") String token,
             @RequestParam UUID storeId,
             @RequestParam UUID productId,
             @RequestParam int quantity) {
 
-        Response<CartDTO> response = userService.updateCart(username, token, storeId, productId, quantity);
+        Response<CartUpdateDTO> response = userService.updateCart(username, token, storeId, productId, quantity);
 
         return response.isError()
                 ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
@@ -224,13 +332,13 @@ public class UserController {
      * Remove item from user cart
      */
     @DeleteMapping("/{username}/cart")
-    public ResponseEntity<Response<CartDTO>> removeFromUserCart(
+    public ResponseEntity<Response<CartUpdateDTO>> removeFromUserCart(
             @PathVariable String username,
             @RequestHeader("Authorization") String token,
             @RequestParam UUID storeId,
             @RequestParam UUID productId) {
 
-        Response<CartDTO> response = userService.removeFromCart(username, token, storeId, productId);
+        Response<CartUpdateDTO> response = userService.removeFromCart(username, token, storeId, productId);
 
         return response.isError()
                 ? ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response)
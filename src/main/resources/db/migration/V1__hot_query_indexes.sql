@@ -0,0 +1,86 @@
+-- ===================================================================
+-- Indexes for the hot filters of the *JpaRepository queries (PostgreSQL)
+-- ===================================================================
+-- Tables and columns are created by Hibernate (ddl-auto=update) before this runs;
+-- migrations own everything ddl-auto cannot express: composite, partial,
+-- expression and trigram indexes. IF NOT EXISTS keeps each statement safe to
+-- re-run against a database that was indexed by hand.
+
+-- ---------- orders ----------
+-- findByStoreId / findByStoreIdOrderByOrderDateDesc
+CREATE INDEX IF NOT EXISTS idx_orders_store_date ON orders (store_id, order_date DESC);
+-- findByUserName / findByUserNameOrderByOrderDateDesc / findByUserNameAndStatus
+CREATE INDEX IF NOT EXISTS idx_orders_user_date ON orders (user_name, order_date DESC);
+-- findByStatus
+CREATE INDEX IF NOT EXISTS idx_orders_status_date ON orders (status, order_date DESC);
+-- findByOrderDateBetween
+CREATE INDEX IF NOT EXISTS idx_orders_order_date ON orders (order_date);
+-- hasUserPurchasedProduct: only completed orders count as purchases
+CREATE INDEX IF NOT EXISTS idx_orders_user_completed ON orders (user_name) WHERE status = 'COMPLETED';
+-- findOrdersContainingProduct / hasUserPurchasedProduct (the primary key leads with order_id)
+CREATE INDEX IF NOT EXISTS idx_order_products_product ON order_products (product_id, order_id);
+
+-- ---------- products ----------
+-- findByStoreId / findByStoreWithCriteria (category and price narrow within the store)
+CREATE INDEX IF NOT EXISTS idx_products_store_category_price ON products (store_id, category, price);
+-- findByCategory and the catalog-wide search by category
+CREATE INDEX IF NOT EXISTS idx_products_category_price ON products (category, price);
+-- findByPriceBetween
+CREATE INDEX IF NOT EXISTS idx_products_price ON products (price);
+-- findByRateRange / findTopRatedByStore / findTopTenRatedProducts (same expression as the queries)
+CREATE INDEX IF NOT EXISTS idx_products_rate ON products ((rating_sum / rating_count)) WHERE rating_count > 0;
+
+-- Name searches are LOWER(name) LIKE '%term%', which a b-tree cannot serve
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_products_name_trgm ON products USING gin (lower(name) gin_trgm_ops);
+
+-- ---------- stores ----------
+CREATE INDEX IF NOT EXISTS idx_stores_name_trgm ON stores USING gin (lower(name) gin_trgm_ops);
+-- findTopRatedActiveStores / findByActiveOrderByRatingDesc
+CREATE INDEX IF NOT EXISTS idx_stores_active_rating ON stores (rating DESC) WHERE active;
+-- Reverse lookups on the store collections, which are otherwise only reached by store_id
+CREATE INDEX IF NOT EXISTS idx_store_owners_username ON store_owners (username);
+CREATE INDEX IF NOT EXISTS idx_store_managers_username ON store_managers (username);
+CREATE INDEX IF NOT EXISTS idx_store_product_quantities_product ON store_product_quantities (product_id);
+CREATE INDEX IF NOT EXISTS idx_store_orders_order ON store_orders (order_id);
+
+-- ---------- notifications ----------
+-- findByRecipientUsernameOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created ON notifications (recipient_username, created_at DESC);
+-- unread list, unread count and mark-all-read touch only unread rows
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_unread
+    ON notifications (recipient_username, created_at DESC) WHERE is_read = false;
+
+-- ---------- messages ----------
+-- findByStoreId / findByStoreIdOrderByTimestampDesc
+CREATE INDEX IF NOT EXISTS idx_messages_store_time ON messages (store_id, "timestamp" DESC);
+-- findByStoreIdAndIsReadFalse / countByStoreIdAndIsReadFalse / markAllStoreMessagesAsRead
+CREATE INDEX IF NOT EXISTS idx_messages_store_unread ON messages (store_id) WHERE is_read = false;
+-- findBySenderUsername / findBySenderUsernameOrderByTimestampDesc / findBySenderUsernameAndStoreId
+CREATE INDEX IF NOT EXISTS idx_messages_sender_time ON messages (sender_username, store_id, "timestamp" DESC);
+
+-- ---------- ratings and reviews ----------
+-- findByProductId / countByProductId / average, and (product, user) lookups
+CREATE INDEX IF NOT EXISTS idx_product_ratings_product_user ON product_ratings (product_id, username);
+CREATE INDEX IF NOT EXISTS idx_product_ratings_user ON product_ratings (username);
+CREATE INDEX IF NOT EXISTS idx_store_ratings_store_user ON store_ratings (store_id, username);
+CREATE INDEX IF NOT EXISTS idx_store_ratings_user ON store_ratings (username);
+CREATE INDEX IF NOT EXISTS idx_product_reviews_product_time ON product_reviews (product_id, "timestamp" DESC);
+CREATE INDEX IF NOT EXISTS idx_product_reviews_user_product ON product_reviews (username, product_id);
+CREATE INDEX IF NOT EXISTS idx_product_reviews_store ON product_reviews (store_id);
+
+-- ---------- reports ----------
+CREATE INDEX IF NOT EXISTS idx_reports_store_product ON reports (store_id, product_id);
+CREATE INDEX IF NOT EXISTS idx_reports_product ON reports (product_id);
+CREATE INDEX IF NOT EXISTS idx_reports_user_created ON reports (username, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_reports_created ON reports (created_at DESC);
+
+-- ---------- users, roles and addresses ----------
+-- findByUsernameAndStoreId / findByUsername / hasRole
+CREATE INDEX IF NOT EXISTS idx_user_store_roles_user_store ON user_store_roles (username, store_id);
+-- findByStoreId / findOwnersByStoreId / findManagersByStoreId / findFounderByStoreId
+CREATE INDEX IF NOT EXISTS idx_user_store_roles_store_type ON user_store_roles (store_id, role_type);
+-- findByIsAdmin / countByIsAdmin
+CREATE INDEX IF NOT EXISTS idx_users_admin ON users (username) WHERE is_admin;
+-- findByUsername / findByUsernameAndIsDefaultTrue
+CREATE INDEX IF NOT EXISTS idx_addresses_username ON addresses (username, is_default);
@@ -0,0 +1,14 @@
+-- ===================================================================
+-- Paged store inboxes (MessageJpaAdapter.findStorePage)
+-- ===================================================================
+-- Pages are ordered by timestamp, then message_id; with both in the index a page
+-- is read straight off it instead of sorting the store's whole history.
+CREATE INDEX IF NOT EXISTS idx_messages_store_time_id ON messages (store_id, "timestamp" DESC, message_id DESC);
+-- ...and it serves everything the narrower V1 index did
+DROP INDEX IF EXISTS idx_messages_store_time;
+-- findByStoreIdAndIsReadFalse(storeId, pageable)
+CREATE INDEX IF NOT EXISTS idx_messages_store_unread_time
+    ON messages (store_id, "timestamp" DESC, message_id DESC) WHERE is_read = false;
+-- findUnansweredMessagesByStore(storeId, pageable)
+CREATE INDEX IF NOT EXISTS idx_messages_store_unanswered_time
+    ON messages (store_id, "timestamp" DESC, message_id DESC) WHERE reply IS NULL OR reply = '';
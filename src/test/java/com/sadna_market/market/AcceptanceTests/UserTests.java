@@ -194,7 +194,7 @@ public class UserTests {
         //@DisplayName("Valid product addition to user cart")
     void validProductAdditionToCartTest() {
         // Add product to cart with valid quantity
-        Response<String> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
 
         // Verify response
         Assertions.assertNotNull(response, "Response should not be null");
@@ -211,7 +211,7 @@ public class UserTests {
     void negativeQuantityProductAdditionTest() {
         // Try to add product with negative quantity
         int negativeQuantity = -1;
-        Response<String> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, negativeQuantity);
+        Response<CartUpdateDTO> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, negativeQuantity);
 
         // Verify response indicates an error
         Assertions.assertNotNull(response, "Response should not be null");
@@ -224,7 +224,7 @@ public class UserTests {
     void excessiveQuantityProductAdditionTest() {
         // Try to add more products than available in inventory
         int excessiveQuantity = STORE_PRODUCT_QUANTITY + 5; // 5 more than available
-        Response<String> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, excessiveQuantity);
+        Response<CartUpdateDTO> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, excessiveQuantity);
 
         // Verify response indicates an error
         Assertions.assertNotNull(response, "Response should not be null");
@@ -240,7 +240,7 @@ public class UserTests {
         Assertions.assertFalse(logoutResponse.isError(), "Logout should succeed");
 
         // Try to add product after logout
-        Response<String> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> response = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
 
         // Verify response indicates an error
         Assertions.assertNotNull(response, "Response should not be null");
@@ -254,12 +254,12 @@ public class UserTests {
         //@DisplayName("Valid update of product quantity in user cart")
     void validCartUpdateTest() {
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Update the quantity
         int newQuantity = 4; // Different from initial quantity
-        Response<CartDTO> updateResponse = bridge.updateUserCart(testUsername, testToken, storeId, productId, newQuantity);
+        Response<CartUpdateDTO> updateResponse = bridge.updateUserCart(testUsername, testToken, storeId, productId, newQuantity);
 
         // Verify response
         Assertions.assertNotNull(updateResponse, "Response should not be null");
@@ -271,12 +271,12 @@ public class UserTests {
         //@DisplayName("Invalid update of product quantity in user cart - negative quantity")
     void negativeQuantityCartUpdateTest() {
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Try to update with negative quantity
         int negativeQuantity = -3;
-        Response<CartDTO> updateResponse = bridge.updateUserCart(testUsername, testToken, storeId, productId, negativeQuantity);
+        Response<CartUpdateDTO> updateResponse = bridge.updateUserCart(testUsername, testToken, storeId, productId, negativeQuantity);
 
         // Verify response indicates an error
         Assertions.assertNotNull(updateResponse, "Response should not be null");
@@ -291,7 +291,7 @@ public class UserTests {
         UUID nonExistentProductId = UUID.randomUUID();
 
         // Try to update a product that isn't in the cart
-        Response<CartDTO> updateResponse = bridge.updateUserCart(testUsername, testToken, storeId, nonExistentProductId, 5);
+        Response<CartUpdateDTO> updateResponse = bridge.updateUserCart(testUsername, testToken, storeId, nonExistentProductId, 5);
 
         // Verify response indicates an error
         Assertions.assertNotNull(updateResponse, "Response should not be null");
@@ -305,11 +305,11 @@ public class UserTests {
         //@DisplayName("Valid removal of product from user cart")
     void validProductRemovalTest() {
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Remove the product
-        Response<CartDTO> removeResponse = bridge.removeProductFromUserCart(testUsername, testToken, storeId, productId);
+        Response<CartUpdateDTO> removeResponse = bridge.removeProductFromUserCart(testUsername, testToken, storeId, productId);
 
         // Verify response
         Assertions.assertNotNull(removeResponse, "Response should not be null");
@@ -324,7 +324,7 @@ public class UserTests {
         UUID nonExistentProductId = UUID.randomUUID();
 
         // Try to remove a product that isn't in the cart
-        Response<CartDTO> removeResponse = bridge.removeProductFromUserCart(testUsername, testToken, storeId, nonExistentProductId);
+        Response<CartUpdateDTO> removeResponse = bridge.removeProductFromUserCart(testUsername, testToken, storeId, nonExistentProductId);
 
         // Verify response indicates an error
         Assertions.assertNotNull(removeResponse, "Response should not be null");
@@ -336,7 +336,7 @@ public class UserTests {
         //@DisplayName("Invalid removal of product from user cart - logged out user")
     void loggedOutUserProductRemovalTest() {
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Log out the user
@@ -344,7 +344,7 @@ public class UserTests {
         Assertions.assertFalse(logoutResponse.isError(), "Logout should succeed");
 
         // Try to remove product after logout
-        Response<CartDTO> removeResponse = bridge.removeProductFromUserCart(testUsername, testToken, storeId, productId);
+        Response<CartUpdateDTO> removeResponse = bridge.removeProductFromUserCart(testUsername, testToken, storeId, productId);
 
         // Verify response indicates an error
         Assertions.assertNotNull(removeResponse, "Response should not be null");
@@ -367,7 +367,7 @@ public class UserTests {
         PickupDTO pickupMethod = new PickupDTO("Test Store Location", "Pickup123");
 
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Create checkout request
@@ -426,7 +426,7 @@ public class UserTests {
         );
 
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Create checkout request
@@ -456,7 +456,7 @@ public class UserTests {
         );
 
         // First add product to cart
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Initial product addition should succeed");
 
         // Log out the user
@@ -639,7 +639,7 @@ public class UserTests {
         //@DisplayName("User successfully rates an existing product")
     void successfulProductRatingTest() {
         // First add the product to cart and purchase it
-        Response<String> addToCartResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addToCartResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addToCartResponse.isError(), "Adding product to cart should succeed");
         PickupDTO pickupMethod = new PickupDTO("Test Store Location", "Pickup123");
 
@@ -760,7 +760,7 @@ public class UserTests {
         //@DisplayName("Logged in user successfully retrieves order history")
     void loggedInUserOrderHistoryTest() {
         // First, add a product to cart and make a purchase to have order history
-        Response<String> addToCartResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addToCartResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addToCartResponse.isError(), "Adding product to cart should succeed");
 
         // Create a credit card for purchase
@@ -801,7 +801,7 @@ public class UserTests {
         //@DisplayName("Logged out user fails to retrieve order history")
     void loggedOutUserOrderHistoryTest() {
         // First, add a product to cart and make a purchase to have order history
-        Response<String> addToCartResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addToCartResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addToCartResponse.isError(), "Adding product to cart should succeed");
 
         // Create a credit card for purchase
@@ -901,7 +901,7 @@ public class UserTests {
     @Test
     void successfulProductReviewTest() {
         // First add the product to cart and purchase it to establish a purchase history
-        Response<String> addToCartResponse = bridge.addProductToUserCart(
+        Response<CartUpdateDTO> addToCartResponse = bridge.addProductToUserCart(
                 testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addToCartResponse.isError(), "Adding product to cart should succeed");
 
@@ -1074,7 +1074,7 @@ public class UserTests {
                 Mockito.anyDouble()))
             .thenReturn(55555);
 
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Adding product should succeed");
         CreditCardDTO creditCard = new CreditCardDTO("4111111111111111", "John Doe", "12/25", "123");
         PickupDTO pickup = new PickupDTO("Store Location", "Pickup123");
@@ -1099,7 +1099,7 @@ public class UserTests {
                 Mockito.anyDouble()))
             .thenReturn(-1);
 
-        Response<String> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
+        Response<CartUpdateDTO> addResponse = bridge.addProductToUserCart(testUsername, testToken, storeId, productId, PRODUCT_QUANTITY);
         Assertions.assertFalse(addResponse.isError(), "Adding product should succeed");
         CreditCardDTO creditCard = new CreditCardDTO("4111111111111111", "John Doe", "12/25", "123");
         PickupDTO pickup = new PickupDTO("Store Location", "Pickup123");
@@ -0,0 +1,155 @@
+package com.sadna_market.market.IntegrationTests.Database;
+
+import com.sadna_market.market.InfrastructureLayer.Migrations.SchemaMigrator;
+import jakarta.persistence.Entity;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the real schema on PostgreSQL (Hibernate create, then the versioned migrations)
+ * and checks with EXPLAIN that each hot repository query can be served by its index.
+ * Sequential scans are disabled for the session: the tables are empty, so otherwise the
+ * planner would rightly prefer a scan and the test would say nothing about index coverage.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Index Plan Integration Tests")
+class IndexPlanIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    private static final String ID = "'00000000-0000-0000-0000-000000000001'";
+
+    @BeforeAll
+    static void createSchema() throws Exception {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        Configuration configuration = new Configuration()
+                .setProperty("hibernate.connection.url", postgres.getJdbcUrl())
+                .setProperty("hibernate.connection.username", postgres.getUsername())
+                .setProperty("hibernate.connection.password", postgres.getPassword())
+                .setProperty("hibernate.hbm2ddl.auto", "create");
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        for (BeanDefinition entity : scanner.findCandidateComponents("com.sadna_market.market")) {
+            configuration.addAnnotatedClass(Class.forName(entity.getBeanClassName()));
+        }
+        try (SessionFactory ignored = configuration.buildSessionFactory()) {
+            // building the session factory creates the tables
+        }
+
+        SchemaMigrator.flyway(dataSource).migrate();
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                query("orders by store, newest first", "idx_orders_store_date",
+                        "SELECT * FROM orders WHERE store_id = " + ID + " ORDER BY order_date DESC"),
+                query("orders by user, newest first", "idx_orders_user_date",
+                        "SELECT * FROM orders WHERE user_name = 'buyer' ORDER BY order_date DESC"),
+                query("orders by status", "idx_orders_status_date",
+                        "SELECT * FROM orders WHERE status = 'PENDING'"),
+                query("orders in a date range", "idx_orders_order_date",
+                        "SELECT * FROM orders WHERE order_date BETWEEN '2025-01-01' AND '2025-02-01'"),
+                query("orders containing a product", "idx_order_products_product",
+                        "SELECT DISTINCT o.* FROM orders o JOIN order_products p ON p.order_id = o.order_id " +
+                                "WHERE p.product_id = " + ID),
+                query("completed purchases of a user", "idx_orders_user_completed",
+                        "SELECT COUNT(*) FROM orders WHERE user_name = 'buyer' AND status = 'COMPLETED'"),
+                query("products of a store by criteria", "idx_products_store_category_price",
+                        "SELECT * FROM products WHERE store_id = " + ID + " AND category = 'dairy' AND price <= 50"),
+                query("products by category", "idx_products_category_price",
+                        "SELECT * FROM products WHERE category = 'dairy'"),
+                query("products in a price range", "idx_products_price",
+                        "SELECT * FROM products WHERE price BETWEEN 10 AND 20"),
+                query("top rated products", "idx_products_rate",
+                        "SELECT * FROM products WHERE rating_count > 0 ORDER BY (rating_sum / rating_count) DESC LIMIT 10"),
+                query("product name search", "idx_products_name_trgm",
+                        "SELECT * FROM products WHERE lower(name) LIKE lower('%milk%')"),
+                query("store name search", "idx_stores_name_trgm",
+                        "SELECT * FROM stores WHERE active = true AND lower(name) LIKE lower('%market%')"),
+                query("stores owned by a user", "idx_store_owners_username",
+                        "SELECT store_id FROM store_owners WHERE username = 'owner'"),
+                query("stores stocking a product", "idx_store_product_quantities_product",
+                        "SELECT store_id FROM store_product_quantities WHERE product_id = " + ID),
+                query("notifications of a user, newest first", "idx_notifications_recipient_created",
+                        "SELECT * FROM notifications WHERE recipient_username = 'user' ORDER BY created_at DESC"),
+                query("unread notification count", "idx_notifications_recipient_unread",
+                        "SELECT COUNT(*) FROM notifications WHERE recipient_username = 'user' AND is_read = false"),
+                query("messages of a store, newest first", "idx_messages_store_time",
+                        "SELECT * FROM messages WHERE store_id = " + ID + " ORDER BY \"timestamp\" DESC"),
+                query("unread messages of a store", "idx_messages_store_unread",
+                        "SELECT COUNT(*) FROM messages WHERE store_id = " + ID + " AND is_read = false"),
+                query("messages of a sender", "idx_messages_sender_time",
+                        "SELECT * FROM messages WHERE sender_username = 'user' ORDER BY store_id, \"timestamp\" DESC"),
+                query("rating of a product by a user", "idx_product_ratings_product_user",
+                        "SELECT * FROM product_ratings WHERE username = 'user' AND product_id = " + ID),
+                query("average store rating", "idx_store_ratings_store_user",
+                        "SELECT AVG(rating_value) FROM store_ratings WHERE store_id = " + ID),
+                query("reviews of a product, newest first", "idx_product_reviews_product_time",
+                        "SELECT * FROM product_reviews WHERE product_id = " + ID + " ORDER BY \"timestamp\" DESC"),
+                query("reports of a user, newest first", "idx_reports_user_created",
+                        "SELECT * FROM reports WHERE username = 'user' ORDER BY created_at DESC"),
+                query("role of a user in a store", "idx_user_store_roles_user_store",
+                        "SELECT * FROM user_store_roles WHERE username = 'user' AND store_id = " + ID),
+                query("owners of a store", "idx_user_store_roles_store_type",
+                        "SELECT * FROM user_store_roles WHERE store_id = " + ID + " AND role_type = 'OWNER'"),
+                query("admin users", "idx_users_admin",
+                        "SELECT username FROM users WHERE is_admin = true"),
+                query("default address of a user", "idx_addresses_username",
+                        "SELECT * FROM addresses WHERE username = 'user' AND is_default = true")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndex(String description, String expectedIndex, String sql) throws Exception {
+        String plan = explain(sql);
+        assertTrue(plan.contains(expectedIndex),
+                description + " should use " + expectedIndex + ", plan was:\n" + plan);
+    }
+
+    @Test
+    @DisplayName("Running the migrations again applies nothing")
+    void migrationsAreIdempotent() {
+        assertEquals(0, SchemaMigrator.flyway(dataSource).migrate().migrationsExecuted);
+    }
+
+    private static String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    private static Arguments query(String description, String expectedIndex, String sql) {
+        return Arguments.of(description, expectedIndex, sql);
+    }
+}
@@ -0,0 +1,91 @@
+package com.sadna_market.market.IntegrationTests.Initialization;
+
+import com.sadna_market.market.DomainLayer.DomainServices.SystemStatsService;
+import com.sadna_market.market.DomainLayer.DomainServices.SystemStatsService.SystemStatsSnapshot;
+import com.sadna_market.market.InfrastructureLayer.Initialization.ComponentConfig;
+import com.sadna_market.market.InfrastructureLayer.Initialization.DatabaseCleaner;
+import com.sadna_market.market.InfrastructureLayer.Initialization.InitializationResult;
+import com.sadna_market.market.InfrastructureLayer.Initialization.SystemConfig;
+import com.sadna_market.market.InfrastructureLayer.Initialization.SystemStateManager;
+import com.sadna_market.market.InfrastructureLayer.Initialization.SystemStateManager.ComponentStatus;
+import com.sadna_market.market.InfrastructureLayer.Initialization.SystemStateManager.InitializationMode;
+import com.sadna_market.market.InfrastructureLayer.StateBasedSystemInitializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a bulk_seed component against the JPA repositories on an in-memory H2 database
+ * and checks the dashboard counters afterwards.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkseeddb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "market.migrations.enabled=false",
+        "system.startup.menu.enabled=false",
+        "external.api.enabled=false"
+})
+@ActiveProfiles("dev")
+@DisplayName("Bulk Seed Stats Integration Tests")
+class BulkSeedStatsIntegrationTest {
+
+    @Autowired
+    private SystemStateManager systemStateManager;
+
+    @Autowired
+    private SystemStatsService systemStatsService;
+
+    // Only registered where component scanning already sees a JdbcTemplate; not used here
+    @MockBean
+    private DatabaseCleaner databaseCleaner;
+
+    // Would load the demo system config into the same database on startup
+    @MockBean
+    private StateBasedSystemInitializer systemInitializer;
+
+    @TempDir
+    private Path dataset;
+
+    @Test
+    @DisplayName("Users and stores loaded by a bulk seed are counted on the dashboard")
+    void countsSeededUsersAndStores() throws IOException {
+        Files.writeString(dataset.resolve("users.csv"), "username,password,email,firstName,lastName,admin\n"
+                + "seeder0,Password1!,seeder0@market.com,Seed,Zero,\n"
+                + "seeder1,Password1!,seeder1@market.com,Seed,One,\n"
+                + "seeder2,Password1!,seeder2@market.com,Seed,Two,\n");
+        Files.writeString(dataset.resolve("stores.csv"), "name,founder,address,email,phone\n"
+                + "Seeded Shop,seeder0,Main St 1,,\n"
+                + "Seeded Kiosk,seeder1,Main St 2,,\n");
+        SystemStatsSnapshot before = systemStatsService.getSnapshot();
+
+        ComponentConfig seed = new ComponentConfig();
+        seed.setId("seed");
+        seed.setType("bulk_seed");
+        seed.setConfig(Map.of("dataset", dataset.toString()));
+        SystemConfig config = new SystemConfig();
+        config.setMode(InitializationMode.FORCE_FULL);
+        config.setComponents(List.of(seed));
+        InitializationResult result = systemStateManager.executeInitialization(config);
+        assertEquals(ComponentStatus.COMPLETED, result.getOverallStatus(), result.getErrorMessage());
+
+        SystemStatsSnapshot after = systemStatsService.getSnapshot();
+        assertEquals(before.getTotalUsers() + 3, after.getTotalUsers());
+        assertEquals(before.getTotalStores() + 2, after.getTotalStores());
+    }
+}
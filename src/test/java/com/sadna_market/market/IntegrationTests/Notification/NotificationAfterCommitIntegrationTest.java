@@ -0,0 +1,88 @@
+package com.sadna_market.market.IntegrationTests.Notification;
+
+import com.sadna_market.market.DomainLayer.DomainServices.StoreManagementService;
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.RoleAssignedEvent;
+import com.sadna_market.market.DomainLayer.INotificationRepository;
+import com.sadna_market.market.DomainLayer.IUserRepository;
+import com.sadna_market.market.DomainLayer.Notification;
+import com.sadna_market.market.DomainLayer.RoleType;
+import com.sadna_market.market.DomainLayer.Store;
+import com.sadna_market.market.DomainLayer.User;
+import com.sadna_market.market.InfrastructureLayer.Adapters.NotificationJpaAdapter;
+import com.sadna_market.market.InfrastructureLayer.Initialization.DatabaseCleaner;
+import com.sadna_market.market.InfrastructureLayer.StateBasedSystemInitializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the JPA repositories against an in-memory H2 database, with virtual threads off
+ * so deferred notifications run inline within the committing thread's afterCommit.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:notificationdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "market.migrations.enabled=false",
+        "system.startup.menu.enabled=false",
+        "external.api.enabled=false",
+        "spring.threads.virtual.enabled=false"
+})
+@ActiveProfiles("dev")
+@DisplayName("Notification After Commit Integration Tests")
+class NotificationAfterCommitIntegrationTest {
+
+    @Autowired
+    private StoreManagementService storeManagementService;
+
+    @Autowired
+    private IUserRepository userRepository;
+
+    @Autowired
+    private INotificationRepository notificationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Only registered where component scanning already sees a JdbcTemplate; not used here
+    @MockBean
+    private DatabaseCleaner databaseCleaner;
+
+    // Would load the demo system config into the same database on startup
+    @MockBean
+    private StateBasedSystemInitializer systemInitializer;
+
+    @Test
+    @DisplayName("A role assigned inside a transaction leaves a notification row once it commits")
+    void notificationPersistedAfterTransactionalRoleAssignment() {
+        assertInstanceOf(NotificationJpaAdapter.class, notificationRepository);
+        userRepository.save(new User("founder", "Password1!", "founder@example.com", "Found", "Er"));
+        userRepository.save(new User("newowner", "Password1!", "newowner@example.com", "New", "Owner"));
+        Store store = storeManagementService.createStore("founder", "Committed Store", "A store",
+                "Main St 1", "store@example.com", "0501234567");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            storeManagementService.appointStoreOwner("founder", store.getStoreId(), "newowner");
+            DomainEventPublisher.publish(new RoleAssignedEvent("newowner", store.getStoreId(), store.getName(),
+                    RoleType.STORE_OWNER, "founder"));
+            assertTrue(notificationRepository.findByRecipientUsername("newowner").isEmpty(),
+                    "nothing is written before the commit");
+        });
+
+        List<Notification> notifications = notificationRepository.findByRecipientUsername("newowner");
+        assertEquals(1, notifications.size());
+    }
+}
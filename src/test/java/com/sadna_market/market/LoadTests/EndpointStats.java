@@ -0,0 +1,24 @@
+package com.sadna_market.market.LoadTests;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts for one REST endpoint
+ */
+@Getter
+public class EndpointStats {
+    private final String endpoint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void reset() {
+        latency.reset();
+        errors.reset();
+    }
+}
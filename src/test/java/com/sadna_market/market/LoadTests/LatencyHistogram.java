@@ -0,0 +1,100 @@
+package com.sadna_market.market.LoadTests;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram with microsecond resolution.
+ * Values below 64us get their own bucket; above that every power of two is split
+ * into 32 linear sub-buckets, so any percentile is reported within ~3% of the
+ * true value while memory stays fixed no matter how many samples are recorded.
+ */
+public class LatencyHistogram {
+    private static final int EXACT_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int FIRST_LOG_EXPONENT = 6;
+    private static final int BUCKETS = EXACT_BUCKETS + (64 - FIRST_LOG_EXPONENT) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long elapsed, TimeUnit unit) {
+        long micros = Math.max(0, unit.toMicros(elapsed));
+        counts.incrementAndGet(indexOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double meanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalMicros.sum() / n;
+    }
+
+    public long maxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.999 for p999
+     * @return the upper bound of the bucket holding the requested rank, in microseconds
+     */
+    public long percentileMicros(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.set(0);
+    }
+
+    static int indexOf(long micros) {
+        if (micros < EXACT_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return EXACT_BUCKETS + (exponent - FIRST_LOG_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < EXACT_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - EXACT_BUCKETS) / SUB_BUCKETS + FIRST_LOG_EXPONENT;
+        int subBucket = (index - EXACT_BUCKETS) % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lower = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.sadna_market.market.LoadTests;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from system properties (-Dload.clients=2000 ...).
+ * The operation mix is a comma separated list of weights, e.g.
+ * -Dload.mix=search=50,addToCart=25,viewCart=10,checkout=5,notifications=10
+ */
+@Getter
+public class LoadTestConfig {
+    private static final String DEFAULT_MIX = "search=45,addToCart=25,viewCart=10,checkout=5,notifications=10,login=5";
+
+    private final int clients = Integer.getInteger("load.clients", 1000);
+    private final int rampUpSeconds = Integer.getInteger("load.ramp-up-seconds", 10);
+    private final int warmupSeconds = Integer.getInteger("load.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("load.duration-seconds", 60);
+    private final int thinkTimeMillis = Integer.getInteger("load.think-ms", 100);
+    private final int products = Integer.getInteger("load.products", 200);
+    private final long paymentLatencyMillis = Long.getLong("load.payment-latency-ms", 150);
+    private final long supplyLatencyMillis = Long.getLong("load.supply-latency-ms", 80);
+    private final long seed = Long.getLong("load.seed", 42);
+    // Runs the server with spring.threads.virtual.enabled; load.compare runs both modes back to back
+    private final boolean serverVirtualThreads = Boolean.getBoolean("load.server-virtual-threads");
+    private final boolean compareThreadModes = Boolean.getBoolean("load.compare");
+    private final Map<String, Integer> mix = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load.mix entry: " + part);
+            }
+            weights.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("clients=%d rampUp=%ds warmup=%ds duration=%ds think=%dms products=%d " +
+                        "paymentLatency=%dms supplyLatency=%dms seed=%d serverVirtualThreads=%s compare=%s mix=%s",
+                clients, rampUpSeconds, warmupSeconds, durationSeconds, thinkTimeMillis, products,
+                paymentLatencyMillis, supplyLatencyMillis, seed, serverVirtualThreads, compareThreadModes, mix);
+    }
+}
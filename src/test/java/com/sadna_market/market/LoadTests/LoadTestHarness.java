@@ -0,0 +1,239 @@
+package com.sadna_market.market.LoadTests;
+
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.MarketApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained load generator for capacity planning.
+ * Boots the application on the "test" profile (in-memory repositories, mock payment and
+ * supply APIs with configurable latency) on a random port, seeds one store with a catalog,
+ * then drives a weighted mix of REST calls from many concurrent clients and prints
+ * throughput and p50/p99/p999 latency per endpoint.
+ * Each simulated client runs on its own virtual thread.
+ *
+ * Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.sadna_market.market.LoadTests.LoadTestHarness -Dload.clients=2000
+ *
+ * Add -Dload.compare=true to benchmark the server on platform threads and then on
+ * virtual threads (spring.threads.virtual.enabled) with the same seed and mix.
+ *
+ * See {@link LoadTestConfig} for all settings.
+ */
+public class LoadTestHarness {
+    private static final String PASSWORD = "Password123!";
+    private static final String[] CATEGORIES = {"Electronics", "Books", "Clothing", "Home", "Toys"};
+    private static final String[] WORDS = {"Smart", "Classic", "Mini", "Pro", "Eco", "Ultra", "Basic", "Deluxe"};
+    private static final String[] NOUNS = {"Phone", "Lamp", "Shirt", "Novel", "Chair", "Ball", "Kettle", "Drone"};
+
+    private final LoadTestConfig config;
+    private final MarketApiClient api;
+    private final List<UUID> productIds = new ArrayList<>();
+    private UUID storeId;
+
+    private volatile long deadlineNanos;
+
+    public LoadTestHarness(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.api = new MarketApiClient(baseUrl);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        System.out.println("Load test: " + config);
+
+        if (config.isCompareThreadModes()) {
+            runAgainstServer(config, false);
+            runAgainstServer(config, true);
+        } else {
+            runAgainstServer(config, config.isServerVirtualThreads());
+        }
+    }
+
+    private static void runAgainstServer(LoadTestConfig config, boolean virtualThreads) throws InterruptedException {
+        System.out.printf("%n=== Server on %s threads ===%n", virtualThreads ? "virtual" : "platform");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MarketApplication.class)
+                .run(
+                        "--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+                        "--system.startup.menu.enabled=false",
+                        "--system.init.enabled=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.sadna_market=WARN",
+                        "--mock.external.payment.latency-ms=" + config.getPaymentLatencyMillis(),
+                        "--mock.external.supply.latency-ms=" + config.getSupplyLatencyMillis()
+                );
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new LoadTestHarness(config, "http://localhost:" + port).run();
+        } finally {
+            context.close();
+            // Subscriptions are static and would otherwise leak into the next server run
+            DomainEventPublisher.clearAllSubscribers();
+        }
+    }
+
+    public void run() throws InterruptedException {
+        seedCatalog();
+
+        ExecutorService clients = newClientExecutor();
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(config.getRampUpSeconds());
+        long start = System.nanoTime();
+        deadlineNanos = start + rampUpNanos
+                + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds() + config.getDurationSeconds());
+        for (int i = 0; i < config.getClients(); i++) {
+            int clientId = i;
+            long startDelayNanos = rampUpNanos * i / config.getClients();
+            clients.submit(() -> runClient(clientId, start + startDelayNanos));
+        }
+
+        // Everything recorded during ramp-up and warmup is discarded
+        TimeUnit.SECONDS.sleep(config.getRampUpSeconds() + config.getWarmupSeconds());
+        api.getStats().values().forEach(EndpointStats::reset);
+        long measureStart = System.nanoTime();
+
+        clients.shutdown();
+        clients.awaitTermination(config.getDurationSeconds() + 60L, TimeUnit.SECONDS);
+        clients.shutdownNow();
+        double measuredSeconds = Math.min(System.nanoTime(), deadlineNanos) - measureStart;
+        printReport(measuredSeconds / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void seedCatalog() {
+        String seller = "load-seller";
+        if (!api.register(seller, PASSWORD)) {
+            throw new IllegalStateException("Could not register the seller account");
+        }
+        String token = api.login(seller, PASSWORD);
+        storeId = api.createStore(seller, token, "Load Test Store");
+        if (storeId == null) {
+            throw new IllegalStateException("Could not create the load test store");
+        }
+
+        Random random = new Random(config.getSeed());
+        for (int i = 0; i < config.getProducts(); i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i;
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            double price = 1 + random.nextInt(50_000) / 100.0;
+            UUID productId = api.addProduct(seller, token, storeId, name, category, price, 10_000_000);
+            if (productId != null) {
+                productIds.add(productId);
+            }
+        }
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("Could not seed any products");
+        }
+        api.getStats().clear();
+        System.out.printf("Seeded store %s with %d products%n", storeId, productIds.size());
+    }
+
+    private void runClient(int clientId, long startAtNanos) {
+        Random random = new Random(config.getSeed() + clientId);
+        try {
+            sleepNanos(startAtNanos - System.nanoTime());
+            String username = "load-user-" + clientId;
+            if (!api.register(username, PASSWORD)) {
+                return;
+            }
+            String token = api.login(username, PASSWORD);
+            if (token == null) {
+                return;
+            }
+
+            boolean cartHasItems = false;
+            while (System.nanoTime() < deadlineNanos && !Thread.currentThread().isInterrupted()) {
+                switch (pickOperation(random)) {
+                    case "search" -> api.search(WORDS[random.nextInt(WORDS.length)]);
+                    case "addToCart" -> cartHasItems |= api.addToCart(username, token, storeId,
+                            productIds.get(random.nextInt(productIds.size())), 1 + random.nextInt(3));
+                    case "viewCart" -> api.viewCart(username, token);
+                    case "checkout" -> {
+                        if (cartHasItems && api.checkout(username, token)) {
+                            cartHasItems = false;
+                        }
+                    }
+                    case "notifications" -> api.notifications(username, token);
+                    case "login" -> {
+                        String fresh = api.login(username, PASSWORD);
+                        if (fresh != null) {
+                            token = fresh;
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unknown operation in load.mix");
+                }
+                int think = config.getThinkTimeMillis();
+                if (think > 0) {
+                    TimeUnit.MILLISECONDS.sleep(think / 2 + random.nextInt(think + 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String pickOperation(Random random) {
+        Map<String, Integer> mix = config.getMix();
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty load.mix");
+    }
+
+    private void printReport(double seconds) {
+        System.out.printf("%nMeasured %.1fs with %d clients%n", seconds, config.getClients());
+        System.out.printf("%-14s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "mean ms", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        api.getStats().values().stream()
+                .sorted(Comparator.comparing(EndpointStats::getEndpoint))
+                .forEach(stats -> {
+                    LatencyHistogram latency = stats.getLatency();
+                    System.out.printf("%-14s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                            stats.getEndpoint(),
+                            latency.count(),
+                            stats.getErrors().sum(),
+                            latency.count() / seconds,
+                            latency.meanMicros() / 1000.0,
+                            latency.percentileMicros(0.50) / 1000.0,
+                            latency.percentileMicros(0.99) / 1000.0,
+                            latency.percentileMicros(0.999) / 1000.0,
+                            latency.maxMicros() / 1000.0);
+                });
+    }
+
+    /**
+     * One virtual thread per simulated client, so thousands of blocking clients cost
+     * no more than a few carrier threads
+     */
+    private static ExecutorService newClientExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("load-client-", 0).factory());
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+}
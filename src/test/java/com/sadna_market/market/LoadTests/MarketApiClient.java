@@ -0,0 +1,180 @@
+package com.sadna_market.market.LoadTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thin blocking client for the market REST API.
+ * Every call is timed into the {@link EndpointStats} of its endpoint; a non-2xx status
+ * or a {@code Response} with {@code error=true} counts as an error.
+ */
+public class MarketApiClient {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    public MarketApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    public Map<String, EndpointStats> getStats() {
+        return stats;
+    }
+
+    public boolean register(String username, String password) {
+        ObjectNode body = mapper.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .put("email", username + "@load.test")
+                .put("firstName", "Load")
+                .put("lastName", "Client");
+        return call("register", post("/api/users/register", body, null)) != null;
+    }
+
+    public String login(String username, String password) {
+        JsonNode data = call("login", post("/api/users/login?username=" + encode(username)
+                + "&password=" + encode(password), null, null));
+        return data == null ? null : data.asText();
+    }
+
+    public UUID createStore(String founder, String token, String storeName) {
+        ObjectNode body = mapper.createObjectNode()
+                .put("storeName", storeName)
+                .put("description", "Load test store")
+                .put("address", "1 Load Street")
+                .put("email", "store@load.test")
+                .put("phoneNumber", "0500000000")
+                .put("founderUsername", founder);
+        JsonNode data = call("createStore", post("/api/stores", body, token));
+        return data == null ? null : UUID.fromString(data.get("storeId").asText());
+    }
+
+    public UUID addProduct(String owner, String token, UUID storeId, String name, String category,
+                           double price, int quantity) {
+        ObjectNode body = mapper.createObjectNode()
+                .put("name", name)
+                .put("description", "Load test product")
+                .put("category", category)
+                .put("price", price);
+        JsonNode data = call("addProduct", post("/api/products/store/" + storeId + "?quantity=" + quantity
+                + "&username=" + encode(owner), body, token));
+        return data == null ? null : UUID.fromString(data.asText());
+    }
+
+    public boolean search(String name) {
+        ObjectNode body = mapper.createObjectNode()
+                .put("name", name)
+                .put("minPrice", -1.0)
+                .put("maxPrice", -1.0)
+                .put("minRank", -1.0)
+                .put("maxRank", -1.0);
+        return call("search", post("/api/products/search", body, null)) != null;
+    }
+
+    public boolean addToCart(String username, String token, UUID storeId, UUID productId, int quantity) {
+        return call("addToCart", post("/api/users/" + encode(username) + "/cart?storeId=" + storeId
+                + "&productId=" + productId + "&quantity=" + quantity, null, token)) != null;
+    }
+
+    public boolean viewCart(String username, String token) {
+        return call("viewCart", get("/api/users/" + encode(username) + "/cart", token)) != null;
+    }
+
+    public boolean checkout(String username, String token) {
+        ObjectNode body = mapper.createObjectNode();
+        body.putObject("paymentMethod")
+                .put("type", "creditCard")
+                .put("cardNumber", "4111111111111111")
+                .put("cardHolderName", "Load Client")
+                .put("expiryDate", "12/39")
+                .put("cvv", "123");
+        body.putObject("supplyMethod")
+                .put("type", "pickup")
+                .put("storeLocation", "Load Store")
+                .put("pickupCode", "LOAD1");
+        body.put("shippingAddress", "1 Load Street");
+        return call("checkout", post("/api/checkout/user/" + encode(username), body, token)) != null;
+    }
+
+    public boolean notifications(String username, String token) {
+        return call("notifications", get("/api/notifications/" + encode(username), token)) != null;
+    }
+
+    /**
+     * Sends the request and returns the {@code data} node of a successful {@code Response},
+     * or null (counted as an error) on failure
+     */
+    private JsonNode call(String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, EndpointStats::new);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.getLatency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (response.statusCode() / 100 != 2) {
+                endpointStats.getErrors().increment();
+                return null;
+            }
+            JsonNode json = mapper.readTree(response.body());
+            if (json.path("error").asBoolean(false)) {
+                endpointStats.getErrors().increment();
+                return null;
+            }
+            JsonNode data = json.path("data");
+            return data.isMissingNode() ? json : data;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            endpointStats.getErrors().increment();
+            return null;
+        } catch (Exception e) {
+            endpointStats.getLatency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            endpointStats.getErrors().increment();
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, JsonNode body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body.toString()));
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        return builder.build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
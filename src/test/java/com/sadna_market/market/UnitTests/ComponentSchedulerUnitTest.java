@@ -0,0 +1,168 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.InfrastructureLayer.Initialization.ComponentConfig;
+import com.sadna_market.market.InfrastructureLayer.Initialization.ComponentResult;
+import com.sadna_market.market.InfrastructureLayer.Initialization.ComponentScheduler;
+import com.sadna_market.market.InfrastructureLayer.Initialization.InitializationResult;
+import com.sadna_market.market.InfrastructureLayer.Initialization.SystemConfig;
+import com.sadna_market.market.InfrastructureLayer.Initialization.SystemStateManager.ComponentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Component Scheduler Unit Tests")
+public class ComponentSchedulerUnitTest {
+
+    private final List<String> started = new CopyOnWriteArrayList<>();
+
+    private static ComponentConfig component(String id, String... dependsOn) {
+        ComponentConfig component = new ComponentConfig();
+        component.setId(id);
+        component.setDependsOn(List.of(dependsOn));
+        return component;
+    }
+
+    private Function<ComponentConfig, ComponentResult> completing() {
+        return component -> {
+            started.add(component.getId());
+            ComponentResult result = new ComponentResult(component.getId());
+            result.setStatus(ComponentStatus.COMPLETED);
+            return result;
+        };
+    }
+
+    private Function<ComponentConfig, ComponentResult> failing(String failingId) {
+        return component -> {
+            if (component.getId().equals(failingId)) {
+                started.add(component.getId());
+                throw new IllegalStateException("boom");
+            }
+            return completing().apply(component);
+        };
+    }
+
+    private static Map<String, ComponentResult> byId(InitializationResult result) {
+        Map<String, ComponentResult> results = new HashMap<>();
+        for (ComponentResult componentResult : result.getComponentResults()) {
+            assertNull(results.put(componentResult.getComponentId(), componentResult), "reported twice");
+        }
+        return results;
+    }
+
+    @Test
+    @DisplayName("A component starts only after everything it depends on has completed")
+    void respectsDependencies() {
+        InitializationResult result = new InitializationResult();
+        new ComponentScheduler(4).run(List.of(
+                component("logout", "roles", "products"),
+                component("roles", "stores"),
+                component("products", "stores"),
+                component("stores", "users"),
+                component("users")
+        ), SystemConfig.FailureAction.STOP, completing(), result);
+
+        assertEquals(5, started.size());
+        assertEquals("users", started.get(0));
+        assertEquals("stores", started.get(1));
+        assertEquals("logout", started.get(4));
+        List<String> completionOrder = result.getComponentResults().stream().map(ComponentResult::getComponentId).toList();
+        assertEquals(started.size(), completionOrder.size());
+        assertEquals("logout", completionOrder.get(4));
+    }
+
+    @Test
+    @DisplayName("Independent components run at the same time")
+    void runsIndependentComponentsConcurrently() {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Function<ComponentConfig, ComponentResult> rendezvous = component -> {
+            bothRunning.countDown();
+            try {
+                assertTrue(bothRunning.await(5, TimeUnit.SECONDS), "the other component never started");
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return completing().apply(component);
+        };
+
+        InitializationResult result = new InitializationResult();
+        new ComponentScheduler(2).run(List.of(component("north"), component("south")),
+                SystemConfig.FailureAction.STOP, rendezvous, result);
+
+        for (ComponentResult componentResult : result.getComponentResults()) {
+            assertEquals(ComponentStatus.COMPLETED, componentResult.getStatus());
+            assertTrue(componentResult.getDurationMillis() >= 20, "duration recorded");
+        }
+        assertEquals(2, result.getComponentResults().size());
+    }
+
+    @Test
+    @DisplayName("STOP starts nothing after a failure and lets running components finish")
+    void stopsOnFailure() {
+        InitializationResult result = new InitializationResult();
+        new ComponentScheduler(1).run(List.of(
+                component("users"),
+                component("stores", "users"),
+                component("products", "stores")
+        ), SystemConfig.FailureAction.STOP, failing("stores"), result);
+
+        Map<String, ComponentResult> results = byId(result);
+        assertEquals(ComponentStatus.COMPLETED, results.get("users").getStatus());
+        assertEquals(ComponentStatus.FAILED, results.get("stores").getStatus());
+        assertEquals("boom", results.get("stores").getErrorMessage());
+        assertFalse(results.containsKey("products"));
+        assertFalse(started.contains("products"));
+    }
+
+    @Test
+    @DisplayName("CONTINUE runs the independent components and reports the dependents of a failure as failed")
+    void continuesPastFailure() {
+        InitializationResult result = new InitializationResult();
+        new ComponentScheduler(3).run(List.of(
+                component("users"),
+                component("stores", "users"),
+                component("products", "stores"),
+                component("roles", "products"),
+                component("admin")
+        ), SystemConfig.FailureAction.CONTINUE, failing("stores"), result);
+
+        Map<String, ComponentResult> results = byId(result);
+        assertEquals(5, results.size());
+        assertEquals(ComponentStatus.COMPLETED, results.get("admin").getStatus());
+        assertEquals(ComponentStatus.FAILED, results.get("products").getStatus());
+        assertEquals(ComponentStatus.FAILED, results.get("roles").getStatus());
+        assertTrue(results.get("roles").getErrorMessage().contains("products"));
+        assertFalse(started.contains("products"));
+        assertFalse(started.contains("roles"));
+    }
+
+    @Test
+    @DisplayName("Dependencies outside the scheduled components count as satisfied")
+    void ignoresDependenciesThatAreNotScheduled() {
+        InitializationResult result = new InitializationResult();
+        new ComponentScheduler(2).run(List.of(component("stores", "already_done")),
+                SystemConfig.FailureAction.STOP, completing(), result);
+
+        assertEquals(List.of("stores"), started);
+    }
+
+    @Test
+    @DisplayName("A dependency cycle is rejected before anything runs")
+    void rejectsCycles() {
+        InitializationResult result = new InitializationResult();
+        assertThrows(IllegalArgumentException.class, () -> new ComponentScheduler(2).run(List.of(
+                component("a", "c"),
+                component("b", "a"),
+                component("c", "b"),
+                component("d")
+        ), SystemConfig.FailureAction.STOP, completing(), result));
+        assertTrue(started.isEmpty());
+    }
+}
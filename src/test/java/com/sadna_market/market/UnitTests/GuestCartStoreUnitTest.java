@@ -0,0 +1,141 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.InfrastructureLayer.GuestCart.GuestCartStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GuestCartStore Unit Tests")
+public class GuestCartStoreUnitTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private GuestCartStore store;
+
+    private final UUID storeId = UUID.randomUUID();
+    private final UUID productA = UUID.randomUUID();
+    private final UUID productB = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        store = new GuestCartStore(Duration.ofMinutes(30), 3, 2, now::get);
+    }
+
+    @Test
+    @DisplayName("Items added to a cart are returned grouped by store")
+    void addAndView() {
+        String token = store.createCart();
+        store.addItem(token, storeId, productA, 2);
+        store.addItem(token, storeId, productA, 1);
+        store.addItem(token, storeId, productB, 4);
+
+        Map<UUID, Map<UUID, Integer>> cart = store.getCart(token);
+
+        assertEquals(1, cart.size());
+        assertEquals(3, (int) cart.get(storeId).get(productA));
+        assertEquals(4, (int) cart.get(storeId).get(productB));
+    }
+
+    @Test
+    @DisplayName("Updating to zero and removing both drop the line")
+    void updateAndRemove() {
+        String token = store.createCart();
+        store.addItem(token, storeId, productA, 2);
+        store.addItem(token, storeId, productB, 1);
+
+        store.updateItem(token, storeId, productA, 0);
+        assertFalse(store.getCart(token).get(storeId).containsKey(productA));
+
+        store.removeItem(token, storeId, productB);
+        assertTrue(store.getCart(token).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.removeItem(token, storeId, productB));
+    }
+
+    @Test
+    @DisplayName("Idle carts expire after the TTL, active carts do not")
+    void ttlExpiry() {
+        String idle = store.createCart();
+        String active = store.createCart();
+
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        store.getCart(active);
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+
+        assertThrows(IllegalArgumentException.class, () -> store.getCart(idle));
+        assertNotNull(store.getCart(active));
+    }
+
+    @Test
+    @DisplayName("A full store evicts the longest-idle cart")
+    void boundedSize() {
+        String oldest = store.createCart();
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        store.createCart();
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        String third = store.createCart();
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+
+        store.createCart();
+
+        assertTrue(store.size() <= 3);
+        assertThrows(IllegalArgumentException.class, () -> store.getCart(oldest));
+        assertNotNull(store.getCart(third));
+    }
+
+    @Test
+    @DisplayName("A cart cannot grow beyond the line limit")
+    void lineLimit() {
+        String token = store.createCart();
+        store.addItem(token, storeId, productA, 1);
+        store.addItem(token, storeId, productB, 1);
+
+        assertThrows(IllegalStateException.class, () -> store.addItem(token, storeId, UUID.randomUUID(), 1));
+        assertEquals(2, store.getCart(token).get(storeId).size());
+    }
+
+    @Test
+    @DisplayName("Taking a cart removes it from the store")
+    void takeCart() {
+        String token = store.createCart();
+        store.addItem(token, storeId, productA, 5);
+
+        assertEquals(5, (int) store.takeCart(token).get(storeId).get(productA));
+        assertThrows(IllegalArgumentException.class, () -> store.takeCart(token));
+    }
+
+    @Test
+    @DisplayName("Adding past the int range is rejected and leaves the quantity unchanged")
+    void quantityOverflow() {
+        String token = store.createCart();
+        store.addItem(token, storeId, productA, Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> store.addItem(token, storeId, productA, 1));
+        assertEquals(Integer.MAX_VALUE, (int) store.getCart(token).get(storeId).get(productA));
+    }
+
+    @Test
+    @DisplayName("A full store evicts only the least recently used carts and never exceeds its bound")
+    void evictsLeastRecentlyUsed() {
+        GuestCartStore large = new GuestCartStore(Duration.ofMinutes(30), 32, 2, now::get);
+        String[] tokens = new String[32];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = large.createCart();
+            now.incrementAndGet();
+        }
+        large.getCart(tokens[0]); // now the most recently used
+
+        large.createCart();
+
+        assertTrue(large.size() <= 32);
+        assertNotNull(large.getCart(tokens[0]));
+        assertNotNull(large.getCart(tokens[31]));
+        assertThrows(IllegalArgumentException.class, () -> large.getCart(tokens[1]));
+        assertTrue(large.size() >= 29, "only a small batch is evicted");
+    }
+}
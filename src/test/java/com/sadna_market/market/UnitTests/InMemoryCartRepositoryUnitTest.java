@@ -0,0 +1,179 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.DomainLayer.Events.ProductChangedEvent;
+import com.sadna_market.market.DomainLayer.Product;
+import com.sadna_market.market.DomainLayer.User;
+import com.sadna_market.market.InfrastructureLayer.Caching.ProductSummaryCache;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryCartRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryProductRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cart line edits and product summary cache Unit Tests")
+public class InMemoryCartRepositoryUnitTest {
+    private static final double DELTA = 0.0001;
+
+    private InMemoryUserRepository userRepository;
+    private InMemoryCartRepository cartRepository;
+    private InMemoryProductRepository productRepository;
+    private ProductSummaryCache productSummaryCache;
+
+    private final String username = "buyer";
+    private final UUID storeId = UUID.randomUUID();
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new InMemoryUserRepository();
+        userRepository.save(new User(username, "Password1!", "buyer@test.com", "First", "Last"));
+        cartRepository = new InMemoryCartRepository(userRepository);
+
+        productRepository = new InMemoryProductRepository();
+        productId = productRepository.addProduct(storeId, "Milk", "dairy", "desc", 10.0, true);
+        productSummaryCache = new ProductSummaryCache(productRepository, 100);
+        productSummaryCache.subscribeToEvents();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DomainEventPublisher.clearAllSubscribers();
+    }
+
+    private int quantityInCart() {
+        return userRepository.findByUsername(username).orElseThrow()
+                .getCart().getShoppingBaskets().get(storeId).getProductQuantity(productId);
+    }
+
+    @Test
+    @DisplayName("Adding returns the running quantity of the line")
+    void addAccumulatesQuantity() {
+        assertEquals(2, cartRepository.addProduct(username, storeId, productId, 2));
+        assertEquals(5, cartRepository.addProduct(username, storeId, productId, 3));
+        assertEquals(5, quantityInCart());
+    }
+
+    @Test
+    @DisplayName("Setting a quantity requires a basket for the store")
+    void setQuantityNeedsBasket() {
+        assertFalse(cartRepository.setProductQuantity(username, storeId, productId, 4));
+
+        cartRepository.addProduct(username, storeId, productId, 1);
+        assertTrue(cartRepository.setProductQuantity(username, storeId, productId, 4));
+        assertEquals(4, quantityInCart());
+    }
+
+    @Test
+    @DisplayName("Removing the last line drops the basket")
+    void removeDropsEmptyBasket() {
+        cartRepository.addProduct(username, storeId, productId, 1);
+
+        assertTrue(cartRepository.removeProduct(username, storeId, productId));
+        assertFalse(cartRepository.removeProduct(username, storeId, productId));
+        assertTrue(userRepository.findByUsername(username).orElseThrow().getCart().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unknown user is rejected")
+    void unknownUserRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+                cartRepository.addProduct("nobody", storeId, productId, 1));
+    }
+
+    @Test
+    @DisplayName("A cart edit waits for the user repository's write lock")
+    void editTakesUserWriteLock() throws Exception {
+        Object[] writeLock = new Object[1];
+        RepositoryJournal lockRecorder = new RepositoryJournal() {
+            @Override
+            public <K extends Serializable, V extends Serializable> Table<K, V> table(String name, Map<K, V> rows,
+                                                                                      Object lock) {
+                writeLock[0] = lock;
+                return RepositoryJournal.NONE.table(name, rows, lock);
+            }
+        };
+        InMemoryUserRepository users = new InMemoryUserRepository(lockRecorder);
+        users.save(new User(username, "Password1!", "buyer@test.com", "First", "Last"));
+        InMemoryCartRepository carts = new InMemoryCartRepository(users);
+        User user = users.findByUsername(username).orElseThrow();
+
+        ExecutorService editor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> edit;
+            synchronized (writeLock[0]) {
+                edit = editor.submit(() -> carts.addProduct(username, storeId, productId, 2));
+                assertThrows(TimeoutException.class, () -> edit.get(200, TimeUnit.MILLISECONDS));
+                assertTrue(user.getCart().isEmpty(), "the cart must not change while a snapshot holds the lock");
+            }
+            assertEquals(2, edit.get(10, TimeUnit.SECONDS));
+        } finally {
+            editor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Cached product price is refreshed after a product change event")
+    void summaryInvalidatedOnProductChange() {
+        assertEquals(10.0, productSummaryCache.get(productId).orElseThrow().getPrice(), DELTA);
+
+        productRepository.updateProduct(productId, "Milk", "dairy", "desc", 12.0);
+        assertEquals(10.0, productSummaryCache.get(productId).orElseThrow().getPrice(), DELTA);
+
+        DomainEventPublisher.publish(new ProductChangedEvent(storeId, productId));
+        assertEquals(12.0, productSummaryCache.get(productId).orElseThrow().getPrice(), DELTA);
+        assertTrue(productSummaryCache.get(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A load that races an invalidation is returned but not cached")
+    void loadRacingInvalidationIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        ProductSummaryCache[] cache = new ProductSummaryCache[1];
+        InMemoryProductRepository racingRepository = new InMemoryProductRepository() {
+            @Override
+            public Optional<Product> findById(UUID id) {
+                Optional<Product> product = productRepository.findById(id);
+                if (loads.incrementAndGet() == 1) {
+                    cache[0].invalidate(id); // the product is edited while the first load is in flight
+                }
+                return product;
+            }
+        };
+        cache[0] = new ProductSummaryCache(racingRepository, 100);
+
+        assertTrue(cache[0].get(productId).isPresent());
+        assertEquals(0, cache[0].size());
+        cache[0].get(productId);
+        cache[0].get(productId);
+        assertEquals(2, loads.get(), "the second load is cached");
+    }
+
+    @Test
+    @DisplayName("A full cache evicts single entries rather than emptying")
+    void fullCacheEvictsSingleEntries() {
+        ProductSummaryCache cache = new ProductSummaryCache(productRepository, 2);
+        cache.get(productId);
+        for (int i = 0; i < 5; i++) {
+            UUID otherId = productRepository.addProduct(storeId, "Product " + i, "dairy", "desc", 1.0, true);
+            cache.get(otherId);
+            assertEquals(2, cache.size());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.Message;
+import com.sadna_market.market.DomainLayer.MessageFilter;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryMessageRepository Unit Tests")
+public class InMemoryMessageRepositoryUnitTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private InMemoryMessageRepository messageRepository;
+    private UUID storeId;
+    private UUID otherStoreId;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository = new InMemoryMessageRepository();
+        storeId = UUID.randomUUID();
+        otherStoreId = UUID.randomUUID();
+    }
+
+    private Message message(String sender, UUID store, int minute) {
+        Message message = new Message(UUID.randomUUID(), sender, store, "message " + minute,
+                START.plusMinutes(minute), null, null, null, false);
+        return messageRepository.save(message);
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        return messages.stream().map(Message::getContent).toList();
+    }
+
+    @Test
+    @DisplayName("Store pages are newest first and hold only the store's messages")
+    void pagesNewestFirst() {
+        for (int minute = 0; minute < 5; minute++) {
+            message("alice", storeId, minute);
+        }
+        message("alice", otherStoreId, 10);
+
+        assertEquals(List.of("message 4", "message 3"),
+                contents(messageRepository.findStorePage(storeId, MessageFilter.ALL, 0, 2)));
+        assertEquals(List.of("message 2", "message 1"),
+                contents(messageRepository.findStorePage(storeId, MessageFilter.ALL, 1, 2)));
+        assertEquals(List.of("message 0"),
+                contents(messageRepository.findStorePage(storeId, MessageFilter.ALL, 2, 2)));
+        assertTrue(messageRepository.findStorePage(storeId, MessageFilter.ALL, 3, 2).isEmpty());
+        assertEquals(5, messageRepository.findByStore(storeId).size());
+        assertEquals(6, messageRepository.findBySender("alice").size());
+    }
+
+    @Test
+    @DisplayName("Reading and replying move messages out of the unread and unanswered indexes")
+    void maintainsUnreadAndUnanswered() {
+        Message first = message("alice", storeId, 0);
+        Message second = message("bob", storeId, 1);
+        message("carol", storeId, 2);
+        assertEquals(3, messageRepository.countUnreadForStore(storeId));
+
+        assertTrue(messageRepository.markMessageAsRead(second.getMessageId()));
+        assertTrue(messageRepository.addReply(first.getMessageId(), "owner", "Thanks"));
+
+        assertEquals(2, messageRepository.countUnreadForStore(storeId));
+        assertEquals(List.of("message 2", "message 0"),
+                contents(messageRepository.findStorePage(storeId, MessageFilter.UNREAD, 0, 10)));
+        assertEquals(List.of("message 2", "message 1"),
+                contents(messageRepository.findStorePage(storeId, MessageFilter.UNANSWERED, 0, 10)));
+        // The unanswered list keeps its oldest-first order
+        assertEquals(List.of("message 1", "message 2"),
+                contents(messageRepository.getUnansweredMessagesForStore(storeId)));
+
+        assertEquals(2, messageRepository.markAllStoreMessagesAsRead(storeId));
+        assertEquals(0, messageRepository.countUnreadForStore(storeId));
+        assertTrue(messageRepository.getUnreadMessagesForStore(storeId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Saving a changed message again or deleting it keeps the indexes in step")
+    void reindexesOnSaveAndDelete() {
+        Message message = message("alice", storeId, 0);
+        message("bob", storeId, 1);
+
+        message.markAsRead();
+        messageRepository.save(message);
+        assertEquals(1, messageRepository.countUnreadForStore(storeId));
+        assertEquals(2, messageRepository.findByStore(storeId).size());
+
+        messageRepository.deleteById(message.getMessageId());
+        assertEquals(List.of("message 1"), contents(messageRepository.findByStore(storeId)));
+        assertTrue(messageRepository.findBySender("alice").isEmpty());
+        assertEquals(1, messageRepository.countUnreadForStore(storeId));
+
+        messageRepository.clear();
+        assertEquals(0, messageRepository.countUnreadForStore(storeId));
+        assertTrue(messageRepository.findStorePage(storeId, MessageFilter.ALL, 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("A conversation holds the user's messages and the ones they replied to, oldest first")
+    void findsConversation() {
+        message("alice", storeId, 0);
+        Message question = message("bob", storeId, 1);
+        message("alice", storeId, 2);
+        message("alice", otherStoreId, 3);
+        messageRepository.addReply(question.getMessageId(), "alice", "Answer");
+
+        assertEquals(List.of("message 0", "message 1", "message 2"),
+                contents(messageRepository.findByUserAndStore("alice", storeId)));
+    }
+}
@@ -723,4 +723,81 @@ public class InMemoryOrderRepositoryUnitTest {
 
         System.out.println("✓ clear correctly removes all orders");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findByStatus and hasUserPurchasedProduct should follow status updates")
+    void testStatusIndex_FollowsUpdates() {
+        UUID productId = testProducts.keySet().iterator().next();
+        assertFalse(orderRepository.hasUserPurchasedProduct(testUserName, productId));
+
+        assertTrue(orderRepository.updateOrderStatus(testOrderId, OrderStatus.PAID));
+        assertTrue(orderRepository.updateOrderStatus(testOrderId, OrderStatus.SHIPPED));
+        assertTrue(orderRepository.updateOrderStatus(testOrderId, OrderStatus.COMPLETED));
+
+        assertTrue(orderRepository.findByStatus(OrderStatus.PENDING).isEmpty());
+        assertEquals(1, orderRepository.findByStatus(OrderStatus.COMPLETED).size());
+        assertTrue(orderRepository.hasUserPurchasedProduct(testUserName, productId));
+        assertFalse(orderRepository.hasUserPurchasedProduct("otherUser", productId));
+
+        orderRepository.deleteById(testOrderId);
+        assertTrue(orderRepository.findByStatus(OrderStatus.COMPLETED).isEmpty());
+        assertFalse(orderRepository.hasUserPurchasedProduct(testUserName, productId));
+    }
+
+    @Test
+    @DisplayName("calculateTotalRevenue should track saved, re-saved and deleted orders")
+    void testRevenue_RunningTotal() {
+        assertEquals(testFinalPrice, orderRepository.calculateTotalRevenue(), 0.0001);
+
+        UUID otherOrderId = orderRepository.createOrder(UUID.randomUUID(), "otherUser", testProducts,
+                50.0, 40.0, testOrderDate, OrderStatus.PENDING, 1);
+        assertEquals(testFinalPrice + 40.0, orderRepository.calculateTotalRevenue(), 0.0001);
+
+        testOrder.setFinalPrice(80.0);
+        orderRepository.save(testOrder);
+        assertEquals(120.0, orderRepository.calculateTotalRevenue(), 0.0001);
+
+        orderRepository.deleteById(otherOrderId);
+        assertEquals(80.0, orderRepository.calculateTotalRevenue(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("calculateTotalRevenue should stay exact when orders are reindexed many times")
+    void testRevenue_NoDriftOnReindex() {
+        orderRepository.clear();
+        List<Order> orders = new ArrayList<>();
+        for (double price : new double[] {0.1, 0.2, 0.3}) {
+            UUID orderId = orderRepository.createOrder(testStoreId, testUserName, testProducts,
+                    price, price, testOrderDate, OrderStatus.PENDING, 1);
+            orders.add(orderRepository.findById(orderId).orElseThrow());
+        }
+
+        // Every save takes the order's price out of the total and adds it back;
+        // a total kept in doubles would already read 0.6000000000000001
+        for (int i = 0; i < 10_000; i++) {
+            Order order = orders.get(i % orders.size());
+            order.setOrderDate(testOrderDate.plusSeconds(i));
+            orderRepository.save(order);
+        }
+
+        assertEquals(0.6, orderRepository.calculateTotalRevenue());
+    }
+
+    @Test
+    @DisplayName("save should move an order between store, user and date indexes when it changes")
+    void testSave_ReindexesChangedOrder() {
+        UUID newStoreId = UUID.randomUUID();
+        LocalDateTime newDate = testOrderDate.minusDays(30);
+        testOrder.setStoreId(newStoreId);
+        testOrder.setUserName("renamedUser");
+        testOrder.setOrderDate(newDate);
+        orderRepository.save(testOrder);
+
+        assertTrue(orderRepository.findByStoreId(testStoreId).isEmpty());
+        assertTrue(orderRepository.findByUserName(testUserName).isEmpty());
+        assertEquals(1, orderRepository.findByStoreId(newStoreId).size());
+        assertEquals(1, orderRepository.findByUserName("renamedUser").size());
+        assertTrue(orderRepository.findByDateRange(testOrderDate.minusDays(1), testOrderDate.plusDays(1)).isEmpty());
+        assertEquals(1, orderRepository.findByDateRange(newDate, newDate).size());
+    }
+}
@@ -611,4 +611,66 @@ public class InMemoryProductRepositoryUnitTest {
 
         System.out.println("✓ deleteProductRating correctly handles non-existent ratings");
     }
-}
\ No newline at end of file
+
+    // Secondary Index Tests
+
+    @Test
+    @DisplayName("Updating a product moves it between the name, category and price indexes")
+    void testUpdateProduct_ChangedFields_IndexesFollow() {
+        System.out.println("TEST: Verifying indexes follow an update");
+
+        productRepository.updateProduct(testProductId, "Renamed", "OtherCategory", testDescription, 10.0);
+
+        assertTrue(productRepository.filterByName(testProductName).isEmpty(), "Old name should not match");
+        assertEquals(1, productRepository.filterByName("renamed").size(), "New name should match ignoring case");
+        assertTrue(productRepository.filterByCategory(testCategory).isEmpty(), "Old category should not match");
+        assertEquals(1, productRepository.filterByCategory("OtherCategory").size());
+        assertTrue(productRepository.filterByPriceRange(50.0, 150.0).isEmpty(), "Old price should not match");
+        assertEquals(1, productRepository.filterByPriceRange(10.0, 10.0).size(), "Range bounds are inclusive");
+
+        // The old name is free again in the store, the new one is taken
+        assertNotNull(productRepository.addProduct(testStoreId, testProductName, testCategory, testDescription, 1.0, true));
+        assertThrows(IllegalArgumentException.class, () ->
+                productRepository.addProduct(testStoreId, "RENAMED", testCategory, testDescription, 1.0, true));
+
+        System.out.println("✓ Indexes follow the update");
+    }
+
+    @Test
+    @DisplayName("Ratings move products in the rate index and the top-ten list")
+    void testRatings_RateIndexAndTopTen() {
+        System.out.println("TEST: Verifying the rate index follows ratings");
+
+        UUID other = productRepository.addProduct(testStoreId, "Other", testCategory, testDescription, 5.0, true);
+        productRepository.addProductRating(testProductId, "alice", 2);
+        productRepository.addProductRating(other, "alice", 4);
+
+        assertEquals(other, productRepository.getTopTenRatedProducts().get(0).getProductId());
+        assertEquals(1, productRepository.filterByRate(3.5, 5.0).size());
+
+        productRepository.updateProductRating(testProductId, 2, 5);
+
+        assertEquals(testProductId, productRepository.getTopTenRatedProducts().get(0).getProductId());
+        assertEquals(2, productRepository.filterByRate(3.5, 5.0).size());
+        assertTrue(productRepository.filterByRate(0.0, 1.0).isEmpty());
+
+        System.out.println("✓ Rate index follows ratings");
+    }
+
+    @Test
+    @DisplayName("Deleted products leave every index")
+    void testDeleteProduct_RemovedFromIndexes() {
+        System.out.println("TEST: Verifying a deleted product leaves the indexes");
+
+        productRepository.deleteProduct(testProductId);
+
+        assertTrue(productRepository.findByStoreId(testStoreId).isEmpty());
+        assertTrue(productRepository.filterByName(testProductName).isEmpty());
+        assertTrue(productRepository.filterByCategory(testCategory).isEmpty());
+        assertTrue(productRepository.filterByPriceRange(0.0, 1000.0).isEmpty());
+        assertTrue(productRepository.getTopTenRatedProducts().isEmpty());
+        assertNotNull(productRepository.addProduct(testStoreId, testProductName, testCategory, testDescription, 1.0, true));
+
+        System.out.println("✓ Deleted product left the indexes");
+    }
+}
@@ -0,0 +1,95 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.ProductRating;
+import com.sadna_market.market.DomainLayer.ProductReview;
+import com.sadna_market.market.DomainLayer.StoreRating;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryRatingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InMemoryRatingRepository Unit Tests")
+public class InMemoryRatingRepositoryUnitTest {
+
+    private InMemoryRatingRepository ratingRepository;
+    private UUID productId;
+    private UUID storeId;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository = new InMemoryRatingRepository();
+        productId = UUID.randomUUID();
+        storeId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Product ratings are found by user and product, and averaged from running totals")
+    void indexesProductRatings() {
+        ProductRating alice = ratingRepository.saveProductRating(new ProductRating("alice", productId, 5));
+        ratingRepository.saveProductRating(new ProductRating("bob", productId, 2));
+        ratingRepository.saveProductRating(new ProductRating("alice", UUID.randomUUID(), 1));
+
+        assertEquals(alice, ratingRepository.findProductRatingByUserAndProduct("alice", productId).orElseThrow());
+        assertTrue(ratingRepository.findProductRatingByUserAndProduct("carol", productId).isEmpty());
+        assertEquals(2, ratingRepository.findProductRatingsByProduct(productId).size());
+        assertEquals(2, ratingRepository.findProductRatingsByUser("alice").size());
+        assertEquals(3.5, ratingRepository.getAverageProductRating(productId));
+        assertEquals(2, ratingRepository.getProductRatingCount(productId));
+    }
+
+    @Test
+    @DisplayName("A rating changed in place and saved again replaces its old value in the totals")
+    void updatesTotalsOnResave() {
+        StoreRating rating = ratingRepository.saveStoreRating(new StoreRating("alice", storeId, 1, "slow"));
+        ratingRepository.saveStoreRating(new StoreRating("bob", storeId, 3, "ok"));
+
+        rating.updateRating(5, "better now");
+        ratingRepository.saveStoreRating(rating);
+
+        assertEquals(4.0, ratingRepository.getAverageStoreRating(storeId));
+        assertEquals(2, ratingRepository.getStoreRatingCount(storeId));
+        assertEquals("better now",
+                ratingRepository.findStoreRatingByUserAndStore("alice", storeId).orElseThrow().getComment());
+    }
+
+    @Test
+    @DisplayName("Deleting a rating removes it from every index and from the totals")
+    void deletesFromIndexes() {
+        ProductRating alice = ratingRepository.saveProductRating(new ProductRating("alice", productId, 4));
+        ratingRepository.saveProductRating(new ProductRating("bob", productId, 2));
+
+        assertTrue(ratingRepository.deleteProductRating(alice.getRatingId()));
+        assertFalse(ratingRepository.deleteProductRating(alice.getRatingId()));
+
+        assertTrue(ratingRepository.findProductRatingByUserAndProduct("alice", productId).isEmpty());
+        assertTrue(ratingRepository.findProductRatingsByUser("alice").isEmpty());
+        assertEquals(2.0, ratingRepository.getAverageProductRating(productId));
+        assertEquals(1, ratingRepository.getProductRatingCount(productId));
+
+        ratingRepository.clear();
+        assertEquals(0.0, ratingRepository.getAverageProductRating(productId));
+        assertEquals(0, ratingRepository.getProductRatingCount(productId));
+    }
+
+    @Test
+    @DisplayName("Reviews are indexed by product, user, store and (user, product)")
+    void indexesReviews() {
+        ProductReview review = ratingRepository.saveProductReview(new ProductReview("alice", productId, storeId, "Great"));
+        ratingRepository.saveProductReview(new ProductReview("bob", productId, storeId, "Fine"));
+        ratingRepository.saveProductReview(new ProductReview("bob", UUID.randomUUID(), UUID.randomUUID(), "Meh"));
+
+        assertEquals(2, ratingRepository.getProductReviewCount(productId));
+        assertEquals(2, ratingRepository.findProductReviewsByStore(storeId).size());
+        assertEquals(2, ratingRepository.findProductReviewsByUser("bob").size());
+        assertEquals(review, ratingRepository.findProductReviewByUserAndProduct("alice", productId).orElseThrow());
+
+        assertTrue(ratingRepository.deleteProductReview(review.getReviewId()));
+        assertEquals(1, ratingRepository.getProductReviewCount(productId));
+        assertEquals(1, ratingRepository.findProductReviewsByStore(storeId).size());
+        assertTrue(ratingRepository.findProductReviewByUserAndProduct("alice", productId).isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package com.sadna_market.market.UnitTests;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreDTO;
 import com.sadna_market.market.DomainLayer.Store;
 import com.sadna_market.market.DomainLayer.StoreFounder;
 import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryStoreRepository;
@@ -652,4 +653,26 @@ public class InMemoryStoreRepositoryUnitTest {
 
         System.out.println("✓ getStoreOrdersIds correctly returns all orders");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindActiveStoreDTOs_ListsActiveStoresWithPersonnel() {
+        System.out.println("TEST: Verifying findActiveStoreDTOs lists active stores with their personnel");
+
+        testStore.addStoreManager("manager1");
+        UUID closedStoreId = storeRepository.createStore("otherFounder", "ClosedStore", "Address", "closed@example.com", "987654321");
+        storeRepository.findById(closedStoreId).get().closeStore();
+
+        List<StoreDTO> stores = storeRepository.findActiveStoreDTOs();
+        System.out.println("Active stores listed: " + stores.size());
+
+        assertEquals(1, stores.size(), "Only the active store should be listed");
+        StoreDTO dto = stores.get(0);
+        assertEquals(testStoreId, dto.getStoreId());
+        assertEquals(testStoreName, dto.getName());
+        assertEquals(testFounder, dto.getFounderUsername());
+        assertTrue(dto.getOwnerUsernames().contains(testFounder), "Founder should be listed as owner");
+        assertEquals(Set.of("manager1"), dto.getManagerUsernames());
+
+        System.out.println("✓ findActiveStoreDTOs correctly lists active stores");
+    }
+}
@@ -1,6 +1,8 @@
 package com.sadna_market.market.UnitTests;
 
+import com.sadna_market.market.ApplicationLayer.DTOs.StoreProductDTO;
 import com.sadna_market.market.DomainLayer.DomainServices.InventoryManagementService;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
 import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryProductRepository;
 import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryStoreRepository;
 import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryUserRepository;
@@ -8,7 +10,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,7 +30,7 @@ class InventoryManagementServiceTest {
     @BeforeEach
     void setUp() {
         storeRepository = new InMemoryStoreRepository();
-        productRepository = new InMemoryProductRepository();
+        productRepository = new InMemoryProductRepository(RepositoryJournal.NONE, storeRepository);
         userRepository = new InMemoryUserRepository();
         inventoryService = new InventoryManagementService(storeRepository, productRepository, userRepository);
         storeId = storeRepository.createStore(ownerUsername, "TestStore", "Address", "email@test.com", "123456789");
@@ -40,4 +45,19 @@ class InventoryManagementServiceTest {
                 inventoryService.addProductToStore(ownerUsername, storeId, "Prod", "Other", "desc2", 15.0, 3)
         );
     }
+
+    @Test
+    @DisplayName("Products with inventory should carry each product's store quantity")
+    void productsWithInventoryCarryQuantities() {
+        UUID first = inventoryService.addProductToStore(ownerUsername, storeId, "First", "Category", "desc", 10.0, 5);
+        UUID second = inventoryService.addProductToStore(ownerUsername, storeId, "Second", "Category", "desc", 12.0, 0);
+        UUID otherStoreId = storeRepository.createStore(ownerUsername, "OtherStore", "Address", "other@test.com", "123456780");
+        inventoryService.addProductToStore(ownerUsername, otherStoreId, "Elsewhere", "Category", "desc", 8.0, 7);
+
+        List<StoreProductDTO> rows = inventoryService.getAllProductsWithInventoryStatus(storeId);
+
+        Map<UUID, Integer> quantities = rows.stream()
+                .collect(Collectors.toMap(StoreProductDTO::getProductId, StoreProductDTO::getQuantity));
+        assertEquals(Map.of(first, 5, second, 0), quantities);
+    }
 }
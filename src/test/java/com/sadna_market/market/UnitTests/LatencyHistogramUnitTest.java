@@ -0,0 +1,79 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.LoadTests.LatencyHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Unit Tests")
+public class LatencyHistogramUnitTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    @DisplayName("Empty histogram reports zeros")
+    void testEmpty() {
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentileMicros(0.99));
+        assertEquals(0, histogram.maxMicros());
+    }
+
+    @Test
+    @DisplayName("Small values are recorded exactly")
+    void testExactBuckets() {
+        for (int micros = 1; micros <= 50; micros++) {
+            histogram.record(micros, TimeUnit.MICROSECONDS);
+        }
+
+        assertEquals(50, histogram.count());
+        assertEquals(25, histogram.percentileMicros(0.50));
+        assertEquals(50, histogram.percentileMicros(1.0));
+        assertEquals(25.5, histogram.meanMicros(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Percentiles of a uniform distribution are within the bucket precision")
+    void testPercentilesWithinPrecision() {
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        assertWithin(500_000, histogram.percentileMicros(0.50));
+        assertWithin(990_000, histogram.percentileMicros(0.99));
+        assertWithin(999_000, histogram.percentileMicros(0.999));
+        assertEquals(1_000_000, histogram.maxMicros());
+    }
+
+    @Test
+    @DisplayName("Percentiles never exceed the recorded maximum")
+    void testPercentileCappedByMax() {
+        histogram.record(1_234_567, TimeUnit.MICROSECONDS);
+
+        assertEquals(1_234_567, histogram.percentileMicros(0.999));
+    }
+
+    @Test
+    @DisplayName("Reset clears all samples")
+    void testReset() {
+        histogram.record(5, TimeUnit.MILLISECONDS);
+        histogram.reset();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.maxMicros());
+        assertEquals(0, histogram.percentileMicros(0.5));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.035,
+                "Expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,87 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.ApplicationLayer.NotificationEventListeners;
+import com.sadna_market.market.ApplicationLayer.NotificationService;
+import com.sadna_market.market.DomainLayer.Events.DirectMessageEvent;
+import com.sadna_market.market.DomainLayer.Events.DomainEventPublisher;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryStoreRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Notification Event Listeners Unit Tests")
+public class NotificationEventListenersUnitTest {
+
+    private final List<Runnable> dispatched = new ArrayList<>();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @BeforeEach
+    void setUp() {
+        DomainEventPublisher.clearAllSubscribers();
+        new NotificationEventListeners(mock(NotificationService.class), new InMemoryStoreRepository(),
+                new InMemoryUserRepository(), dispatched::add,
+                new StaticListableBeanFactory(Map.of("transactionManager", transactionManager))
+                        .getBeanProvider(PlatformTransactionManager.class)).subscribeToEvents();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        DomainEventPublisher.clearAllSubscribers();
+    }
+
+    @Test
+    @DisplayName("Outside a transaction a notification is dispatched right away")
+    void dispatchesWithoutTransaction() {
+        DomainEventPublisher.publish(new DirectMessageEvent("alice", "bob", "hi"));
+
+        assertEquals(1, dispatched.size());
+    }
+
+    @Test
+    @DisplayName("Inside a transaction a notification is dispatched only after commit")
+    void dispatchesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        DomainEventPublisher.publish(new DirectMessageEvent("alice", "bob", "hi"));
+        assertTrue(dispatched.isEmpty(), "nothing is sent before the transaction commits");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, dispatched.size());
+
+        // The committed transaction is finished, so the handler writes in a new one
+        dispatched.get(0).run();
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    @DisplayName("A rolled back transaction sends no notification")
+    void rollbackSendsNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        DomainEventPublisher.publish(new DirectMessageEvent("alice", "bob", "hi"));
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertTrue(dispatched.isEmpty());
+    }
+}
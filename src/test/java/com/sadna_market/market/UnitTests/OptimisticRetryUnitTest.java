@@ -0,0 +1,75 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.DomainServices.OptimisticRetry;
+import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OptimisticRetry Unit Tests")
+public class OptimisticRetryUnitTest {
+
+    @Test
+    @DisplayName("Action is run again after a version conflict")
+    void retriesAfterConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = OptimisticRetry.run("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale store");
+            }
+            return "saved";
+        });
+
+        assertEquals("saved", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    @DisplayName("JPA optimistic lock exceptions are retried too")
+    void retriesJpaConflict() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        OptimisticRetry.run("test", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new OptimisticLockException("stale product");
+            }
+        });
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("Gives up after the attempt limit")
+    void givesUpAfterLimit() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+                OptimisticRetry.run("store update", () -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("stale store");
+                }));
+
+        assertEquals(3, attempts.get());
+        assertTrue(e.getMessage().contains("store update"));
+        assertTrue(e.getCause() instanceof OptimisticLockingFailureException);
+    }
+
+    @Test
+    @DisplayName("Other failures are not retried")
+    void otherFailuresNotRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                OptimisticRetry.run("test", () -> {
+                    attempts.incrementAndGet();
+                    throw new IllegalArgumentException("bad input");
+                }));
+
+        assertEquals(1, attempts.get());
+    }
+}
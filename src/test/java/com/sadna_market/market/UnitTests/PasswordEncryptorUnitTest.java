@@ -0,0 +1,89 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.InfrastructureLayer.Authentication.HashingOverloadedException;
+import com.sadna_market.market.InfrastructureLayer.Authentication.InMemoryAuthRepository;
+import com.sadna_market.market.InfrastructureLayer.Authentication.PasswordEncryptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Password Encryptor Unit Tests")
+public class PasswordEncryptorUnitTest {
+
+    @AfterEach
+    void tearDown() {
+        PasswordEncryptor.configure(PasswordEncryptor.DEFAULT_COST, 1, 0);
+        PasswordEncryptor.useCallingThread();
+    }
+
+    @Test
+    @DisplayName("Hashes made on the pool verify, with the configured cost")
+    void hashesOnPool() {
+        PasswordEncryptor.configure(5, 2, 0);
+
+        String hash = PasswordEncryptor.encryptPassword("Password1!");
+
+        assertEquals(5, PasswordEncryptor.costOf(hash));
+        assertTrue(PasswordEncryptor.verifyPassword("Password1!", hash));
+        assertFalse(PasswordEncryptor.verifyPassword("Password2!", hash));
+    }
+
+    @Test
+    @DisplayName("The cost is read from the hash and only lower costs need a rehash")
+    void detectsLowerCost() {
+        PasswordEncryptor.configure(6, 1, 0);
+
+        assertEquals(4, PasswordEncryptor.costOf(BCrypt.hashpw("x", BCrypt.gensalt(4))));
+        assertEquals(-1, PasswordEncryptor.costOf("plain"));
+        assertTrue(PasswordEncryptor.needsRehash(BCrypt.hashpw("x", BCrypt.gensalt(5))));
+        assertFalse(PasswordEncryptor.needsRehash(BCrypt.hashpw("x", BCrypt.gensalt(6))));
+        assertFalse(PasswordEncryptor.needsRehash(BCrypt.hashpw("x", BCrypt.gensalt(7))));
+        assertFalse(PasswordEncryptor.needsRehash("plain"));
+    }
+
+    @Test
+    @DisplayName("A login after the cost was raised replaces the stored hash")
+    void rehashesOnLogin() {
+        PasswordEncryptor.configure(4, 1, 0);
+        InMemoryAuthRepository repository = new InMemoryAuthRepository();
+        repository.addUser("user", "Password1!");
+        assertEquals(4, PasswordEncryptor.costOf(repository.getAll().get("user")));
+
+        PasswordEncryptor.configure(5, 1, 0);
+        repository.login("user", "Password1!");
+
+        String rehashed = repository.getAll().get("user");
+        assertEquals(5, PasswordEncryptor.costOf(rehashed));
+        assertTrue(PasswordEncryptor.verifyPassword("Password1!", rehashed));
+        assertThrows(IllegalArgumentException.class, () -> repository.login("user", "Wrong1!"));
+    }
+
+    @Test
+    @DisplayName("Verifications beyond the queue limit are turned away with a retry hint")
+    void rejectsBeyondQueueLimit() throws Exception {
+        String slowHash = BCrypt.hashpw("Password1!", BCrypt.gensalt(13));
+        PasswordEncryptor.configure(4, 1, 1);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                () -> PasswordEncryptor.verifyPassword("Password1!", slowHash));
+        Thread.sleep(100);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> PasswordEncryptor.verifyPassword("Password1!", slowHash));
+        Thread.sleep(100);
+
+        HashingOverloadedException rejected = assertThrows(HashingOverloadedException.class,
+                () -> PasswordEncryptor.verifyPassword("Password1!", slowHash));
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+
+        // New passwords still queue instead of failing
+        String hash = PasswordEncryptor.encryptPassword("Password2!");
+        assertTrue(running.get());
+        assertTrue(queued.get());
+        assertTrue(PasswordEncryptor.verifyPassword("Password2!", hash));
+    }
+}
@@ -0,0 +1,191 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.DomainServices.PolicyManagementService;
+import com.sadna_market.market.DomainLayer.Policies.BasketQuote;
+import com.sadna_market.market.DomainLayer.Policies.CompiledStorePolicy;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRule;
+import com.sadna_market.market.DomainLayer.Policies.PolicyRuleType;
+import com.sadna_market.market.DomainLayer.StoreExceptions.InsufficientPermissionsException;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PolicyManagementService Unit Tests")
+public class PolicyManagementServiceUnitTest {
+    private static final double DELTA = 0.0001;
+
+    private PolicyManagementService policyService;
+    private InMemoryPolicyRepository policyRepository;
+
+    private UUID storeId;
+    private UUID milkId;   // 10.0, dairy
+    private UUID cheeseId; // 20.0, dairy
+    private UUID breadId;  // 5.0, bakery
+    private final String ownerUsername = "owner";
+
+    @BeforeEach
+    void setUp() {
+        InMemoryStoreRepository storeRepository = new InMemoryStoreRepository();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository();
+        policyRepository = new InMemoryPolicyRepository();
+        policyService = new PolicyManagementService(policyRepository, storeRepository,
+                productRepository, new InMemoryUserRepository());
+
+        storeId = storeRepository.createStore(ownerUsername, "TestStore", "Address", "email@test.com", "123456789");
+        milkId = productRepository.addProduct(storeId, "Milk", "dairy", "desc", 10.0, true);
+        cheeseId = productRepository.addProduct(storeId, "Cheese", "dairy", "desc", 20.0, true);
+        breadId = productRepository.addProduct(storeId, "Bread", "bakery", "desc", 5.0, true);
+    }
+
+    private static PolicyRule percentage(UUID productId, String category, double percent, PolicyRule... conditions) {
+        return new PolicyRule(PolicyRuleType.PERCENTAGE, productId, category, percent, 0, List.of(conditions));
+    }
+
+    private static PolicyRule condition(PolicyRuleType type, UUID productId, double threshold) {
+        return new PolicyRule(type, productId, null, 0, threshold, null);
+    }
+
+    private static PolicyRule composite(PolicyRuleType type, PolicyRule... children) {
+        return new PolicyRule(type, null, null, 0, 0, List.of(children));
+    }
+
+    @Test
+    @DisplayName("Store without policies charges the plain total")
+    void noPoliciesChargesTotal() {
+        BasketQuote quote = policyService.quote(storeId, Map.of(milkId, 2, breadId, 1));
+
+        assertEquals(25.0, quote.getTotalPrice(), DELTA);
+        assertEquals(25.0, quote.getFinalPrice(), DELTA);
+        assertTrue(quote.isPurchaseAllowed());
+    }
+
+    @Test
+    @DisplayName("Category discount applies only to products in the category")
+    void categoryDiscount() {
+        policyService.addDiscountPolicy(ownerUsername, storeId, percentage(null, "dairy", 50));
+
+        BasketQuote quote = policyService.quote(storeId, Map.of(milkId, 1, cheeseId, 1, breadId, 2));
+
+        assertEquals(40.0, quote.getTotalPrice(), DELTA);
+        assertEquals(15.0, quote.getDiscount(), DELTA);
+        assertEquals(25.0, quote.getFinalPrice(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Conditional discount applies only when its condition holds")
+    void conditionalDiscount() {
+        policyService.addDiscountPolicy(ownerUsername, storeId,
+                percentage(breadId, null, 20, condition(PolicyRuleType.MIN_QUANTITY, breadId, 3)));
+
+        assertEquals(10.0, policyService.quote(storeId, Map.of(breadId, 2)).getFinalPrice(), DELTA);
+        assertEquals(12.0, policyService.quote(storeId, Map.of(breadId, 3)).getFinalPrice(), DELTA);
+    }
+
+    @Test
+    @DisplayName("MAX applies the best discount while SUM stacks them")
+    void maxAndSumComposites() {
+        PolicyRule max = composite(PolicyRuleType.MAX,
+                percentage(null, null, 10),
+                percentage(cheeseId, null, 25));
+        UUID maxId = policyService.addDiscountPolicy(ownerUsername, storeId, max);
+
+        // basket 40: 10% of all = 4, 25% of cheese = 5 -> best is 5
+        assertEquals(5.0, policyService.quote(storeId, Map.of(milkId, 2, cheeseId, 1)).getDiscount(), DELTA);
+
+        policyService.removePolicy(ownerUsername, storeId, maxId);
+        policyService.addDiscountPolicy(ownerUsername, storeId, composite(PolicyRuleType.SUM,
+                percentage(null, null, 10),
+                percentage(cheeseId, null, 25)));
+
+        assertEquals(9.0, policyService.quote(storeId, Map.of(milkId, 2, cheeseId, 1)).getDiscount(), DELTA);
+    }
+
+    @Test
+    @DisplayName("Discounts never take the price below zero")
+    void discountCappedAtTotal() {
+        policyService.addDiscountPolicy(ownerUsername, storeId, percentage(null, null, 80));
+        policyService.addDiscountPolicy(ownerUsername, storeId, percentage(null, null, 80));
+
+        assertEquals(0.0, policyService.quote(storeId, Map.of(milkId, 1)).getFinalPrice(), DELTA);
+    }
+
+    @Test
+    @DisplayName("XOR purchase rule allows exactly one of its conditions")
+    void xorPurchasePolicy() {
+        policyService.addPurchasePolicy(ownerUsername, storeId, composite(PolicyRuleType.XOR,
+                condition(PolicyRuleType.MIN_QUANTITY, milkId, 1),
+                condition(PolicyRuleType.MIN_QUANTITY, cheeseId, 1)));
+
+        assertTrue(policyService.quote(storeId, Map.of(milkId, 1)).isPurchaseAllowed());
+        assertTrue(policyService.quote(storeId, Map.of(cheeseId, 1)).isPurchaseAllowed());
+        assertFalse(policyService.quote(storeId, Map.of(milkId, 1, cheeseId, 1)).isPurchaseAllowed());
+        assertFalse(policyService.quote(storeId, Map.of(breadId, 1)).isPurchaseAllowed());
+    }
+
+    @Test
+    @DisplayName("Violated purchase rule is reported with a readable message")
+    void purchasePolicyViolationMessage() {
+        policyService.addPurchasePolicy(ownerUsername, storeId,
+                condition(PolicyRuleType.MAX_QUANTITY, breadId, 5));
+
+        BasketQuote quote = policyService.quote(storeId, Map.of(breadId, 6));
+
+        assertFalse(quote.isPurchaseAllowed());
+        assertTrue(quote.getViolation().contains("at most 5 units"));
+    }
+
+    @Test
+    @DisplayName("Compiled policy is cached until the store edits its rules")
+    void compiledPolicyCachedUntilEdit() {
+        CompiledStorePolicy first = policyService.getCompiledPolicy(storeId);
+        assertSame(first, policyService.getCompiledPolicy(storeId));
+
+        UUID policyId = policyService.addDiscountPolicy(ownerUsername, storeId, percentage(null, null, 10));
+        CompiledStorePolicy second = policyService.getCompiledPolicy(storeId);
+        assertNotSame(first, second);
+        assertSame(second, policyService.getCompiledPolicy(storeId));
+
+        policyService.removePolicy(ownerUsername, storeId, policyId);
+        assertTrue(policyService.getCompiledPolicy(storeId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Malformed policies are rejected when added")
+    void malformedPoliciesRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+                policyService.addDiscountPolicy(ownerUsername, storeId, percentage(null, null, 150)));
+        assertThrows(IllegalArgumentException.class, () ->
+                policyService.addDiscountPolicy(ownerUsername, storeId,
+                        condition(PolicyRuleType.MIN_QUANTITY, milkId, 1)));
+        assertThrows(IllegalArgumentException.class, () ->
+                policyService.addPurchasePolicy(ownerUsername, storeId, composite(PolicyRuleType.XOR,
+                        condition(PolicyRuleType.MIN_QUANTITY, milkId, 1))));
+        assertTrue(policyRepository.findByStoreId(storeId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Users without a store role cannot edit policies")
+    void nonOwnerCannotEdit() {
+        assertThrows(InsufficientPermissionsException.class, () ->
+                policyService.addDiscountPolicy("stranger", storeId, percentage(null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("A rule nested in a composite cannot be removed on its own")
+    void nestedRuleCannotBeRemoved() {
+        PolicyRule child = condition(PolicyRuleType.MIN_QUANTITY, milkId, 1);
+        policyService.addPurchasePolicy(ownerUsername, storeId, composite(PolicyRuleType.XOR,
+                child, condition(PolicyRuleType.MIN_QUANTITY, breadId, 1)));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                policyService.removePolicy(ownerUsername, storeId, child.getRuleId()));
+        assertEquals(2, policyRepository.findByStoreId(storeId).get(0).getChildren().size());
+    }
+}
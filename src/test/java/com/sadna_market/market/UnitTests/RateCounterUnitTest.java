@@ -0,0 +1,142 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.InfrastructureLayer.Metrics.RateCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateCounter Unit Tests")
+public class RateCounterUnitTest {
+
+    private AtomicLong now;
+    private RateCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_700_000_000_000L);
+        counter = new RateCounter(now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toMillis());
+    }
+
+    @Test
+    @DisplayName("Events are counted in every window that contains them")
+    void testCountsWithinWindows() {
+        counter.increment();
+        counter.increment();
+        counter.add(3);
+
+        assertEquals(5, counter.lastMinute());
+        assertEquals(5, counter.lastHour());
+        assertEquals(5, counter.lastDay());
+        assertEquals(5, counter.total());
+    }
+
+    @Test
+    @DisplayName("Events older than a minute drop out of the one minute window only")
+    void testMinuteWindowExpires() {
+        counter.increment();
+        advance(Duration.ofSeconds(61));
+        counter.increment();
+
+        assertEquals(1, counter.lastMinute());
+        assertEquals(2, counter.lastHour());
+        assertEquals(2, counter.lastDay());
+    }
+
+    @Test
+    @DisplayName("Events older than an hour drop out of the hour window but stay in the day window")
+    void testHourWindowExpires() {
+        counter.add(4);
+        advance(Duration.ofMinutes(90));
+        counter.add(1);
+
+        assertEquals(1, counter.lastHour());
+        assertEquals(5, counter.lastDay());
+    }
+
+    @Test
+    @DisplayName("Reused ring slots do not leak counts from a previous lap")
+    void testRingSlotIsClearedOnReuse() {
+        counter.add(7);
+        advance(Duration.ofHours(1));
+        counter.add(2);
+
+        assertEquals(2, counter.lastMinute());
+        assertEquals(2, counter.lastHour());
+        assertEquals(9, counter.lastDay());
+    }
+
+    @Test
+    @DisplayName("Nothing remains in any window after a full day of inactivity")
+    void testEverythingExpiresAfterADay() {
+        counter.add(10);
+        advance(Duration.ofDays(1).plusMinutes(1));
+
+        assertEquals(0, counter.lastMinute());
+        assertEquals(0, counter.lastHour());
+        assertEquals(0, counter.lastDay());
+        assertEquals(10, counter.total());
+    }
+
+    @Test
+    @DisplayName("Concurrent increments are not lost")
+    void testConcurrentIncrements() throws InterruptedException {
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.increment();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, counter.lastMinute());
+        assertEquals(80_000, counter.total());
+    }
+
+    @Test
+    @DisplayName("Concurrent increments are not lost while buckets roll over")
+    void testConcurrentIncrementsAcrossRollover() throws InterruptedException {
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 4_000; j++) {
+                    if (j % 10 == 0) {
+                        advance(Duration.ofSeconds(1));
+                    }
+                    counter.increment();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // 3200 seconds of rollovers, all within the hour
+        assertEquals(32_000, counter.lastHour());
+        assertEquals(32_000, counter.total());
+    }
+
+    @Test
+    @DisplayName("Reset clears all windows")
+    void testReset() {
+        counter.add(3);
+        counter.reset();
+
+        assertEquals(0, counter.lastHour());
+        assertEquals(0, counter.total());
+    }
+}
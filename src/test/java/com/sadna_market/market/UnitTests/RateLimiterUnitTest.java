@@ -0,0 +1,165 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimit;
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimitRule;
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.RateLimiter;
+import com.sadna_market.market.InfrastructureLayer.RateLimiting.TokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Rate Limiter Unit Tests")
+public class RateLimiterUnitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    private RateLimiter limiter(int maxBuckets, RateLimitRule... rules) {
+        return new RateLimiter(List.of(rules), maxBuckets, now::get);
+    }
+
+    @Test
+    @DisplayName("Limits are parsed as capacity per period")
+    void parsesLimits() {
+        assertEquals(new RateLimit(20, Duration.ofSeconds(10)), RateLimit.parse("20/10s"));
+        assertEquals(new RateLimit(5, Duration.ofSeconds(1)), RateLimit.parse("5/s"));
+        assertEquals(new RateLimit(100, Duration.ofMinutes(1)), RateLimit.parse(" 100 / 1m "));
+        assertEquals(new RateLimit(1000, Duration.ofHours(1)), RateLimit.parse("1000/h"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.parse("100"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.parse("10/5d"));
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.parse("0/1s"));
+    }
+
+    @Test
+    @DisplayName("A bucket allows a burst of its capacity, then refills one token per interval")
+    void bucketBurstsAndRefills() {
+        TokenBucket bucket = new TokenBucket(RateLimit.parse("4/2s"));
+        long start = now.get();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, bucket.tryAcquire(start));
+        }
+        assertEquals(SECOND / 2, bucket.tryAcquire(start));
+        assertEquals(SECOND / 4, bucket.tryAcquire(start + SECOND / 4));
+
+        assertEquals(0, bucket.tryAcquire(start + SECOND / 2));
+        assertTrue(bucket.tryAcquire(start + SECOND / 2) > 0);
+        assertFalse(bucket.isFull(start + SECOND));
+        assertTrue(bucket.isFull(start + 2 * SECOND + SECOND / 2));
+    }
+
+    @Test
+    @DisplayName("Concurrent callers never take more tokens than the bucket holds")
+    void bucketIsExactUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(RateLimit.parse("1000/1h"));
+        long instant = now.get();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int taken = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(instant) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertEquals(1000, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("A client over its limit does not use up the shared endpoint budget")
+    void clientsAreIsolated() {
+        RateLimiter limiter = limiter(100,
+                RateLimitRule.parse("search", "POST /api/products/search", "user", "3/10s", "5/10s"));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.admit("POST", "/api/products/search", key -> "user:abuser"));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.admit("POST", "/api/products/search", key -> "user:abuser") > 0);
+        }
+
+        assertEquals(0, limiter.admit("POST", "/api/products/search", key -> "user:alice"));
+        assertEquals(0, limiter.admit("POST", "/api/products/search", key -> "user:bob"));
+        assertTrue(limiter.admit("POST", "/api/products/search", key -> "user:carol") > 0);
+
+        assertEquals(50, limiter.getRejections("search", RateLimiter.SCOPE_CLIENT));
+        assertEquals(1, limiter.getRejections("search", RateLimiter.SCOPE_ENDPOINT));
+    }
+
+    @Test
+    @DisplayName("The first route matching method and path applies, others are untouched")
+    void matchesRoutesInOrder() {
+        RateLimiter limiter = limiter(100,
+                RateLimitRule.parse("login", "POST /api/users/login*, POST /api/users/register", "ip", "1/1m", null),
+                RateLimitRule.parse("default", "/api/**", "user", "2/1m", null));
+        List<RateLimitRule.ClientKey> requested = new ArrayList<>();
+
+        assertEquals(0, limiter.admit("POST", "/api/users/login-cart", key -> {
+            requested.add(key);
+            return "ip:10.0.0.1";
+        }));
+        assertTrue(limiter.admit("POST", "/api/users/register", key -> "ip:10.0.0.1") > 0);
+
+        // GET of a login path falls through to the default route
+        assertEquals(0, limiter.admit("GET", "/api/users/login", key -> "ip:10.0.0.1"));
+        assertEquals(0, limiter.admit("GET", "/api/stores", key -> "ip:10.0.0.1"));
+        assertTrue(limiter.admit("GET", "/api/stores", key -> "ip:10.0.0.1") > 0);
+
+        assertEquals(0, limiter.admit("GET", "/health", key -> {
+            requested.add(key);
+            return "ip:10.0.0.1";
+        }));
+        assertEquals(List.of(RateLimitRule.ClientKey.IP), requested);
+        assertEquals(1, limiter.getRejections("login", RateLimiter.SCOPE_CLIENT));
+        assertEquals(1, limiter.getRejections("default", RateLimiter.SCOPE_CLIENT));
+    }
+
+    @Test
+    @DisplayName("Idle buckets are dropped, and past the limit new clients share an overflow bucket")
+    void boundsBucketCount() {
+        RateLimiter limiter = limiter(10, RateLimitRule.parse("default", "/api/**", "ip", "1/1s", null));
+
+        for (int i = 0; i < 10; i++) {
+            String client = "ip:10.0.0." + i;
+            assertEquals(0, limiter.admit("GET", "/api/stores", key -> client));
+        }
+        assertEquals(10, limiter.getBucketCount());
+        assertEquals(0, limiter.admit("GET", "/api/stores", key -> "ip:new-1"));
+        assertTrue(limiter.admit("GET", "/api/stores", key -> "ip:new-2") > 0);
+        assertEquals(11, limiter.getBucketCount());
+
+        // After a second every bucket is full again and the next sweep drops them
+        now.addAndGet(2 * SECOND);
+        for (int i = 0; i < 2048; i++) {
+            limiter.admit("GET", "/api/stores", key -> "ip:new-2");
+        }
+        assertTrue(limiter.getBucketCount() <= 2, "buckets: " + limiter.getBucketCount());
+    }
+}
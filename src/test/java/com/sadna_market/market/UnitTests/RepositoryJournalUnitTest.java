@@ -0,0 +1,248 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.Order;
+import com.sadna_market.market.DomainLayer.OrderStatus;
+import com.sadna_market.market.DomainLayer.Store;
+import com.sadna_market.market.DomainLayer.User;
+import com.sadna_market.market.InfrastructureLayer.Authentication.InMemoryAuthRepository;
+import com.sadna_market.market.InfrastructureLayer.Durability.FileRepositoryJournal;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryCartRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryOrderRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryStoreRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Repository Journal Unit Tests")
+public class RepositoryJournalUnitTest {
+
+    private Path directory;
+    private final List<FileRepositoryJournal> opened = new ArrayList<>();
+    private final Object lock = new Object();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (FileRepositoryJournal journal : opened) {
+            journal.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private FileRepositoryJournal open() throws IOException {
+        FileRepositoryJournal journal = new FileRepositoryJournal(directory, true, Duration.ZERO);
+        opened.add(journal);
+        return journal;
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Rows written before a crash are replayed from the log")
+    void recoversFromLog() throws IOException {
+        Map<String, String> rows = new ConcurrentHashMap<>();
+        RepositoryJournal.Table<String, String> table = open().table("rows", rows, lock);
+        for (int i = 0; i < 100; i++) {
+            rows.put("key" + i, "value" + i);
+            table.put("key" + i, "value" + i);
+        }
+        rows.remove("key7");
+        table.remove("key7");
+
+        // no close: the writes returned, so they must already be on disk
+        Map<String, String> recovered = new ConcurrentHashMap<>();
+        open().table("rows", recovered, lock);
+
+        assertEquals(99, recovered.size());
+        assertEquals("value42", recovered.get("key42"));
+        assertFalse(recovered.containsKey("key7"));
+    }
+
+    @Test
+    @DisplayName("Recovery loads the snapshot, replays the newer log records and old files are deleted")
+    void recoversFromSnapshotAndLog() throws IOException {
+        Map<String, String> rows = new ConcurrentHashMap<>();
+        FileRepositoryJournal journal = open();
+        RepositoryJournal.Table<String, String> table = journal.table("rows", rows, lock);
+        rows.put("a", "1");
+        table.put("a", "1");
+        rows.put("b", "1");
+        table.put("b", "1");
+
+        journal.snapshot();
+        rows.put("a", "2");
+        table.put("a", "2");
+        journal.snapshot();
+        rows.put("c", "1");
+        table.put("c", "1");
+        rows.remove("b");
+        table.remove("b");
+
+        assertEquals(1, files("snapshot-").size());
+        assertEquals(1, files("wal-").size());
+
+        Map<String, String> recovered = new ConcurrentHashMap<>();
+        open().table("rows", recovered, lock);
+        assertEquals(Map.of("a", "2", "c", "1"), recovered);
+    }
+
+    @Test
+    @DisplayName("A record torn by a crash is cut off and the log stays usable")
+    void truncatesTornTail() throws IOException {
+        Map<String, String> rows = new ConcurrentHashMap<>();
+        open().table("rows", rows, lock).put("a", "1");
+        Path segment = files("wal-").get(files("wal-").size() - 1);
+        Files.write(segment, new byte[]{0, 0, 1, 0, 42, 42}, StandardOpenOption.APPEND);
+
+        Map<String, String> recovered = new ConcurrentHashMap<>();
+        RepositoryJournal.Table<String, String> table = open().table("rows", recovered, lock);
+        assertEquals(Map.of("a", "1"), recovered);
+        table.put("b", "2");
+
+        Map<String, String> again = new ConcurrentHashMap<>();
+        open().table("rows", again, lock);
+        assertEquals(Map.of("a", "1", "b", "2"), again);
+    }
+
+    @Test
+    @DisplayName("A cleared table stays empty after recovery")
+    void replaysClear() throws IOException {
+        Map<String, String> rows = new ConcurrentHashMap<>();
+        RepositoryJournal.Table<String, String> table = open().table("rows", rows, lock);
+        table.put("a", "1");
+        table.clear();
+        table.put("b", "2");
+
+        Map<String, String> recovered = new ConcurrentHashMap<>();
+        open().table("rows", recovered, lock);
+        assertEquals(Map.of("b", "2"), recovered);
+    }
+
+    @Test
+    @DisplayName("A snapshot serializes a row only while holding its repository's write lock")
+    void snapshotTakesWriteLock() throws Exception {
+        FileRepositoryJournal journal = open();
+        Map<String, ArrayList<String>> rows = new ConcurrentHashMap<>();
+        RepositoryJournal.Table<String, ArrayList<String>> table = journal.table("rows", rows, lock);
+        ArrayList<String> row = new ArrayList<>(List.of("first"));
+        rows.put("row", row);
+        table.put("row", row);
+
+        ExecutorService snapshotter = Executors.newSingleThreadExecutor();
+        try {
+            Future<Long> snapshot;
+            synchronized (lock) {
+                row.add("second");
+                snapshot = snapshotter.submit(journal::snapshot);
+                assertThrows(TimeoutException.class, () -> snapshot.get(200, TimeUnit.MILLISECONDS),
+                        "the snapshot must wait for the change in progress");
+                row.add("third");
+                table.put("row", row);
+            }
+            snapshot.get(10, TimeUnit.SECONDS);
+        } finally {
+            snapshotter.shutdownNow();
+        }
+
+        Map<String, ArrayList<String>> recovered = new ConcurrentHashMap<>();
+        open().table("rows", recovered, lock);
+        assertEquals(List.of("first", "second", "third"), recovered.get("row"));
+    }
+
+    @Test
+    @DisplayName("A table name can only be registered once")
+    void rejectsDuplicateTable() throws IOException {
+        FileRepositoryJournal journal = open();
+        journal.table("rows", new ConcurrentHashMap<String, String>(), lock);
+        assertThrows(IllegalArgumentException.class,
+                () -> journal.table("rows", new ConcurrentHashMap<String, String>(), lock));
+    }
+
+    @Test
+    @DisplayName("In-memory repositories come back with stores, users, carts and orders after a restart")
+    void repositoriesSurviveRestart() throws IOException {
+        FileRepositoryJournal journal = open();
+        InMemoryStoreRepository stores = new InMemoryStoreRepository(journal);
+        InMemoryUserRepository users = new InMemoryUserRepository(journal);
+        InMemoryOrderRepository orders = new InMemoryOrderRepository(journal);
+        InMemoryCartRepository carts = new InMemoryCartRepository(users);
+
+        UUID storeId = stores.createStore("founder", "Durable Store", "Main St 1", "store@example.com", "0501234567");
+        stores.addOwner(storeId, "owner");
+        UUID productId = UUID.randomUUID();
+        stores.addProduct(storeId, productId, 5);
+        users.save(new User("buyer", "Password1!", "buyer@example.com", "Buyer", "B"));
+        carts.addProduct("buyer", storeId, productId, 2);
+        UUID orderId = orders.createOrder(storeId, "buyer", Map.of(productId, 2), 20.0, 18.0,
+                LocalDateTime.now(), OrderStatus.PENDING, -1);
+        orders.updateOrderStatus(orderId, OrderStatus.PAID);
+        journal.close();
+
+        FileRepositoryJournal reopened = open();
+        InMemoryStoreRepository recoveredStores = new InMemoryStoreRepository(reopened);
+        InMemoryUserRepository recoveredUsers = new InMemoryUserRepository(reopened);
+        InMemoryOrderRepository recoveredOrders = new InMemoryOrderRepository(reopened);
+
+        Store store = recoveredStores.findById(storeId).orElseThrow();
+        assertEquals("Durable Store", store.getName());
+        assertTrue(recoveredStores.isOwner(storeId, "owner"));
+        assertEquals(5, recoveredStores.getProductQuantity(storeId, productId));
+
+        User buyer = recoveredUsers.findByUsername("buyer").orElseThrow();
+        assertEquals(2, buyer.getCart().getShoppingBaskets().get(storeId).getProductQuantity(productId));
+
+        Order order = recoveredOrders.findById(orderId).orElseThrow();
+        assertEquals(OrderStatus.PAID, order.getStatus());
+        assertTrue(order.updateStatus(OrderStatus.SHIPPED), "recovered order lock must be usable");
+    }
+
+    @Test
+    @DisplayName("Passwords survive a restart but session tokens do not, including tokens journaled earlier")
+    void sessionTokensAreNotJournaled() throws IOException {
+        FileRepositoryJournal journal = open();
+        Map<String, String> legacyTokens = new ConcurrentHashMap<>();
+        journal.table("auth-tokens", legacyTokens, lock).put("legacy", "ENC:old-token");
+        journal.close();
+
+        FileRepositoryJournal reopened = open();
+        InMemoryAuthRepository auth = new InMemoryAuthRepository(reopened);
+        auth.addUser("alice", "Password1!");
+        auth.saveUserToken("alice", "live-token");
+        reopened.close();
+
+        FileRepositoryJournal restarted = open();
+        InMemoryAuthRepository recovered = new InMemoryAuthRepository(restarted);
+        assertTrue(recovered.hasMember("alice"));
+        assertNull(recovered.getUserToken("alice"));
+        restarted.close();
+
+        Map<String, String> journaledTokens = new ConcurrentHashMap<>();
+        open().table("auth-tokens", journaledTokens, lock);
+        assertTrue(journaledTokens.isEmpty(), "no token is left on disk");
+    }
+}
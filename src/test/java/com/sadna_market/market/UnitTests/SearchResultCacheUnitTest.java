@@ -0,0 +1,153 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.ApplicationLayer.DTOs.ProductDTO;
+import com.sadna_market.market.ApplicationLayer.ProductService;
+import com.sadna_market.market.ApplicationLayer.Requests.ProductSearchRequest;
+import com.sadna_market.market.DomainLayer.DomainServices.InventoryManagementService;
+import com.sadna_market.market.InfrastructureLayer.Caching.SearchResultCache;
+import com.sadna_market.market.InfrastructureLayer.Durability.RepositoryJournal;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryProductRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryStoreRepository;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.InMemoryUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Search Result Cache Unit Tests")
+public class SearchResultCacheUnitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+    private final AtomicInteger searches = new AtomicInteger();
+    private final UUID storeId = UUID.randomUUID();
+
+    private SearchResultCache cache(int maxEntries) {
+        return new SearchResultCache(maxEntries, Duration.ofSeconds(30), now::get);
+    }
+
+    private Supplier<List<ProductDTO>> search(String name) {
+        return () -> {
+            searches.incrementAndGet();
+            return List.of(new ProductDTO(UUID.randomUUID(), storeId, name, "", "Books", 10.0, true, 4.0, 2));
+        };
+    }
+
+    private static SearchResultCache.Query query(UUID storeId, String name, String category, Double minRate) {
+        return SearchResultCache.Query.of(storeId, name, category, null, null, minRate, null, true);
+    }
+
+    @Test
+    @DisplayName("Queries differing only in name case share an entry until the TTL passes")
+    void hitsUntilExpiry() {
+        SearchResultCache cache = cache(100);
+
+        List<ProductDTO> first = cache.get(query(null, "Novel", null, null), search("novel"));
+        assertSame(first, cache.get(query(null, "NOVEL", null, null), search("novel")));
+        assertEquals(1, searches.get());
+        assertEquals(0.5, cache.getHitRatio(), 1e-9);
+
+        now.addAndGet(31 * SECOND);
+        cache.get(query(null, "novel", null, null), search("novel"));
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    @DisplayName("A product change invalidates its store and category, not other stores or categories")
+    void productChangesInvalidatePrecisely() {
+        SearchResultCache cache = cache(100);
+        UUID otherStoreId = UUID.randomUUID();
+        SearchResultCache.Query inStore = query(storeId, null, null, null);
+        SearchResultCache.Query inOtherStore = query(otherStoreId, null, null, null);
+        SearchResultCache.Query books = query(null, null, "Books", null);
+        SearchResultCache.Query toys = query(null, null, "Toys", null);
+        SearchResultCache.Query games = query(null, null, "Games", null);
+        List<SearchResultCache.Query> queries = List.of(inStore, inOtherStore, books, toys, games);
+        queries.forEach(query -> cache.get(query, search("any")));
+        assertEquals(5, searches.get());
+
+        // A product of this store moved from Toys to Books
+        cache.productChanged(storeId, Set.of("Toys", "Books"));
+        queries.forEach(query -> cache.get(query, search("any")));
+        assertEquals(8, searches.get(), "the store and both categories recompute, the rest does not");
+    }
+
+    @Test
+    @DisplayName("Substring category and named queries depend on every product change")
+    void inexactCategoryQueriesFollowEveryChange() {
+        SearchResultCache cache = cache(100);
+        SearchResultCache.Query substring = SearchResultCache.Query.of(null, null, "elec", null, null, null, null, false);
+        SearchResultCache.Query named = query(null, "laptop", "Books", null);
+        cache.get(substring, search("any"));
+        cache.get(named, search("any"));
+
+        cache.productChanged(storeId, Set.of("Electronics"));
+        cache.get(substring, search("any"));
+        cache.get(named, search("any"));
+
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    @DisplayName("ProductService search results follow products added through the inventory service")
+    void productServiceSearchSeesNewProducts() {
+        InMemoryStoreRepository storeRepository = new InMemoryStoreRepository();
+        InMemoryProductRepository productRepository = new InMemoryProductRepository(RepositoryJournal.NONE, storeRepository);
+        InventoryManagementService inventoryService =
+                new InventoryManagementService(storeRepository, productRepository, new InMemoryUserRepository());
+        SearchResultCache cache = cache(100);
+        cache.subscribeToEvents();
+        ProductService productService = new ProductService(null, productRepository, inventoryService, null, cache);
+        UUID shopId = storeRepository.createStore("owner", "Shop", "Address", "shop@test.com", "123456789");
+
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setCategory("elec");
+        inventoryService.addProductToStore("owner", shopId, "Laptop", "Electronics", "desc", 900.0, 3);
+        assertEquals(1, productService.searchProduct(request).getData().size());
+
+        inventoryService.addProductToStore("owner", shopId, "Phone", "Electronics", "desc", 500.0, 3);
+        assertEquals(2, productService.searchProduct(request).getData().size());
+    }
+
+    @Test
+    @DisplayName("A rating change only invalidates queries that filter by rating")
+    void ratingChangesInvalidateRateFilteredQueries() {
+        SearchResultCache cache = cache(100);
+        SearchResultCache.Query rated = query(storeId, null, null, 4.0);
+        SearchResultCache.Query unrated = query(storeId, null, null, null);
+        cache.get(rated, search("any"));
+        cache.get(unrated, search("any"));
+
+        cache.productRated(storeId, "Books");
+        cache.get(rated, search("any"));
+        cache.get(unrated, search("any"));
+
+        assertEquals(3, searches.get());
+    }
+
+    @Test
+    @DisplayName("Changes of unknown category invalidate every category query and the cache stays bounded")
+    void unknownCategoriesAndBound() {
+        SearchResultCache cache = cache(2);
+        SearchResultCache.Query books = query(null, null, "Books", null);
+        cache.get(books, search("any"));
+        cache.productChanged(UUID.randomUUID(), Set.of());
+        cache.get(books, search("any"));
+        assertEquals(2, searches.get());
+
+        for (int i = 0; i < 10; i++) {
+            cache.get(query(null, "name" + i, null, null), search("any"));
+            assertTrue(cache.size() <= 2);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.InfrastructureLayer.Seeding.SeedDataset;
+import com.sadna_market.market.InfrastructureLayer.Seeding.SeedDataset.ProductRow;
+import com.sadna_market.market.InfrastructureLayer.Seeding.SeedDataset.StoreRow;
+import com.sadna_market.market.InfrastructureLayer.Seeding.SeedDataset.UserRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Seed Dataset Unit Tests")
+public class SeedDatasetUnitTest {
+
+    private Path directory;
+
+    private final List<String> calls = new ArrayList<>();
+    private final List<UserRow> users = new ArrayList<>();
+    private final List<StoreRow> stores = new ArrayList<>();
+    private final List<ProductRow> products = new ArrayList<>();
+
+    private final SeedDataset.Sink sink = new SeedDataset.Sink() {
+        @Override
+        public void users(List<UserRow> chunk) {
+            calls.add("users:" + chunk.size());
+            users.addAll(chunk);
+        }
+
+        @Override
+        public void stores(List<StoreRow> chunk) {
+            calls.add("stores:" + chunk.size());
+            stores.addAll(chunk);
+        }
+
+        @Override
+        public void products(List<ProductRow> chunk) {
+            calls.add("products:" + chunk.size());
+            products.addAll(chunk);
+        }
+    };
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("seed-test");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("A CSV directory is read users first, then stores, then products, in chunks")
+    void readsCsvDirectoryInChunks() throws IOException {
+        StringBuilder usersCsv = new StringBuilder("username,password,email,firstName,lastName,admin\n");
+        for (int i = 0; i < 5; i++) {
+            usersCsv.append("user").append(i).append(",Password1!,user").append(i).append("@market.com,User,")
+                    .append(i).append(i == 0 ? ",true" : "").append('\n');
+        }
+        Files.writeString(directory.resolve("products.csv"),
+                "store,name,category,description,price,quantity\r\n"
+                        + "Shop,Bamba,Snacks,\"Peanut snack, crispy\",5.5,30\r\n"
+                        + "\r\n"
+                        + "Shop,Bisli,Snacks,\"Says \"\"crunch\"\"\nover two lines\",4,12\r\n");
+        Files.writeString(directory.resolve("users.csv"), usersCsv);
+        Files.writeString(directory.resolve("stores.csv"), "name,founder,address,email,phone\nShop,user0,Main St 1,,\n");
+
+        SeedDataset.read(directory, 2, sink);
+
+        assertEquals(List.of("users:2", "users:2", "users:1", "stores:1", "products:2"), calls);
+        assertTrue(users.get(0).admin());
+        assertFalse(users.get(1).admin());
+        assertEquals("user4@market.com", users.get(4).email());
+        assertEquals(new StoreRow("Shop", "user0", "Main St 1", "", ""), stores.get(0));
+        assertEquals("Peanut snack, crispy", products.get(0).description());
+        assertEquals(5.5, products.get(0).price());
+        assertEquals("Says \"crunch\"\nover two lines", products.get(1).description());
+        assertEquals(12, products.get(1).quantity());
+    }
+
+    @Test
+    @DisplayName("Missing CSV files are skipped")
+    void skipsMissingFiles() throws IOException {
+        Files.writeString(directory.resolve("stores.csv"), "name,founder\nShop,owner\n");
+
+        SeedDataset.read(directory, 100, sink);
+
+        assertEquals(List.of("stores:1"), calls);
+    }
+
+    @Test
+    @DisplayName("A YAML file is read document by document")
+    void readsYamlDocuments() throws IOException {
+        Path file = directory.resolve("seed.yml");
+        Files.writeString(file, """
+                users:
+                  - {username: founder, password: "Password1!", email: f@market.com, firstName: F, lastName: L}
+                stores:
+                  - {name: Shop, founder: founder}
+                ---
+                products:
+                  - {store: Shop, name: Bamba, price: 5, quantity: 3}
+                  - {store: Shop, name: Bisli, price: 4.5, quantity: 7}
+                  - {store: Shop, name: Apropo, price: 6, quantity: 1}
+                """);
+
+        SeedDataset.read(file, 2, sink);
+
+        assertEquals(List.of("users:1", "stores:1", "products:2", "products:1"), calls);
+        assertEquals("founder", stores.get(0).founder());
+        assertEquals(new ProductRow("Shop", "Bisli", "", "", 4.5, 7), products.get(1));
+    }
+
+    @Test
+    @DisplayName("A row with a missing or malformed field is reported with its position")
+    void rejectsBadRows() throws IOException {
+        Files.writeString(directory.resolve("products.csv"),
+                "store,name,price,quantity\nShop,Bamba,5,3\nShop,Bisli,cheap,3\n");
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> SeedDataset.read(directory, 100, sink));
+        assertTrue(error.getMessage().contains("products.csv row 2"), error.getMessage());
+
+        Files.writeString(directory.resolve("products.csv"), "store,name,price,quantity\nShop,,5,3\n");
+        error = assertThrows(IllegalArgumentException.class, () -> SeedDataset.read(directory, 100, sink));
+        assertTrue(error.getMessage().contains("missing name"), error.getMessage());
+    }
+}
@@ -0,0 +1,157 @@
+package com.sadna_market.market.UnitTests;
+
+import com.sadna_market.market.DomainLayer.DomainServices.SystemStatsService;
+import com.sadna_market.market.DomainLayer.Events.*;
+import com.sadna_market.market.DomainLayer.OrderStatus;
+import com.sadna_market.market.DomainLayer.SystemStatKey;
+import com.sadna_market.market.DomainLayer.User;
+import com.sadna_market.market.InfrastructureLayer.InMemoryRepos.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SystemStatsService Unit Tests")
+public class SystemStatsServiceUnitTest {
+
+    private InMemorySystemStatsRepository statsRepository;
+    private InMemoryUserRepository userRepository;
+    private InMemoryOrderRepository orderRepository;
+    private SystemStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        DomainEventPublisher.clearAllSubscribers();
+        statsRepository = new InMemorySystemStatsRepository();
+        userRepository = new InMemoryUserRepository();
+        orderRepository = new InMemoryOrderRepository();
+        statsService = new SystemStatsService(
+                statsRepository,
+                userRepository,
+                new InMemoryStoreRepository(),
+                orderRepository,
+                new InMemoryReportRepository()
+        );
+        statsService.subscribeToEvents();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DomainEventPublisher.clearAllSubscribers();
+    }
+
+    @Test
+    @DisplayName("First read seeds the stats table from the repositories")
+    void testSeedFromRepositories() {
+        userRepository.save(new User("alice", "Password1!", "alice@example.com", "Alice", "A"));
+        userRepository.save(new User("bob", "Password1!", "bob@example.com", "Bob", "B"));
+
+        SystemStatsService.SystemStatsSnapshot snapshot = statsService.getSnapshot();
+
+        assertEquals(2, snapshot.getTotalUsers());
+        assertEquals(2.0, statsRepository.findAll().get(SystemStatKey.TOTAL_USERS), 0.0001);
+    }
+
+    @Test
+    @DisplayName("The seed counts only finalized orders, like the order events do")
+    void testSeedCountsFinalizedOrdersOnly() {
+        placeOrder(OrderStatus.PENDING, 100.0);
+        placeOrder(OrderStatus.CANCELED, 50.0);
+        placeOrder(OrderStatus.PAID, 30.0);
+        placeOrder(OrderStatus.SHIPPED, 20.0);
+        placeOrder(OrderStatus.COMPLETED, 10.0);
+
+        SystemStatsService.SystemStatsSnapshot snapshot = statsService.getSnapshot();
+
+        assertEquals(3, snapshot.getTotalOrders());
+        assertEquals(60.0, snapshot.getTotalRevenue(), 0.0001);
+    }
+
+    private void placeOrder(OrderStatus status, double finalPrice) {
+        orderRepository.createOrder(UUID.randomUUID(), "alice", Map.of(UUID.randomUUID(), 1),
+                finalPrice, finalPrice, LocalDateTime.now(), status, -1);
+    }
+
+    @Test
+    @DisplayName("Events update the counters without reading the repositories")
+    void testEventsUpdateCounters() {
+        statsService.getSnapshot();
+
+        DomainEventPublisher.publish(new UserRegisteredEvent("carol"));
+        DomainEventPublisher.publish(new UserLoggedInEvent("carol"));
+        DomainEventPublisher.publish(new StoreCreatedEvent(UUID.randomUUID(), "carol", "Shop",
+                "desc", "addr", "shop@example.com", "050"));
+        DomainEventPublisher.publish(new OrderPlacedEvent("carol", UUID.randomUUID(), UUID.randomUUID(), 40.0));
+        DomainEventPublisher.publish(new OrderPlacedEvent("carol", UUID.randomUUID(), UUID.randomUUID(), 2.5));
+        DomainEventPublisher.publish(new ViolationReportedEvent("carol", UUID.randomUUID(), UUID.randomUUID(), "bad"));
+
+        SystemStatsService.SystemStatsSnapshot snapshot = statsService.getSnapshot();
+        assertEquals(1, snapshot.getTotalUsers());
+        assertEquals(1, snapshot.getActiveUsers());
+        assertEquals(1, snapshot.getTotalStores());
+        assertEquals(2, snapshot.getTotalOrders());
+        assertEquals(42.5, snapshot.getTotalRevenue(), 0.0001);
+        assertEquals(1, snapshot.getPendingReports());
+        assertEquals(42.5, statsRepository.findAll().get(SystemStatKey.TOTAL_REVENUE), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Logout and deletion decrement the counters")
+    void testDecrements() {
+        statsService.getSnapshot();
+        DomainEventPublisher.publish(new UserRegisteredEvent("dave"));
+        DomainEventPublisher.publish(new UserRegisteredEvent("erin"));
+        DomainEventPublisher.publish(new UserLoggedInEvent("dave"));
+        DomainEventPublisher.publish(new UserLoggedInEvent("erin"));
+
+        DomainEventPublisher.publish(new UserLoggedOutEvent("dave"));
+        DomainEventPublisher.publish(new UserDeletedEvent("erin", true));
+
+        SystemStatsService.SystemStatsSnapshot snapshot = statsService.getSnapshot();
+        assertEquals(1, snapshot.getTotalUsers());
+        assertEquals(0, snapshot.getActiveUsers());
+    }
+
+    @Test
+    @DisplayName("An event that triggers the initial seed is not counted twice")
+    void testFirstEventNotDoubleCounted() {
+        userRepository.save(new User("frank", "Password1!", "frank@example.com", "Frank", "F"));
+
+        DomainEventPublisher.publish(new UserRegisteredEvent("frank"));
+
+        assertEquals(1, statsService.getSnapshot().getTotalUsers());
+    }
+
+    @Test
+    @DisplayName("Stored counters are reused instead of recounting")
+    void testStoredCountersAreReused() {
+        for (SystemStatKey key : SystemStatKey.values()) {
+            statsRepository.set(key, 0);
+        }
+        statsRepository.set(SystemStatKey.TOTAL_ORDERS, 7);
+        userRepository.save(new User("gina", "Password1!", "gina@example.com", "Gina", "G"));
+
+        SystemStatsService.SystemStatsSnapshot snapshot = statsService.getSnapshot();
+
+        assertEquals(7, snapshot.getTotalOrders());
+        assertEquals(0, snapshot.getTotalUsers(), "Stored value wins over the repository count");
+    }
+
+    @Test
+    @DisplayName("Invalidate reseeds from the repositories on the next read")
+    void testInvalidate() {
+        statsService.getSnapshot();
+        DomainEventPublisher.publish(new UserRegisteredEvent("ghost"));
+        assertEquals(1, statsService.getSnapshot().getTotalUsers());
+
+        statsService.invalidate();
+
+        assertEquals(0, statsService.getSnapshot().getTotalUsers());
+    }
+}